@@ -0,0 +1,14 @@
+package com.moadams.events;
+
+/**
+ * A menu item became available or sold out. Records on {@link #TOPIC} are keyed by menu item ID on
+ * a compacted topic, so the topic always holds the latest availability of every item; a deleted
+ * item is a record with that key and no value.
+ */
+public record MenuItemAvailabilityChangedEvent(
+        String restaurantId,
+        String menuItemId,
+        boolean available
+) {
+    public static final String TOPIC = "menu-item-availability";
+}
@@ -1,4 +1,4 @@
-package com.moadams.orderservice.event;
+package com.moadams.events;
 
 import java.math.BigDecimal;
 
@@ -7,4 +7,4 @@ public record OrderItemDetails(
         String menuItemName,
         Integer quantity,
         BigDecimal price
-) {}
\ No newline at end of file
+) {}
@@ -1,10 +1,9 @@
-package com.moadams.orderservice.event;
+package com.moadams.events;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
-
 public record OrderPlacedEvent(
         String orderId,
         String userEmail,
@@ -14,4 +13,4 @@ public record OrderPlacedEvent(
         String deliveryAddress,
         LocalDateTime orderDate,
         List<OrderItemDetails> orderItems
-) {}
\ No newline at end of file
+) {}
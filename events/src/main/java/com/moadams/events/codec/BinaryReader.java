@@ -0,0 +1,139 @@
+package com.moadams.events.codec;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * Cursor over an encoded event; the counterpart of {@link BinaryWriter}.
+ * Malformed or truncated input fails with {@link IllegalArgumentException}.
+ */
+final class BinaryReader {
+
+    private final byte[] data;
+    private int position;
+    private int limit;
+
+    BinaryReader(byte[] data) {
+        this.data = data;
+        this.limit = data.length;
+    }
+
+    int remaining() {
+        return limit - position;
+    }
+
+    int readByte() {
+        require(1);
+        return data[position++] & 0xFF;
+    }
+
+    long readVarLong() {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint at offset " + position);
+    }
+
+    long readSignedVarLong() {
+        long raw = readVarLong();
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+
+    int readLength() {
+        long length = readVarLong();
+        if (length < 0 || length > limit - position) {
+            throw new IllegalArgumentException("Length " + length + " exceeds remaining input at offset " + position);
+        }
+        return (int) length;
+    }
+
+    String readString() {
+        long prefix = readVarLong();
+        if (prefix == 0) {
+            return null;
+        }
+        int length = checkedLength(prefix - 1);
+        String value = new String(data, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    Integer readNullableInt() {
+        long raw = readVarLong();
+        if (raw == 0) {
+            return null;
+        }
+        raw -= 1;
+        return Math.toIntExact((raw >>> 1) ^ -(raw & 1));
+    }
+
+    BigDecimal readDecimal() {
+        int tag = readByte();
+        switch (tag) {
+            case 0:
+                return null;
+            case 1: {
+                int scale = Math.toIntExact(readSignedVarLong());
+                return BigDecimal.valueOf(readSignedVarLong(), scale);
+            }
+            case 2: {
+                int scale = Math.toIntExact(readSignedVarLong());
+                int length = readLength();
+                byte[] bytes = Arrays.copyOfRange(data, position, position + length);
+                position += length;
+                return new BigDecimal(new BigInteger(bytes), scale);
+            }
+            default:
+                throw new IllegalArgumentException("Unknown decimal tag " + tag + " at offset " + (position - 1));
+        }
+    }
+
+    LocalDateTime readDateTime() {
+        if (readByte() == 0) {
+            return null;
+        }
+        long epochSecond = readSignedVarLong();
+        int nano = Math.toIntExact(readVarLong());
+        return LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC);
+    }
+
+    /**
+     * Restricts reading to the next {@code length} bytes and returns the previous limit,
+     * to be passed to {@link #endNested(int)} once the nested record is read.
+     */
+    int beginNested(int length) {
+        int outer = limit;
+        limit = position + length;
+        return outer;
+    }
+
+    /**
+     * Skips whatever a newer writer appended to the nested record and restores the outer limit.
+     */
+    void endNested(int outerLimit) {
+        position = limit;
+        limit = outerLimit;
+    }
+
+    private int checkedLength(long length) {
+        if (length < 0 || length > limit - position) {
+            throw new IllegalArgumentException("Length " + length + " exceeds remaining input at offset " + position);
+        }
+        return (int) length;
+    }
+
+    private void require(int bytes) {
+        if (position + bytes > limit) {
+            throw new IllegalArgumentException("Unexpected end of input at offset " + position);
+        }
+    }
+}
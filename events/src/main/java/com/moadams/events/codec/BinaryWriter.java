@@ -0,0 +1,153 @@
+package com.moadams.events.codec;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * Growable byte buffer with the primitive encodings of the event wire format.
+ * Not thread-safe; {@link OrderPlacedEventCodec} keeps one per thread and reuses it.
+ */
+final class BinaryWriter {
+
+    private byte[] buffer;
+    private int position;
+
+    BinaryWriter(int initialCapacity) {
+        this.buffer = new byte[initialCapacity];
+    }
+
+    void reset() {
+        position = 0;
+    }
+
+    int position() {
+        return position;
+    }
+
+    int capacity() {
+        return buffer.length;
+    }
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(buffer, position);
+    }
+
+    void writeByte(int value) {
+        ensureCapacity(1);
+        buffer[position++] = (byte) value;
+    }
+
+    void writeVarLong(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    void writeSignedVarLong(long value) {
+        writeVarLong(zigZag(value));
+    }
+
+    /**
+     * Length-prefixed UTF-8; the prefix is length + 1 so that 0 encodes null.
+     */
+    void writeString(String value) {
+        if (value == null) {
+            writeVarLong(0);
+            return;
+        }
+        writeBytes(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    void writeNullableInt(Integer value) {
+        writeVarLong(value == null ? 0 : zigZag(value) + 1);
+    }
+
+    /**
+     * Tag 0 is null, tag 1 an unscaled value that fits in a long, tag 2 a two's-complement byte array.
+     * The scale follows the tag in both non-null forms.
+     */
+    void writeDecimal(BigDecimal value) {
+        if (value == null) {
+            writeByte(0);
+            return;
+        }
+        BigInteger unscaled = value.unscaledValue();
+        if (unscaled.bitLength() < 64) {
+            writeByte(1);
+            writeSignedVarLong(value.scale());
+            writeSignedVarLong(unscaled.longValue());
+        } else {
+            writeByte(2);
+            writeSignedVarLong(value.scale());
+            byte[] bytes = unscaled.toByteArray();
+            writeVarLong(bytes.length);
+            writeRaw(bytes);
+        }
+    }
+
+    /**
+     * Presence byte, then seconds since the epoch (as if in UTC) and the nano-of-second.
+     */
+    void writeDateTime(LocalDateTime value) {
+        if (value == null) {
+            writeByte(0);
+            return;
+        }
+        writeByte(1);
+        writeSignedVarLong(value.toEpochSecond(ZoneOffset.UTC));
+        writeVarLong(value.getNano());
+    }
+
+    /**
+     * Prefixes everything written since {@code start} with its length, shifting it forward.
+     * Used for nested records so readers can skip fields appended in later versions.
+     */
+    void insertLengthPrefix(int start) {
+        int length = position - start;
+        int prefixSize = varLongSize(length);
+        ensureCapacity(prefixSize);
+        System.arraycopy(buffer, start, buffer, start + prefixSize, length);
+        int end = position + prefixSize;
+        position = start;
+        writeVarLong(length);
+        position = end;
+    }
+
+    private void writeBytes(byte[] bytes) {
+        writeVarLong(bytes.length + 1L);
+        writeRaw(bytes);
+    }
+
+    private void writeRaw(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    private void ensureCapacity(int additional) {
+        int required = position + additional;
+        if (required > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(required, buffer.length * 2));
+        }
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static int varLongSize(long value) {
+        int size = 1;
+        while ((value & ~0x7FL) != 0) {
+            size++;
+            value >>>= 7;
+        }
+        return size;
+    }
+}
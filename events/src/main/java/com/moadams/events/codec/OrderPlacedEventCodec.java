@@ -0,0 +1,130 @@
+package com.moadams.events.codec;
+
+import com.moadams.events.OrderItemDetails;
+import com.moadams.events.OrderPlacedEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Schema-versioned binary encoding of {@link OrderPlacedEvent}.
+ *
+ * <pre>
+ * magic (0xB7) | version | orderId | userEmail | restaurantId | restaurantName | totalAmount
+ *              | deliveryAddress | orderDate | item count + 1 | items...
+ * item: byte length (0 for null) | menuItemId | menuItemName | quantity | price
+ * </pre>
+ *
+ * Strings are varint-length-prefixed UTF-8, decimals are scale plus unscaled varint, timestamps are
+ * epoch seconds plus nanos, and 0 stands for null wherever a field is nullable. New fields are only
+ * ever appended, to the event or to an item; readers decode the fields they know and skip the rest,
+ * so a newer producer stays readable by older consumers. An incompatible change needs a new magic byte.
+ */
+public final class OrderPlacedEventCodec {
+
+    public static final byte MAGIC = (byte) 0xB7;
+    public static final int VERSION = 1;
+
+    private static final int INITIAL_BUFFER_SIZE = 512;
+    private static final int MAX_RETAINED_BUFFER_SIZE = 64 * 1024;
+
+    private static final ThreadLocal<BinaryWriter> WRITERS =
+            ThreadLocal.withInitial(() -> new BinaryWriter(INITIAL_BUFFER_SIZE));
+
+    private OrderPlacedEventCodec() {
+    }
+
+    public static byte[] encode(OrderPlacedEvent event) {
+        BinaryWriter writer = WRITERS.get();
+        writer.reset();
+        try {
+            writer.writeByte(MAGIC);
+            writer.writeByte(VERSION);
+            writer.writeString(event.orderId());
+            writer.writeString(event.userEmail());
+            writer.writeString(event.restaurantId());
+            writer.writeString(event.restaurantName());
+            writer.writeDecimal(event.totalAmount());
+            writer.writeString(event.deliveryAddress());
+            writer.writeDateTime(event.orderDate());
+            writeItems(writer, event.orderItems());
+            return writer.toByteArray();
+        } finally {
+            if (writer.capacity() > MAX_RETAINED_BUFFER_SIZE) {
+                WRITERS.remove();
+            }
+        }
+    }
+
+    public static OrderPlacedEvent decode(byte[] data) {
+        BinaryReader reader = new BinaryReader(data);
+        if ((byte) reader.readByte() != MAGIC) {
+            throw new IllegalArgumentException("Not a binary OrderPlacedEvent");
+        }
+        int version = reader.readByte();
+        if (version < 1) {
+            throw new IllegalArgumentException("Unsupported OrderPlacedEvent version " + version);
+        }
+        return new OrderPlacedEvent(
+                reader.readString(),
+                reader.readString(),
+                reader.readString(),
+                reader.readString(),
+                reader.readDecimal(),
+                reader.readString(),
+                reader.readDateTime(),
+                readItems(reader));
+    }
+
+    public static boolean isBinary(byte[] data) {
+        return data != null && data.length > 1 && data[0] == MAGIC;
+    }
+
+    private static void writeItems(BinaryWriter writer, List<OrderItemDetails> items) {
+        if (items == null) {
+            writer.writeVarLong(0);
+            return;
+        }
+        writer.writeVarLong(items.size() + 1L);
+        for (OrderItemDetails item : items) {
+            if (item == null) {
+                writer.writeVarLong(0);
+                continue;
+            }
+            int start = writer.position();
+            writer.writeString(item.menuItemId());
+            writer.writeString(item.menuItemName());
+            writer.writeNullableInt(item.quantity());
+            writer.writeDecimal(item.price());
+            writer.insertLengthPrefix(start);
+        }
+    }
+
+    private static List<OrderItemDetails> readItems(BinaryReader reader) {
+        long prefix = reader.readVarLong();
+        if (prefix == 0) {
+            return null;
+        }
+        long count = prefix - 1;
+        // Every item takes at least its one-byte length prefix, which bounds a corrupt count.
+        if (count < 0 || count > reader.remaining()) {
+            throw new IllegalArgumentException("Invalid item count " + count);
+        }
+        List<OrderItemDetails> items = new ArrayList<>((int) Math.min(count, 64));
+        for (long i = 0; i < count; i++) {
+            int length = reader.readLength();
+            if (length == 0) {
+                items.add(null);
+                continue;
+            }
+            int outerLimit = reader.beginNested(length);
+            items.add(new OrderItemDetails(
+                    reader.readString(),
+                    reader.readString(),
+                    reader.readNullableInt(),
+                    reader.readDecimal()));
+            reader.endNested(outerLimit);
+        }
+        return items;
+    }
+}
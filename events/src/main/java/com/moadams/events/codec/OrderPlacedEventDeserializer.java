@@ -0,0 +1,40 @@
+package com.moadams.events.codec;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.moadams.events.OrderPlacedEvent;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.io.IOException;
+
+/**
+ * Kafka value deserializer for {@link OrderPlacedEventCodec}'s binary format.
+ * Records that do not start with the codec's magic byte are read as the JSON the services
+ * published before, so consumers can be upgraded ahead of producers and old records
+ * still on the topic remain readable.
+ */
+public class OrderPlacedEventDeserializer implements Deserializer<OrderPlacedEvent> {
+
+    private static final ObjectMapper LEGACY_JSON = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    @Override
+    public OrderPlacedEvent deserialize(String topic, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        try {
+            if (OrderPlacedEventCodec.isBinary(data)) {
+                return OrderPlacedEventCodec.decode(data);
+            }
+            return LEGACY_JSON.readValue(data, OrderPlacedEvent.class);
+        } catch (IOException | RuntimeException e) {
+            throw new SerializationException("Failed to decode OrderPlacedEvent from topic " + topic, e);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.moadams.events.codec;
+
+import com.moadams.events.OrderPlacedEvent;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serializer;
+
+/**
+ * Kafka value serializer writing {@link OrderPlacedEventCodec}'s binary format.
+ */
+public class OrderPlacedEventSerializer implements Serializer<OrderPlacedEvent> {
+
+    @Override
+    public byte[] serialize(String topic, OrderPlacedEvent event) {
+        if (event == null) {
+            return null;
+        }
+        try {
+            return OrderPlacedEventCodec.encode(event);
+        } catch (RuntimeException e) {
+            throw new SerializationException("Failed to encode OrderPlacedEvent " + event.orderId() + " for topic " + topic, e);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.moadams.events.benchmark;
+
+import com.moadams.events.OrderItemDetails;
+import com.moadams.events.OrderPlacedEvent;
+import com.moadams.events.codec.OrderPlacedEventDeserializer;
+import com.moadams.events.codec.OrderPlacedEventSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the binary codec with the spring-kafka JSON serde the services used before.
+ * Run {@link #main} (or the exec command in the README); the GC profiler reports
+ * gc.alloc.rate.norm, the bytes allocated per operation. Encoded sizes are printed at setup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderPlacedEventCodecBenchmark {
+
+    private static final String TOPIC = "order-events-topic";
+
+    @Param({"1", "5", "20"})
+    private int itemCount;
+
+    private OrderPlacedEvent event;
+    private JsonSerializer<OrderPlacedEvent> jsonSerializer;
+    private JsonDeserializer<OrderPlacedEvent> jsonDeserializer;
+    private OrderPlacedEventSerializer binarySerializer;
+    private OrderPlacedEventDeserializer binaryDeserializer;
+    private byte[] json;
+    private byte[] binary;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        event = sampleEvent(itemCount);
+        jsonSerializer = new JsonSerializer<>();
+        jsonDeserializer = new JsonDeserializer<>(OrderPlacedEvent.class, false);
+        binarySerializer = new OrderPlacedEventSerializer();
+        binaryDeserializer = new OrderPlacedEventDeserializer();
+        json = jsonSerializer.serialize(TOPIC, event);
+        binary = binarySerializer.serialize(TOPIC, event);
+        System.out.printf("%n%d items: JSON %d bytes, binary %d bytes%n", itemCount, json.length, binary.length);
+    }
+
+    @Benchmark
+    public byte[] serializeJson() {
+        return jsonSerializer.serialize(TOPIC, event);
+    }
+
+    @Benchmark
+    public byte[] serializeBinary() {
+        return binarySerializer.serialize(TOPIC, event);
+    }
+
+    @Benchmark
+    public OrderPlacedEvent deserializeJson() {
+        return jsonDeserializer.deserialize(TOPIC, json);
+    }
+
+    @Benchmark
+    public OrderPlacedEvent deserializeBinary() {
+        return binaryDeserializer.deserialize(TOPIC, binary);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(OrderPlacedEventCodecBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+
+    private static OrderPlacedEvent sampleEvent(int itemCount) {
+        List<OrderItemDetails> items = new ArrayList<>();
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < itemCount; i++) {
+            BigDecimal price = new BigDecimal("12.50").add(BigDecimal.valueOf(i));
+            items.add(new OrderItemDetails(
+                    "0190f3a2-7c1e-7b44-9d2a-5f6e8a9b0c" + String.format("%02d", i),
+                    "Menu item number " + i,
+                    i + 1,
+                    price));
+            total = total.add(price.multiply(BigDecimal.valueOf(i + 1)));
+        }
+        return new OrderPlacedEvent(
+                "0190f3a2-7c1e-7b44-9d2a-5f6e8a9b0c1d",
+                "customer@example.com",
+                "0190f3a2-1111-7b44-9d2a-5f6e8a9b0c1d",
+                "Mama's Kitchen",
+                total,
+                "12 Independence Avenue, Accra",
+                LocalDateTime.of(2025, 7, 14, 12, 30, 15, 123_456_000),
+                items);
+    }
+}
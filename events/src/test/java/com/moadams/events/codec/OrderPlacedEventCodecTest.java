@@ -0,0 +1,138 @@
+package com.moadams.events.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.moadams.events.OrderItemDetails;
+import com.moadams.events.OrderPlacedEvent;
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderPlacedEventCodecTest {
+
+    private final OrderPlacedEventSerializer serializer = new OrderPlacedEventSerializer();
+    private final OrderPlacedEventDeserializer deserializer = new OrderPlacedEventDeserializer();
+
+    @Test
+    void roundTrip_PreservesEveryField() {
+        OrderPlacedEvent event = sampleEvent(3);
+
+        OrderPlacedEvent decoded = deserializer.deserialize("order-events-topic", serializer.serialize("order-events-topic", event));
+
+        assertEquals(event, decoded);
+    }
+
+    @Test
+    void roundTrip_PreservesNullsAndEdgeValues() {
+        List<OrderItemDetails> items = new ArrayList<>();
+        items.add(new OrderItemDetails("m-1", "Jollof – spicy 🌶", null, new BigDecimal("-0.50")));
+        items.add(null);
+        items.add(new OrderItemDetails(null, "", Integer.MIN_VALUE, new BigDecimal("123456789012345678901234567890.12345")));
+        items.add(new OrderItemDetails("m-3", "Big order", Integer.MAX_VALUE, new BigDecimal("1E+3")));
+        OrderPlacedEvent event = new OrderPlacedEvent(
+                "id", null, "r-1", "Café Zoë", null, null,
+                LocalDateTime.of(1969, 12, 31, 23, 59, 59, 999_999_999), items);
+
+        assertEquals(event, OrderPlacedEventCodec.decode(OrderPlacedEventCodec.encode(event)));
+
+        OrderPlacedEvent withoutItems = new OrderPlacedEvent("id", "a@b.c", "r", "n", BigDecimal.ZERO, "addr", null, null);
+        assertEquals(withoutItems, OrderPlacedEventCodec.decode(OrderPlacedEventCodec.encode(withoutItems)));
+    }
+
+    @Test
+    void decode_SkipsItemFieldsAppendedByNewerWriters() {
+        OrderPlacedEvent event = sampleEvent(1);
+        byte[] encoded = OrderPlacedEventCodec.encode(event);
+
+        // Rebuild the single item with one extra trailing byte and a matching length prefix.
+        int itemsAt = indexOfItems(event);
+        int itemLength = encoded[itemsAt + 1];
+        byte[] newer = new byte[encoded.length + 1];
+        System.arraycopy(encoded, 0, newer, 0, itemsAt + 1);
+        newer[itemsAt + 1] = (byte) (itemLength + 1);
+        System.arraycopy(encoded, itemsAt + 2, newer, itemsAt + 2, itemLength);
+        newer[itemsAt + 2 + itemLength] = 42;
+
+        assertEquals(event, OrderPlacedEventCodec.decode(newer));
+    }
+
+    @Test
+    void deserialize_ReadsLegacyJsonRecords() throws Exception {
+        OrderPlacedEvent event = sampleEvent(2);
+        ObjectMapper springKafkaStyle = JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        byte[] json = springKafkaStyle.writeValueAsBytes(event);
+
+        assertEquals(event, deserializer.deserialize("order-events-topic", json));
+    }
+
+    @Test
+    void encode_IsSmallerThanJson() throws Exception {
+        OrderPlacedEvent event = sampleEvent(5);
+        ObjectMapper json = JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        int jsonSize = json.writeValueAsBytes(event).length;
+        int binarySize = OrderPlacedEventCodec.encode(event).length;
+
+        assertTrue(binarySize < jsonSize * 0.6, "binary " + binarySize + " bytes vs JSON " + jsonSize + " bytes");
+    }
+
+    @Test
+    void deserialize_RejectsTruncatedInput() {
+        byte[] encoded = OrderPlacedEventCodec.encode(sampleEvent(2));
+        byte[] truncated = Arrays.copyOf(encoded, encoded.length - 3);
+
+        assertThrows(SerializationException.class, () -> deserializer.deserialize("order-events-topic", truncated));
+    }
+
+    @Test
+    void nullEventsPassThrough() {
+        assertNull(serializer.serialize("order-events-topic", null));
+        assertNull(deserializer.deserialize("order-events-topic", null));
+    }
+
+    static OrderPlacedEvent sampleEvent(int itemCount) {
+        List<OrderItemDetails> items = new ArrayList<>();
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < itemCount; i++) {
+            BigDecimal price = new BigDecimal("12.50").add(BigDecimal.valueOf(i));
+            items.add(new OrderItemDetails(
+                    "0190f3a2-7c1e-7b44-9d2a-5f6e8a9b0c" + String.format("%02d", i),
+                    "Menu item number " + i,
+                    i + 1,
+                    price));
+            total = total.add(price.multiply(BigDecimal.valueOf(i + 1)));
+        }
+        return new OrderPlacedEvent(
+                "0190f3a2-7c1e-7b44-9d2a-5f6e8a9b0c1d",
+                "customer@example.com",
+                "0190f3a2-1111-7b44-9d2a-5f6e8a9b0c1d",
+                "Mama's Kitchen",
+                total,
+                "12 Independence Avenue, Accra",
+                LocalDateTime.of(2025, 7, 14, 12, 30, 15, 123_456_000),
+                items);
+    }
+
+    private static int indexOfItems(OrderPlacedEvent event) {
+        OrderPlacedEvent withoutItems = new OrderPlacedEvent(event.orderId(), event.userEmail(), event.restaurantId(),
+                event.restaurantName(), event.totalAmount(), event.deliveryAddress(), event.orderDate(), null);
+        // Everything up to the item count is identical; the count byte replaces the null marker.
+        return OrderPlacedEventCodec.encode(withoutItems).length - 1;
+    }
+}
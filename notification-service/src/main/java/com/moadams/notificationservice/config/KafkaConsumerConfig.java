@@ -0,0 +1,34 @@
+package com.moadams.notificationservice.config;
+
+import com.moadams.events.OrderPlacedEvent;
+import com.moadams.events.codec.OrderPlacedEventDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.boot.ssl.SslBundles;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+
+/**
+ * Reads OrderPlacedEvents in the shared binary format (and legacy JSON records),
+ * regardless of the value deserializer configured in spring.kafka.consumer.*.
+ */
+@Configuration
+public class KafkaConsumerConfig {
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, OrderPlacedEvent> orderPlacedContainerFactory(
+            KafkaProperties kafkaProperties, ObjectProvider<SslBundles> sslBundles) {
+        DefaultKafkaConsumerFactory<String, OrderPlacedEvent> consumerFactory = new DefaultKafkaConsumerFactory<>(
+                kafkaProperties.buildConsumerProperties(sslBundles.getIfAvailable()),
+                new StringDeserializer(),
+                new ErrorHandlingDeserializer<>(new OrderPlacedEventDeserializer()));
+
+        ConcurrentKafkaListenerContainerFactory<String, OrderPlacedEvent> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory);
+        return factory;
+    }
+}
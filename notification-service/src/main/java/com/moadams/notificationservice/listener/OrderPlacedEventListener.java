@@ -1,7 +1,7 @@
 package com.moadams.notificationservice.listener;
 
-import com.moadams.notificationservice.event.OrderItemDetails;
-import com.moadams.notificationservice.event.OrderPlacedEvent;
+import com.moadams.events.OrderItemDetails;
+import com.moadams.events.OrderPlacedEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.kafka.annotation.KafkaListener;
@@ -14,7 +14,8 @@ public class OrderPlacedEventListener {
 
     private static final Logger log = LoggerFactory.getLogger(OrderPlacedEventListener.class);
 
-    @KafkaListener(topics = "order-events-topic", groupId = "${spring.kafka.consumer.group-id}")
+    @KafkaListener(topics = "order-events-topic", groupId = "${spring.kafka.consumer.group-id}",
+            containerFactory = "orderPlacedContainerFactory")
     public void listenOrderPlacedEvent(OrderPlacedEvent event) {
         log.info("Received OrderPlacedEvent for Order ID: {}", event.orderId());
         log.info("Order Details: Restaurant '{}' for user '{}'", event.restaurantName(), event.userEmail());
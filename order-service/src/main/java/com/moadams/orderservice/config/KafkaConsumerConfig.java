@@ -0,0 +1,85 @@
+package com.moadams.orderservice.config;
+
+import com.moadams.events.MenuItemAvailabilityChangedEvent;
+import com.moadams.events.OrderPlacedEvent;
+import com.moadams.events.codec.OrderPlacedEventDeserializer;
+import com.moadams.orderservice.event.OrderStatusChangedEvent;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.boot.ssl.SslBundles;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Consumer factories for topics that every order-service replica must see in full.
+ * Each replica joins its own consumer group, so events are broadcast rather than
+ * load-balanced, and starts from the latest offset because the state fed from them
+ * is in-memory and rebuilt on startup. Menu item availability is the exception: its topic is
+ * compacted and read from the earliest offset, so replaying it is how that state is rebuilt.
+ */
+@Configuration
+public class KafkaConsumerConfig {
+
+    private final KafkaProperties kafkaProperties;
+    private final SslBundles sslBundles;
+    private final String instanceGroupSuffix = UUID.randomUUID().toString();
+
+    public KafkaConsumerConfig(KafkaProperties kafkaProperties, ObjectProvider<SslBundles> sslBundles) {
+        this.kafkaProperties = kafkaProperties;
+        this.sslBundles = sslBundles.getIfAvailable();
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, OrderStatusChangedEvent> orderStatusBroadcastContainerFactory() {
+        return broadcastContainerFactory("order-service-status-broadcast", OrderStatusChangedEvent.class);
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, OrderPlacedEvent> orderPlacedBroadcastContainerFactory() {
+        return broadcastContainerFactory("order-service-placed-broadcast", new OrderPlacedEventDeserializer());
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, MenuItemAvailabilityChangedEvent> menuAvailabilityContainerFactory() {
+        return broadcastContainerFactory("order-service-menu-availability",
+                new JsonDeserializer<>(MenuItemAvailabilityChangedEvent.class, false), "earliest");
+    }
+
+    private <T> ConcurrentKafkaListenerContainerFactory<String, T> broadcastContainerFactory(String groupPrefix, Class<T> type) {
+        JsonDeserializer<T> valueDeserializer = new JsonDeserializer<>(type, false);
+        valueDeserializer.addTrustedPackages("com.moadams.orderservice.event");
+        return broadcastContainerFactory(groupPrefix, valueDeserializer);
+    }
+
+    private <T> ConcurrentKafkaListenerContainerFactory<String, T> broadcastContainerFactory(String groupPrefix, Deserializer<T> valueDeserializer) {
+        return broadcastContainerFactory(groupPrefix, valueDeserializer, "latest");
+    }
+
+    private <T> ConcurrentKafkaListenerContainerFactory<String, T> broadcastContainerFactory(String groupPrefix,
+                                                                                            Deserializer<T> valueDeserializer,
+                                                                                            String offsetReset) {
+        Map<String, Object> props = kafkaProperties.buildConsumerProperties(sslBundles);
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, groupPrefix + "-" + instanceGroupSuffix);
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, offsetReset);
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, true);
+
+        DefaultKafkaConsumerFactory<String, T> consumerFactory = new DefaultKafkaConsumerFactory<>(
+                props,
+                new StringDeserializer(),
+                new ErrorHandlingDeserializer<>(valueDeserializer));
+
+        ConcurrentKafkaListenerContainerFactory<String, T> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory);
+        return factory;
+    }
+}
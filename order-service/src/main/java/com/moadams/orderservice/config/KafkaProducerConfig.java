@@ -0,0 +1,80 @@
+package com.moadams.orderservice.config;
+
+import com.moadams.events.OrderPlacedEvent;
+import com.moadams.events.codec.OrderPlacedEventSerializer;
+import com.moadams.orderservice.event.OrderStatusChangedEvent;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.boot.ssl.SslBundles;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.util.Map;
+
+/**
+ * One producer per event type, so each topic gets its own value serializer.
+ * OrderPlacedEvent goes out in the shared binary format; status changes stay JSON.
+ * Both start from the spring.kafka.producer.* settings, with the serializers fixed here.
+ * Batching, linger, compression and durability default to throughput-oriented values below;
+ * anything set explicitly under spring.kafka.producer.* takes precedence.
+ */
+@Configuration
+public class KafkaProducerConfig {
+
+    private final KafkaProperties kafkaProperties;
+    private final SslBundles sslBundles;
+
+    public KafkaProducerConfig(KafkaProperties kafkaProperties, ObjectProvider<SslBundles> sslBundles) {
+        this.kafkaProperties = kafkaProperties;
+        this.sslBundles = sslBundles.getIfAvailable();
+    }
+
+    @Bean
+    public ProducerFactory<String, OrderPlacedEvent> orderPlacedProducerFactory() {
+        return new DefaultKafkaProducerFactory<>(
+                producerProperties(),
+                new StringSerializer(),
+                new OrderPlacedEventSerializer());
+    }
+
+    @Bean
+    public KafkaTemplate<String, OrderPlacedEvent> orderPlacedKafkaTemplate(
+            ProducerFactory<String, OrderPlacedEvent> orderPlacedProducerFactory) {
+        return new KafkaTemplate<>(orderPlacedProducerFactory);
+    }
+
+    @Bean
+    public ProducerFactory<String, OrderStatusChangedEvent> orderStatusProducerFactory() {
+        return new DefaultKafkaProducerFactory<>(
+                producerProperties(),
+                new StringSerializer(),
+                new JsonSerializer<>());
+    }
+
+    @Bean
+    public KafkaTemplate<String, OrderStatusChangedEvent> orderStatusKafkaTemplate(
+            ProducerFactory<String, OrderStatusChangedEvent> orderStatusProducerFactory) {
+        return new KafkaTemplate<>(orderStatusProducerFactory);
+    }
+
+    private Map<String, Object> producerProperties() {
+        Map<String, Object> props = kafkaProperties.buildProducerProperties(sslBundles);
+        props.putIfAbsent(ProducerConfig.ACKS_CONFIG, "all");
+        props.putIfAbsent(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        props.putIfAbsent(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5);
+        props.putIfAbsent(ProducerConfig.LINGER_MS_CONFIG, 10);
+        props.putIfAbsent(ProducerConfig.BATCH_SIZE_CONFIG, 64 * 1024);
+        props.putIfAbsent(ProducerConfig.COMPRESSION_TYPE_CONFIG, "lz4");
+        props.putIfAbsent(ProducerConfig.BUFFER_MEMORY_CONFIG, 32L * 1024 * 1024);
+        // A full buffer blocks send() only briefly; KafkaEventPublisher bounds in-flight sends before that.
+        props.putIfAbsent(ProducerConfig.MAX_BLOCK_MS_CONFIG, 2000);
+        props.putIfAbsent(ProducerConfig.DELIVERY_TIMEOUT_MS_CONFIG, 30000);
+        return props;
+    }
+}
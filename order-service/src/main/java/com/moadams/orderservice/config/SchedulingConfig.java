@@ -0,0 +1,22 @@
+package com.moadams.orderservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.task.ThreadPoolTaskSchedulerBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * Scheduler for the {@code @Scheduled} jobs. Boot's default has a single thread, on which a
+ * nightly archive, analytics export or dashboard rebuild would stop pending orders from expiring
+ * and SSE heartbeats from going out; with a thread per job none of them waits for another.
+ */
+@Configuration
+public class SchedulingConfig {
+
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler(ThreadPoolTaskSchedulerBuilder builder,
+                                                 @Value("${spring.task.scheduling.pool.size:8}") int poolSize) {
+        return builder.poolSize(poolSize).build();
+    }
+}
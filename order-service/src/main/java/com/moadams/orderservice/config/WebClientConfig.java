@@ -0,0 +1,78 @@
+package com.moadams.orderservice.config;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * The single WebClient used for restaurant-service calls. It is built once, resolves the
+ * service through Eureka via the load balancer filter, and runs on its own bounded
+ * Reactor Netty pool so a slow restaurant-service cannot exhaust connections for anything else.
+ * The pool publishes reactor.netty.connection.provider.* gauges (active, idle, pending acquires)
+ * tagged with name=restaurant-service, and requests are timed as http.client.requests.
+ */
+@Configuration
+public class WebClientConfig {
+
+    private static final String RESTAURANT_SERVICE_POOL = "restaurant-service";
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider restaurantServiceConnectionProvider(
+            @Value("${restaurant.service.client.max-connections:50}") int maxConnections,
+            @Value("${restaurant.service.client.pending-acquire-max-count:200}") int pendingAcquireMaxCount,
+            @Value("${restaurant.service.client.pending-acquire-timeout-ms:2000}") long pendingAcquireTimeoutMs,
+            @Value("${restaurant.service.client.max-idle-time-ms:30000}") long maxIdleTimeMs,
+            @Value("${restaurant.service.client.max-life-time-ms:300000}") long maxLifeTimeMs) {
+        return ConnectionProvider.builder(RESTAURANT_SERVICE_POOL)
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMs))
+                .maxIdleTime(Duration.ofMillis(maxIdleTimeMs))
+                .maxLifeTime(Duration.ofMillis(maxLifeTimeMs))
+                .evictInBackground(Duration.ofSeconds(30))
+                .metrics(true)
+                .build();
+    }
+
+    /**
+     * Load-balanced builder backed by the restaurant-service pool. Boot's customizers are applied
+     * so request observations and codec settings match the auto-configured builder.
+     */
+    @Bean
+    @LoadBalanced
+    public WebClient.Builder restaurantServiceWebClientBuilder(
+            ConnectionProvider restaurantServiceConnectionProvider,
+            ObjectProvider<WebClientCustomizer> customizers,
+            @Value("${restaurant.service.client.connect-timeout-ms:1000}") int connectTimeoutMs,
+            @Value("${restaurant.service.client.response-timeout-ms:3000}") long responseTimeoutMs) {
+        HttpClient httpClient = HttpClient.create(restaurantServiceConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+                .responseTimeout(Duration.ofMillis(responseTimeoutMs))
+                .keepAlive(true);
+
+        WebClient.Builder builder = WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(httpClient));
+        customizers.orderedStream().forEach(customizer -> customizer.customize(builder));
+        return builder;
+    }
+
+    /**
+     * {@code restaurant.service.url} is a service id resolved through Eureka, not a host name.
+     */
+    @Bean
+    public WebClient restaurantServiceWebClient(
+            @LoadBalanced WebClient.Builder restaurantServiceWebClientBuilder,
+            @Value("${restaurant.service.url:http://restaurant-service}") String restaurantServiceUrl) {
+        return restaurantServiceWebClientBuilder.baseUrl(restaurantServiceUrl).build();
+    }
+}
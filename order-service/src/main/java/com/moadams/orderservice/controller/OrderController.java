@@ -1,12 +1,29 @@
 package com.moadams.orderservice.controller;
 
 import com.moadams.orderservice.dto.*;
+import com.moadams.orderservice.model.enums.OrderStatus;
 import com.moadams.orderservice.service.OrderService;
+import com.moadams.orderservice.service.analytics.OrderAnalyticsService;
+import com.moadams.orderservice.service.archive.OrderArchiver;
+import com.moadams.orderservice.service.dashboard.RestaurantDashboardService;
+import com.moadams.orderservice.service.export.OrderExportFormat;
+import com.moadams.orderservice.service.export.OrderExportService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -14,14 +31,35 @@ import java.util.List;
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderExportService orderExportService;
+    private final RestaurantDashboardService dashboardService;
+    private final OrderArchiver orderArchiver;
+    private final OrderAnalyticsService analyticsService;
 
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService,
+                           OrderExportService orderExportService,
+                           RestaurantDashboardService dashboardService,
+                           OrderArchiver orderArchiver,
+                           OrderAnalyticsService analyticsService) {
         this.orderService = orderService;
+        this.orderExportService = orderExportService;
+        this.dashboardService = dashboardService;
+        this.orderArchiver = orderArchiver;
+        this.analyticsService = analyticsService;
     }
 
     @GetMapping
-    public ResponseEntity getOrders(){
-        return ResponseEntity.ok("orders fetched");
+    public ResponseEntity<CustomApiResponse<OrderPageResponse>> getOrders(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        OrderPageResponse orders = orderService.getMyOrders(new OrderPageRequest(cursor, size, status, from, to));
+        return new ResponseEntity<>(
+                new CustomApiResponse<>(true, "Orders retrieved successfully", HttpStatus.OK.value(), orders),
+                HttpStatus.OK
+        );
     }
 
 
@@ -44,21 +82,151 @@ public class OrderController {
         );
     }
 
-    public ResponseEntity<CustomApiResponse<List<OrderSummaryResponse>>> getOrdersByUserId(
-            @PathVariable String userEmail) {
-        List<OrderSummaryResponse> orders = orderService.getOrdersByUserEmail(userEmail);
+    @GetMapping("/restaurant/{restaurantId}")
+    public ResponseEntity<CustomApiResponse<OrderPageResponse>> getOrdersByRestaurantId(
+            @PathVariable String restaurantId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        OrderPageResponse orders = orderService.getOrdersByRestaurantId(
+                restaurantId, new OrderPageRequest(cursor, size, status, from, to));
         return new ResponseEntity<>(
-                new CustomApiResponse<>(true, "Orders retrieved successfully", HttpStatus.OK.value(), orders),
+                new CustomApiResponse<>(true, "Orders retrieved for restaurant successfully", HttpStatus.OK.value(), orders),
                 HttpStatus.OK
         );
     }
 
-    @GetMapping("/restaurant/{restaurantId}")
-    public ResponseEntity<CustomApiResponse<List<OrderSummaryResponse>>> getOrdersByRestaurantId(
+    /**
+     * Streams the restaurant's full order history as NDJSON (default) or CSV.
+     * No Content-Length is set, so the body goes out with chunked transfer encoding as rows are written.
+     * Accessible by: ROLE_ADMIN, or ROLE_RESTAURANT_OWNER for their own restaurant
+     */
+    @GetMapping("/restaurant/{restaurantId}/export")
+    @PreAuthorize("hasRole('ADMIN') or (hasRole('RESTAURANT_OWNER') and @restaurantSecurity.isOwner(#restaurantId))")
+    public void exportOrdersByRestaurantId(
+            @PathVariable String restaurantId,
+            @RequestParam(defaultValue = "ndjson") String format,
+            HttpServletResponse response) throws IOException {
+        OrderExportFormat exportFormat = OrderExportFormat.fromParameter(format);
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("orders-" + restaurantId + "." + exportFormat.getFileExtension())
+                .build()
+                .toString());
+        orderExportService.exportRestaurantOrders(restaurantId, exportFormat, response.getOutputStream());
+    }
+
+    /**
+     * Live counters for the restaurant dashboard, served from the in-memory read model.
+     * Accessible by: ROLE_ADMIN, or ROLE_RESTAURANT_OWNER for their own restaurant
+     */
+    @GetMapping("/restaurant/{restaurantId}/dashboard")
+    @PreAuthorize("hasRole('ADMIN') or (hasRole('RESTAURANT_OWNER') and @restaurantSecurity.isOwner(#restaurantId))")
+    public ResponseEntity<CustomApiResponse<RestaurantDashboardResponse>> getRestaurantDashboard(
             @PathVariable String restaurantId) {
-        List<OrderSummaryResponse> orders = orderService.getOrdersByRestaurantId(restaurantId);
+        RestaurantDashboardResponse dashboard = dashboardService.getDashboard(restaurantId);
         return new ResponseEntity<>(
-                new CustomApiResponse<>(true, "Orders retrieved for restaurant successfully", HttpStatus.OK.value(), orders),
+                new CustomApiResponse<>(true, "Dashboard retrieved successfully", HttpStatus.OK.value(), dashboard),
+                HttpStatus.OK
+        );
+    }
+
+    /**
+     * Recomputes the dashboard read model from the orders table, e.g. after lost events.
+     */
+    @PostMapping("/dashboard/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CustomApiResponse<Long>> rebuildDashboard() {
+        long scanned = dashboardService.rebuild();
+        return new ResponseEntity<>(
+                new CustomApiResponse<>(true, "Dashboard rebuilt from " + scanned + " orders", HttpStatus.OK.value(), scanned),
+                HttpStatus.OK
+        );
+    }
+
+    /**
+     * Runs the archiver now instead of waiting for its schedule.
+     */
+    @PostMapping("/archive/run")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CustomApiResponse<Long>> runArchiver() {
+        long archived = orderArchiver.archive();
+        return new ResponseEntity<>(
+                new CustomApiResponse<>(true, "Archived " + archived + " orders", HttpStatus.OK.value(), archived),
+                HttpStatus.OK
+        );
+    }
+
+    /**
+     * Daily order count and revenue of delivered, archived orders per restaurant, for dates in [from, to].
+     * Accessible by: ROLE_ADMIN, for one or all restaurants; ROLE_RESTAURANT_OWNER, for a restaurantId they own
+     */
+    @GetMapping("/analytics/revenue")
+    @PreAuthorize("hasRole('ADMIN') or (hasRole('RESTAURANT_OWNER') and @restaurantSecurity.isOwner(#restaurantId))")
+    public ResponseEntity<CustomApiResponse<List<RestaurantDailyRevenue>>> getDailyRevenue(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String restaurantId) {
+        validateDateRange(from, to);
+        List<RestaurantDailyRevenue> revenue = analyticsService.getDailyRevenue(from, to, restaurantId);
+        return new ResponseEntity<>(
+                new CustomApiResponse<>(true, "Revenue retrieved successfully", HttpStatus.OK.value(), revenue),
+                HttpStatus.OK
+        );
+    }
+
+    /**
+     * Best-selling menu items of delivered, archived orders, for dates in [from, to].
+     * Accessible by: ROLE_ADMIN, for one or all restaurants; ROLE_RESTAURANT_OWNER, for a restaurantId they own
+     */
+    @GetMapping("/analytics/top-items")
+    @PreAuthorize("hasRole('ADMIN') or (hasRole('RESTAURANT_OWNER') and @restaurantSecurity.isOwner(#restaurantId))")
+    public ResponseEntity<CustomApiResponse<List<MenuItemPopularity>>> getTopMenuItems(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String restaurantId,
+            @RequestParam(defaultValue = "10") int limit) {
+        validateDateRange(from, to);
+        List<MenuItemPopularity> items = analyticsService.getTopMenuItems(from, to, restaurantId, Math.min(Math.max(limit, 1), 100));
+        return new ResponseEntity<>(
+                new CustomApiResponse<>(true, "Top menu items retrieved successfully", HttpStatus.OK.value(), items),
+                HttpStatus.OK
+        );
+    }
+
+    /**
+     * Appends newly archived orders to the analytics segments now instead of waiting for the schedule.
+     */
+    @PostMapping("/analytics/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CustomApiResponse<Long>> exportAnalytics() {
+        long exported = analyticsService.exportNewArchivedOrders();
+        return new ResponseEntity<>(
+                new CustomApiResponse<>(true, "Exported " + exported + " orders", HttpStatus.OK.value(), exported),
+                HttpStatus.OK
+        );
+    }
+
+    /**
+     * Server-Sent Events stream of status changes for one order.
+     * Sends the current status first and completes once the order reaches a terminal status.
+     */
+    @GetMapping(value = "/{orderId}/status/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOrderStatus(@PathVariable String orderId) {
+        return orderService.subscribeToOrderStatus(orderId);
+    }
+
+    /**
+     * Every status transition of the order, oldest first, including orders that have been archived.
+     */
+    @GetMapping("/{orderId}/timeline")
+    public ResponseEntity<CustomApiResponse<OrderTimelineResponse>> getOrderTimeline(@PathVariable String orderId) {
+        OrderTimelineResponse timeline = orderService.getOrderTimeline(orderId);
+        return new ResponseEntity<>(
+                new CustomApiResponse<>(true, "Order timeline retrieved successfully", HttpStatus.OK.value(), timeline),
                 HttpStatus.OK
         );
     }
@@ -74,6 +242,22 @@ public class OrderController {
         );
     }
 
+    /**
+     * Applies many status transitions in one call, e.g. from a kitchen display.
+     * Each order gets its own outcome; a failed transition does not roll back the others.
+     */
+    @PostMapping("/status/bulk")
+    @PreAuthorize("hasAnyRole('RESTAURANT_OWNER', 'ADMIN')")
+    public ResponseEntity<CustomApiResponse<BulkOrderStatusUpdateResponse>> updateOrderStatuses(
+            @Valid @RequestBody BulkOrderStatusUpdateRequest bulkUpdateRequest) {
+        BulkOrderStatusUpdateResponse result = orderService.updateOrderStatuses(bulkUpdateRequest);
+        return new ResponseEntity<>(
+                new CustomApiResponse<>(true, "Processed " + result.results().size() + " status updates",
+                        HttpStatus.OK.value(), result),
+                HttpStatus.OK
+        );
+    }
+
     public ResponseEntity<CustomApiResponse<Void>> cancelOrder(@PathVariable String orderId) {
         orderService.cancelOrder(orderId);
         return new ResponseEntity<>(
@@ -81,4 +265,10 @@ public class OrderController {
                 HttpStatus.NO_CONTENT
         );
     }
-}
\ No newline at end of file
+
+    private static void validateDateRange(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("'to' must not be before 'from'");
+        }
+    }
+}
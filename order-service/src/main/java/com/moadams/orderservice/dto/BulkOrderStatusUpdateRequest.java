@@ -0,0 +1,15 @@
+package com.moadams.orderservice.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record BulkOrderStatusUpdateRequest(
+        @NotEmpty(message = "At least one status update is required")
+        @Size(max = BulkOrderStatusUpdateRequest.MAX_UPDATES, message = "At most 500 status updates are allowed per request")
+        List<@Valid OrderStatusTransitionRequest> updates
+) {
+    public static final int MAX_UPDATES = 500;
+}
@@ -0,0 +1,9 @@
+package com.moadams.orderservice.dto;
+
+import java.util.List;
+
+public record BulkOrderStatusUpdateResponse(
+        int updated,
+        int failed,
+        List<OrderStatusTransitionResult> results
+) {}
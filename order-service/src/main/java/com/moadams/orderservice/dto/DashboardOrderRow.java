@@ -0,0 +1,15 @@
+package com.moadams.orderservice.dto;
+
+import com.moadams.orderservice.model.enums.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record DashboardOrderRow(
+        String id,
+        String restaurantId,
+        OrderStatus status,
+        BigDecimal totalAmount,
+        LocalDateTime orderDate,
+        LocalDateTime lastUpdated
+) {}
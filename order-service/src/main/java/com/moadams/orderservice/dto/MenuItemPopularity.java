@@ -0,0 +1,9 @@
+package com.moadams.orderservice.dto;
+
+import java.math.BigDecimal;
+
+public record MenuItemPopularity(String menuItemId,
+                                 String menuItemName,
+                                 long quantitySold,
+                                 BigDecimal revenue) {
+}
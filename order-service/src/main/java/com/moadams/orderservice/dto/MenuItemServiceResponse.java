@@ -5,5 +5,6 @@ import java.math.BigDecimal;
 public record MenuItemServiceResponse(
         String id,
         String name,
-        BigDecimal price
+        BigDecimal price,
+        Boolean available
 ) {}
\ No newline at end of file
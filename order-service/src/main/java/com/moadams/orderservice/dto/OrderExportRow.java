@@ -0,0 +1,17 @@
+package com.moadams.orderservice.dto;
+
+import com.moadams.orderservice.model.enums.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record OrderExportRow(String id,
+                             String userEmail,
+                             String restaurantId,
+                             String restaurantName,
+                             BigDecimal totalAmount,
+                             OrderStatus status,
+                             String deliveryAddress,
+                             LocalDateTime orderDate,
+                             LocalDateTime lastUpdated) {
+}
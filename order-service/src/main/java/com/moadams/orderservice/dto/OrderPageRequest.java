@@ -0,0 +1,31 @@
+package com.moadams.orderservice.dto;
+
+import com.moadams.orderservice.model.enums.OrderStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Keyset page request for order listings.
+ * The cursor is the opaque value returned as {@code nextCursor} by the previous page;
+ * {@code from} is inclusive and {@code to} is exclusive.
+ */
+public record OrderPageRequest(
+        String cursor,
+        int size,
+        OrderStatus status,
+        LocalDateTime from,
+        LocalDateTime to
+) {
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+
+    public OrderPageRequest {
+        if (size <= 0) {
+            size = DEFAULT_SIZE;
+        }
+        size = Math.min(size, MAX_SIZE);
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+    }
+}
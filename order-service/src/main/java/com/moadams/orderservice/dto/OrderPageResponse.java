@@ -0,0 +1,9 @@
+package com.moadams.orderservice.dto;
+
+import java.util.List;
+
+public record OrderPageResponse(
+        List<OrderSummaryResponse> orders,
+        String nextCursor,
+        boolean hasMore
+) {}
@@ -0,0 +1,16 @@
+package com.moadams.orderservice.dto;
+
+import com.moadams.orderservice.model.enums.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record OrderStatusSnapshot(
+        String id,
+        String userEmail,
+        String restaurantId,
+        OrderStatus status,
+        BigDecimal totalAmount,
+        LocalDateTime orderDate,
+        Long version
+) {}
@@ -0,0 +1,13 @@
+package com.moadams.orderservice.dto;
+
+import com.moadams.orderservice.model.enums.OrderStatus;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+public record OrderStatusTransitionRequest(
+        @NotBlank(message = "Order ID is required")
+        String orderId,
+
+        @NotNull(message = "New status is required")
+        OrderStatus newStatus
+) {}
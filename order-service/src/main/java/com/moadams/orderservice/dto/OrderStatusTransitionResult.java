@@ -0,0 +1,24 @@
+package com.moadams.orderservice.dto;
+
+import com.moadams.orderservice.model.enums.OrderStatus;
+
+public record OrderStatusTransitionResult(
+        String orderId,
+        Outcome outcome,
+        OrderStatus previousStatus,
+        OrderStatus newStatus,
+        String message
+) {
+    public enum Outcome {
+        UPDATED,
+        NOT_FOUND,
+        ILLEGAL_TRANSITION,
+        CONFLICT,
+        DUPLICATE,
+        INVALID
+    }
+
+    public boolean isUpdated() {
+        return outcome == Outcome.UPDATED;
+    }
+}
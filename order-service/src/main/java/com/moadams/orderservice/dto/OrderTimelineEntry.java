@@ -0,0 +1,10 @@
+package com.moadams.orderservice.dto;
+
+import com.moadams.orderservice.model.enums.OrderStatus;
+
+import java.time.LocalDateTime;
+
+public record OrderTimelineEntry(OrderStatus previousStatus,
+                                 OrderStatus status,
+                                 LocalDateTime occurredAt) {
+}
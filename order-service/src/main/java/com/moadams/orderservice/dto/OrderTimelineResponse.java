@@ -0,0 +1,7 @@
+package com.moadams.orderservice.dto;
+
+import java.util.List;
+
+public record OrderTimelineResponse(String orderId,
+                                    List<OrderTimelineEntry> entries) {
+}
@@ -0,0 +1,6 @@
+package com.moadams.orderservice.dto;
+
+public record OrderTimelineSnapshot(String id,
+                                    String userEmail,
+                                    String statusTimeline) {
+}
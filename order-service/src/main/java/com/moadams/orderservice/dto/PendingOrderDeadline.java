@@ -0,0 +1,6 @@
+package com.moadams.orderservice.dto;
+
+import java.time.LocalDateTime;
+
+public record PendingOrderDeadline(String id, LocalDateTime orderDate) {
+}
@@ -0,0 +1,10 @@
+package com.moadams.orderservice.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record RestaurantDailyRevenue(String restaurantId,
+                                     LocalDate date,
+                                     long orders,
+                                     BigDecimal revenue) {
+}
@@ -0,0 +1,18 @@
+package com.moadams.orderservice.dto;
+
+import com.moadams.orderservice.model.enums.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+public record RestaurantDashboardResponse(
+        String restaurantId,
+        Map<OrderStatus, Long> ordersByStatus,
+        long todayOrders,
+        BigDecimal todayRevenue,
+        BigDecimal averageTicketSize,
+        long last7DaysOrders,
+        BigDecimal last7DaysRevenue,
+        LocalDateTime lastRebuiltAt
+) {}
@@ -4,5 +4,6 @@ public record RestaurantServiceResponse(
         String id,
         String name,
         String address,
-        String contactInfo
+        String contactInfo,
+        String ownerEmail
 ) {}
\ No newline at end of file
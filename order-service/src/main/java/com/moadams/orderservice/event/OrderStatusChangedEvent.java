@@ -0,0 +1,17 @@
+package com.moadams.orderservice.event;
+
+import com.moadams.orderservice.model.enums.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record OrderStatusChangedEvent(
+        String orderId,
+        String userEmail,
+        String restaurantId,
+        OrderStatus previousStatus,
+        OrderStatus newStatus,
+        BigDecimal totalAmount,
+        LocalDateTime orderDate,
+        LocalDateTime changedAt
+) {}
@@ -0,0 +1,11 @@
+package com.moadams.orderservice.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class EventPublisherSaturatedException extends RuntimeException {
+    public EventPublisherSaturatedException(String message) {
+        super(message);
+    }
+}
@@ -1,6 +1,7 @@
 package com.moadams.orderservice.exception;
 
 import com.moadams.orderservice.dto.CustomApiResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -25,6 +26,74 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(apiResponse, HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(UnauthorizedAccessException.class)
+    public ResponseEntity<CustomApiResponse<Void>> handleUnauthorizedAccessException(UnauthorizedAccessException ex, WebRequest request) {
+        CustomApiResponse<Void> apiResponse = new CustomApiResponse<>(
+                false,
+                ex.getMessage(),
+                HttpStatus.FORBIDDEN.value(),
+                null
+        );
+        return new ResponseEntity<>(apiResponse, HttpStatus.FORBIDDEN);
+    }
+
+    @ExceptionHandler(RestaurantAtCapacityException.class)
+    public ResponseEntity<CustomApiResponse<Void>> handleRestaurantAtCapacityException(RestaurantAtCapacityException ex, WebRequest request) {
+        CustomApiResponse<Void> apiResponse = new CustomApiResponse<>(
+                false,
+                ex.getMessage(),
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                null
+        );
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(ex.getRetryAfterSeconds()))
+                .body(apiResponse);
+    }
+
+    @ExceptionHandler(MenuItemUnavailableException.class)
+    public ResponseEntity<CustomApiResponse<Void>> handleMenuItemUnavailableException(MenuItemUnavailableException ex, WebRequest request) {
+        CustomApiResponse<Void> apiResponse = new CustomApiResponse<>(
+                false,
+                ex.getMessage(),
+                HttpStatus.CONFLICT.value(),
+                null
+        );
+        return new ResponseEntity<>(apiResponse, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(RestaurantServiceUnavailableException.class)
+    public ResponseEntity<CustomApiResponse<Void>> handleRestaurantServiceUnavailableException(RestaurantServiceUnavailableException ex, WebRequest request) {
+        CustomApiResponse<Void> apiResponse = new CustomApiResponse<>(
+                false,
+                ex.getMessage(),
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                null
+        );
+        return new ResponseEntity<>(apiResponse, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @ExceptionHandler(EventPublisherSaturatedException.class)
+    public ResponseEntity<CustomApiResponse<Void>> handleEventPublisherSaturatedException(EventPublisherSaturatedException ex, WebRequest request) {
+        CustomApiResponse<Void> apiResponse = new CustomApiResponse<>(
+                false,
+                ex.getMessage(),
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                null
+        );
+        return new ResponseEntity<>(apiResponse, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @ExceptionHandler(OrderIntakeUnavailableException.class)
+    public ResponseEntity<CustomApiResponse<Void>> handleOrderIntakeUnavailableException(OrderIntakeUnavailableException ex, WebRequest request) {
+        CustomApiResponse<Void> apiResponse = new CustomApiResponse<>(
+                false,
+                ex.getMessage(),
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                null
+        );
+        return new ResponseEntity<>(apiResponse, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<CustomApiResponse<Map<String, String>>> handleValidationExceptions(MethodArgumentNotValidException ex, WebRequest request) {
         Map<String, String> errors = new HashMap<>();
@@ -51,6 +120,16 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(apiResponse, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<CustomApiResponse<Void>> handleIllegalArgumentException(IllegalArgumentException ex, WebRequest request) {
+        CustomApiResponse<Void> apiResponse = new CustomApiResponse<>(
+                false,
+                ex.getMessage(),
+                HttpStatus.BAD_REQUEST.value(),
+                null
+        );
+        return new ResponseEntity<>(apiResponse, HttpStatus.BAD_REQUEST);
+    }
 
     @ExceptionHandler(Exception.class)
     public ResponseEntity<CustomApiResponse<Void>> handleGlobalException(Exception ex, WebRequest request) {
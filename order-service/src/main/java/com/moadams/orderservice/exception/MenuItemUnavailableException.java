@@ -0,0 +1,11 @@
+package com.moadams.orderservice.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class MenuItemUnavailableException extends RuntimeException {
+    public MenuItemUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,15 @@
+package com.moadams.orderservice.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class RestaurantServiceUnavailableException extends RuntimeException {
+    public RestaurantServiceUnavailableException(String message) {
+        super(message);
+    }
+
+    public RestaurantServiceUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
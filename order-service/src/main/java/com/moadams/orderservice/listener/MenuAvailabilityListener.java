@@ -0,0 +1,30 @@
+package com.moadams.orderservice.listener;
+
+import com.moadams.events.MenuItemAvailabilityChangedEvent;
+import com.moadams.orderservice.service.availability.SoldOutMenuItems;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Component;
+
+@Component
+public class MenuAvailabilityListener {
+
+    private final SoldOutMenuItems soldOutMenuItems;
+
+    public MenuAvailabilityListener(SoldOutMenuItems soldOutMenuItems) {
+        this.soldOutMenuItems = soldOutMenuItems;
+    }
+
+    @KafkaListener(topics = MenuItemAvailabilityChangedEvent.TOPIC,
+            containerFactory = "menuAvailabilityContainerFactory")
+    public void listenAvailabilityChanged(@Header(KafkaHeaders.RECEIVED_KEY) String menuItemId,
+                                          @Payload(required = false) MenuItemAvailabilityChangedEvent event) {
+        if (event == null) {
+            soldOutMenuItems.onRemoved(menuItemId);
+        } else {
+            soldOutMenuItems.onChanged(event);
+        }
+    }
+}
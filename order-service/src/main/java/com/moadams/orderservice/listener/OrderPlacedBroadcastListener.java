@@ -0,0 +1,30 @@
+package com.moadams.orderservice.listener;
+
+import com.moadams.events.OrderPlacedEvent;
+import com.moadams.orderservice.service.dashboard.RestaurantDashboardService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+@Component
+public class OrderPlacedBroadcastListener {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderPlacedBroadcastListener.class);
+
+    private final RestaurantDashboardService dashboardService;
+
+    public OrderPlacedBroadcastListener(RestaurantDashboardService dashboardService) {
+        this.dashboardService = dashboardService;
+    }
+
+    @KafkaListener(topics = "order-events-topic",
+            containerFactory = "orderPlacedBroadcastContainerFactory")
+    public void listenOrderPlaced(OrderPlacedEvent event) {
+        if (event == null) {
+            return;
+        }
+        log.debug("Received OrderPlacedEvent for Order ID: {} (restaurant {})", event.orderId(), event.restaurantId());
+        dashboardService.onOrderPlaced(event);
+    }
+}
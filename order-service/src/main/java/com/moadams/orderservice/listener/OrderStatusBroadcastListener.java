@@ -0,0 +1,41 @@
+package com.moadams.orderservice.listener;
+
+import com.moadams.orderservice.event.OrderStatusChangedEvent;
+import com.moadams.orderservice.service.OrderStatusEventPublisher;
+import com.moadams.orderservice.service.OrderStatusStreamRegistry;
+import com.moadams.orderservice.service.dashboard.RestaurantDashboardService;
+import com.moadams.orderservice.service.expiry.PendingOrderExpiryService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+@Component
+public class OrderStatusBroadcastListener {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderStatusBroadcastListener.class);
+
+    private final OrderStatusStreamRegistry streamRegistry;
+    private final RestaurantDashboardService dashboardService;
+    private final PendingOrderExpiryService pendingOrderExpiryService;
+
+    public OrderStatusBroadcastListener(OrderStatusStreamRegistry streamRegistry,
+                                        RestaurantDashboardService dashboardService,
+                                        PendingOrderExpiryService pendingOrderExpiryService) {
+        this.streamRegistry = streamRegistry;
+        this.dashboardService = dashboardService;
+        this.pendingOrderExpiryService = pendingOrderExpiryService;
+    }
+
+    @KafkaListener(topics = OrderStatusEventPublisher.ORDER_STATUS_TOPIC,
+            containerFactory = "orderStatusBroadcastContainerFactory")
+    public void listenOrderStatusChanged(OrderStatusChangedEvent event) {
+        if (event == null) {
+            return;
+        }
+        log.debug("Received OrderStatusChangedEvent for Order ID: {} -> {}", event.orderId(), event.newStatus());
+        streamRegistry.publish(event);
+        dashboardService.onStatusChanged(event);
+        pendingOrderExpiryService.onStatusChanged(event);
+    }
+}
@@ -0,0 +1,62 @@
+package com.moadams.orderservice.model;
+
+import com.moadams.orderservice.model.enums.OrderStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Cold copy of an order that reached a terminal status and aged out of {@code orders}.
+ * Written only by the archiver with INSERT ... SELECT, so its columns mirror {@link Order}.
+ */
+@Entity
+@Table(name = "orders_archive", indexes = {
+        @Index(name = "idx_orders_archive_user_date", columnList = "userEmail, orderDate, id"),
+        @Index(name = "idx_orders_archive_restaurant_date", columnList = "restaurantId, orderDate, id"),
+        @Index(name = "idx_orders_archive_restaurant_status_date", columnList = "restaurantId, status, orderDate, id"),
+        @Index(name = "idx_orders_archive_archived_at_id", columnList = "archivedAt, id")
+})
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArchivedOrder {
+    @Id
+    private String id;
+
+    @Column(nullable = false)
+    private String userEmail;
+
+    @Column(nullable = false)
+    private String restaurantId;
+
+    @Column(nullable = false)
+    private String restaurantName;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal totalAmount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OrderStatus status;
+
+    @Column(nullable = false)
+    private String deliveryAddress;
+
+    @Column(nullable = false)
+    private LocalDateTime orderDate;
+
+    @Column(nullable = false)
+    private LocalDateTime lastUpdated;
+
+    private Long version;
+
+    @Column(length = 4000)
+    private String statusTimeline;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+}
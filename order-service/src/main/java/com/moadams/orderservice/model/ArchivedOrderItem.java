@@ -0,0 +1,38 @@
+package com.moadams.orderservice.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Cold copy of an {@link OrderItem} whose order was moved to {@link ArchivedOrder}.
+ */
+@Entity
+@Table(name = "order_items_archive", indexes = {
+        @Index(name = "idx_order_items_archive_order", columnList = "order_id")
+})
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArchivedOrderItem {
+    @Id
+    private String id;
+
+    @Column(name = "order_id", nullable = false)
+    private String orderId;
+
+    @Column(nullable = false)
+    private String menuItemId;
+
+    @Column(nullable = false)
+    private String menuItemName;
+
+    @Column(nullable = false)
+    private int quantity;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal price;
+}
@@ -1,6 +1,7 @@
 package com.moadams.orderservice.model;
 
 import com.moadams.orderservice.model.enums.OrderStatus;
+import com.moadams.orderservice.model.id.TimeOrderedId;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -10,7 +11,12 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_user_date", columnList = "userEmail, orderDate, id"),
+        @Index(name = "idx_orders_restaurant_date", columnList = "restaurantId, orderDate, id"),
+        @Index(name = "idx_orders_restaurant_status_date", columnList = "restaurantId, status, orderDate, id"),
+        @Index(name = "idx_orders_status_updated", columnList = "status, lastUpdated")
+})
 @Setter
 @Getter
 @NoArgsConstructor
@@ -18,7 +24,7 @@ import java.util.List;
 @Builder
 public class Order {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedId
     private String id;
 
     @Column(nullable = false)
@@ -49,6 +55,16 @@ public class Order {
     @Column(nullable = false)
     private LocalDateTime lastUpdated;
 
+    @Version
+    private Long version;
+
+    /**
+     * JSON snapshot of status transitions folded in from {@code order_events}.
+     * Written only by the snapshot job, never by entity updates.
+     */
+    @Column(length = 4000, insertable = false, updatable = false)
+    private String statusTimeline;
+
     public void addOrderItem(OrderItem item) {
         if (orderItems == null) {
             orderItems = new ArrayList<>();
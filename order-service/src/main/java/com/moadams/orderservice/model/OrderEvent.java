@@ -0,0 +1,39 @@
+package com.moadams.orderservice.model;
+
+import com.moadams.orderservice.model.enums.OrderStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One status transition of an order. Rows are only ever inserted, in batches, and removed once
+ * folded into the order's {@code statusTimeline} snapshot.
+ */
+@Entity
+@Table(name = "order_events", indexes = {
+        @Index(name = "idx_order_events_order_time", columnList = "order_id, occurredAt, id"),
+        @Index(name = "idx_order_events_occurred_at", columnList = "occurredAt")
+})
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderEvent {
+    @Id
+    private String id;
+
+    @Column(name = "order_id", nullable = false)
+    private String orderId;
+
+    @Enumerated(EnumType.STRING)
+    private OrderStatus previousStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OrderStatus newStatus;
+
+    @Column(nullable = false)
+    private LocalDateTime occurredAt;
+}
@@ -1,5 +1,6 @@
 package com.moadams.orderservice.model;
 
+import com.moadams.orderservice.model.id.TimeOrderedId;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -14,7 +15,7 @@ import java.math.BigDecimal;
 @Builder
 public class OrderItem {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedId
     private String id;
 
     @Column(nullable = false)
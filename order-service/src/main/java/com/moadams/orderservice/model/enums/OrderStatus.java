@@ -1,5 +1,10 @@
 package com.moadams.orderservice.model.enums;
 
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
 public enum OrderStatus {
     PENDING,
     CONFIRMED,
@@ -8,5 +13,26 @@ public enum OrderStatus {
     OUT_FOR_DELIVERY,
     DELIVERED,
     CANCELLED,
-    REJECTED
-}
\ No newline at end of file
+    REJECTED;
+
+    private static final Map<OrderStatus, Set<OrderStatus>> LEGAL_TRANSITIONS = new EnumMap<>(OrderStatus.class);
+
+    static {
+        LEGAL_TRANSITIONS.put(PENDING, EnumSet.of(CONFIRMED, REJECTED, CANCELLED));
+        LEGAL_TRANSITIONS.put(CONFIRMED, EnumSet.of(PREPARING, CANCELLED));
+        LEGAL_TRANSITIONS.put(PREPARING, EnumSet.of(READY_FOR_PICKUP, CANCELLED));
+        LEGAL_TRANSITIONS.put(READY_FOR_PICKUP, EnumSet.of(OUT_FOR_DELIVERY, DELIVERED, CANCELLED));
+        LEGAL_TRANSITIONS.put(OUT_FOR_DELIVERY, EnumSet.of(DELIVERED));
+        LEGAL_TRANSITIONS.put(DELIVERED, EnumSet.noneOf(OrderStatus.class));
+        LEGAL_TRANSITIONS.put(CANCELLED, EnumSet.noneOf(OrderStatus.class));
+        LEGAL_TRANSITIONS.put(REJECTED, EnumSet.noneOf(OrderStatus.class));
+    }
+
+    public boolean canTransitionTo(OrderStatus next) {
+        return LEGAL_TRANSITIONS.get(this).contains(next);
+    }
+
+    public boolean isTerminal() {
+        return LEGAL_TRANSITIONS.get(this).isEmpty();
+    }
+}
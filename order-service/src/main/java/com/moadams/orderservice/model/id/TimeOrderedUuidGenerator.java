@@ -0,0 +1,65 @@
+package com.moadams.orderservice.model.id;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates UUIDv7 identifiers (RFC 9562): a 48-bit Unix millisecond timestamp followed by a
+ * 12-bit counter and 62 random bits. Keys generated later sort after earlier ones, both as UUIDs
+ * and as their canonical strings, so inserts append to the right edge of the primary-key and
+ * foreign-key indexes instead of landing on random pages.
+ * <p>
+ * The timestamp and counter are advanced together with a single CAS, which keeps identifiers
+ * strictly increasing across threads, within a millisecond, and if the clock steps backwards.
+ */
+public class TimeOrderedUuidGenerator implements IdentifierGenerator {
+
+    private static final int COUNTER_BITS = 12;
+
+    /** Counter seeds stay below half the range so a busy millisecond has room to increment. */
+    private static final int COUNTER_SEED_BOUND = 1 << (COUNTER_BITS - 1);
+
+    /** Last issued value of {@code timestampMillis << 12 | counter}. */
+    private static final AtomicLong LAST_TIMESTAMP_AND_COUNTER = new AtomicLong();
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        return next();
+    }
+
+    public static String next() {
+        return nextUuid().toString();
+    }
+
+    public static UUID nextUuid() {
+        long timestampAndCounter = nextTimestampAndCounter();
+        long timestamp = timestampAndCounter >>> COUNTER_BITS;
+        long counter = timestampAndCounter & ((1L << COUNTER_BITS) - 1);
+
+        long mostSignificantBits = (timestamp << 16) | (0x7L << 12) | counter;
+        long leastSignificantBits = (ThreadLocalRandom.current().nextLong() >>> 2) | Long.MIN_VALUE;
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+
+    /**
+     * Takes the current millisecond with a fresh random counter seed when the clock has moved on,
+     * otherwise increments the previous value. Counter overflow carries into the timestamp, which
+     * briefly runs ahead of the wall clock rather than repeating or reordering keys.
+     */
+    private static long nextTimestampAndCounter() {
+        while (true) {
+            long previous = LAST_TIMESTAMP_AND_COUNTER.get();
+            long now = System.currentTimeMillis() << COUNTER_BITS;
+            long candidate = now > previous
+                    ? now | ThreadLocalRandom.current().nextInt(COUNTER_SEED_BOUND)
+                    : previous + 1;
+            if (LAST_TIMESTAMP_AND_COUNTER.compareAndSet(previous, candidate)) {
+                return candidate;
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.moadams.orderservice.repository;
+
+import com.moadams.orderservice.dto.DashboardOrderRow;
+import com.moadams.orderservice.dto.OrderExportRow;
+import com.moadams.orderservice.dto.OrderSummaryResponse;
+import com.moadams.orderservice.dto.OrderTimelineSnapshot;
+import com.moadams.orderservice.model.ArchivedOrder;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Read side of the order archive. Queries mirror {@link OrderRepository} so results from
+ * both tables can be merged; rows only ever arrive here through the archiver.
+ */
+@Repository
+public interface ArchivedOrderRepository extends JpaRepository<ArchivedOrder, String> {
+
+    @Query("""
+            select new com.moadams.orderservice.dto.OrderSummaryResponse(
+                o.id, o.userEmail, o.restaurantName, o.totalAmount, o.status, o.deliveryAddress, o.orderDate)
+            from ArchivedOrder o
+            where o.id = :id
+            """)
+    Optional<OrderSummaryResponse> findSummaryById(@Param("id") String id);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("""
+            select new com.moadams.orderservice.dto.OrderExportRow(
+                o.id, o.userEmail, o.restaurantId, o.restaurantName, o.totalAmount, o.status,
+                o.deliveryAddress, o.orderDate, o.lastUpdated)
+            from ArchivedOrder o
+            where o.restaurantId = :restaurantId
+            order by o.orderDate, o.id
+            """)
+    Stream<OrderExportRow> streamByRestaurantId(@Param("restaurantId") String restaurantId);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("""
+            select new com.moadams.orderservice.dto.DashboardOrderRow(
+                o.id, o.restaurantId, o.status, o.totalAmount, o.orderDate, o.lastUpdated)
+            from ArchivedOrder o
+            """)
+    Stream<DashboardOrderRow> streamDashboardRows();
+
+    @Query("""
+            select new com.moadams.orderservice.dto.OrderTimelineSnapshot(o.id, o.userEmail, o.statusTimeline)
+            from ArchivedOrder o
+            where o.id = :id
+            """)
+    Optional<OrderTimelineSnapshot> findTimelineSnapshot(@Param("id") String id);
+}
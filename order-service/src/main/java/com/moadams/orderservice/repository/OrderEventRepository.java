@@ -0,0 +1,26 @@
+package com.moadams.orderservice.repository;
+
+import com.moadams.orderservice.dto.OrderTimelineEntry;
+import com.moadams.orderservice.model.OrderEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface OrderEventRepository extends JpaRepository<OrderEvent, String> {
+
+    /**
+     * Not-yet-snapshotted transitions of one order, oldest first. A single range scan of
+     * idx_order_events_order_time.
+     */
+    @Query("""
+            select new com.moadams.orderservice.dto.OrderTimelineEntry(e.previousStatus, e.newStatus, e.occurredAt)
+            from OrderEvent e
+            where e.orderId = :orderId
+            order by e.occurredAt, e.id
+            """)
+    List<OrderTimelineEntry> findTimeline(@Param("orderId") String orderId);
+}
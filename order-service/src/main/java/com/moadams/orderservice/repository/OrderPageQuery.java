@@ -0,0 +1,94 @@
+package com.moadams.orderservice.repository;
+
+import com.moadams.orderservice.dto.OrderCursor;
+import com.moadams.orderservice.dto.OrderPageRequest;
+import com.moadams.orderservice.dto.OrderSummaryResponse;
+import com.moadams.orderservice.model.ArchivedOrder;
+import com.moadams.orderservice.model.Order;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keyset pages of orders, newest first, from {@code orders} or {@code orders_archive}.
+ * <p>
+ * Built with Criteria so that only the filters actually given reach the SQL: an optional filter
+ * written as {@code (:status is null or ...)} leaves the planner nothing to seek on, and it walks
+ * the index from the top. The cursor condition carries a redundant {@code orderDate <= cursorDate}
+ * bound for the same reason, so every page starts with an index seek to the cursor. Served by
+ * idx_orders_user_date and idx_orders_restaurant_date, or idx_orders_restaurant_status_date when
+ * filtering a restaurant's orders by status, and their archive counterparts.
+ */
+@Repository
+public class OrderPageQuery {
+
+    private final EntityManager entityManager;
+
+    public OrderPageQuery(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    public List<OrderSummaryResponse> findLivePageByUserEmail(String userEmail, OrderPageRequest request,
+                                                              OrderCursor cursor, int limit) {
+        return findPage(Order.class, "userEmail", userEmail, request, cursor, limit);
+    }
+
+    public List<OrderSummaryResponse> findArchivedPageByUserEmail(String userEmail, OrderPageRequest request,
+                                                                  OrderCursor cursor, int limit) {
+        return findPage(ArchivedOrder.class, "userEmail", userEmail, request, cursor, limit);
+    }
+
+    public List<OrderSummaryResponse> findLivePageByRestaurantId(String restaurantId, OrderPageRequest request,
+                                                                 OrderCursor cursor, int limit) {
+        return findPage(Order.class, "restaurantId", restaurantId, request, cursor, limit);
+    }
+
+    public List<OrderSummaryResponse> findArchivedPageByRestaurantId(String restaurantId, OrderPageRequest request,
+                                                                     OrderCursor cursor, int limit) {
+        return findPage(ArchivedOrder.class, "restaurantId", restaurantId, request, cursor, limit);
+    }
+
+    private List<OrderSummaryResponse> findPage(Class<?> entityType, String ownerAttribute, String owner,
+                                                OrderPageRequest request, OrderCursor cursor, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<OrderSummaryResponse> query = cb.createQuery(OrderSummaryResponse.class);
+        Root<?> o = query.from(entityType);
+        Path<LocalDateTime> orderDate = o.get("orderDate");
+        Path<String> id = o.get("id");
+
+        List<Predicate> where = new ArrayList<>();
+        where.add(cb.equal(o.get(ownerAttribute), owner));
+        if (request.status() != null) {
+            where.add(cb.equal(o.get("status"), request.status()));
+        }
+        if (request.from() != null) {
+            where.add(cb.greaterThanOrEqualTo(orderDate, request.from()));
+        }
+        if (request.to() != null) {
+            where.add(cb.lessThan(orderDate, request.to()));
+        }
+        if (cursor != null) {
+            where.add(cb.lessThanOrEqualTo(orderDate, cursor.orderDate()));
+            where.add(cb.or(
+                    cb.lessThan(orderDate, cursor.orderDate()),
+                    cb.and(cb.equal(orderDate, cursor.orderDate()), cb.lessThan(id, cursor.id()))));
+        }
+
+        query.select(cb.construct(OrderSummaryResponse.class,
+                        id, o.get("userEmail"), o.get("restaurantName"), o.get("totalAmount"),
+                        o.get("status"), o.get("deliveryAddress"), orderDate))
+                .where(where.toArray(Predicate[]::new))
+                .orderBy(cb.desc(orderDate), cb.desc(id));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
@@ -1,13 +1,88 @@
 package com.moadams.orderservice.repository;
 
+import com.moadams.orderservice.dto.DashboardOrderRow;
+import com.moadams.orderservice.dto.OrderExportRow;
+import com.moadams.orderservice.dto.OrderStatusSnapshot;
+import com.moadams.orderservice.dto.PendingOrderDeadline;
+import com.moadams.orderservice.dto.OrderTimelineSnapshot;
 import com.moadams.orderservice.model.Order;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, String> {
-    List<Order> findByUserEmail(String userEmail);
-    List<Order> findByRestaurantId(String restaurantId);
-}
\ No newline at end of file
+
+    /**
+     * Forward-only cursor over every order of a restaurant, oldest first.
+     * Must be consumed inside a transaction and closed; rows are fetched from the
+     * driver in chunks of the configured fetch size instead of being materialised.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("""
+            select new com.moadams.orderservice.dto.OrderExportRow(
+                o.id, o.userEmail, o.restaurantId, o.restaurantName, o.totalAmount, o.status,
+                o.deliveryAddress, o.orderDate, o.lastUpdated)
+            from Order o
+            where o.restaurantId = :restaurantId
+            order by o.orderDate, o.id
+            """)
+    Stream<OrderExportRow> streamByRestaurantId(@Param("restaurantId") String restaurantId);
+
+    @Query("""
+            select new com.moadams.orderservice.dto.OrderStatusSnapshot(
+                o.id, o.userEmail, o.restaurantId, o.status, o.totalAmount, o.orderDate, o.version)
+            from Order o
+            where o.id in :ids
+            """)
+    List<OrderStatusSnapshot> findStatusSnapshots(@Param("ids") Collection<String> ids);
+
+    /**
+     * Forward-only scan of the columns the restaurant dashboard is derived from.
+     * Used only to rebuild the dashboard read model from scratch.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("""
+            select new com.moadams.orderservice.dto.DashboardOrderRow(
+                o.id, o.restaurantId, o.status, o.totalAmount, o.orderDate, o.lastUpdated)
+            from Order o
+            """)
+    Stream<DashboardOrderRow> streamDashboardRows();
+
+    /**
+     * Forward-only scan of orders still waiting for confirmation, used to rebuild the
+     * in-memory expiry schedule at startup.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("""
+            select new com.moadams.orderservice.dto.PendingOrderDeadline(o.id, o.orderDate)
+            from Order o
+            where o.status = com.moadams.orderservice.model.enums.OrderStatus.PENDING
+            """)
+    Stream<PendingOrderDeadline> streamPendingOrders();
+
+    @Query("""
+            select new com.moadams.orderservice.dto.OrderTimelineSnapshot(o.id, o.userEmail, o.statusTimeline)
+            from Order o
+            where o.id = :id
+            """)
+    Optional<OrderTimelineSnapshot> findTimelineSnapshot(@Param("id") String id);
+}
@@ -35,4 +35,13 @@ public class GatewayHeaderAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Async dispatches (e.g. when an SSE stream completes) go through the security chain again
+     * on a fresh SecurityContext, so the gateway headers have to be re-applied there too.
+     */
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
 }
\ No newline at end of file
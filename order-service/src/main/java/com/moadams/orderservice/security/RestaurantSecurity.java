@@ -0,0 +1,60 @@
+package com.moadams.orderservice.security;
+
+import com.moadams.orderservice.service.restaurant.RestaurantServiceClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Restaurant ownership checks for {@code @PreAuthorize} expressions. Restaurants and their owners
+ * live in restaurant-service; owners are looked up there and kept for {@code cache-ttl-ms}, so a
+ * polled dashboard does not call restaurant-service on every request.
+ */
+@Component("restaurantSecurity")
+public class RestaurantSecurity {
+
+    private record CachedOwner(Optional<String> ownerEmail, long expiresAt) {
+    }
+
+    private final RestaurantServiceClient restaurantServiceClient;
+    private final long cacheTtlMillis;
+    private final ConcurrentMap<String, CachedOwner> owners = new ConcurrentHashMap<>();
+
+    public RestaurantSecurity(RestaurantServiceClient restaurantServiceClient,
+                              @Value("${restaurant.ownership.cache-ttl-ms:60000}") long cacheTtlMillis) {
+        this.restaurantServiceClient = restaurantServiceClient;
+        this.cacheTtlMillis = cacheTtlMillis;
+    }
+
+    /**
+     * Checks if the currently authenticated user is the owner of the given restaurant.
+     * @param restaurantId The ID of the restaurant to check ownership for.
+     * @return true if the current user is the owner, false otherwise, also for unknown restaurants.
+     */
+    public boolean isOwner(String restaurantId) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || restaurantId == null) {
+            return false;
+        }
+        return ownerOf(restaurantId)
+                .map(email -> email.equals(authentication.getName()))
+                .orElse(false);
+    }
+
+    private Optional<String> ownerOf(String restaurantId) {
+        long now = System.currentTimeMillis();
+        CachedOwner cached = owners.get(restaurantId);
+        if (cached != null && cached.expiresAt() > now) {
+            return cached.ownerEmail();
+        }
+        Optional<String> ownerEmail = Optional.ofNullable(
+                restaurantServiceClient.getRestaurantOwnerEmail(restaurantId).block());
+        owners.put(restaurantId, new CachedOwner(ownerEmail, now + cacheTtlMillis));
+        return ownerEmail;
+    }
+}
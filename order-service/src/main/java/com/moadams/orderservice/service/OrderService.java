@@ -1,16 +1,24 @@
 package com.moadams.orderservice.service;
 
+import com.moadams.orderservice.dto.BulkOrderStatusUpdateRequest;
+import com.moadams.orderservice.dto.BulkOrderStatusUpdateResponse;
+import com.moadams.orderservice.dto.OrderPageRequest;
+import com.moadams.orderservice.dto.OrderPageResponse;
 import com.moadams.orderservice.dto.OrderRequest;
 import com.moadams.orderservice.dto.OrderStatusUpdateRequest;
 import com.moadams.orderservice.dto.OrderSummaryResponse;
-
-import java.util.List;
+import com.moadams.orderservice.dto.OrderTimelineResponse;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 public interface OrderService {
     String createOrder(OrderRequest orderRequest);
     OrderSummaryResponse getOrderById(String orderId);
-    List<OrderSummaryResponse> getOrdersByUserEmail(String userEmail);
-    List<OrderSummaryResponse> getOrdersByRestaurantId(String restaurantId);
+    OrderPageResponse getMyOrders(OrderPageRequest pageRequest);
+    OrderPageResponse getOrdersByUserEmail(String userEmail, OrderPageRequest pageRequest);
+    OrderPageResponse getOrdersByRestaurantId(String restaurantId, OrderPageRequest pageRequest);
     OrderSummaryResponse updateOrderStatus(String orderId, OrderStatusUpdateRequest statusUpdateRequest);
+    BulkOrderStatusUpdateResponse updateOrderStatuses(BulkOrderStatusUpdateRequest bulkUpdateRequest);
     void cancelOrder(String orderId);
+    SseEmitter subscribeToOrderStatus(String orderId);
+    OrderTimelineResponse getOrderTimeline(String orderId);
 }
\ No newline at end of file
@@ -1,34 +1,53 @@
 package com.moadams.orderservice.service;
 
+import com.moadams.events.OrderItemDetails;
+import com.moadams.events.OrderPlacedEvent;
 import com.moadams.orderservice.dto.*;
-import com.moadams.orderservice.event.OrderItemDetails;
-import com.moadams.orderservice.event.OrderPlacedEvent;
+import com.moadams.orderservice.event.OrderStatusChangedEvent;
+import com.moadams.orderservice.exception.MenuItemUnavailableException;
+import com.moadams.orderservice.exception.OrderIntakeUnavailableException;
 import com.moadams.orderservice.exception.ResourceNotFoundException;
+import com.moadams.orderservice.exception.RestaurantServiceUnavailableException;
 import com.moadams.orderservice.exception.UnauthorizedAccessException;
 import com.moadams.orderservice.model.Order;
 import com.moadams.orderservice.model.OrderItem;
 import com.moadams.orderservice.model.enums.OrderStatus;
+import com.moadams.orderservice.repository.ArchivedOrderRepository;
+import com.moadams.orderservice.repository.OrderEventRepository;
+import com.moadams.orderservice.repository.OrderPageQuery;
 import com.moadams.orderservice.repository.OrderRepository;
+import com.moadams.orderservice.service.admission.RestaurantAdmissionControl;
+import com.moadams.orderservice.service.availability.SoldOutMenuItems;
+import com.moadams.orderservice.service.expiry.PendingOrderExpiryService;
+import com.moadams.orderservice.service.history.OrderEventLog;
+import com.moadams.orderservice.service.history.OrderTimelineCodec;
+import com.moadams.orderservice.service.intake.OrderIntakeBuffer;
+import com.moadams.orderservice.service.publish.KafkaEventPublisher;
+import com.moadams.orderservice.service.restaurant.RestaurantServiceClient;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.reactive.function.client.WebClient;
-import reactor.core.publisher.Mono;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 import org.springframework.kafka.core.KafkaTemplate;
-import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 
 
 @Service
@@ -38,14 +57,29 @@ import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 public class OrderServiceImpl implements OrderService {
 
     private final OrderRepository orderRepository;
-    private final WebClient.Builder webClientBuilder;
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final OrderEventRepository orderEventRepository;
+    private final OrderPageQuery orderPageQuery;
+    private final OrderEventLog orderEventLog;
+    private final OrderTimelineCodec orderTimelineCodec;
+    private final TransactionTemplate transactionTemplate;
+    private final OrderStatusBatchUpdater orderStatusBatchUpdater;
+    private final OrderStatusStreamRegistry orderStatusStreamRegistry;
+    private final RestaurantAdmissionControl restaurantAdmissionControl;
+    private final SoldOutMenuItems soldOutMenuItems;
+    private final OrderIntakeBuffer orderIntakeBuffer;
+    private final PendingOrderExpiryService pendingOrderExpiryService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RestaurantServiceClient restaurantServiceClient;
     private final KafkaTemplate<String, OrderPlacedEvent> kafkaTemplate;
-
-    @Value("${restaurant.service.url}")
-    private String restaurantServiceUrl;
+    private final KafkaEventPublisher kafkaEventPublisher;
 
     private static final String ORDER_EVENTS_TOPIC = "order-events-topic";
 
+    private static final Comparator<OrderSummaryResponse> NEWEST_FIRST = Comparator
+            .comparing(OrderSummaryResponse::orderDate, Comparator.reverseOrder())
+            .thenComparing(OrderSummaryResponse::id, Comparator.reverseOrder());
+
 
     private String getCurrentUserEmail() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -55,11 +89,27 @@ public class OrderServiceImpl implements OrderService {
         return (String) authentication.getPrincipal();
     }
 
+    private static MenuItemUnavailableException soldOut(String menuItemId) {
+        return new MenuItemUnavailableException("Menu item is sold out: " + menuItemId);
+    }
+
+    /**
+     * Runs outside a transaction: the restaurant-service calls happen first, and the insert
+     * either commits on its own or joins the next group commit of {@link OrderIntakeBuffer}.
+     * Items known to be sold out are rejected before any of that, from {@link SoldOutMenuItems}.
+     */
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public String createOrder(OrderRequest orderRequest) {
         if (orderRequest.orderItems() == null || orderRequest.orderItems().isEmpty()) {
             throw new IllegalArgumentException("Order must contain at least one item");
         }
+        for (OrderItemRequest itemRequest : orderRequest.orderItems()) {
+            if (soldOutMenuItems.isSoldOut(itemRequest.menuItemId())) {
+                throw soldOut(itemRequest.menuItemId());
+            }
+        }
+        restaurantAdmissionControl.admit(orderRequest.restaurantId());
 
         Order order = Order.builder()
                 .userEmail(getCurrentUserEmail())
@@ -71,12 +121,13 @@ public class OrderServiceImpl implements OrderService {
                 .build();
 
         log.info("Calling restaurant-service for restaurant ID: {} with Circuit Breaker.", orderRequest.restaurantId());
-        CustomApiResponse<RestaurantServiceResponse> restaurantApiResponse = getRestaurantServiceDetails(orderRequest.restaurantId())
+        CustomApiResponse<RestaurantServiceResponse> restaurantApiResponse = restaurantServiceClient
+                .getRestaurant(orderRequest.restaurantId())
                 .block();
 
-        if (restaurantApiResponse == null || restaurantApiResponse.data() == null) {
+        if (restaurantApiResponse == null || !restaurantApiResponse.success() || restaurantApiResponse.data() == null) {
             log.error("Failed to retrieve restaurant details or fallback returned null for restaurantId: {}", orderRequest.restaurantId());
-            throw new RuntimeException("Cannot create order: Restaurant details unavailable due to service issue.");
+            throw new RestaurantServiceUnavailableException("Cannot create order: Restaurant details unavailable due to service issue.");
         }
         order.setRestaurantName(restaurantApiResponse.data().name());
 
@@ -85,26 +136,9 @@ public class OrderServiceImpl implements OrderService {
                 .distinct()
                 .collect(Collectors.toList());
 
-        Map<String, MenuItemServiceResponse> menuItemsMap = new HashMap<>();
-
-        WebClient restaurantWebClient = webClientBuilder.baseUrl(restaurantServiceUrl).build();
-
-        for (String menuItemId : menuItemIds) {
-            CustomApiResponse<MenuItemServiceResponse> menuItemApiResponse = restaurantWebClient.get()
-                    .uri("/api/restaurants/{restaurantId}/menu-items/{menuItemId}",
-                            orderRequest.restaurantId(), menuItemId)
-                    .retrieve()
-                    .onStatus(status -> status.is4xxClientError() || status.is5xxServerError(),
-                            clientResponse -> clientResponse.bodyToMono(String.class)
-                                    .flatMap(errorBody -> Mono.error(new ResourceNotFoundException(
-                                            "Menu item not found with ID: " + menuItemId))))
-                    .bodyToMono(new ParameterizedTypeReference<CustomApiResponse<MenuItemServiceResponse>>() {})
-                    .block();
-
-            if (menuItemApiResponse != null && menuItemApiResponse.data() != null) {
-                menuItemsMap.put(menuItemId, menuItemApiResponse.data());
-            }
-        }
+        Map<String, MenuItemServiceResponse> menuItemsMap = restaurantServiceClient
+                .getMenuItems(orderRequest.restaurantId(), menuItemIds)
+                .block();
 
         BigDecimal calculatedTotalAmount = BigDecimal.ZERO;
 
@@ -117,6 +151,9 @@ public class OrderServiceImpl implements OrderService {
             if (menuItem == null) {
                 throw new ResourceNotFoundException("Menu item not found with ID: " + itemRequest.menuItemId());
             }
+            if (Boolean.FALSE.equals(menuItem.available())) {
+                throw soldOut(itemRequest.menuItemId());
+            }
 
             OrderItem orderItem = OrderItem.builder()
                     .menuItemId(menuItem.id())
@@ -134,94 +171,127 @@ public class OrderServiceImpl implements OrderService {
 
         order.setTotalAmount(calculatedTotalAmount);
 
-        Order savedOrder = orderRepository.save(order);
-
-
-        List<OrderItemDetails> itemDetails = savedOrder.getOrderItems().stream()
-                .map(item -> new OrderItemDetails(
-                        item.getMenuItemId(),
-                        item.getMenuItemName(),
-                        item.getQuantity(),
-                        item.getPrice()
-                ))
-                .collect(Collectors.toList());
-
-        OrderPlacedEvent event = new OrderPlacedEvent(
-                savedOrder.getId(),
-                savedOrder.getUserEmail(),
-                savedOrder.getRestaurantId(),
-                savedOrder.getRestaurantName(),
-                savedOrder.getTotalAmount(),
-                savedOrder.getDeliveryAddress(),
-                savedOrder.getOrderDate(),
-                itemDetails
-        );
-
+        // Room for the OrderPlacedEvent is taken before the order is stored: an order that was
+        // saved must be announced, so a saturated publisher rejects the request instead.
+        Order savedOrder;
+        try (KafkaEventPublisher.Reservation reservation = kafkaEventPublisher.reserve(ORDER_EVENTS_TOPIC)) {
+            savedOrder = persistNewOrder(order);
+            pendingOrderExpiryService.schedule(savedOrder.getId(), savedOrder.getOrderDate());
+
+            List<OrderItemDetails> itemDetails = savedOrder.getOrderItems().stream()
+                    .map(item -> new OrderItemDetails(
+                            item.getMenuItemId(),
+                            item.getMenuItemName(),
+                            item.getQuantity(),
+                            item.getPrice()
+                    ))
+                    .collect(Collectors.toList());
+
+            OrderPlacedEvent event = new OrderPlacedEvent(
+                    savedOrder.getId(),
+                    savedOrder.getUserEmail(),
+                    savedOrder.getRestaurantId(),
+                    savedOrder.getRestaurantName(),
+                    savedOrder.getTotalAmount(),
+                    savedOrder.getDeliveryAddress(),
+                    savedOrder.getOrderDate(),
+                    itemDetails
+            );
 
-        kafkaTemplate.send(ORDER_EVENTS_TOPIC, event.orderId(), event);
-        log.info("OrderPlacedEvent published for Order ID: {}", savedOrder.getId());
+            // Keyed by restaurant so one restaurant-service replica owns each kitchen queue.
+            reservation.publish(kafkaTemplate, ORDER_EVENTS_TOPIC, event.restaurantId(), event)
+                    .thenRun(() -> log.info("OrderPlacedEvent published for Order ID: {}", event.orderId()));
+        }
 
         return "Order created with ID: " + savedOrder.getId();
     }
 
-    @CircuitBreaker(name = "restaurantServiceCircuitBreaker", fallbackMethod = "getRestaurantFallback")
-    public Mono<CustomApiResponse<RestaurantServiceResponse>> getRestaurantServiceDetails(String restaurantId) {
-        log.info("Attempting to get restaurant details from restaurant-service for ID: {}", restaurantId);
-        return webClientBuilder.baseUrl(restaurantServiceUrl).build()
-                .get()
-                .uri("/api/restaurants/{restaurantId}", restaurantId)
-                .retrieve()
-                .onStatus(status -> status.is4xxClientError() || status.is5xxServerError(),
-                        clientResponse -> clientResponse.bodyToMono(String.class).flatMap(errorBody -> {
-                            log.error("Error response from restaurant-service (status {}): {}", clientResponse.statusCode(), errorBody);
-                            return Mono.error(new RuntimeException("Restaurant service returned error: " + errorBody));
-                        }))
-                .bodyToMono(new ParameterizedTypeReference<CustomApiResponse<RestaurantServiceResponse>>() {})
-                .doOnError(e -> log.error("WebClient call to restaurant-service failed: {}", e.getMessage()));
-    }
-
-    public Mono<CustomApiResponse<RestaurantServiceResponse>> getRestaurantFallback(String restaurantId, Throwable t) {
-        log.warn("Fallback triggered for getRestaurantServiceDetails for restaurantId: {}. Reason: {}", restaurantId, t.getMessage());
-
-        List<MenuItemServiceResponse> fallbackMenuItems = List.of(
-                new MenuItemServiceResponse("fallback-item-1", "Unavailable Item 1", BigDecimal.ZERO),
-                new MenuItemServiceResponse("fallback-item-2", "Unavailable Item 2", BigDecimal.ZERO)
-        );
-
-        RestaurantServiceResponse fallbackRestaurant = new RestaurantServiceResponse(
-                restaurantId,
-                "Fallback Restaurant Name (Service Unavailable)",
-                "Fallback Address (Service Issue)",
-                "Fallback Contact (Service Issue)"
-        );
-
-        CustomApiResponse<RestaurantServiceResponse> fallbackApiResponse = new CustomApiResponse<>(
-                false,
-                "Restaurant service is currently unavailable. Using fallback data.",
-                503,
-                fallbackRestaurant
-        );
-
-        return Mono.just(fallbackApiResponse);
+    private Order persistNewOrder(Order order) {
+        if (!orderIntakeBuffer.isEnabled()) {
+            return transactionTemplate.execute(status -> {
+                Order saved = orderRepository.save(order);
+                orderEventLog.record(saved.getId(), null, saved.getStatus(), saved.getOrderDate());
+                return saved;
+            });
+        }
+        try {
+            return orderIntakeBuffer.submit(order).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof TimeoutException) {
+                // Only orders the flusher never took time out, so this one was not saved.
+                throw new OrderIntakeUnavailableException("Order could not be saved in time; please try again.");
+            }
+            throw e;
+        }
     }
 
     @Override
+    @Transactional(readOnly = true)
     public OrderSummaryResponse getOrderById(String orderId) {
-        Order order = orderRepository.findById(orderId)
+        return orderRepository.findById(orderId)
+                .map(this::convertToDto)
+                .or(() -> archivedOrderRepository.findSummaryById(orderId))
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + orderId));
-        return convertToDto(order);
     }
 
     @Override
-    public List<OrderSummaryResponse> getOrdersByUserEmail(String userEmail) {
-        List<Order> orders = orderRepository.findByUserEmail(userEmail);
-        return orders.stream().map(this::convertToDto).collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public OrderPageResponse getMyOrders(OrderPageRequest pageRequest) {
+        return getOrdersByUserEmail(getCurrentUserEmail(), pageRequest);
     }
 
     @Override
-    public List<OrderSummaryResponse> getOrdersByRestaurantId(String restaurantId) {
-        List<Order> orders = orderRepository.findByRestaurantId(restaurantId);
-        return orders.stream().map(this::convertToDto).collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public OrderPageResponse getOrdersByUserEmail(String userEmail, OrderPageRequest pageRequest) {
+        OrderCursor cursor = OrderCursor.decode(pageRequest.cursor());
+        int limit = pageRequest.size() + 1;
+        List<OrderSummaryResponse> live = orderPageQuery.findLivePageByUserEmail(userEmail, pageRequest, cursor, limit);
+        List<OrderSummaryResponse> archived = orderPageQuery.findArchivedPageByUserEmail(userEmail, pageRequest, cursor, limit);
+        return toPage(mergeNewestFirst(live, archived, limit), pageRequest.size());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public OrderPageResponse getOrdersByRestaurantId(String restaurantId, OrderPageRequest pageRequest) {
+        OrderCursor cursor = OrderCursor.decode(pageRequest.cursor());
+        int limit = pageRequest.size() + 1;
+        List<OrderSummaryResponse> live = orderPageQuery.findLivePageByRestaurantId(restaurantId, pageRequest, cursor, limit);
+        List<OrderSummaryResponse> archived = orderPageQuery.findArchivedPageByRestaurantId(restaurantId, pageRequest, cursor, limit);
+        return toPage(mergeNewestFirst(live, archived, limit), pageRequest.size());
+    }
+
+    /**
+     * Both sources are keyset pages from the same cursor in (orderDate, id) descending order,
+     * so the first {@code limit} rows of their merge are exactly the next rows overall.
+     */
+    private static List<OrderSummaryResponse> mergeNewestFirst(List<OrderSummaryResponse> live,
+                                                               List<OrderSummaryResponse> archived,
+                                                               int limit) {
+        if (archived.isEmpty()) {
+            return live;
+        }
+        List<OrderSummaryResponse> merged = new ArrayList<>(live.size() + archived.size());
+        merged.addAll(live);
+        merged.addAll(archived);
+        merged.sort(NEWEST_FIRST);
+        // An order archived between the two reads can show up in both lists.
+        Set<String> seen = new HashSet<>();
+        merged.removeIf(order -> !seen.add(order.id()));
+        return merged.size() > limit ? merged.subList(0, limit) : merged;
+    }
+
+    /**
+     * Pages are fetched with one extra row so we know whether another page exists
+     * without running a count query.
+     */
+    private OrderPageResponse toPage(List<OrderSummaryResponse> rows, int size) {
+        boolean hasMore = rows.size() > size;
+        List<OrderSummaryResponse> page = hasMore ? rows.subList(0, size) : rows;
+        String nextCursor = hasMore ? OrderCursor.of(page.get(page.size() - 1)).encode() : null;
+        return new OrderPageResponse(List.copyOf(page), nextCursor, hasMore);
     }
 
     @Override
@@ -229,25 +299,115 @@ public class OrderServiceImpl implements OrderService {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + orderId));
 
+        if (!order.getStatus().canTransitionTo(statusUpdateRequest.newStatus())) {
+            throw new IllegalStateException("Cannot move order from " + order.getStatus()
+                    + " to " + statusUpdateRequest.newStatus() + ".");
+        }
+
+        OrderStatus previousStatus = order.getStatus();
         order.setStatus(statusUpdateRequest.newStatus());
         order.setLastUpdated(LocalDateTime.now());
 
         Order updatedOrder = orderRepository.save(order);
+        publishStatusChanged(updatedOrder, previousStatus);
         return convertToDto(updatedOrder);
     }
 
+    @Override
+    public BulkOrderStatusUpdateResponse updateOrderStatuses(BulkOrderStatusUpdateRequest bulkUpdateRequest) {
+        List<OrderStatusTransitionRequest> updates = bulkUpdateRequest.updates();
+        if (updates == null || updates.isEmpty()) {
+            throw new IllegalArgumentException("At least one status update is required");
+        }
+        if (updates.size() > BulkOrderStatusUpdateRequest.MAX_UPDATES) {
+            throw new IllegalArgumentException("At most " + BulkOrderStatusUpdateRequest.MAX_UPDATES
+                    + " status updates are allowed per request");
+        }
+
+        List<OrderStatusTransitionResult> results = orderStatusBatchUpdater.apply(updates);
+        int updated = (int) results.stream().filter(OrderStatusTransitionResult::isUpdated).count();
+        return new BulkOrderStatusUpdateResponse(updated, results.size() - updated, results);
+    }
+
     @Override
     public void cancelOrder(String orderId) {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + orderId));
 
-        if (order.getStatus() == OrderStatus.DELIVERED || order.getStatus() == OrderStatus.CANCELLED) {
-            throw new IllegalStateException("Cannot cancel an order that is already DELIVERED or CANCELLED.");
+        if (!order.getStatus().canTransitionTo(OrderStatus.CANCELLED)) {
+            throw new IllegalStateException("Cannot cancel an order that is " + order.getStatus() + ".");
         }
 
+        OrderStatus previousStatus = order.getStatus();
         order.setStatus(OrderStatus.CANCELLED);
         order.setLastUpdated(LocalDateTime.now());
-        orderRepository.save(order);
+        Order cancelledOrder = orderRepository.save(order);
+        publishStatusChanged(cancelledOrder, previousStatus);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public SseEmitter subscribeToOrderStatus(String orderId) {
+        FollowedOrder order = findFollowedOrder(orderId);
+
+        assertCanView(order.userEmail(), "You are not authorized to follow this order.");
+        // Re-read once the stream is registered, so a transition committed in between is not missed.
+        // Archived orders are terminal: the stream sends their status once and completes.
+        return orderStatusStreamRegistry.subscribe(orderId, () -> findFollowedOrder(orderId).status());
+    }
+
+    private record FollowedOrder(String userEmail, OrderStatus status) {
+    }
+
+    private FollowedOrder findFollowedOrder(String orderId) {
+        return orderRepository.findStatusSnapshots(List.of(orderId)).stream()
+                .findFirst()
+                .map(snapshot -> new FollowedOrder(snapshot.userEmail(), snapshot.status()))
+                .or(() -> archivedOrderRepository.findSummaryById(orderId)
+                        .map(summary -> new FollowedOrder(summary.userEmail(), summary.status())))
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + orderId));
+    }
+
+    /**
+     * Snapshot entries folded into the order row, followed by the transitions still in the event log.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public OrderTimelineResponse getOrderTimeline(String orderId) {
+        OrderTimelineSnapshot snapshot = orderRepository.findTimelineSnapshot(orderId)
+                .or(() -> archivedOrderRepository.findTimelineSnapshot(orderId))
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + orderId));
+        assertCanView(snapshot.userEmail(), "You are not authorized to view this order's history.");
+
+        List<OrderTimelineEntry> entries = new ArrayList<>(orderTimelineCodec.read(snapshot.statusTimeline()));
+        entries.addAll(orderEventRepository.findTimeline(orderId));
+        entries.sort(Comparator.comparing(OrderTimelineEntry::occurredAt));
+        return new OrderTimelineResponse(orderId, List.copyOf(entries));
+    }
+
+    private void assertCanView(String ownerEmail, String deniedMessage) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        boolean staff = authentication != null && authentication.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority())
+                        || "ROLE_RESTAURANT_OWNER".equals(authority.getAuthority()));
+        if (!staff && !ownerEmail.equals(getCurrentUserEmail())) {
+            throw new UnauthorizedAccessException(deniedMessage);
+        }
+    }
+
+    /**
+     * Published in-process; {@link OrderStatusEventPublisher} forwards it to Kafka after commit.
+     */
+    private void publishStatusChanged(Order order, OrderStatus previousStatus) {
+        eventPublisher.publishEvent(new OrderStatusChangedEvent(
+                order.getId(),
+                order.getUserEmail(),
+                order.getRestaurantId(),
+                previousStatus,
+                order.getStatus(),
+                order.getTotalAmount(),
+                order.getOrderDate(),
+                order.getLastUpdated()));
     }
 
     private OrderSummaryResponse convertToDto(Order order) {
@@ -0,0 +1,147 @@
+package com.moadams.orderservice.service;
+
+import com.moadams.orderservice.dto.OrderStatusSnapshot;
+import com.moadams.orderservice.dto.OrderStatusTransitionRequest;
+import com.moadams.orderservice.dto.OrderStatusTransitionResult;
+import com.moadams.orderservice.dto.OrderStatusTransitionResult.Outcome;
+import com.moadams.orderservice.event.OrderStatusChangedEvent;
+import com.moadams.orderservice.model.enums.OrderStatus;
+import com.moadams.orderservice.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Applies many status transitions in one transaction.
+ * Current states are read with one projection query per chunk, validated against
+ * {@link OrderStatus#canTransitionTo(OrderStatus)}, and written with a single JDBC batch
+ * whose WHERE clause re-checks the version read, so concurrent writers surface as CONFLICT
+ * instead of being overwritten. Every applied transition is published as an
+ * {@link OrderStatusChangedEvent}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderStatusBatchUpdater {
+
+    static final int CHUNK_SIZE = 500;
+
+    private static final String UPDATE_SQL = """
+            UPDATE orders
+               SET status = ?, last_updated = ?, version = COALESCE(version, 0) + 1
+             WHERE id = ? AND status = ? AND COALESCE(version, 0) = ?
+            """;
+
+    private final OrderRepository orderRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Returns one result per requested transition, in request order.
+     */
+    @Transactional
+    public List<OrderStatusTransitionResult> apply(List<OrderStatusTransitionRequest> transitions) {
+        Map<String, OrderStatusTransitionResult> results = new HashMap<>();
+        Map<String, OrderStatus> requested = new LinkedHashMap<>();
+        OrderStatusTransitionResult[] ordered = new OrderStatusTransitionResult[transitions.size()];
+
+        for (int i = 0; i < transitions.size(); i++) {
+            OrderStatusTransitionRequest transition = transitions.get(i);
+            if (transition == null || transition.orderId() == null || transition.orderId().isBlank()
+                    || transition.newStatus() == null) {
+                ordered[i] = new OrderStatusTransitionResult(
+                        transition != null ? transition.orderId() : null, Outcome.INVALID, null,
+                        transition != null ? transition.newStatus() : null, "Order ID and new status are required");
+                continue;
+            }
+            if (requested.putIfAbsent(transition.orderId(), transition.newStatus()) != null) {
+                ordered[i] = new OrderStatusTransitionResult(transition.orderId(), Outcome.DUPLICATE, null,
+                        transition.newStatus(), "Order appears more than once in this request; only the first update is applied");
+            }
+        }
+
+        List<String> orderIds = new ArrayList<>(requested.keySet());
+        for (int start = 0; start < orderIds.size(); start += CHUNK_SIZE) {
+            List<String> chunk = orderIds.subList(start, Math.min(start + CHUNK_SIZE, orderIds.size()));
+            applyChunk(chunk, requested, results);
+        }
+
+        for (int i = 0; i < ordered.length; i++) {
+            if (ordered[i] == null) {
+                ordered[i] = results.get(transitions.get(i).orderId());
+            }
+        }
+        return Arrays.asList(ordered);
+    }
+
+    private void applyChunk(List<String> orderIds,
+                            Map<String, OrderStatus> requested,
+                            Map<String, OrderStatusTransitionResult> results) {
+        Map<String, OrderStatusSnapshot> current = new HashMap<>();
+        for (OrderStatusSnapshot snapshot : orderRepository.findStatusSnapshots(orderIds)) {
+            current.put(snapshot.id(), snapshot);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<OrderStatusSnapshot> toUpdate = new ArrayList<>();
+        List<Object[]> batchArgs = new ArrayList<>();
+
+        for (String orderId : orderIds) {
+            OrderStatus newStatus = requested.get(orderId);
+            OrderStatusSnapshot snapshot = current.get(orderId);
+            if (snapshot == null) {
+                results.put(orderId, new OrderStatusTransitionResult(orderId, Outcome.NOT_FOUND, null, newStatus,
+                        "Order not found with id: " + orderId));
+                continue;
+            }
+            if (!snapshot.status().canTransitionTo(newStatus)) {
+                results.put(orderId, new OrderStatusTransitionResult(orderId, Outcome.ILLEGAL_TRANSITION,
+                        snapshot.status(), newStatus,
+                        "Cannot move order from " + snapshot.status() + " to " + newStatus));
+                continue;
+            }
+            long version = snapshot.version() != null ? snapshot.version() : 0L;
+            toUpdate.add(snapshot);
+            batchArgs.add(new Object[]{newStatus.name(), now, orderId, snapshot.status().name(), version});
+        }
+
+        if (batchArgs.isEmpty()) {
+            return;
+        }
+
+        int[] counts = jdbcTemplate.batchUpdate(UPDATE_SQL, batchArgs);
+        for (int i = 0; i < toUpdate.size(); i++) {
+            OrderStatusSnapshot snapshot = toUpdate.get(i);
+            OrderStatus newStatus = requested.get(snapshot.id());
+            boolean applied = counts[i] > 0 || counts[i] == Statement.SUCCESS_NO_INFO;
+            if (applied) {
+                eventPublisher.publishEvent(new OrderStatusChangedEvent(
+                        snapshot.id(),
+                        snapshot.userEmail(),
+                        snapshot.restaurantId(),
+                        snapshot.status(),
+                        newStatus,
+                        snapshot.totalAmount(),
+                        snapshot.orderDate(),
+                        now));
+            }
+            results.put(snapshot.id(), applied
+                    ? new OrderStatusTransitionResult(snapshot.id(), Outcome.UPDATED, snapshot.status(), newStatus, null)
+                    : new OrderStatusTransitionResult(snapshot.id(), Outcome.CONFLICT, snapshot.status(), newStatus,
+                    "Order was modified concurrently; re-read it and retry"));
+        }
+        log.debug("Batched {} status updates for {} requested orders", toUpdate.size(), orderIds.size());
+    }
+}
@@ -0,0 +1,32 @@
+package com.moadams.orderservice.service;
+
+import com.moadams.orderservice.event.OrderStatusChangedEvent;
+import com.moadams.orderservice.service.publish.KafkaEventPublisher;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Forwards in-process {@link OrderStatusChangedEvent}s to Kafka once the transaction
+ * that produced them has committed, so subscribers never see a status that was rolled back.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderStatusEventPublisher {
+
+    public static final String ORDER_STATUS_TOPIC = "order-status-topic";
+
+    private final KafkaTemplate<String, OrderStatusChangedEvent> kafkaTemplate;
+    private final KafkaEventPublisher kafkaEventPublisher;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        kafkaEventPublisher.publish(kafkaTemplate, ORDER_STATUS_TOPIC, event.orderId(), event)
+                .thenRun(() -> log.debug("OrderStatusChangedEvent published for Order ID: {} ({} -> {})",
+                        event.orderId(), event.previousStatus(), event.newStatus()));
+    }
+}
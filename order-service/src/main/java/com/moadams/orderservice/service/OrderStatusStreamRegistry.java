@@ -0,0 +1,217 @@
+package com.moadams.orderservice.service;
+
+import com.moadams.orderservice.event.OrderStatusChangedEvent;
+import com.moadams.orderservice.model.enums.OrderStatus;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * In-process registry of Server-Sent Event subscribers per order.
+ * Emitters are asynchronous, so an open stream costs a registry entry and a socket,
+ * not a servlet thread. Status changes reach this registry on every replica through
+ * the Kafka broadcast listener, regardless of which replica applied the change.
+ * <p>
+ * Callers never write to a socket: every event goes into its subscriber's outbox, which is
+ * drained on a virtual thread, one drain per subscriber at a time. The Kafka listener and the
+ * heartbeat only enqueue, so a slow client delays nobody but itself, and a client whose
+ * outbox overflows is disconnected.
+ */
+@Component
+@Slf4j
+public class OrderStatusStreamRegistry {
+
+    static final String STATUS_EVENT = "status";
+
+    private final Map<String, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final long emitterTimeoutMillis;
+    private final int maxQueuedEvents;
+
+    public OrderStatusStreamRegistry(@Value("${order.status-stream.timeout-ms:1800000}") long emitterTimeoutMillis,
+                                     @Value("${order.status-stream.max-queued-events:64}") int maxQueuedEvents) {
+        this.emitterTimeoutMillis = emitterTimeoutMillis;
+        this.maxQueuedEvents = maxQueuedEvents;
+    }
+
+    /**
+     * Opens a stream for the order and immediately sends its current status,
+     * so clients never need an initial poll. The status is read only once the stream is
+     * registered, and the outbox is held until it is queued, so a transition committed
+     * meanwhile is either in that status or delivered before it.
+     */
+    public SseEmitter subscribe(String orderId, Supplier<OrderStatus> currentStatus) {
+        Subscriber subscriber = new Subscriber(orderId, new SseEmitter(emitterTimeoutMillis));
+        subscribers.computeIfAbsent(orderId, id -> new CopyOnWriteArraySet<>()).add(subscriber);
+        subscriberCount.incrementAndGet();
+
+        SseEmitter emitter = subscriber.emitter;
+        Runnable unsubscribe = () -> remove(subscriber);
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(e -> unsubscribe.run());
+
+        OrderStatus status;
+        try {
+            status = currentStatus.get();
+        } catch (RuntimeException e) {
+            remove(subscriber);
+            throw e;
+        }
+        subscriber.enqueue(SseEmitter.event().name(STATUS_EVENT).data(Map.of("orderId", orderId, "status", status)),
+                status.isTerminal());
+        subscriber.release();
+        return emitter;
+    }
+
+    public void publish(OrderStatusChangedEvent event) {
+        Set<Subscriber> orderSubscribers = subscribers.get(event.orderId());
+        if (orderSubscribers == null) {
+            return;
+        }
+        for (Subscriber subscriber : orderSubscribers) {
+            subscriber.enqueue(SseEmitter.event()
+                            .name(STATUS_EVENT)
+                            .id(event.changedAt().toString())
+                            .data(Map.of(
+                                    "orderId", event.orderId(),
+                                    "status", event.newStatus(),
+                                    "previousStatus", event.previousStatus(),
+                                    "changedAt", event.changedAt().toString())),
+                    event.newStatus().isTerminal());
+        }
+    }
+
+    /**
+     * Keeps idle connections open through proxies and flushes out clients that went away.
+     * Subscribers with events still queued are skipped; those events do the same job.
+     */
+    @Scheduled(fixedDelayString = "${order.status-stream.heartbeat-ms:25000}")
+    public void sendHeartbeats() {
+        subscribers.values().forEach(orderSubscribers -> orderSubscribers.forEach(Subscriber::heartbeat));
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        senders.shutdownNow();
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.orderId, (id, orderSubscribers) -> {
+            if (orderSubscribers.remove(subscriber)) {
+                subscriberCount.decrementAndGet();
+            }
+            return orderSubscribers.isEmpty() ? null : orderSubscribers;
+        });
+    }
+
+    /**
+     * One stream and its outbox. {@code draining} is set while a drain is scheduled or running,
+     * and starts set so nothing is sent before the initial status has been queued.
+     */
+    private final class Subscriber {
+
+        private record Outgoing(SseEmitter.SseEventBuilder event, boolean last) {
+        }
+
+        private final String orderId;
+        private final SseEmitter emitter;
+        private final ArrayDeque<Outgoing> outbox = new ArrayDeque<>();
+        private boolean draining = true;
+        private boolean closed;
+
+        private Subscriber(String orderId, SseEmitter emitter) {
+            this.orderId = orderId;
+            this.emitter = emitter;
+        }
+
+        synchronized void enqueue(SseEmitter.SseEventBuilder event, boolean complete) {
+            if (closed) {
+                return;
+            }
+            if (outbox.size() >= maxQueuedEvents) {
+                log.debug("Dropping status stream subscriber for order {}: {} events queued", orderId, outbox.size());
+                outbox.clear();
+                outbox.add(new Outgoing(SseEmitter.event().comment("overflow"), true));
+                closed = true;
+                remove(this);
+            } else {
+                outbox.add(new Outgoing(event, complete));
+                closed = complete;
+            }
+            scheduleDrain();
+        }
+
+        synchronized void heartbeat() {
+            if (outbox.isEmpty()) {
+                enqueue(SseEmitter.event().comment("keep-alive"), false);
+            }
+        }
+
+        synchronized void release() {
+            draining = false;
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining || outbox.isEmpty()) {
+                return;
+            }
+            draining = true;
+            try {
+                senders.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // Shutting down; the container completes open streams.
+                draining = false;
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                Outgoing next;
+                synchronized (this) {
+                    next = outbox.poll();
+                    if (next == null) {
+                        draining = false;
+                        return;
+                    }
+                }
+                try {
+                    emitter.send(next.event());
+                    if (next.last()) {
+                        emitter.complete();
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    log.debug("Dropping status stream subscriber for order {}: {}", orderId, e.getMessage());
+                    synchronized (this) {
+                        outbox.clear();
+                        closed = true;
+                        draining = false;
+                    }
+                    remove(this);
+                    return;
+                }
+            }
+        }
+    }
+}
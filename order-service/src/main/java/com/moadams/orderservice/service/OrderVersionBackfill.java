@@ -0,0 +1,38 @@
+package com.moadams.orderservice.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Orders written before {@code Order.version} existed have a NULL version once schema update
+ * adds the column. Spring Data treats an entity with a null version as new, so saving such an
+ * order would try to insert it again, and optimistic locking would not cover it either. This
+ * sets those rows to version 0 and gives the column a default of 0, so rows inserted by a
+ * replica still running the old code during a rolling deploy get one too. It runs before the
+ * application takes traffic; a failure stops startup.
+ */
+@Component
+@Slf4j
+public class OrderVersionBackfill {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Takes the entity manager factory only so that schema generation has run first.
+     */
+    public OrderVersionBackfill(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void apply() {
+        jdbcTemplate.execute("alter table orders alter column version set default 0");
+        int backfilled = jdbcTemplate.update("update orders set version = 0 where version is null");
+        if (backfilled > 0) {
+            log.info("Set version 0 on {} orders written before optimistic locking", backfilled);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.moadams.orderservice.service.admission;
+
+import com.moadams.orderservice.exception.RestaurantAtCapacityException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-restaurant admission control for new orders, checked before any remote call or database work.
+ * <p>
+ * Each restaurant may admit {@code order.admission.max-orders-per-window} orders per sliding
+ * {@code order.admission.window-seconds}; individual restaurants can be given their own limit through
+ * {@code order.admission.restaurant-limits}. An order over the limit waits in a bounded per-restaurant
+ * waitlist of {@code order.admission.waitlist-size} for up to {@code order.admission.max-wait-ms},
+ * or is rejected straight away when the waitlist is full or disabled (size 0).
+ * <p>
+ * State lives in a {@link ConcurrentHashMap}, so contention is confined to the hot restaurant's own
+ * counter. Limits apply per instance.
+ */
+@Service
+@Slf4j
+public class RestaurantAdmissionControl {
+
+    private final boolean enabled;
+    private final long defaultLimit;
+    private final Map<String, Long> restaurantLimits;
+    private final long windowMillis;
+    private final int waitlistSize;
+    private final long maxWaitMillis;
+    private final Map<String, RestaurantState> restaurants = new ConcurrentHashMap<>();
+
+    public RestaurantAdmissionControl(
+            @Value("${order.admission.enabled:true}") boolean enabled,
+            @Value("${order.admission.max-orders-per-window:120}") long defaultLimit,
+            @Value("#{${order.admission.restaurant-limits:{:}}}") Map<String, Long> restaurantLimits,
+            @Value("${order.admission.window-seconds:60}") long windowSeconds,
+            @Value("${order.admission.waitlist-size:0}") int waitlistSize,
+            @Value("${order.admission.max-wait-ms:2000}") long maxWaitMillis) {
+        this.enabled = enabled;
+        this.defaultLimit = defaultLimit;
+        this.restaurantLimits = Map.copyOf(restaurantLimits);
+        this.windowMillis = TimeUnit.SECONDS.toMillis(Math.max(1, windowSeconds));
+        this.waitlistSize = Math.max(0, waitlistSize);
+        this.maxWaitMillis = Math.max(0, maxWaitMillis);
+    }
+
+    /**
+     * Returns once the order may proceed, or throws {@link RestaurantAtCapacityException}.
+     */
+    public void admit(String restaurantId) {
+        if (!enabled || restaurantId == null) {
+            return;
+        }
+        long limit = restaurantLimits.getOrDefault(restaurantId, defaultLimit);
+        long now = System.currentTimeMillis();
+        RestaurantState state = restaurants.computeIfAbsent(restaurantId, id -> new RestaurantState(windowMillis, now, waitlistSize));
+        if (state.counter.tryAcquire(now, limit)) {
+            return;
+        }
+        if (!state.waitlist.tryAcquire()) {
+            throw atCapacity(restaurantId, state.counter.millisUntilAvailable(now, limit));
+        }
+        try {
+            waitForCapacity(restaurantId, state.counter, limit, now + maxWaitMillis);
+        } finally {
+            state.waitlist.release();
+        }
+    }
+
+    private void waitForCapacity(String restaurantId, SlidingWindowCounter counter, long limit, long deadline) {
+        while (true) {
+            long now = System.currentTimeMillis();
+            if (counter.tryAcquire(now, limit)) {
+                return;
+            }
+            long wait = counter.millisUntilAvailable(now, limit);
+            if (now + wait > deadline) {
+                throw atCapacity(restaurantId, wait);
+            }
+            try {
+                Thread.sleep(wait);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw atCapacity(restaurantId, wait);
+            }
+        }
+    }
+
+    private RestaurantAtCapacityException atCapacity(String restaurantId, long retryAfterMillis) {
+        log.warn("Rejected order for restaurant {}: over its order capacity", restaurantId);
+        return new RestaurantAtCapacityException(
+                "Restaurant is receiving more orders than it can handle right now. Please try again shortly.",
+                Math.max(1, TimeUnit.MILLISECONDS.toSeconds(retryAfterMillis + 999)));
+    }
+
+    /**
+     * Drops state for restaurants that have not received an order for two windows, so the map only
+     * holds recently active restaurants.
+     */
+    @Scheduled(fixedDelayString = "${order.admission.cleanup-interval-ms:60000}")
+    public void evictIdleRestaurants() {
+        long idleBefore = System.currentTimeMillis() - 2 * windowMillis;
+        restaurants.entrySet().removeIf(entry -> entry.getValue().counter.lastUsedMillis() < idleBefore
+                && entry.getValue().waitlist.availablePermits() == waitlistSize);
+    }
+
+    private static final class RestaurantState {
+        private final SlidingWindowCounter counter;
+        private final Semaphore waitlist;
+
+        private RestaurantState(long windowMillis, long nowMillis, int waitlistSize) {
+            this.counter = new SlidingWindowCounter(windowMillis, nowMillis);
+            this.waitlist = new Semaphore(waitlistSize);
+        }
+    }
+}
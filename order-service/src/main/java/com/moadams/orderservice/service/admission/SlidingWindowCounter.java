@@ -0,0 +1,65 @@
+package com.moadams.orderservice.service.admission;
+
+/**
+ * Sliding-window rate estimate from two fixed windows: the current window's count plus the
+ * previous window's count weighted by how much of it still overlaps the sliding window.
+ * Constant memory per key, and accurate enough for admission decisions.
+ */
+final class SlidingWindowCounter {
+
+    private final long windowMillis;
+    private long windowStart;
+    private long previousCount;
+    private long currentCount;
+    private volatile long lastUsedMillis;
+
+    SlidingWindowCounter(long windowMillis, long nowMillis) {
+        this.windowMillis = windowMillis;
+        this.windowStart = nowMillis;
+        this.lastUsedMillis = nowMillis;
+    }
+
+    synchronized boolean tryAcquire(long nowMillis, long limit) {
+        roll(nowMillis);
+        lastUsedMillis = nowMillis;
+        if (estimate(nowMillis) + 1 > limit) {
+            return false;
+        }
+        currentCount++;
+        return true;
+    }
+
+    /**
+     * Earliest delay after which {@link #tryAcquire} could succeed, assuming no other acquisitions.
+     */
+    synchronized long millisUntilAvailable(long nowMillis, long limit) {
+        roll(nowMillis);
+        long untilNextWindow = windowStart + windowMillis - nowMillis;
+        if (currentCount + 1 > limit || previousCount == 0) {
+            return Math.max(1, untilNextWindow);
+        }
+        // previous * (1 - t / window) + current + 1 <= limit, solved for t
+        double overlapAllowed = (double) (limit - currentCount - 1) / previousCount;
+        long elapsedNeeded = (long) Math.ceil(windowMillis * (1 - overlapAllowed));
+        return Math.max(1, Math.min(untilNextWindow, windowStart + elapsedNeeded - nowMillis));
+    }
+
+    long lastUsedMillis() {
+        return lastUsedMillis;
+    }
+
+    private double estimate(long nowMillis) {
+        double previousWeight = 1 - (double) (nowMillis - windowStart) / windowMillis;
+        return previousCount * previousWeight + currentCount;
+    }
+
+    private void roll(long nowMillis) {
+        long elapsedWindows = (nowMillis - windowStart) / windowMillis;
+        if (elapsedWindows <= 0) {
+            return;
+        }
+        previousCount = elapsedWindows == 1 ? currentCount : 0;
+        currentCount = 0;
+        windowStart += elapsedWindows * windowMillis;
+    }
+}
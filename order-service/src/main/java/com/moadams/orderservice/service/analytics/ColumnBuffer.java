@@ -0,0 +1,87 @@
+package com.moadams.orderservice.service.analytics;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Growable byte buffer for one column of a segment, plus the varint codec shared with the reader.
+ * Unsigned varints use 7 bits per byte, low bits first; signed values are zigzag-encoded first.
+ */
+final class ColumnBuffer {
+
+    private byte[] bytes;
+    private int size;
+
+    ColumnBuffer(int initialCapacity) {
+        this.bytes = new byte[Math.max(16, initialCapacity)];
+    }
+
+    void writeByte(int value) {
+        ensureCapacity(1);
+        bytes[size++] = (byte) value;
+    }
+
+    void writeVarLong(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        bytes[size++] = (byte) value;
+    }
+
+    void writeSignedVarLong(long value) {
+        writeVarLong((value << 1) ^ (value >> 63));
+    }
+
+    void writeString(String value) {
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(utf8.length);
+        ensureCapacity(utf8.length);
+        System.arraycopy(utf8, 0, bytes, size, utf8.length);
+        size += utf8.length;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void copyTo(ByteBuffer target) {
+        target.put(bytes, 0, size);
+    }
+
+    private void ensureCapacity(int extra) {
+        if (size + extra > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+        }
+    }
+
+    static long readVarLong(ByteBuffer buffer) {
+        long result = 0;
+        int shift = 0;
+        while (true) {
+            byte b = buffer.get();
+            result |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return result;
+            }
+            shift += 7;
+        }
+    }
+
+    static long readSignedVarLong(ByteBuffer buffer) {
+        long raw = readVarLong(buffer);
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+
+    static int readVarInt(ByteBuffer buffer) {
+        return Math.toIntExact(readVarLong(buffer));
+    }
+
+    static String readString(ByteBuffer buffer) {
+        byte[] utf8 = new byte[readVarInt(buffer)];
+        buffer.get(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,300 @@
+package com.moadams.orderservice.service.analytics;
+
+import com.moadams.orderservice.dto.MenuItemPopularity;
+import com.moadams.orderservice.dto.RestaurantDailyRevenue;
+import com.moadams.orderservice.model.enums.OrderStatus;
+import com.moadams.orderservice.service.analytics.OrderSegment.DailyKey;
+import com.moadams.orderservice.service.analytics.OrderSegment.ItemTotals;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.stream.Collectors;
+
+/**
+ * Analytics over archived orders, served from append-only columnar segment files instead of
+ * the OLTP tables. {@link #exportNewArchivedOrders()} appends segments for orders archived since
+ * the last watermark; queries scan all segments in parallel through memory-mapped buffers.
+ * <p>
+ * {@code manifest.properties} lists the committed segments and the (archived_at, id) watermark.
+ * It is replaced atomically after each segment is written, so a crash leaves at most an unlisted
+ * segment file that the next export overwrites.
+ */
+@Service
+@Slf4j
+public class OrderAnalyticsService {
+
+    private static final String MANIFEST_FILE = "manifest.properties";
+    private static final String SEGMENT_PREFIX = "orders-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final LocalDateTime INITIAL_WATERMARK = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    /**
+     * Rows archived less than this long ago are left for the next export, so an archiver chunk
+     * still committing on another instance cannot slip in behind the watermark.
+     */
+    private static final long SETTLE_MINUTES = 1;
+
+    private static final String EXPORT_SQL = """
+            SELECT o.id, o.restaurant_id, o.total_amount, o.status, o.order_date, o.archived_at,
+                   i.menu_item_id, i.menu_item_name, i.quantity, i.price
+              FROM orders_archive o
+              LEFT JOIN order_items_archive i ON i.order_id = o.id
+             WHERE (o.archived_at > ? OR (o.archived_at = ? AND o.id > ?))
+               AND o.archived_at < ?
+             ORDER BY o.archived_at, o.id
+            """;
+
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Path directory;
+    private final int ordersPerSegment;
+
+    private volatile List<OrderSegment> segments = List.of();
+    private LocalDateTime watermarkArchivedAt = INITIAL_WATERMARK;
+    private String watermarkOrderId = "";
+    private long nextSegmentNumber;
+
+    public OrderAnalyticsService(JdbcTemplate jdbcTemplate,
+                                 TransactionTemplate transactionTemplate,
+                                 @Value("${order.analytics.directory:data/order-analytics}") String directory,
+                                 @Value("${order.analytics.orders-per-segment:100000}") int ordersPerSegment) {
+        this.streamingJdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.streamingJdbcTemplate.setFetchSize(1000);
+        this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransaction.setReadOnly(true);
+        this.directory = Path.of(directory);
+        this.ordersPerSegment = Math.max(1, ordersPerSegment);
+    }
+
+    @PostConstruct
+    synchronized void loadSegments() throws IOException {
+        Files.createDirectories(directory);
+        Path manifest = directory.resolve(MANIFEST_FILE);
+        if (!Files.exists(manifest)) {
+            return;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(manifest)) {
+            properties.load(in);
+        }
+        watermarkArchivedAt = LocalDateTime.parse(properties.getProperty("watermark.archived-at"));
+        watermarkOrderId = properties.getProperty("watermark.order-id", "");
+        nextSegmentNumber = Long.parseLong(properties.getProperty("next-segment", "0"));
+
+        List<OrderSegment> opened = new ArrayList<>();
+        String listed = properties.getProperty("segments", "");
+        for (String name : listed.isBlank() ? new String[0] : listed.split(",")) {
+            opened.add(OrderSegment.open(directory.resolve(name)));
+        }
+        segments = List.copyOf(opened);
+        log.info("Loaded {} order analytics segments, watermark {} / {}", opened.size(), watermarkArchivedAt, watermarkOrderId);
+    }
+
+    @Scheduled(cron = "${order.analytics.export-cron:0 30 4 * * *}")
+    public void scheduledExport() {
+        try {
+            exportNewArchivedOrders();
+        } catch (RuntimeException e) {
+            log.error("Order analytics export failed; it will resume from the last committed segment", e);
+        }
+    }
+
+    /**
+     * Appends segments for orders archived since the watermark and returns how many orders were exported.
+     */
+    public synchronized long exportNewArchivedOrders() {
+        LocalDateTime settledBefore = LocalDateTime.now().minusMinutes(SETTLE_MINUTES);
+        SegmentExport export = new SegmentExport();
+        readOnlyTransaction.executeWithoutResult(status -> streamingJdbcTemplate.query(EXPORT_SQL, export,
+                Timestamp.valueOf(watermarkArchivedAt),
+                Timestamp.valueOf(watermarkArchivedAt),
+                watermarkOrderId,
+                Timestamp.valueOf(settledBefore)));
+        export.finish();
+        if (export.exported > 0) {
+            log.info("Exported {} archived orders to columnar segments ({} segments total)", export.exported, segments.size());
+        }
+        return export.exported;
+    }
+
+    /**
+     * Orders and revenue of delivered orders per restaurant and day, for order dates in
+     * [from, to] inclusive, optionally limited to one restaurant.
+     */
+    public List<RestaurantDailyRevenue> getDailyRevenue(LocalDate from, LocalDate to, String restaurantId) {
+        long fromSecond = startOfDay(from);
+        long toSecond = startOfDay(to.plusDays(1));
+        List<Map<DailyKey, long[]>> partials = segments.parallelStream()
+                .map(segment -> {
+                    Map<DailyKey, long[]> totals = new HashMap<>();
+                    segment.scanDailyRevenue(fromSecond, toSecond, restaurantId, totals);
+                    return totals;
+                })
+                .toList();
+
+        Map<DailyKey, long[]> merged = new HashMap<>();
+        for (Map<DailyKey, long[]> partial : partials) {
+            partial.forEach((key, total) -> {
+                long[] sum = merged.computeIfAbsent(key, k -> new long[2]);
+                sum[0] += total[0];
+                sum[1] += total[1];
+            });
+        }
+        return merged.entrySet().stream()
+                .map(entry -> new RestaurantDailyRevenue(
+                        entry.getKey().restaurantId(),
+                        LocalDate.ofEpochDay(entry.getKey().epochDay()),
+                        entry.getValue()[0],
+                        BigDecimal.valueOf(entry.getValue()[1], 2)))
+                .sorted(Comparator.comparing(RestaurantDailyRevenue::date)
+                        .thenComparing(RestaurantDailyRevenue::restaurantId))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Best-selling menu items of delivered orders by quantity, with the same filters as
+     * {@link #getDailyRevenue}.
+     */
+    public List<MenuItemPopularity> getTopMenuItems(LocalDate from, LocalDate to, String restaurantId, int limit) {
+        long fromSecond = startOfDay(from);
+        long toSecond = startOfDay(to.plusDays(1));
+        List<Map<String, ItemTotals>> partials = segments.parallelStream()
+                .map(segment -> {
+                    Map<String, ItemTotals> totals = new HashMap<>();
+                    segment.scanItemPopularity(fromSecond, toSecond, restaurantId, totals);
+                    return totals;
+                })
+                .toList();
+
+        Map<String, ItemTotals> merged = new HashMap<>();
+        for (Map<String, ItemTotals> partial : partials) {
+            partial.forEach((menuItemId, totals) ->
+                    merged.computeIfAbsent(menuItemId, id -> new ItemTotals(totals.name())).add(totals));
+        }
+        return merged.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, ItemTotals> entry) -> entry.getValue().quantity())
+                        .reversed()
+                        .thenComparing(Map.Entry::getKey))
+                .limit(limit)
+                .map(entry -> new MenuItemPopularity(
+                        entry.getKey(),
+                        entry.getValue().name(),
+                        entry.getValue().quantity(),
+                        BigDecimal.valueOf(entry.getValue().cents(), 2)))
+                .collect(Collectors.toList());
+    }
+
+    private static long startOfDay(LocalDate date) {
+        return date.atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount == null ? 0 : amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValue();
+    }
+
+    private void commitSegment(OrderSegmentWriter writer, LocalDateTime lastArchivedAt, String lastOrderId) {
+        String name = SEGMENT_PREFIX + String.format("%010d", nextSegmentNumber) + SEGMENT_SUFFIX;
+        try {
+            Path file = directory.resolve(name);
+            writer.writeTo(file);
+            OrderSegment segment = OrderSegment.open(file);
+
+            List<OrderSegment> updated = new ArrayList<>(segments);
+            updated.add(segment);
+            writeManifest(updated, lastArchivedAt, lastOrderId, nextSegmentNumber + 1);
+
+            segments = List.copyOf(updated);
+            watermarkArchivedAt = lastArchivedAt;
+            watermarkOrderId = lastOrderId;
+            nextSegmentNumber++;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write order analytics segment " + name, e);
+        }
+    }
+
+    private void writeManifest(List<OrderSegment> committed, LocalDateTime archivedAt, String orderId, long nextSegment)
+            throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("watermark.archived-at", archivedAt.toString());
+        properties.setProperty("watermark.order-id", orderId);
+        properties.setProperty("next-segment", Long.toString(nextSegment));
+        properties.setProperty("segments", committed.stream()
+                .map(segment -> segment.file().getFileName().toString())
+                .collect(Collectors.joining(",")));
+
+        Path manifest = directory.resolve(MANIFEST_FILE);
+        Path temp = directory.resolve(MANIFEST_FILE + ".tmp");
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            properties.store(out, "Order analytics segments");
+        }
+        Files.move(temp, manifest, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Consumes the export query row by row. Rows arrive grouped by order (one per item, or one
+     * with null item columns for an order without items); a segment is sealed only between orders.
+     */
+    private final class SegmentExport implements RowCallbackHandler {
+        private OrderSegmentWriter writer = new OrderSegmentWriter(ordersPerSegment);
+        private String currentOrderId;
+        private LocalDateTime currentArchivedAt;
+        private long exported;
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            String orderId = rs.getString("id");
+            if (!orderId.equals(currentOrderId)) {
+                if (writer.orderCount() >= ordersPerSegment) {
+                    commitSegment(writer, currentArchivedAt, currentOrderId);
+                    writer = new OrderSegmentWriter(ordersPerSegment);
+                }
+                currentOrderId = orderId;
+                currentArchivedAt = rs.getTimestamp("archived_at").toLocalDateTime();
+                writer.addOrder(
+                        rs.getString("restaurant_id"),
+                        rs.getTimestamp("order_date").toLocalDateTime(),
+                        toCents(rs.getBigDecimal("total_amount")),
+                        OrderStatus.valueOf(rs.getString("status")));
+                exported++;
+            }
+            String menuItemId = rs.getString("menu_item_id");
+            if (menuItemId != null) {
+                writer.addItem(menuItemId, rs.getString("menu_item_name"),
+                        rs.getInt("quantity"), toCents(rs.getBigDecimal("price")));
+            }
+        }
+
+        void finish() {
+            if (writer.orderCount() > 0) {
+                commitSegment(writer, currentArchivedAt, currentOrderId);
+            }
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package com.moadams.orderservice.service.analytics;
+
+import com.moadams.orderservice.model.enums.OrderStatus;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only view of a segment written by {@link OrderSegmentWriter}, memory-mapped once and
+ * scanned column by column. Each scan works on its own duplicates of the mapped buffer, so
+ * one segment can serve concurrent queries. Dictionaries are decoded eagerly since they are
+ * small; column data stays in the page cache.
+ */
+final class OrderSegment {
+
+    private static final int RESTAURANT = 0;
+    private static final int ORDER_SECOND = 1;
+    private static final int TOTAL_CENTS = 2;
+    private static final int STATUS = 3;
+    private static final int ITEM_COUNT = 4;
+    private static final int MENU_ITEM = 5;
+    private static final int QUANTITY = 6;
+    private static final int PRICE_CENTS = 7;
+    private static final int COLUMN_COUNT = 8;
+
+    private static final int ANY_RESTAURANT = -1;
+    private static final int NO_MATCH = -2;
+    private static final long SECONDS_PER_DAY = 86_400L;
+    private static final OrderStatus[] STATUSES = statusesByCode();
+
+    private final Path file;
+    private final MappedByteBuffer mapped;
+    private final int orderCount;
+    private final int itemCount;
+    private final long minSecond;
+    private final long maxSecond;
+    private final String[] restaurantIds;
+    private final Map<String, Integer> restaurantCodes;
+    private final String[] menuItemIds;
+    private final String[] menuItemNames;
+    private final int[] columnOffsets = new int[COLUMN_COUNT];
+
+    private OrderSegment(Path file, MappedByteBuffer mapped) {
+        this.file = file;
+        this.mapped = mapped;
+
+        ByteBuffer buffer = mapped.duplicate();
+        if (buffer.getInt() != OrderSegmentWriter.MAGIC) {
+            throw new IllegalStateException("Not an order segment: " + file);
+        }
+        int version = buffer.getInt();
+        if (version != OrderSegmentWriter.FORMAT_VERSION) {
+            throw new IllegalStateException("Unsupported segment version " + version + ": " + file);
+        }
+        orderCount = buffer.getInt();
+        itemCount = buffer.getInt();
+        minSecond = buffer.getLong();
+        maxSecond = buffer.getLong();
+
+        List<String> restaurants = new ArrayList<>();
+        int end = buffer.getInt() + buffer.position();
+        while (buffer.position() < end) {
+            restaurants.add(ColumnBuffer.readString(buffer));
+        }
+        restaurantIds = restaurants.toArray(String[]::new);
+        restaurantCodes = new HashMap<>(restaurantIds.length * 2);
+        for (int code = 0; code < restaurantIds.length; code++) {
+            restaurantCodes.put(restaurantIds[code], code);
+        }
+
+        List<String> itemIds = new ArrayList<>();
+        List<String> itemNames = new ArrayList<>();
+        end = buffer.getInt() + buffer.position();
+        while (buffer.position() < end) {
+            itemIds.add(ColumnBuffer.readString(buffer));
+            itemNames.add(ColumnBuffer.readString(buffer));
+        }
+        menuItemIds = itemIds.toArray(String[]::new);
+        menuItemNames = itemNames.toArray(String[]::new);
+
+        for (int column = 0; column < COLUMN_COUNT; column++) {
+            int length = buffer.getInt();
+            columnOffsets[column] = buffer.position();
+            buffer.position(buffer.position() + length);
+        }
+    }
+
+    static OrderSegment open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new OrderSegment(file, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    Path file() {
+        return file;
+    }
+
+    int orderCount() {
+        return orderCount;
+    }
+
+    int itemCount() {
+        return itemCount;
+    }
+
+    /**
+     * Adds order count and revenue in cents of DELIVERED orders per (restaurant, epoch day) to
+     * {@code totals}, for orders in [fromSecond, toSecond) and, if given, one restaurant.
+     */
+    void scanDailyRevenue(long fromSecond, long toSecond, String restaurantId, Map<DailyKey, long[]> totals) {
+        int restaurantFilter = restaurantFilter(restaurantId);
+        if (restaurantFilter == NO_MATCH || !overlaps(fromSecond, toSecond)) {
+            return;
+        }
+        ByteBuffer restaurants = column(RESTAURANT);
+        ByteBuffer seconds = column(ORDER_SECOND);
+        ByteBuffer amounts = column(TOTAL_CENTS);
+        ByteBuffer statuses = column(STATUS);
+
+        long second = 0;
+        for (int i = 0; i < orderCount; i++) {
+            int restaurant = ColumnBuffer.readVarInt(restaurants);
+            second += ColumnBuffer.readSignedVarLong(seconds);
+            long cents = ColumnBuffer.readSignedVarLong(amounts);
+            OrderStatus status = STATUSES[statuses.get() & 0xFF];
+            if (status != OrderStatus.DELIVERED || second < fromSecond || second >= toSecond
+                    || (restaurantFilter >= 0 && restaurant != restaurantFilter)) {
+                continue;
+            }
+            long[] total = totals.computeIfAbsent(
+                    new DailyKey(restaurantIds[restaurant], Math.floorDiv(second, SECONDS_PER_DAY)), key -> new long[2]);
+            total[0]++;
+            total[1] += cents;
+        }
+    }
+
+    /**
+     * Adds quantity sold and revenue in cents per menu item of DELIVERED orders to {@code totals},
+     * keyed by menu item id, with the same filters as {@link #scanDailyRevenue}.
+     */
+    void scanItemPopularity(long fromSecond, long toSecond, String restaurantId, Map<String, ItemTotals> totals) {
+        int restaurantFilter = restaurantFilter(restaurantId);
+        if (restaurantFilter == NO_MATCH || !overlaps(fromSecond, toSecond)) {
+            return;
+        }
+        ByteBuffer restaurants = column(RESTAURANT);
+        ByteBuffer seconds = column(ORDER_SECOND);
+        ByteBuffer statuses = column(STATUS);
+        ByteBuffer itemCounts = column(ITEM_COUNT);
+        ByteBuffer menuItems = column(MENU_ITEM);
+        ByteBuffer quantities = column(QUANTITY);
+        ByteBuffer prices = column(PRICE_CENTS);
+
+        long[] quantityByCode = new long[menuItemIds.length];
+        long[] centsByCode = new long[menuItemIds.length];
+        long second = 0;
+        for (int i = 0; i < orderCount; i++) {
+            int restaurant = ColumnBuffer.readVarInt(restaurants);
+            second += ColumnBuffer.readSignedVarLong(seconds);
+            OrderStatus status = STATUSES[statuses.get() & 0xFF];
+            int items = ColumnBuffer.readVarInt(itemCounts);
+            boolean included = status == OrderStatus.DELIVERED && second >= fromSecond && second < toSecond
+                    && (restaurantFilter < 0 || restaurant == restaurantFilter);
+            for (int item = 0; item < items; item++) {
+                int code = ColumnBuffer.readVarInt(menuItems);
+                long quantity = ColumnBuffer.readVarLong(quantities);
+                long price = ColumnBuffer.readSignedVarLong(prices);
+                if (included) {
+                    quantityByCode[code] += quantity;
+                    centsByCode[code] += quantity * price;
+                }
+            }
+        }
+
+        for (int code = 0; code < menuItemIds.length; code++) {
+            if (quantityByCode[code] > 0) {
+                String name = menuItemNames[code];
+                totals.computeIfAbsent(menuItemIds[code], id -> new ItemTotals(name))
+                        .add(quantityByCode[code], centsByCode[code]);
+            }
+        }
+    }
+
+    private int restaurantFilter(String restaurantId) {
+        if (restaurantId == null) {
+            return ANY_RESTAURANT;
+        }
+        Integer code = restaurantCodes.get(restaurantId);
+        return code != null ? code : NO_MATCH;
+    }
+
+    private boolean overlaps(long fromSecond, long toSecond) {
+        return orderCount > 0 && maxSecond >= fromSecond && minSecond < toSecond;
+    }
+
+    /**
+     * Independent read cursor positioned at the start of a column.
+     */
+    private ByteBuffer column(int column) {
+        ByteBuffer buffer = mapped.duplicate();
+        buffer.position(columnOffsets[column]);
+        return buffer;
+    }
+
+    /**
+     * Statuses indexed by their {@link OrderSegmentWriter#statusCode} byte; unknown codes are null.
+     */
+    private static OrderStatus[] statusesByCode() {
+        OrderStatus[] byCode = new OrderStatus[256];
+        for (OrderStatus status : OrderStatus.values()) {
+            byCode[OrderSegmentWriter.statusCode(status)] = status;
+        }
+        return byCode;
+    }
+
+    record DailyKey(String restaurantId, long epochDay) {
+    }
+
+    static final class ItemTotals {
+        private final String name;
+        private long quantity;
+        private long cents;
+
+        ItemTotals(String name) {
+            this.name = name;
+        }
+
+        void add(long quantity, long cents) {
+            this.quantity += quantity;
+            this.cents += cents;
+        }
+
+        void add(ItemTotals other) {
+            add(other.quantity, other.cents);
+        }
+
+        String name() {
+            return name;
+        }
+
+        long quantity() {
+            return quantity;
+        }
+
+        long cents() {
+            return cents;
+        }
+    }
+}
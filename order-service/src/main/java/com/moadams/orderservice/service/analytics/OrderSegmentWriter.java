@@ -0,0 +1,176 @@
+package com.moadams.orderservice.service.analytics;
+
+import com.moadams.orderservice.model.enums.OrderStatus;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds one immutable columnar segment of archived orders in memory and writes it to disk.
+ * <p>
+ * Layout, all integers big-endian:
+ * <pre>
+ * header   magic, version, orderCount, itemCount (int); minOrderSecond, maxOrderSecond (long)
+ * blocks   restaurant dictionary, menu item dictionary, then one block per column,
+ *          each prefixed with its byte length (int)
+ * </pre>
+ * Order columns: restaurant (dictionary code), order date (zigzag delta of epoch seconds from the
+ * previous order), total (zigzag cents), status (a byte, see {@link #statusCode}) and item count. Item columns, in order
+ * of their parent orders: menu item (dictionary code), quantity, and unit price (zigzag cents).
+ */
+final class OrderSegmentWriter {
+
+    static final int MAGIC = 0x42424F43;
+    static final int FORMAT_VERSION = 1;
+
+    private final Map<String, Integer> restaurantCodes = new HashMap<>();
+    private final ColumnBuffer restaurantDictionary = new ColumnBuffer(1024);
+    private final Map<String, Integer> menuItemCodes = new HashMap<>();
+    private final ColumnBuffer menuItemDictionary = new ColumnBuffer(4096);
+
+    private final ColumnBuffer restaurants;
+    private final ColumnBuffer orderSeconds;
+    private final ColumnBuffer totals;
+    private final ColumnBuffer statuses;
+    private final ColumnBuffer itemCounts;
+    private final ColumnBuffer menuItems;
+    private final ColumnBuffer quantities;
+    private final ColumnBuffer prices;
+
+    private int orderCount;
+    private int itemCount;
+    private int currentOrderItems = -1;
+    private long previousSecond;
+    private long minSecond = Long.MAX_VALUE;
+    private long maxSecond = Long.MIN_VALUE;
+
+    OrderSegmentWriter(int expectedOrders) {
+        restaurants = new ColumnBuffer(expectedOrders * 2);
+        orderSeconds = new ColumnBuffer(expectedOrders * 3);
+        totals = new ColumnBuffer(expectedOrders * 3);
+        statuses = new ColumnBuffer(expectedOrders);
+        itemCounts = new ColumnBuffer(expectedOrders);
+        menuItems = new ColumnBuffer(expectedOrders * 6);
+        quantities = new ColumnBuffer(expectedOrders * 3);
+        prices = new ColumnBuffer(expectedOrders * 6);
+    }
+
+    void addOrder(String restaurantId, LocalDateTime orderDate, long totalCents, OrderStatus status) {
+        closeCurrentOrder();
+        long second = orderDate.toEpochSecond(ZoneOffset.UTC);
+        restaurants.writeVarLong(restaurantCode(restaurantId));
+        orderSeconds.writeSignedVarLong(second - previousSecond);
+        totals.writeSignedVarLong(totalCents);
+        statuses.writeByte(statusCode(status));
+
+        previousSecond = second;
+        minSecond = Math.min(minSecond, second);
+        maxSecond = Math.max(maxSecond, second);
+        orderCount++;
+        currentOrderItems = 0;
+    }
+
+    /**
+     * The byte a status is stored as. Codes are part of the segment format and must never be
+     * reused or renumbered; a new status takes the next free code.
+     */
+    static int statusCode(OrderStatus status) {
+        return switch (status) {
+            case PENDING -> 0;
+            case CONFIRMED -> 1;
+            case PREPARING -> 2;
+            case READY_FOR_PICKUP -> 3;
+            case OUT_FOR_DELIVERY -> 4;
+            case DELIVERED -> 5;
+            case CANCELLED -> 6;
+            case REJECTED -> 7;
+        };
+    }
+
+    /**
+     * Adds an item to the order most recently passed to {@link #addOrder}.
+     */
+    void addItem(String menuItemId, String menuItemName, int quantity, long priceCents) {
+        if (currentOrderItems < 0) {
+            throw new IllegalStateException("Item added before any order");
+        }
+        menuItems.writeVarLong(menuItemCode(menuItemId, menuItemName));
+        quantities.writeVarLong(quantity);
+        prices.writeSignedVarLong(priceCents);
+        itemCount++;
+        currentOrderItems++;
+    }
+
+    int orderCount() {
+        return orderCount;
+    }
+
+    /**
+     * Writes the segment to a temporary file next to {@code target} and moves it into place,
+     * so readers never observe a partially written segment.
+     */
+    void writeTo(Path target) throws IOException {
+        closeCurrentOrder();
+        List<ColumnBuffer> blocks = List.of(restaurantDictionary, menuItemDictionary,
+                restaurants, orderSeconds, totals, statuses, itemCounts, menuItems, quantities, prices);
+        int length = 4 * Integer.BYTES + 2 * Long.BYTES;
+        for (ColumnBuffer block : blocks) {
+            length += Integer.BYTES + block.size();
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        buffer.putInt(MAGIC)
+                .putInt(FORMAT_VERSION)
+                .putInt(orderCount)
+                .putInt(itemCount)
+                .putLong(orderCount > 0 ? minSecond : 0)
+                .putLong(orderCount > 0 ? maxSecond : 0);
+        for (ColumnBuffer block : blocks) {
+            buffer.putInt(block.size());
+            block.copyTo(buffer);
+        }
+        buffer.flip();
+
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void closeCurrentOrder() {
+        if (currentOrderItems >= 0) {
+            itemCounts.writeVarLong(currentOrderItems);
+            currentOrderItems = -1;
+        }
+    }
+
+    private int restaurantCode(String restaurantId) {
+        return restaurantCodes.computeIfAbsent(restaurantId, id -> {
+            restaurantDictionary.writeString(id);
+            return restaurantCodes.size();
+        });
+    }
+
+    private int menuItemCode(String menuItemId, String menuItemName) {
+        return menuItemCodes.computeIfAbsent(menuItemId, id -> {
+            menuItemDictionary.writeString(id);
+            menuItemDictionary.writeString(menuItemName != null ? menuItemName : "");
+            return menuItemCodes.size();
+        });
+    }
+}
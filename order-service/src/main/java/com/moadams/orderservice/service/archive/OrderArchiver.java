@@ -0,0 +1,144 @@
+package com.moadams.orderservice.service.archive;
+
+import com.moadams.orderservice.model.enums.OrderStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Moves terminal orders that have not changed for {@code order.archive.retention-days} from
+ * {@code orders}/{@code order_items} into {@code orders_archive}/{@code order_items_archive}.
+ * <p>
+ * Work is done in chunks of {@code order.archive.chunk-size} orders, each copied and deleted in its
+ * own transaction, so an interrupted run leaves every order in exactly one place and the next run
+ * simply picks up the remaining candidates. The candidates are locked while their chunk is moved, and
+ * the copy and delete re-check that they are still eligible, so a concurrent status update or timeline
+ * snapshot either lands before the order is moved and is carried into the archive, or finds the
+ * order gone.
+ */
+@Component
+@Slf4j
+public class OrderArchiver {
+
+    private static final List<String> ARCHIVABLE_STATUSES = List.of(
+            OrderStatus.DELIVERED.name(), OrderStatus.CANCELLED.name(), OrderStatus.REJECTED.name());
+
+    private static final String SELECT_CANDIDATES_SQL = """
+            SELECT id FROM orders
+             WHERE status IN (:statuses) AND last_updated < :cutoff
+             ORDER BY last_updated, id
+             LIMIT :limit
+               FOR UPDATE
+            """;
+
+    private static final String COPY_ORDERS_SQL = """
+            INSERT INTO orders_archive (id, user_email, restaurant_id, restaurant_name, total_amount, status,
+                                        delivery_address, order_date, last_updated, version, status_timeline,
+                                        archived_at)
+            SELECT id, user_email, restaurant_id, restaurant_name, total_amount, status,
+                   delivery_address, order_date, last_updated, version, status_timeline, :archivedAt
+              FROM orders
+             WHERE id IN (:ids) AND status IN (:statuses) AND last_updated < :cutoff
+            """;
+
+    private static final String COPY_ORDER_ITEMS_SQL = """
+            INSERT INTO order_items_archive (id, order_id, menu_item_id, menu_item_name, quantity, price)
+            SELECT id, order_id, menu_item_id, menu_item_name, quantity, price
+              FROM order_items
+             WHERE order_id IN (:ids)
+            """;
+
+    private static final String DELETE_ORDER_ITEMS_SQL = "DELETE FROM order_items WHERE order_id IN (:ids)";
+    private static final String DELETE_ORDERS_SQL = """
+            DELETE FROM orders
+             WHERE id IN (:ids) AND status IN (:statuses) AND last_updated < :cutoff
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int retentionDays;
+    private final int chunkSize;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public OrderArchiver(NamedParameterJdbcTemplate jdbcTemplate,
+                         TransactionTemplate transactionTemplate,
+                         @Value("${order.archive.retention-days:30}") int retentionDays,
+                         @Value("${order.archive.chunk-size:1000}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.retentionDays = retentionDays;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    @Scheduled(cron = "${order.archive.cron:0 0 4 * * *}")
+    public void scheduledArchive() {
+        try {
+            archive();
+        } catch (RuntimeException e) {
+            log.error("Order archiving stopped early; remaining orders will be archived on the next run", e);
+        }
+    }
+
+    /**
+     * Archives eligible orders until none are left and returns how many were moved.
+     * Returns 0 immediately if a run is already in progress on this instance.
+     */
+    public long archive() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Order archiving already in progress, skipping");
+            return 0;
+        }
+        try {
+            LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+            long archived = 0;
+            int moved;
+            do {
+                moved = archiveChunk(cutoff);
+                archived += moved;
+            } while (moved == chunkSize);
+
+            if (archived > 0) {
+                log.info("Archived {} orders last updated before {}", archived, cutoff);
+            }
+            return archived;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private int archiveChunk(LocalDateTime cutoff) {
+        Integer moved = transactionTemplate.execute(status -> {
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                    .addValue("statuses", ARCHIVABLE_STATUSES)
+                    .addValue("cutoff", Timestamp.valueOf(cutoff))
+                    .addValue("limit", chunkSize);
+            List<String> ids = jdbcTemplate.queryForList(SELECT_CANDIDATES_SQL, params, String.class);
+            if (ids.isEmpty()) {
+                return 0;
+            }
+
+            params.addValue("ids", ids)
+                    .addValue("archivedAt", Timestamp.valueOf(LocalDateTime.now()));
+            int copied = jdbcTemplate.update(COPY_ORDERS_SQL, params);
+            jdbcTemplate.update(COPY_ORDER_ITEMS_SQL, params);
+            jdbcTemplate.update(DELETE_ORDER_ITEMS_SQL, params);
+            int deleted = jdbcTemplate.update(DELETE_ORDERS_SQL, params);
+            if (deleted != copied) {
+                throw new IllegalStateException("Archived " + copied + " orders but removed " + deleted
+                        + " from the live table; rolling the chunk back");
+            }
+            log.debug("Archived chunk of {} orders", deleted);
+            return ids.size();
+        });
+        return moved != null ? moved : 0;
+    }
+}
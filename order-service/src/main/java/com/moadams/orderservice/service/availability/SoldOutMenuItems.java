@@ -0,0 +1,43 @@
+package com.moadams.orderservice.service.availability;
+
+import com.moadams.events.MenuItemAvailabilityChangedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Menu items restaurant-service has marked sold out, so an order for one can be rejected before any
+ * remote call. Fed from {@link MenuItemAvailabilityChangedEvent#TOPIC}, which is compacted and read
+ * from the beginning at startup, so the set is rebuilt from the latest availability of every item.
+ * Menu item IDs are unique across restaurants, so the set holds IDs alone.
+ */
+@Component
+public class SoldOutMenuItems {
+
+    private final Set<String> soldOut = ConcurrentHashMap.newKeySet();
+
+    public SoldOutMenuItems(MeterRegistry meterRegistry) {
+        Gauge.builder("order.menu.sold-out.items", soldOut, Set::size)
+                .description("Menu items currently known to be sold out")
+                .register(meterRegistry);
+    }
+
+    public boolean isSoldOut(String menuItemId) {
+        return menuItemId != null && soldOut.contains(menuItemId);
+    }
+
+    public void onChanged(MenuItemAvailabilityChangedEvent event) {
+        if (event.available()) {
+            soldOut.remove(event.menuItemId());
+        } else {
+            soldOut.add(event.menuItemId());
+        }
+    }
+
+    public void onRemoved(String menuItemId) {
+        soldOut.remove(menuItemId);
+    }
+}
@@ -0,0 +1,218 @@
+package com.moadams.orderservice.service.dashboard;
+
+import com.moadams.events.OrderPlacedEvent;
+import com.moadams.orderservice.dto.DashboardOrderRow;
+import com.moadams.orderservice.dto.RestaurantDashboardResponse;
+import com.moadams.orderservice.event.OrderStatusChangedEvent;
+import com.moadams.orderservice.model.enums.OrderStatus;
+import com.moadams.orderservice.repository.ArchivedOrderRepository;
+import com.moadams.orderservice.repository.OrderRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Stream;
+
+/**
+ * CQRS read model behind the restaurant dashboard.
+ * Counters are maintained incrementally from order-placed and status-changed events and
+ * served with a constant number of map and array lookups. {@link #rebuild()} recomputes
+ * everything from the live and archived order tables; it runs at startup, nightly, and on demand for recovery.
+ */
+@Service
+@Slf4j
+public class RestaurantDashboardService {
+
+    /**
+     * Rows updated this close to the start of a rebuild are remembered individually, so events
+     * that raced with the scan can be recognised as already reflected in it.
+     */
+    private static final long RACE_WINDOW_MINUTES = 5;
+
+    private final OrderRepository orderRepository;
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private volatile Map<String, RestaurantOrderCounters> counters = new ConcurrentHashMap<>();
+    private volatile LocalDateTime lastRebuiltAt;
+    private volatile boolean rebuilding;
+    private final Queue<BufferedEvent> eventsDuringRebuild = new ConcurrentLinkedQueue<>();
+
+    public RestaurantDashboardService(OrderRepository orderRepository,
+                                      ArchivedOrderRepository archivedOrderRepository,
+                                      TransactionTemplate transactionTemplate) {
+        this.orderRepository = orderRepository;
+        this.archivedOrderRepository = archivedOrderRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public RestaurantDashboardResponse getDashboard(String restaurantId) {
+        RestaurantOrderCounters restaurant = counters.get(restaurantId);
+        long today = LocalDate.now().toEpochDay();
+        if (restaurant == null) {
+            restaurant = new RestaurantOrderCounters();
+        }
+        long[] todayTotals = restaurant.totals(today, 1);
+        long[] weekTotals = restaurant.totals(today, 7);
+        BigDecimal todayRevenue = fromCents(todayTotals[1]);
+        BigDecimal averageTicket = todayTotals[0] > 0
+                ? todayRevenue.divide(BigDecimal.valueOf(todayTotals[0]), 2, RoundingMode.HALF_UP)
+                : BigDecimal.ZERO.setScale(2);
+
+        return new RestaurantDashboardResponse(
+                restaurantId,
+                restaurant.ordersByStatus(),
+                todayTotals[0],
+                todayRevenue,
+                averageTicket,
+                weekTotals[0],
+                fromCents(weekTotals[1]),
+                lastRebuiltAt);
+    }
+
+    public void onOrderPlaced(OrderPlacedEvent event) {
+        Map<String, RestaurantOrderCounters> target = counters;
+        applyOrderPlaced(target, event);
+        if (rebuilding) {
+            eventsDuringRebuild.add(new BufferedEvent(event.orderId(), event.orderDate(), target, event, null));
+        }
+    }
+
+    public void onStatusChanged(OrderStatusChangedEvent event) {
+        Map<String, RestaurantOrderCounters> target = counters;
+        applyStatusChanged(target, event);
+        if (rebuilding) {
+            eventsDuringRebuild.add(new BufferedEvent(event.orderId(), event.changedAt(), target, null, event));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        rebuildQuietly();
+    }
+
+    @Scheduled(cron = "${order.dashboard.rebuild-cron:0 30 3 * * *}")
+    public void scheduledRebuild() {
+        rebuildQuietly();
+    }
+
+    private void rebuildQuietly() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.error("Restaurant dashboard rebuild failed; serving incrementally maintained counters", e);
+        }
+    }
+
+    /**
+     * Recomputes all counters from the live and archived orders and swaps them in atomically.
+     * Live events keep updating the current counters while the scan runs; they are also
+     * buffered and replayed onto the new counters unless the scan already saw their effect.
+     * Returns the number of orders scanned.
+     */
+    public synchronized long rebuild() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        LocalDateTime raceWindowStart = startedAt.minusMinutes(RACE_WINDOW_MINUTES);
+        Map<String, RestaurantOrderCounters> rebuilt = new ConcurrentHashMap<>();
+        Map<String, LocalDateTime> recentlyUpdated = new HashMap<>();
+
+        eventsDuringRebuild.clear();
+        rebuilding = true;
+        long scanned;
+        try {
+            scanned = readOnlyTransaction.execute(status -> {
+                long rows;
+                try (Stream<DashboardOrderRow> live = orderRepository.streamDashboardRows()) {
+                    rows = scan(live, rebuilt, recentlyUpdated, raceWindowStart);
+                }
+                try (Stream<DashboardOrderRow> archived = archivedOrderRepository.streamDashboardRows()) {
+                    rows += scan(archived, rebuilt, recentlyUpdated, raceWindowStart);
+                }
+                return rows;
+            });
+
+            counters = rebuilt;
+            replayBufferedEvents(rebuilt, recentlyUpdated);
+        } finally {
+            rebuilding = false;
+        }
+        replayBufferedEvents(rebuilt, recentlyUpdated);
+
+        lastRebuiltAt = startedAt;
+        log.info("Rebuilt restaurant dashboard read model from {} orders across {} restaurants", scanned, rebuilt.size());
+        return scanned;
+    }
+
+    private static long scan(Stream<DashboardOrderRow> rows,
+                             Map<String, RestaurantOrderCounters> rebuilt,
+                             Map<String, LocalDateTime> recentlyUpdated,
+                             LocalDateTime raceWindowStart) {
+        long count = 0;
+        for (DashboardOrderRow row : (Iterable<DashboardOrderRow>) rows::iterator) {
+            rebuilt.computeIfAbsent(row.restaurantId(), id -> new RestaurantOrderCounters())
+                    .orderPlaced(row.status(), row.orderDate().toLocalDate().toEpochDay(), toCents(row.totalAmount()));
+            if (row.lastUpdated() != null && !row.lastUpdated().isBefore(raceWindowStart)) {
+                recentlyUpdated.put(row.id(), row.lastUpdated());
+            }
+            count++;
+        }
+        return count;
+    }
+
+    private void replayBufferedEvents(Map<String, RestaurantOrderCounters> rebuilt, Map<String, LocalDateTime> recentlyUpdated) {
+        BufferedEvent buffered;
+        while ((buffered = eventsDuringRebuild.poll()) != null) {
+            if (buffered.appliedTo() == rebuilt) {
+                continue;
+            }
+            LocalDateTime seen = recentlyUpdated.get(buffered.orderId());
+            if (seen != null && !buffered.occurredAt().isAfter(seen)) {
+                continue;
+            }
+            if (buffered.placed() != null) {
+                applyOrderPlaced(rebuilt, buffered.placed());
+            } else {
+                applyStatusChanged(rebuilt, buffered.statusChanged());
+            }
+        }
+    }
+
+    private static void applyOrderPlaced(Map<String, RestaurantOrderCounters> target, OrderPlacedEvent event) {
+        target.computeIfAbsent(event.restaurantId(), id -> new RestaurantOrderCounters())
+                .orderPlaced(OrderStatus.PENDING, event.orderDate().toLocalDate().toEpochDay(), toCents(event.totalAmount()));
+    }
+
+    private static void applyStatusChanged(Map<String, RestaurantOrderCounters> target, OrderStatusChangedEvent event) {
+        target.computeIfAbsent(event.restaurantId(), id -> new RestaurantOrderCounters())
+                .statusChanged(event.previousStatus(), event.newStatus(),
+                        event.orderDate().toLocalDate().toEpochDay(), toCents(event.totalAmount()));
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount == null ? 0 : amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValue();
+    }
+
+    private static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    private record BufferedEvent(String orderId,
+                                 LocalDateTime occurredAt,
+                                 Map<String, RestaurantOrderCounters> appliedTo,
+                                 OrderPlacedEvent placed,
+                                 OrderStatusChangedEvent statusChanged) {
+    }
+}
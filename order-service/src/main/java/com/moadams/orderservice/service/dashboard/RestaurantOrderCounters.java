@@ -0,0 +1,107 @@
+package com.moadams.orderservice.service.dashboard;
+
+import com.moadams.orderservice.model.enums.OrderStatus;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Incrementally maintained counters for one restaurant: orders per current status and
+ * a ring of daily buckets holding order count and revenue (in cents) by order date.
+ * Every update and read touches a fixed number of slots, independent of order history.
+ */
+class RestaurantOrderCounters {
+
+    static final int DAY_BUCKETS = 8;
+
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    private final AtomicLongArray ordersByStatus = new AtomicLongArray(STATUSES.length);
+    private final DayBucket[] days = new DayBucket[DAY_BUCKETS];
+
+    RestaurantOrderCounters() {
+        for (int i = 0; i < DAY_BUCKETS; i++) {
+            days[i] = new DayBucket();
+        }
+    }
+
+    void orderPlaced(OrderStatus status, long epochDay, long amountCents) {
+        ordersByStatus.incrementAndGet(status.ordinal());
+        if (countsTowardsRevenue(status)) {
+            bucket(epochDay).add(epochDay, 1, amountCents);
+        }
+    }
+
+    void statusChanged(OrderStatus previousStatus, OrderStatus newStatus, long epochDay, long amountCents) {
+        if (previousStatus != null) {
+            ordersByStatus.decrementAndGet(previousStatus.ordinal());
+        }
+        ordersByStatus.incrementAndGet(newStatus.ordinal());
+
+        boolean countedBefore = previousStatus == null || countsTowardsRevenue(previousStatus);
+        boolean countedAfter = countsTowardsRevenue(newStatus);
+        if (countedBefore && !countedAfter) {
+            bucket(epochDay).add(epochDay, -1, -amountCents);
+        } else if (!countedBefore && countedAfter) {
+            bucket(epochDay).add(epochDay, 1, amountCents);
+        }
+    }
+
+    Map<OrderStatus, Long> ordersByStatus() {
+        Map<OrderStatus, Long> counts = new EnumMap<>(OrderStatus.class);
+        for (OrderStatus status : STATUSES) {
+            counts.put(status, Math.max(0, ordersByStatus.get(status.ordinal())));
+        }
+        return counts;
+    }
+
+    /**
+     * Order count and revenue for the {@code dayCount} days ending at {@code today}, inclusive.
+     */
+    long[] totals(long today, int dayCount) {
+        long orders = 0;
+        long revenueCents = 0;
+        for (long day = today - Math.min(dayCount, DAY_BUCKETS) + 1; day <= today; day++) {
+            long[] snapshot = bucket(day).read(day);
+            orders += snapshot[0];
+            revenueCents += snapshot[1];
+        }
+        return new long[]{orders, revenueCents};
+    }
+
+    private DayBucket bucket(long epochDay) {
+        return days[(int) Math.floorMod(epochDay, DAY_BUCKETS)];
+    }
+
+    private static boolean countsTowardsRevenue(OrderStatus status) {
+        return status != OrderStatus.CANCELLED && status != OrderStatus.REJECTED;
+    }
+
+    /**
+     * One slot of the day ring. A slot is reset lazily when it is first written for a newer day;
+     * updates for days that have already rotated out are dropped.
+     */
+    private static final class DayBucket {
+        private long epochDay = Long.MIN_VALUE;
+        private long orders;
+        private long revenueCents;
+
+        synchronized void add(long day, long orderDelta, long revenueDelta) {
+            if (day < epochDay) {
+                return;
+            }
+            if (day > epochDay) {
+                epochDay = day;
+                orders = 0;
+                revenueCents = 0;
+            }
+            orders += orderDelta;
+            revenueCents += revenueDelta;
+        }
+
+        synchronized long[] read(long day) {
+            return day == epochDay ? new long[]{orders, revenueCents} : new long[]{0, 0};
+        }
+    }
+}
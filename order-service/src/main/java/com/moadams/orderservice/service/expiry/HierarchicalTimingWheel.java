@@ -0,0 +1,168 @@
+package com.moadams.orderservice.service.expiry;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hierarchical timing wheel keyed by string ids.
+ * Four levels of 64 slots cover 64^4 ticks (about 194 days at one-second ticks). Each slot is an
+ * intrusive doubly linked list, so scheduling and cancelling are O(1); advancing one tick touches
+ * one level-0 slot plus, every 64^n ticks, one slot of level n whose entries cascade downwards.
+ * Deadlines beyond the wheel's range are parked in the top level and re-placed as they come closer.
+ * <p>
+ * All methods are synchronized; none of them performs I/O.
+ */
+class HierarchicalTimingWheel {
+
+    private static final int WHEEL_BITS = 6;
+    private static final int SLOTS = 1 << WHEEL_BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    private static final long RANGE = 1L << (WHEEL_BITS * LEVELS);
+
+    private final long tickMillis;
+    private final Entry[][] wheels = new Entry[LEVELS][SLOTS];
+    private final Map<String, Entry> entries = new HashMap<>();
+    private long currentTick;
+
+    HierarchicalTimingWheel(long tickMillis, long nowMillis) {
+        this.tickMillis = tickMillis;
+        this.currentTick = nowMillis / tickMillis;
+        for (Entry[] wheel : wheels) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                wheel[slot] = Entry.sentinel();
+            }
+        }
+    }
+
+    /**
+     * Schedules {@code key} to expire at {@code deadlineMillis}, replacing any earlier schedule.
+     * Deadlines that have already passed expire on the next tick.
+     */
+    synchronized void schedule(String key, long deadlineMillis) {
+        Entry existing = entries.remove(key);
+        if (existing != null) {
+            existing.unlink();
+        }
+        Entry entry = new Entry(key, Math.floorDiv(deadlineMillis, tickMillis));
+        entries.put(key, entry);
+        place(entry, currentTick + 1);
+    }
+
+    synchronized boolean cancel(String key) {
+        Entry entry = entries.remove(key);
+        if (entry == null) {
+            return false;
+        }
+        entry.unlink();
+        return true;
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Advances the wheel through every tick up to {@code nowMillis} and returns the keys that expired,
+     * earliest tick first.
+     */
+    synchronized List<String> advanceTo(long nowMillis) {
+        long targetTick = nowMillis / tickMillis;
+        List<String> expired = new ArrayList<>();
+        while (currentTick < targetTick) {
+            currentTick++;
+            cascade();
+
+            Entry head = wheels[0][(int) (currentTick & MASK)];
+            for (Entry entry = head.next; entry != head; ) {
+                Entry next = entry.next;
+                entry.unlink();
+                if (entry.deadlineTick <= currentTick) {
+                    entries.remove(entry.key);
+                    expired.add(entry.key);
+                } else {
+                    place(entry, currentTick + 1);
+                }
+                entry = next;
+            }
+        }
+        return expired;
+    }
+
+    /**
+     * When the current tick starts a new rotation of level n, the level-n slot for this period is
+     * emptied into lower levels. Higher levels go first so their entries can land in a lower-level
+     * slot that is cascaded in the same tick.
+     */
+    private void cascade() {
+        int highest = 0;
+        while (highest + 1 < LEVELS && (currentTick & ((1L << (WHEEL_BITS * (highest + 1))) - 1)) == 0) {
+            highest++;
+        }
+        for (int level = highest; level >= 1; level--) {
+            Entry head = wheels[level][(int) ((currentTick >>> (WHEEL_BITS * level)) & MASK)];
+            for (Entry entry = head.next; entry != head; ) {
+                Entry next = entry.next;
+                entry.unlink();
+                place(entry, currentTick);
+                entry = next;
+            }
+        }
+    }
+
+    /**
+     * Links the entry into the slot for its deadline, or for {@code earliestTick} if that is later.
+     * Cascading passes the current tick so entries due now still expire in this tick.
+     */
+    private void place(Entry entry, long earliestTick) {
+        long dueTick = Math.max(entry.deadlineTick, earliestTick);
+        long delta = dueTick - currentTick;
+        if (delta >= RANGE) {
+            dueTick = currentTick + RANGE - 1;
+            delta = RANGE - 1;
+        }
+        int level = 0;
+        while (level + 1 < LEVELS && delta >= (1L << (WHEEL_BITS * (level + 1)))) {
+            level++;
+        }
+        int slot = (int) ((dueTick >>> (WHEEL_BITS * level)) & MASK);
+        wheels[level][slot].append(entry);
+    }
+
+    private static final class Entry {
+        private final String key;
+        private final long deadlineTick;
+        private Entry previous;
+        private Entry next;
+
+        private Entry(String key, long deadlineTick) {
+            this.key = key;
+            this.deadlineTick = deadlineTick;
+        }
+
+        private static Entry sentinel() {
+            Entry sentinel = new Entry(null, Long.MAX_VALUE);
+            sentinel.previous = sentinel;
+            sentinel.next = sentinel;
+            return sentinel;
+        }
+
+        private void append(Entry entry) {
+            entry.previous = previous;
+            entry.next = this;
+            previous.next = entry;
+            previous = entry;
+        }
+
+        private void unlink() {
+            if (previous != null) {
+                previous.next = next;
+                next.previous = previous;
+                previous = null;
+                next = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.moadams.orderservice.service.expiry;
+
+import com.moadams.orderservice.dto.OrderStatusTransitionRequest;
+import com.moadams.orderservice.dto.OrderStatusTransitionResult;
+import com.moadams.orderservice.dto.PendingOrderDeadline;
+import com.moadams.orderservice.event.OrderStatusChangedEvent;
+import com.moadams.orderservice.model.enums.OrderStatus;
+import com.moadams.orderservice.repository.OrderRepository;
+import com.moadams.orderservice.service.OrderStatusBatchUpdater;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Rejects orders that stay PENDING longer than {@code order.pending-expiry.timeout-minutes}.
+ * <p>
+ * Deadlines live in an in-memory {@link HierarchicalTimingWheel}: orders are scheduled when they are
+ * created, cancelled when any status change for them is broadcast, and the wheel is refilled from the
+ * PENDING orders in the database at startup. Expired orders are rejected in batches through
+ * {@link OrderStatusBatchUpdater}, whose status and version checks make a late or duplicate expiry
+ * (for example from another instance) a harmless no-op.
+ */
+@Service
+@Slf4j
+public class PendingOrderExpiryService {
+
+    private static final int EXPIRY_BATCH_SIZE = 500;
+    private static final long RETRY_DELAY_MILLIS = 30_000;
+
+    private final OrderRepository orderRepository;
+    private final OrderStatusBatchUpdater orderStatusBatchUpdater;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+    private final Duration timeout;
+    private final HierarchicalTimingWheel wheel;
+
+    public PendingOrderExpiryService(OrderRepository orderRepository,
+                                     OrderStatusBatchUpdater orderStatusBatchUpdater,
+                                     TransactionTemplate transactionTemplate,
+                                     @Value("${order.pending-expiry.enabled:true}") boolean enabled,
+                                     @Value("${order.pending-expiry.timeout-minutes:15}") long timeoutMinutes,
+                                     @Value("${order.pending-expiry.tick-ms:1000}") long tickMillis) {
+        this.orderRepository = orderRepository;
+        this.orderStatusBatchUpdater = orderStatusBatchUpdater;
+        this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+        this.timeout = Duration.ofMinutes(timeoutMinutes);
+        this.wheel = new HierarchicalTimingWheel(tickMillis, System.currentTimeMillis());
+    }
+
+    public void schedule(String orderId, LocalDateTime orderDate) {
+        if (enabled) {
+            wheel.schedule(orderId, toEpochMillis(orderDate.plus(timeout)));
+        }
+    }
+
+    public void onStatusChanged(OrderStatusChangedEvent event) {
+        if (event.newStatus() != OrderStatus.PENDING) {
+            wheel.cancel(event.orderId());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Long scheduled = readOnlyTransaction.execute(status -> {
+                long count = 0;
+                try (Stream<PendingOrderDeadline> pending = orderRepository.streamPendingOrders()) {
+                    for (PendingOrderDeadline order : (Iterable<PendingOrderDeadline>) pending::iterator) {
+                        schedule(order.id(), order.orderDate());
+                        count++;
+                    }
+                }
+                return count;
+            });
+            log.info("Scheduled expiry for {} pending orders", scheduled);
+        } catch (RuntimeException e) {
+            log.error("Failed to load pending orders; only orders created from now on will expire", e);
+        }
+    }
+
+    @Scheduled(fixedRateString = "${order.pending-expiry.tick-ms:1000}")
+    public void tick() {
+        if (!enabled) {
+            return;
+        }
+        List<String> expired = wheel.advanceTo(System.currentTimeMillis());
+        for (int start = 0; start < expired.size(); start += EXPIRY_BATCH_SIZE) {
+            List<String> batch = expired.subList(start, Math.min(start + EXPIRY_BATCH_SIZE, expired.size()));
+            try {
+                reject(batch);
+            } catch (RuntimeException e) {
+                log.error("Failed to reject {} expired pending orders; will retry", batch.size(), e);
+                long retryAt = System.currentTimeMillis() + RETRY_DELAY_MILLIS;
+                batch.forEach(orderId -> wheel.schedule(orderId, retryAt));
+            }
+        }
+    }
+
+    private void reject(List<String> orderIds) {
+        List<OrderStatusTransitionRequest> transitions = orderIds.stream()
+                .map(orderId -> new OrderStatusTransitionRequest(orderId, OrderStatus.REJECTED))
+                .toList();
+        List<OrderStatusTransitionResult> results = orderStatusBatchUpdater.apply(transitions);
+        long rejected = results.stream().filter(OrderStatusTransitionResult::isUpdated).count();
+        log.info("Rejected {} of {} pending orders that were not confirmed within {}",
+                rejected, orderIds.size(), timeout);
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,217 @@
+package com.moadams.orderservice.service.export;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.moadams.orderservice.dto.OrderExportRow;
+import com.moadams.orderservice.repository.ArchivedOrderRepository;
+import com.moadams.orderservice.repository.OrderRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.stream.Stream;
+
+/**
+ * Streams a restaurant's full order history straight to an output stream.
+ * Live and archived orders are read as projections through two forward-only cursors and
+ * merged in (orderDate, id) order, so memory use stays flat regardless of history size.
+ */
+@Service
+@Slf4j
+public class OrderExportService {
+
+    private static final int FLUSH_EVERY_ROWS = 500;
+    private static final String[] CSV_HEADER = {
+            "id", "userEmail", "restaurantId", "restaurantName", "totalAmount",
+            "status", "deliveryAddress", "orderDate", "lastUpdated"
+    };
+
+    private static final Comparator<OrderExportRow> EXPORT_ORDER =
+            Comparator.comparing(OrderExportRow::orderDate).thenComparing(OrderExportRow::id);
+
+    private final OrderRepository orderRepository;
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    public OrderExportService(OrderRepository orderRepository, ArchivedOrderRepository archivedOrderRepository) {
+        this.orderRepository = orderRepository;
+        this.archivedOrderRepository = archivedOrderRepository;
+    }
+
+    /**
+     * Writes every order of the restaurant to {@code out} and returns the number of rows written.
+     * The caller owns {@code out}; it is flushed but not closed.
+     */
+    @Transactional(readOnly = true)
+    public long exportRestaurantOrders(String restaurantId, OrderExportFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 16 * 1024);
+        long rows = 0;
+
+        try (Stream<OrderExportRow> live = orderRepository.streamByRestaurantId(restaurantId);
+             Stream<OrderExportRow> archived = archivedOrderRepository.streamByRestaurantId(restaurantId)) {
+            RowWriter rowWriter = format == OrderExportFormat.CSV ? new CsvRowWriter(writer) : new NdjsonRowWriter(writer);
+            rowWriter.writeHeader();
+
+            Iterator<OrderExportRow> merged = new MergingIterator(live.iterator(), archived.iterator());
+            while (merged.hasNext()) {
+                rowWriter.write(merged.next());
+                if (++rows % FLUSH_EVERY_ROWS == 0) {
+                    writer.flush();
+                }
+            }
+            rowWriter.finish();
+        }
+        writer.flush();
+
+        log.info("Exported {} orders for restaurant {} as {}", rows, restaurantId, format);
+        return rows;
+    }
+
+    /**
+     * Merges two iterators that are each sorted by {@link #EXPORT_ORDER}.
+     */
+    private static final class MergingIterator implements Iterator<OrderExportRow> {
+        private final Iterator<OrderExportRow> left;
+        private final Iterator<OrderExportRow> right;
+        private OrderExportRow nextLeft;
+        private OrderExportRow nextRight;
+
+        private MergingIterator(Iterator<OrderExportRow> left, Iterator<OrderExportRow> right) {
+            this.left = left;
+            this.right = right;
+            this.nextLeft = left.hasNext() ? left.next() : null;
+            this.nextRight = right.hasNext() ? right.next() : null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextLeft != null || nextRight != null;
+        }
+
+        @Override
+        public OrderExportRow next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            OrderExportRow result;
+            if (nextRight == null || (nextLeft != null && EXPORT_ORDER.compare(nextLeft, nextRight) <= 0)) {
+                result = nextLeft;
+                nextLeft = left.hasNext() ? left.next() : null;
+            } else {
+                result = nextRight;
+                nextRight = right.hasNext() ? right.next() : null;
+            }
+            return result;
+        }
+    }
+
+    private interface RowWriter {
+        void writeHeader() throws IOException;
+
+        void write(OrderExportRow order) throws IOException;
+
+        void finish() throws IOException;
+    }
+
+    private final class NdjsonRowWriter implements RowWriter {
+        private final Writer writer;
+        private final JsonGenerator generator;
+
+        private NdjsonRowWriter(Writer writer) throws IOException {
+            this.writer = writer;
+            this.generator = jsonFactory.createGenerator(writer);
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.generator.disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+        }
+
+        @Override
+        public void writeHeader() {
+        }
+
+        @Override
+        public void write(OrderExportRow order) throws IOException {
+            generator.writeStartObject();
+            generator.writeStringField("id", order.id());
+            generator.writeStringField("userEmail", order.userEmail());
+            generator.writeStringField("restaurantId", order.restaurantId());
+            generator.writeStringField("restaurantName", order.restaurantName());
+            generator.writeNumberField("totalAmount", order.totalAmount());
+            generator.writeStringField("status", order.status().name());
+            generator.writeStringField("deliveryAddress", order.deliveryAddress());
+            generator.writeStringField("orderDate", order.orderDate().toString());
+            generator.writeStringField("lastUpdated", order.lastUpdated().toString());
+            generator.writeEndObject();
+            generator.flush();
+            writer.write('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.close();
+        }
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+        private final Writer writer;
+
+        private CsvRowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void writeHeader() throws IOException {
+            writer.write(String.join(",", CSV_HEADER));
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void write(OrderExportRow order) throws IOException {
+            writeField(order.id());
+            writer.write(',');
+            writeField(order.userEmail());
+            writer.write(',');
+            writeField(order.restaurantId());
+            writer.write(',');
+            writeField(order.restaurantName());
+            writer.write(',');
+            writeField(order.totalAmount().toPlainString());
+            writer.write(',');
+            writeField(order.status().name());
+            writer.write(',');
+            writeField(order.deliveryAddress());
+            writer.write(',');
+            writeField(order.orderDate().toString());
+            writer.write(',');
+            writeField(order.lastUpdated().toString());
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void finish() {
+        }
+
+        private void writeField(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            boolean needsQuoting = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                    || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+            if (!needsQuoting) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+}
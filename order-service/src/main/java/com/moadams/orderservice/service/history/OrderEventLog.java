@@ -0,0 +1,84 @@
+package com.moadams.orderservice.service.history;
+
+import com.moadams.orderservice.event.OrderStatusChangedEvent;
+import com.moadams.orderservice.model.enums.OrderStatus;
+import com.moadams.orderservice.model.id.TimeOrderedUuidGenerator;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Appends status transitions to {@code order_events}.
+ * Transitions recorded inside a transaction are collected and written as one JDBC batch just
+ * before that transaction commits, so a bulk update of hundreds of orders costs one batched
+ * insert and the log can never disagree with the committed order rows.
+ */
+@Component
+public class OrderEventLog {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO order_events (id, order_id, previous_status, new_status, occurred_at)
+            VALUES (?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OrderEventLog(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener
+    public void onStatusChanged(OrderStatusChangedEvent event) {
+        record(event.orderId(), event.previousStatus(), event.newStatus(), event.changedAt());
+    }
+
+    /**
+     * Records one transition. Outside a transaction the row is inserted immediately.
+     */
+    public void record(String orderId, OrderStatus previousStatus, OrderStatus newStatus, LocalDateTime occurredAt) {
+        Object[] row = {
+                TimeOrderedUuidGenerator.next(),
+                orderId,
+                previousStatus != null ? previousStatus.name() : null,
+                newStatus.name(),
+                Timestamp.valueOf(occurredAt)
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            jdbcTemplate.update(INSERT_SQL, row);
+            return;
+        }
+        pendingRows().add(row);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object[]> pendingRows() {
+        List<Object[]> rows = (List<Object[]>) TransactionSynchronizationManager.getResource(this);
+        if (rows != null) {
+            return rows;
+        }
+        List<Object[]> pending = new ArrayList<>();
+        TransactionSynchronizationManager.bindResource(this, pending);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                if (!pending.isEmpty()) {
+                    jdbcTemplate.batchUpdate(INSERT_SQL, pending);
+                    pending.clear();
+                }
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(OrderEventLog.this);
+            }
+        });
+        return pending;
+    }
+}
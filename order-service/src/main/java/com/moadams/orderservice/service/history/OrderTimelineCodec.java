@@ -0,0 +1,44 @@
+package com.moadams.orderservice.service.history;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moadams.orderservice.dto.OrderTimelineEntry;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Reads and writes the JSON stored in the {@code status_timeline} column.
+ */
+@Component
+public class OrderTimelineCodec {
+
+    private static final TypeReference<List<OrderTimelineEntry>> TIMELINE_TYPE = new TypeReference<>() {
+    };
+
+    private final ObjectMapper objectMapper;
+
+    public OrderTimelineCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public List<OrderTimelineEntry> read(String snapshot) {
+        if (snapshot == null || snapshot.isBlank()) {
+            return List.of();
+        }
+        try {
+            return objectMapper.readValue(snapshot, TIMELINE_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Corrupt order status timeline snapshot", e);
+        }
+    }
+
+    public String write(List<OrderTimelineEntry> timeline) {
+        try {
+            return objectMapper.writeValueAsString(timeline);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialise order status timeline", e);
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.moadams.orderservice.service.history;
+
+import com.moadams.orderservice.dto.OrderTimelineEntry;
+import com.moadams.orderservice.model.enums.OrderStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Folds settled rows of {@code order_events} into each order's {@code status_timeline} JSON
+ * snapshot and deletes them, in chunks of orders, each in its own transaction. Orders that have
+ * been archived are folded into {@code orders_archive} instead. Only events older than
+ * {@code order.events.snapshot-delay-minutes} are folded, so the timeline of an active order
+ * keeps being served from the event log.
+ * <p>
+ * A run walks the pending order ids in order, keyset style, so it always moves forward and
+ * ends, even past orders it could not fold. Events of orders that exist in neither table are
+ * orphans that could never be folded; they are deleted and logged.
+ */
+@Component
+@Slf4j
+public class OrderTimelineSnapshotter {
+
+    private static final Comparator<OrderTimelineEntry> CHRONOLOGICAL =
+            Comparator.comparing(OrderTimelineEntry::occurredAt);
+
+    private static final String SELECT_ORDER_IDS_SQL = """
+            SELECT DISTINCT order_id FROM order_events
+             WHERE occurred_at < :cutoff AND order_id > :after
+             ORDER BY order_id
+             LIMIT :limit
+            """;
+
+    private static final String SELECT_EVENTS_SQL = """
+            SELECT id, order_id, previous_status, new_status, occurred_at
+              FROM order_events
+             WHERE order_id IN (:orderIds) AND occurred_at < :cutoff
+             ORDER BY order_id, occurred_at, id
+            """;
+
+    private static final String SELECT_LIVE_TIMELINES_SQL = "SELECT id, status_timeline FROM orders WHERE id IN (:orderIds)";
+    private static final String SELECT_ARCHIVED_TIMELINES_SQL = "SELECT id, status_timeline FROM orders_archive WHERE id IN (:orderIds)";
+    private static final String UPDATE_LIVE_TIMELINE_SQL = "UPDATE orders SET status_timeline = :timeline WHERE id = :id";
+    private static final String UPDATE_ARCHIVED_TIMELINE_SQL = "UPDATE orders_archive SET status_timeline = :timeline WHERE id = :id";
+    private static final String DELETE_EVENTS_SQL = "DELETE FROM order_events WHERE id IN (:eventIds)";
+
+    private record Chunk(int orders, String lastOrderId, int folded, int orphaned) {
+    }
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final OrderTimelineCodec timelineCodec;
+    private final long snapshotDelayMinutes;
+    private final int chunkSize;
+
+    public OrderTimelineSnapshotter(NamedParameterJdbcTemplate jdbcTemplate,
+                                    TransactionTemplate transactionTemplate,
+                                    OrderTimelineCodec timelineCodec,
+                                    @Value("${order.events.snapshot-delay-minutes:60}") long snapshotDelayMinutes,
+                                    @Value("${order.events.snapshot-chunk-size:500}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.timelineCodec = timelineCodec;
+        this.snapshotDelayMinutes = snapshotDelayMinutes;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    @Scheduled(fixedDelayString = "${order.events.snapshot-interval-ms:300000}")
+    public synchronized void snapshot() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(snapshotDelayMinutes);
+        try {
+            long folded = 0;
+            long orphaned = 0;
+            String after = "";
+            Chunk chunk;
+            do {
+                chunk = foldChunk(cutoff, after);
+                folded += chunk.folded();
+                orphaned += chunk.orphaned();
+                after = chunk.lastOrderId();
+            } while (chunk.orders() == chunkSize);
+            if (folded > 0) {
+                log.info("Folded {} order events into timeline snapshots", folded);
+            }
+            if (orphaned > 0) {
+                log.warn("Deleted {} order events whose order exists in neither orders nor orders_archive", orphaned);
+            }
+        } catch (RuntimeException e) {
+            log.error("Order timeline snapshot failed; unfolded events stay in the log", e);
+        }
+    }
+
+    /**
+     * Folds the next {@code chunkSize} orders with settled events whose id sorts after {@code after}.
+     */
+    private Chunk foldChunk(LocalDateTime cutoff, String after) {
+        Chunk result = transactionTemplate.execute(status -> {
+            MapSqlParameterSource candidates = new MapSqlParameterSource()
+                    .addValue("cutoff", Timestamp.valueOf(cutoff))
+                    .addValue("after", after)
+                    .addValue("limit", chunkSize);
+            List<String> orderIds = jdbcTemplate.queryForList(SELECT_ORDER_IDS_SQL, candidates, String.class);
+            if (orderIds.isEmpty()) {
+                return new Chunk(0, after, 0, 0);
+            }
+
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                    .addValue("orderIds", orderIds)
+                    .addValue("cutoff", Timestamp.valueOf(cutoff));
+            Map<String, List<OrderTimelineEntry>> newEntries = new LinkedHashMap<>();
+            Map<String, List<String>> eventIds = new HashMap<>();
+            jdbcTemplate.query(SELECT_EVENTS_SQL, params, rs -> {
+                String orderId = rs.getString("order_id");
+                String previous = rs.getString("previous_status");
+                newEntries.computeIfAbsent(orderId, id -> new ArrayList<>()).add(new OrderTimelineEntry(
+                        previous != null ? OrderStatus.valueOf(previous) : null,
+                        OrderStatus.valueOf(rs.getString("new_status")),
+                        rs.getTimestamp("occurred_at").toLocalDateTime()));
+                eventIds.computeIfAbsent(orderId, id -> new ArrayList<>()).add(rs.getString("id"));
+            });
+
+            Set<String> found = new HashSet<>();
+            int folded = fold(SELECT_LIVE_TIMELINES_SQL, UPDATE_LIVE_TIMELINE_SQL, params, newEntries, eventIds, found);
+            folded += fold(SELECT_ARCHIVED_TIMELINES_SQL, UPDATE_ARCHIVED_TIMELINE_SQL, params, newEntries, eventIds, found);
+
+            // An order seen in either table but not written (it moved or vanished mid-chunk) keeps its
+            // events for the next run; one seen in neither is an orphan.
+            List<String> orphanedEventIds = new ArrayList<>();
+            newEntries.keySet().stream()
+                    .filter(orderId -> !found.contains(orderId))
+                    .forEach(orderId -> orphanedEventIds.addAll(eventIds.get(orderId)));
+            if (!orphanedEventIds.isEmpty()) {
+                jdbcTemplate.update(DELETE_EVENTS_SQL, new MapSqlParameterSource("eventIds", orphanedEventIds));
+            }
+            return new Chunk(orderIds.size(), orderIds.get(orderIds.size() - 1), folded, orphanedEventIds.size());
+        });
+        return result != null ? result : new Chunk(0, after, 0, 0);
+    }
+
+    /**
+     * Merges pending entries into the snapshots found by {@code selectSql}, writes them back and
+     * deletes the folded events. Only orders whose snapshot was actually written are removed from
+     * {@code newEntries} and have their events deleted: an order archived between the select and
+     * the update matches no row here, so its entries are left for the archive pass, or failing
+     * that, for the next run. Every order the select found is added to {@code found}.
+     */
+    private int fold(String selectSql, String updateSql, MapSqlParameterSource params,
+                     Map<String, List<OrderTimelineEntry>> newEntries, Map<String, List<String>> eventIds,
+                     Set<String> found) {
+        Map<String, String> snapshots = new HashMap<>();
+        jdbcTemplate.query(selectSql, params, rs -> {
+            snapshots.put(rs.getString("id"), rs.getString("status_timeline"));
+        });
+        found.addAll(snapshots.keySet());
+        if (snapshots.isEmpty()) {
+            return 0;
+        }
+
+        List<String> updatedOrderIds = new ArrayList<>(snapshots.size());
+        List<MapSqlParameterSource> updates = new ArrayList<>(snapshots.size());
+        snapshots.forEach((orderId, snapshot) -> {
+            List<OrderTimelineEntry> entries = newEntries.get(orderId);
+            if (entries == null) {
+                return;
+            }
+            List<OrderTimelineEntry> timeline = new ArrayList<>(timelineCodec.read(snapshot));
+            timeline.addAll(entries);
+            timeline.sort(CHRONOLOGICAL);
+            updatedOrderIds.add(orderId);
+            updates.add(new MapSqlParameterSource()
+                    .addValue("id", orderId)
+                    .addValue("timeline", timelineCodec.write(timeline)));
+        });
+        if (updates.isEmpty()) {
+            return 0;
+        }
+
+        int[] counts = jdbcTemplate.batchUpdate(updateSql, updates.toArray(MapSqlParameterSource[]::new));
+        List<String> foldedEventIds = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0 || counts[i] == Statement.SUCCESS_NO_INFO) {
+                String orderId = updatedOrderIds.get(i);
+                newEntries.remove(orderId);
+                foldedEventIds.addAll(eventIds.get(orderId));
+            }
+        }
+        if (foldedEventIds.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.update(DELETE_EVENTS_SQL, new MapSqlParameterSource("eventIds", foldedEventIds));
+        return foldedEventIds.size();
+    }
+}
@@ -0,0 +1,285 @@
+package com.moadams.orderservice.service.intake;
+
+import com.moadams.orderservice.exception.OrderIntakeUnavailableException;
+import com.moadams.orderservice.model.Order;
+import com.moadams.orderservice.model.OrderItem;
+import com.moadams.orderservice.model.id.TimeOrderedUuidGenerator;
+import com.moadams.orderservice.service.history.OrderEventLog;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Group-commit buffer for new orders.
+ * Request threads enqueue fully priced orders on a lock-free queue and wait on a future; a single
+ * flusher thread drains the queue every {@code max-delay-ms} or as soon as {@code max-batch} orders
+ * are waiting, and writes the whole group with two JDBC batches in one transaction. If a group fails,
+ * its orders are retried one transaction each so a single bad row only fails its own caller.
+ * <p>
+ * The queue needs no explicit bound: every producer is a request thread blocked on its own future.
+ * Submitting and stopping exclude each other, so once the buffer stops nothing new is queued; orders
+ * still queued when the flusher fails to finish within {@code shutdown-timeout-ms} are failed rather
+ * than left waiting. An order still queued after {@code commit-timeout-ms} is skipped and its caller
+ * fails; once the flusher has taken an order, only the flusher completes its future, so a caller
+ * never gives up on an order that may yet be committed.
+ * Enabled with {@code order.intake.group-commit.enabled=true}; otherwise orders are saved per request.
+ */
+@Component
+@Slf4j
+public class OrderIntakeBuffer {
+
+    private static final String INSERT_ORDER_SQL = """
+            INSERT INTO orders (id, user_email, restaurant_id, restaurant_name, total_amount, status,
+                                delivery_address, order_date, last_updated, version)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 0)
+            """;
+
+    private static final String INSERT_ORDER_ITEM_SQL = """
+            INSERT INTO order_items (id, order_id, menu_item_id, menu_item_name, quantity, price)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final OrderEventLog orderEventLog;
+    private final boolean enabled;
+    private final int maxBatch;
+    private final long maxDelayNanos;
+    private final long commitTimeoutMillis;
+    private final long shutdownTimeoutMillis;
+
+    private final Queue<PendingOrder> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final ReadWriteLock lifecycle = new ReentrantReadWriteLock();
+    private volatile boolean running;
+    private Thread flusher;
+
+    public OrderIntakeBuffer(JdbcTemplate jdbcTemplate,
+                             TransactionTemplate transactionTemplate,
+                             OrderEventLog orderEventLog,
+                             @Value("${order.intake.group-commit.enabled:false}") boolean enabled,
+                             @Value("${order.intake.group-commit.max-batch:256}") int maxBatch,
+                             @Value("${order.intake.group-commit.max-delay-ms:5}") long maxDelayMillis,
+                             @Value("${order.intake.group-commit.commit-timeout-ms:5000}") long commitTimeoutMillis,
+                             @Value("${order.intake.group-commit.shutdown-timeout-ms:10000}") long shutdownTimeoutMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.orderEventLog = orderEventLog;
+        this.enabled = enabled;
+        this.maxBatch = Math.max(1, maxBatch);
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, maxDelayMillis));
+        this.commitTimeoutMillis = Math.max(1, commitTimeoutMillis);
+        this.shutdownTimeoutMillis = Math.max(1, shutdownTimeoutMillis);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        flusher = Thread.ofPlatform().name("order-intake-flusher").daemon().start(this::flushLoop);
+        log.info("Order group commit enabled (max batch {}, max delay {} ms)",
+                maxBatch, TimeUnit.NANOSECONDS.toMillis(maxDelayNanos));
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (flusher == null) {
+            return;
+        }
+        lifecycle.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            lifecycle.writeLock().unlock();
+        }
+        LockSupport.unpark(flusher);
+        flusher.join(shutdownTimeoutMillis);
+
+        PendingOrder pending;
+        int abandoned = 0;
+        while ((pending = queue.poll()) != null) {
+            queued.decrementAndGet();
+            if (pending.expire(new OrderIntakeUnavailableException("Order intake stopped before the order was saved"))) {
+                abandoned++;
+            }
+        }
+        if (abandoned > 0) {
+            log.warn("Order intake stopped with {} orders still queued; they were not saved", abandoned);
+        }
+    }
+
+    /**
+     * Assigns ids to the order and its items and queues it for the next group commit.
+     * The returned future completes with the same order once its group has committed, or fails with
+     * a {@link TimeoutException} if the order is still queued after {@code commit-timeout-ms}, in
+     * which case it is never written.
+     */
+    public CompletableFuture<Order> submit(Order order) {
+        order.setId(TimeOrderedUuidGenerator.next());
+        order.setVersion(0L);
+        for (OrderItem item : order.getOrderItems()) {
+            item.setId(TimeOrderedUuidGenerator.next());
+        }
+
+        PendingOrder pending = new PendingOrder(order);
+        lifecycle.readLock().lock();
+        try {
+            if (!running) {
+                return CompletableFuture.failedFuture(new OrderIntakeUnavailableException("Order intake is not running"));
+            }
+            queue.add(pending);
+            if (queued.incrementAndGet() >= maxBatch) {
+                LockSupport.unpark(flusher);
+            }
+        } finally {
+            lifecycle.readLock().unlock();
+        }
+        CompletableFuture.delayedExecutor(commitTimeoutMillis, TimeUnit.MILLISECONDS)
+                .execute(() -> pending.expire(new TimeoutException("Order was not taken for commit within "
+                        + commitTimeoutMillis + " ms")));
+        return pending.committed();
+    }
+
+    private void flushLoop() {
+        List<PendingOrder> group = new ArrayList<>(maxBatch);
+        while (running || !queue.isEmpty()) {
+            if (queued.get() < maxBatch && running) {
+                LockSupport.parkNanos(this, maxDelayNanos);
+            }
+            PendingOrder pending;
+            while (group.size() < maxBatch && (pending = queue.poll()) != null) {
+                queued.decrementAndGet();
+                if (pending.take()) {
+                    group.add(pending);
+                }
+            }
+            if (group.isEmpty()) {
+                continue;
+            }
+            try {
+                flush(group);
+            } catch (RuntimeException e) {
+                log.error("Unexpected failure flushing {} orders", group.size(), e);
+                group.forEach(p -> p.committed().completeExceptionally(e));
+            }
+            group.clear();
+        }
+    }
+
+    private void flush(List<PendingOrder> group) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(group));
+            group.forEach(p -> p.committed().complete(p.order()));
+            log.debug("Group-committed {} orders", group.size());
+        } catch (RuntimeException groupFailure) {
+            log.warn("Group commit of {} orders failed, retrying individually: {}", group.size(), groupFailure.getMessage());
+            for (PendingOrder pending : group) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> insert(List.of(pending)));
+                    pending.committed().complete(pending.order());
+                } catch (RuntimeException e) {
+                    pending.committed().completeExceptionally(e);
+                }
+            }
+        }
+    }
+
+    private void insert(List<PendingOrder> group) {
+        List<Object[]> orderRows = new ArrayList<>(group.size());
+        List<Object[]> itemRows = new ArrayList<>();
+        for (PendingOrder pending : group) {
+            Order order = pending.order();
+            orderRows.add(new Object[]{
+                    order.getId(),
+                    order.getUserEmail(),
+                    order.getRestaurantId(),
+                    order.getRestaurantName(),
+                    order.getTotalAmount(),
+                    order.getStatus().name(),
+                    order.getDeliveryAddress(),
+                    Timestamp.valueOf(order.getOrderDate()),
+                    Timestamp.valueOf(order.getLastUpdated())
+            });
+            orderEventLog.record(order.getId(), null, order.getStatus(), order.getOrderDate());
+            for (OrderItem item : order.getOrderItems()) {
+                itemRows.add(new Object[]{
+                        item.getId(),
+                        order.getId(),
+                        item.getMenuItemId(),
+                        item.getMenuItemName(),
+                        item.getQuantity(),
+                        item.getPrice()
+                });
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_ORDER_SQL, orderRows);
+        if (!itemRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_ORDER_ITEM_SQL, itemRows);
+        }
+    }
+
+    /**
+     * An order and its caller's future. It is either taken by the flusher, which then alone
+     * completes the future, or expired while still queued; whichever happens first wins.
+     */
+    private static final class PendingOrder {
+
+        private static final int QUEUED = 0;
+        private static final int TAKEN = 1;
+        private static final int EXPIRED = 2;
+
+        private final Order order;
+        private final CompletableFuture<Order> committed = new CompletableFuture<>();
+        private final AtomicInteger state = new AtomicInteger(QUEUED);
+
+        PendingOrder(Order order) {
+            this.order = order;
+        }
+
+        Order order() {
+            return order;
+        }
+
+        CompletableFuture<Order> committed() {
+            return committed;
+        }
+
+        boolean take() {
+            return state.compareAndSet(QUEUED, TAKEN);
+        }
+
+        /**
+         * Fails the caller if the order has not been taken yet; returns whether it did.
+         */
+        boolean expire(Throwable cause) {
+            if (!state.compareAndSet(QUEUED, EXPIRED)) {
+                return false;
+            }
+            committed.completeExceptionally(cause);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.moadams.orderservice.service.publish;
+
+import com.moadams.orderservice.exception.EventPublisherSaturatedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Sends events through a {@link KafkaTemplate} without blocking on the broker, and tracks every
+ * delivery to completion. Retries are left to the idempotent producer, which keeps retrying until
+ * its delivery timeout without duplicating records; whatever still fails is counted and logged.
+ * The number of unacknowledged sends is capped: once the cap is reached, callers wait up to
+ * {@code max-block-ms} for room and then fail fast, so a stalled broker slows order intake down
+ * instead of filling the heap. Callers that must not lose their event take the room up front with
+ * {@link #reserve} before doing the work the event announces.
+ * Publishes kafka.publish.latency (p50/p95/p99 per topic), kafka.publish.failures and
+ * kafka.publish.in-flight.
+ */
+@Component
+@Slf4j
+public class KafkaEventPublisher {
+
+    private final MeterRegistry meterRegistry;
+    private final Semaphore inFlight;
+    private final int maxInFlight;
+    private final long maxBlockMillis;
+
+    public KafkaEventPublisher(MeterRegistry meterRegistry,
+                               @Value("${order.kafka.publisher.max-in-flight:10000}") int maxInFlight,
+                               @Value("${order.kafka.publisher.max-block-ms:1000}") long maxBlockMillis) {
+        this.meterRegistry = meterRegistry;
+        this.maxInFlight = maxInFlight;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.maxBlockMillis = maxBlockMillis;
+        Gauge.builder("kafka.publish.in-flight", inFlight, semaphore -> this.maxInFlight - semaphore.availablePermits())
+                .description("Kafka sends awaiting acknowledgement")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Hands the record to the producer and returns once it is buffered, or fails after waiting
+     * {@code max-block-ms} for in-flight capacity. The returned future completes when the broker
+     * acknowledges the record or when the producer gives up on it.
+     */
+    public <V> CompletableFuture<SendResult<String, V>> publish(KafkaTemplate<String, V> template, String topic, String key, V value) {
+        if (!acquire()) {
+            countFailure(topic, "backpressure");
+            log.error("Dropped event for key {} on {}: {} sends already awaiting acknowledgement", key, topic, maxInFlight);
+            return CompletableFuture.failedFuture(new TimeoutException(
+                    "Kafka publisher saturated; no capacity for " + topic + " within " + maxBlockMillis + " ms"));
+        }
+        return send(template, topic, key, value);
+    }
+
+    /**
+     * Takes in-flight capacity for one send ahead of time, waiting up to {@code max-block-ms}.
+     * The reservation is either used by {@link Reservation#publish} or given back on close.
+     *
+     * @throws EventPublisherSaturatedException if no capacity became free in time
+     */
+    public Reservation reserve(String topic) {
+        if (!acquire()) {
+            countFailure(topic, "backpressure");
+            throw new EventPublisherSaturatedException(
+                    "Event publishing is saturated; no capacity for " + topic + " within " + maxBlockMillis + " ms");
+        }
+        return new Reservation();
+    }
+
+    private <V> CompletableFuture<SendResult<String, V>> send(KafkaTemplate<String, V> template, String topic, String key, V value) {
+        long startedAt = System.nanoTime();
+        CompletableFuture<SendResult<String, V>> send;
+        try {
+            send = template.send(topic, key, value);
+        } catch (RuntimeException e) {
+            send = CompletableFuture.failedFuture(e);
+        }
+        return send.whenComplete((result, error) -> {
+            inFlight.release();
+            if (error == null) {
+                latencyTimer(topic).record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                return;
+            }
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            countFailure(topic, cause.getClass().getSimpleName());
+            log.error("Failed to publish event for key {} to {}", key, topic, cause);
+        });
+    }
+
+    private boolean acquire() {
+        try {
+            return inFlight.tryAcquire(maxBlockMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private Timer latencyTimer(String topic) {
+        return Timer.builder("kafka.publish.latency")
+                .description("Time from send to broker acknowledgement")
+                .tag("topic", topic)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    private void countFailure(String topic, String reason) {
+        Counter.builder("kafka.publish.failures")
+                .tag("topic", topic)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * In-flight capacity held for one send.
+     */
+    public final class Reservation implements AutoCloseable {
+
+        private final AtomicBoolean held = new AtomicBoolean(true);
+
+        private Reservation() {
+        }
+
+        /**
+         * Sends the record on the reserved capacity, which is released once the send completes.
+         */
+        public <V> CompletableFuture<SendResult<String, V>> publish(KafkaTemplate<String, V> template, String topic, String key, V value) {
+            if (!held.compareAndSet(true, false)) {
+                throw new IllegalStateException("Reservation already used or released");
+            }
+            return send(template, topic, key, value);
+        }
+
+        /**
+         * Gives the capacity back if it was not used.
+         */
+        @Override
+        public void close() {
+            if (held.compareAndSet(true, false)) {
+                inFlight.release();
+            }
+        }
+    }
+}
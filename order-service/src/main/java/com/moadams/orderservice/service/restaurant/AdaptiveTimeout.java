@@ -0,0 +1,65 @@
+package com.moadams.orderservice.service.restaurant;
+
+import java.util.Arrays;
+
+/**
+ * Derives a call timeout from the most recent latencies of that call: the configured percentile
+ * times a headroom factor, clamped to [min, max]. Timed-out calls are recorded at the timeout
+ * that cut them off, so a dependency that slows down pushes the timeout up instead of being
+ * hidden by the samples it never produced.
+ */
+class AdaptiveTimeout {
+
+    private final long[] samples;
+    private final double percentile;
+    private final double headroom;
+    private final long minMillis;
+    private final long maxMillis;
+    private int next;
+    private int size;
+
+    AdaptiveTimeout(int window, double percentile, double headroom, long minMillis, long maxMillis) {
+        if (window <= 0 || percentile <= 0 || percentile > 1 || headroom < 1 || minMillis <= 0 || maxMillis < minMillis) {
+            throw new IllegalArgumentException("Invalid adaptive timeout settings");
+        }
+        this.samples = new long[window];
+        this.percentile = percentile;
+        this.headroom = headroom;
+        this.minMillis = minMillis;
+        this.maxMillis = maxMillis;
+    }
+
+    synchronized void record(long latencyMillis) {
+        samples[next] = latencyMillis;
+        next = (next + 1) % samples.length;
+        if (size < samples.length) {
+            size++;
+        }
+    }
+
+    synchronized int sampleCount() {
+        return size;
+    }
+
+    /**
+     * The timeout the current window supports, or {@code fallbackMillis} (clamped) while
+     * fewer than {@code minSamples} latencies have been seen.
+     */
+    long recommend(int minSamples, long fallbackMillis) {
+        long[] window;
+        synchronized (this) {
+            if (size < minSamples || size == 0) {
+                return clamp(fallbackMillis);
+            }
+            window = Arrays.copyOf(samples, size);
+        }
+        Arrays.sort(window);
+        int rank = (int) Math.ceil(percentile * window.length) - 1;
+        long observed = window[Math.max(0, Math.min(rank, window.length - 1))];
+        return clamp((long) Math.ceil(observed * headroom));
+    }
+
+    private long clamp(long millis) {
+        return Math.max(minMillis, Math.min(maxMillis, millis));
+    }
+}
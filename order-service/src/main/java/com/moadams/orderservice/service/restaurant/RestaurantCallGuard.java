@@ -0,0 +1,154 @@
+package com.moadams.orderservice.service.restaurant;
+
+import com.moadams.orderservice.exception.RestaurantServiceUnavailableException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.timelimiter.TimeLimiterOperator;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Wraps every restaurant-service call in a Resilience4j semaphore bulkhead and time limiter,
+ * one pair per call type. A bulkhead that is full rejects immediately, so a degraded
+ * restaurant-service can hold at most {@code max-concurrent-calls} checkout threads per call type.
+ * Time limiter timeouts follow the observed latency percentile and are re-tuned on a schedule;
+ * the current value is published as the restaurant.client.timeout gauge next to the
+ * resilience4j.bulkhead.* and resilience4j.timelimiter.* metrics.
+ */
+@Component
+@Slf4j
+public class RestaurantCallGuard {
+
+    public static final String RESTAURANT_LOOKUP = "restaurantLookup";
+    public static final String MENU_ITEM_LOOKUP = "menuItemLookup";
+
+    private final TimeLimiterRegistry timeLimiterRegistry;
+    private final Map<String, GuardedCall> calls = new ConcurrentHashMap<>();
+    private final long initialTimeoutMillis;
+    private final boolean adaptive;
+    private final int minSamples;
+
+    public RestaurantCallGuard(TimeLimiterRegistry timeLimiterRegistry,
+                               BulkheadRegistry bulkheadRegistry,
+                               MeterRegistry meterRegistry,
+                               @Value("${restaurant.service.client.bulkhead.restaurant-lookup.max-concurrent-calls:20}") int restaurantLookupConcurrency,
+                               @Value("${restaurant.service.client.bulkhead.menu-item-lookup.max-concurrent-calls:40}") int menuItemLookupConcurrency,
+                               @Value("${restaurant.service.client.timeout.initial-ms:2000}") long initialTimeoutMillis,
+                               @Value("${restaurant.service.client.timeout.min-ms:200}") long minTimeoutMillis,
+                               @Value("${restaurant.service.client.timeout.max-ms:3000}") long maxTimeoutMillis,
+                               @Value("${restaurant.service.client.timeout.percentile:0.99}") double percentile,
+                               @Value("${restaurant.service.client.timeout.headroom:1.5}") double headroom,
+                               @Value("${restaurant.service.client.timeout.window:512}") int window,
+                               @Value("${restaurant.service.client.timeout.adaptive:true}") boolean adaptive,
+                               @Value("${restaurant.service.client.timeout.min-samples:50}") int minSamples) {
+        this.timeLimiterRegistry = timeLimiterRegistry;
+        this.initialTimeoutMillis = initialTimeoutMillis;
+        this.adaptive = adaptive;
+        this.minSamples = minSamples;
+
+        Map<String, Integer> concurrency = Map.of(
+                RESTAURANT_LOOKUP, restaurantLookupConcurrency,
+                MENU_ITEM_LOOKUP, menuItemLookupConcurrency);
+        for (String name : List.of(RESTAURANT_LOOKUP, MENU_ITEM_LOOKUP)) {
+            Bulkhead bulkhead = bulkheadRegistry.bulkhead(name, BulkheadConfig.custom()
+                    .maxConcurrentCalls(concurrency.get(name))
+                    .maxWaitDuration(Duration.ZERO)
+                    .build());
+            TimeLimiter timeLimiter = timeLimiterRegistry.timeLimiter(name, timeLimiterConfig(initialTimeoutMillis));
+
+            GuardedCall call = new GuardedCall(name, bulkhead,
+                    new AdaptiveTimeout(window, percentile, headroom, minTimeoutMillis, maxTimeoutMillis));
+            call.currentTimeoutMillis = timeLimiter.getTimeLimiterConfig().getTimeoutDuration().toMillis();
+            Gauge.builder("restaurant.client.timeout", call, c -> c.currentTimeoutMillis)
+                    .tag("call", name)
+                    .baseUnit("milliseconds")
+                    .description("Current adaptive time limit for restaurant-service calls")
+                    .register(meterRegistry);
+            calls.put(name, call);
+        }
+    }
+
+    /**
+     * Applies the call type's time limiter inside its bulkhead. Timeouts and bulkhead rejections
+     * surface as {@link RestaurantServiceUnavailableException}; other errors pass through.
+     */
+    public <T> Mono<T> guard(String name, Mono<T> request) {
+        GuardedCall call = calls.get(name);
+        if (call == null) {
+            throw new IllegalArgumentException("Unknown restaurant-service call: " + name);
+        }
+        return Mono.defer(() -> {
+                    TimeLimiter timeLimiter = timeLimiterRegistry.timeLimiter(name);
+                    long timeoutMillis = timeLimiter.getTimeLimiterConfig().getTimeoutDuration().toMillis();
+                    long startedAt = System.nanoTime();
+                    return request
+                            .transformDeferred(TimeLimiterOperator.of(timeLimiter))
+                            .doOnSuccess(result -> call.latencies.record((System.nanoTime() - startedAt) / 1_000_000))
+                            .doOnError(TimeoutException.class, e -> call.latencies.record(timeoutMillis));
+                })
+                .transformDeferred(BulkheadOperator.of(call.bulkhead))
+                .onErrorMap(e -> e instanceof TimeoutException || e instanceof BulkheadFullException,
+                        e -> new RestaurantServiceUnavailableException(
+                                "Restaurant service is overloaded or not responding (" + name + ")", e));
+    }
+
+    @Scheduled(fixedDelayString = "${restaurant.service.client.timeout.tuning-interval-ms:15000}")
+    public void tuneTimeouts() {
+        if (!adaptive) {
+            return;
+        }
+        try {
+            for (GuardedCall call : calls.values()) {
+                long current = call.currentTimeoutMillis;
+                long recommended = call.latencies.recommend(minSamples, initialTimeoutMillis);
+                // Ignore changes under 10% so the limiter is not replaced on every tick.
+                if (Math.abs(recommended - current) * 10 < current) {
+                    continue;
+                }
+                timeLimiterRegistry.replace(call.name, TimeLimiter.of(call.name, timeLimiterConfig(recommended)));
+                call.currentTimeoutMillis = recommended;
+                log.info("Adjusted {} timeout from {} ms to {} ms over {} samples",
+                        call.name, current, recommended, call.latencies.sampleCount());
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to tune restaurant-service timeouts", e);
+        }
+    }
+
+    private static TimeLimiterConfig timeLimiterConfig(long timeoutMillis) {
+        return TimeLimiterConfig.custom()
+                .timeoutDuration(Duration.ofMillis(timeoutMillis))
+                .cancelRunningFuture(true)
+                .build();
+    }
+
+    private static final class GuardedCall {
+        private final String name;
+        private final Bulkhead bulkhead;
+        private final AdaptiveTimeout latencies;
+        private volatile long currentTimeoutMillis;
+
+        private GuardedCall(String name, Bulkhead bulkhead, AdaptiveTimeout latencies) {
+            this.name = name;
+            this.bulkhead = bulkhead;
+            this.latencies = latencies;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.moadams.orderservice.service.restaurant;
+
+import com.moadams.orderservice.dto.CustomApiResponse;
+import com.moadams.orderservice.dto.MenuItemServiceResponse;
+import com.moadams.orderservice.dto.RestaurantServiceResponse;
+import com.moadams.orderservice.exception.ResourceNotFoundException;
+import com.moadams.orderservice.exception.RestaurantServiceUnavailableException;
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * All calls from order-service to restaurant-service go through this client and the shared
+ * {@code restaurantServiceWebClient}. Living in its own bean, the circuit breaker is applied
+ * through the proxy instead of being bypassed by a self-invocation. Every call is also bounded
+ * by {@link RestaurantCallGuard}'s bulkhead and time limiter.
+ */
+@Component
+@Slf4j
+public class RestaurantServiceClient {
+
+    private final WebClient restaurantServiceWebClient;
+    private final RestaurantCallGuard callGuard;
+    private final int menuItemConcurrency;
+
+    public RestaurantServiceClient(WebClient restaurantServiceWebClient,
+                                   RestaurantCallGuard callGuard,
+                                   @Value("${restaurant.service.client.menu-item-concurrency:4}") int menuItemConcurrency) {
+        this.restaurantServiceWebClient = restaurantServiceWebClient;
+        this.callGuard = callGuard;
+        this.menuItemConcurrency = menuItemConcurrency;
+    }
+
+    @CircuitBreaker(name = "restaurantServiceCircuitBreaker", fallbackMethod = "getRestaurantFallback")
+    public Mono<CustomApiResponse<RestaurantServiceResponse>> getRestaurant(String restaurantId) {
+        log.info("Attempting to get restaurant details from restaurant-service for ID: {}", restaurantId);
+        return callGuard.guard(RestaurantCallGuard.RESTAURANT_LOOKUP, restaurantServiceWebClient.get()
+                .uri("/api/restaurants/{restaurantId}", restaurantId)
+                .retrieve()
+                .onStatus(status -> status.is4xxClientError() || status.is5xxServerError(),
+                        clientResponse -> clientResponse.bodyToMono(String.class).flatMap(errorBody -> {
+                            log.error("Error response from restaurant-service (status {}): {}", clientResponse.statusCode(), errorBody);
+                            return Mono.error(new RuntimeException("Restaurant service returned error: " + errorBody));
+                        }))
+                .bodyToMono(new ParameterizedTypeReference<CustomApiResponse<RestaurantServiceResponse>>() {}))
+                .doOnError(e -> log.error("WebClient call to restaurant-service failed: {}", e.getMessage()));
+    }
+
+    /**
+     * The restaurant's owner email, or empty if there is no such restaurant. Unlike
+     * {@link #getRestaurant} there is no fallback: access checks must not run on made-up data,
+     * so any other failure surfaces as {@link RestaurantServiceUnavailableException}.
+     */
+    public Mono<String> getRestaurantOwnerEmail(String restaurantId) {
+        return callGuard.guard(RestaurantCallGuard.RESTAURANT_LOOKUP, restaurantServiceWebClient.get()
+                .uri("/api/restaurants/{restaurantId}", restaurantId)
+                .exchangeToMono(clientResponse -> {
+                    if (clientResponse.statusCode().value() == HttpStatus.NOT_FOUND.value()) {
+                        return clientResponse.releaseBody().then(Mono.<CustomApiResponse<RestaurantServiceResponse>>empty());
+                    }
+                    if (clientResponse.statusCode().isError()) {
+                        return clientResponse.releaseBody().then(Mono.error(new RestaurantServiceUnavailableException(
+                                "Could not look up the owner of restaurant " + restaurantId
+                                        + " (status " + clientResponse.statusCode().value() + ")")));
+                    }
+                    return clientResponse.bodyToMono(new ParameterizedTypeReference<CustomApiResponse<RestaurantServiceResponse>>() {});
+                })
+                .filter(response -> response.data() != null && response.data().ownerEmail() != null)
+                .map(response -> response.data().ownerEmail()));
+    }
+
+    /**
+     * Fetches the given menu items concurrently, at most {@code menu-item-concurrency} at a time per order.
+     * Items restaurant-service returns without data are left out of the map.
+     */
+    public Mono<Map<String, MenuItemServiceResponse>> getMenuItems(String restaurantId, Collection<String> menuItemIds) {
+        return Flux.fromIterable(menuItemIds)
+                .flatMap(menuItemId -> getMenuItem(restaurantId, menuItemId)
+                        .filter(response -> response.data() != null)
+                        .map(response -> Map.entry(menuItemId, response.data())), menuItemConcurrency)
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+    }
+
+    public Mono<CustomApiResponse<MenuItemServiceResponse>> getMenuItem(String restaurantId, String menuItemId) {
+        return callGuard.guard(RestaurantCallGuard.MENU_ITEM_LOOKUP, restaurantServiceWebClient.get()
+                .uri("/api/restaurants/{restaurantId}/menu-items/{menuItemId}", restaurantId, menuItemId)
+                .retrieve()
+                .onStatus(status -> status.is4xxClientError() || status.is5xxServerError(),
+                        clientResponse -> clientResponse.bodyToMono(String.class)
+                                .flatMap(errorBody -> Mono.error(new ResourceNotFoundException(
+                                        "Menu item not found with ID: " + menuItemId))))
+                .bodyToMono(new ParameterizedTypeReference<CustomApiResponse<MenuItemServiceResponse>>() {}));
+    }
+
+    public Mono<CustomApiResponse<RestaurantServiceResponse>> getRestaurantFallback(String restaurantId, Throwable t) {
+        log.warn("Fallback triggered for getRestaurant for restaurantId: {}. Reason: {}", restaurantId, t.getMessage());
+
+        RestaurantServiceResponse fallbackRestaurant = new RestaurantServiceResponse(
+                restaurantId,
+                "Fallback Restaurant Name (Service Unavailable)",
+                "Fallback Address (Service Issue)",
+                "Fallback Contact (Service Issue)",
+                null
+        );
+
+        return Mono.just(new CustomApiResponse<>(
+                false,
+                "Restaurant service is currently unavailable. Using fallback data.",
+                503,
+                fallbackRestaurant
+        ));
+    }
+}
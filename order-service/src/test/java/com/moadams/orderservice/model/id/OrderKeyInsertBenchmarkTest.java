@@ -0,0 +1,123 @@
+package com.moadams.orderservice.model.id;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Insert throughput of random (v4) versus time-ordered (v7) keys into an orders/order_items
+ * pair shaped like the real schema, on a file-backed H2 database so index pages actually
+ * have to be written. Disabled by default; run with
+ * {@code mvn test -Dtest=OrderKeyInsertBenchmarkTest -Dbenchmark=true [-Dbenchmark.orders=2000000]}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class OrderKeyInsertBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderKeyInsertBenchmarkTest.class);
+
+    private static final int ITEMS_PER_ORDER = 3;
+    private static final int BATCH_SIZE = 1_000;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void compareRandomAndTimeOrderedKeys() throws SQLException {
+        int orders = Integer.getInteger("benchmark.orders", 1_000_000);
+
+        Result random = run("random", orders, () -> UUID.randomUUID().toString());
+        Result timeOrdered = run("time-ordered", orders, TimeOrderedUuidGenerator::next);
+
+        for (Result result : List.of(random, timeOrdered)) {
+            log.info(String.format("%-13s %,10d orders %,8d ms %,10.0f rows/s",
+                    result.name(), orders, result.millis(), result.rowsPerSecond()));
+        }
+        log.info(String.format("time-ordered speedup: %.2fx", timeOrdered.rowsPerSecond() / random.rowsPerSecond()));
+    }
+
+    private Result run(String name, int orders, Supplier<String> keys) throws SQLException {
+        String url = "jdbc:h2:file:" + tempDir.resolve(name).toAbsolutePath() + ";DB_CLOSE_ON_EXIT=FALSE";
+        try (Connection connection = DriverManager.getConnection(url, "sa", "")) {
+            createSchema(connection);
+            connection.setAutoCommit(false);
+
+            long start = System.nanoTime();
+            try (PreparedStatement insertOrder = connection.prepareStatement(
+                    "INSERT INTO orders (id, user_email, restaurant_id, total_amount, order_date) VALUES (?, ?, ?, ?, ?)");
+                 PreparedStatement insertItem = connection.prepareStatement(
+                         "INSERT INTO order_items (id, order_id, menu_item_id, quantity) VALUES (?, ?, ?, ?)")) {
+                for (int i = 1; i <= orders; i++) {
+                    String orderId = keys.get();
+                    insertOrder.setString(1, orderId);
+                    insertOrder.setString(2, "user" + (i % 10_000) + "@example.com");
+                    insertOrder.setString(3, "restaurant-" + (i % 500));
+                    insertOrder.setBigDecimal(4, BigDecimal.valueOf(i % 10_000, 2));
+                    insertOrder.setTimestamp(5, new Timestamp(System.currentTimeMillis()));
+                    insertOrder.addBatch();
+                    for (int item = 0; item < ITEMS_PER_ORDER; item++) {
+                        insertItem.setString(1, keys.get());
+                        insertItem.setString(2, orderId);
+                        insertItem.setString(3, "menu-" + item);
+                        insertItem.setInt(4, item + 1);
+                        insertItem.addBatch();
+                    }
+                    if (i % BATCH_SIZE == 0 || i == orders) {
+                        insertOrder.executeBatch();
+                        insertItem.executeBatch();
+                        connection.commit();
+                    }
+                }
+            }
+            long millis = (System.nanoTime() - start) / 1_000_000;
+
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM order_items")) {
+                rs.next();
+                assertEquals((long) orders * ITEMS_PER_ORDER, rs.getLong(1));
+            }
+            long rows = (long) orders * (ITEMS_PER_ORDER + 1);
+            return new Result(name, millis, rows * 1000.0 / Math.max(1, millis));
+        }
+    }
+
+    private static void createSchema(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    CREATE TABLE orders (
+                        id VARCHAR(255) PRIMARY KEY,
+                        user_email VARCHAR(255) NOT NULL,
+                        restaurant_id VARCHAR(255) NOT NULL,
+                        total_amount NUMERIC(10, 2) NOT NULL,
+                        order_date TIMESTAMP NOT NULL)
+                    """);
+            statement.execute("""
+                    CREATE TABLE order_items (
+                        id VARCHAR(255) PRIMARY KEY,
+                        order_id VARCHAR(255) NOT NULL REFERENCES orders (id),
+                        menu_item_id VARCHAR(255) NOT NULL,
+                        quantity INT NOT NULL)
+                    """);
+            statement.execute("CREATE INDEX idx_order_items_order ON order_items (order_id)");
+        }
+    }
+
+    private record Result(String name, long millis, double rowsPerSecond) {
+    }
+}
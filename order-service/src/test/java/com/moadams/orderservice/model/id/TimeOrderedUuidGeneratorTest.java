@@ -0,0 +1,77 @@
+package com.moadams.orderservice.model.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeOrderedUuidGeneratorTest {
+
+    @Test
+    void nextUuid_SetsVersionSevenAndRfcVariant() {
+        UUID uuid = TimeOrderedUuidGenerator.nextUuid();
+
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+    }
+
+    @Test
+    void nextUuid_EmbedsCurrentUnixMillis() {
+        long before = System.currentTimeMillis();
+        UUID uuid = TimeOrderedUuidGenerator.nextUuid();
+        long after = System.currentTimeMillis();
+
+        long timestamp = uuid.getMostSignificantBits() >>> 16;
+        assertTrue(timestamp >= before, "timestamp should not precede generation");
+        assertTrue(timestamp <= after + 1, "timestamp should only run ahead on counter overflow");
+    }
+
+    @Test
+    void next_IsStrictlyIncreasingAsString() {
+        String previous = TimeOrderedUuidGenerator.next();
+        for (int i = 0; i < 100_000; i++) {
+            String current = TimeOrderedUuidGenerator.next();
+            assertTrue(current.compareTo(previous) > 0, "ids should sort in generation order");
+            previous = current;
+        }
+    }
+
+    @Test
+    void next_IsUniqueAndOrderedPerThreadUnderContention() throws Exception {
+        int threads = 8;
+        int perThread = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<List<String>>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    List<String> ids = new ArrayList<>(perThread);
+                    for (int i = 0; i < perThread; i++) {
+                        ids.add(TimeOrderedUuidGenerator.next());
+                    }
+                    return ids;
+                }));
+            }
+
+            Set<String> all = new HashSet<>();
+            for (Future<List<String>> future : futures) {
+                List<String> ids = future.get();
+                for (int i = 1; i < ids.size(); i++) {
+                    assertTrue(ids.get(i).compareTo(ids.get(i - 1)) > 0);
+                }
+                all.addAll(ids);
+            }
+            assertEquals(threads * perThread, all.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.moadams.orderservice.security;
+
+import com.moadams.orderservice.service.restaurant.RestaurantServiceClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.context.SecurityContextHolder;
+import reactor.core.publisher.Mono;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RestaurantSecurityTest {
+
+    private final RestaurantServiceClient restaurantServiceClient = mock(RestaurantServiceClient.class);
+    private final RestaurantSecurity restaurantSecurity = new RestaurantSecurity(restaurantServiceClient, 60_000);
+
+    @BeforeEach
+    void setUp() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new JwtAuthenticationToken("owner@example.com", "ROLE_RESTAURANT_OWNER"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void isOwner_OwnRestaurant_LooksUpOwnerOnce() {
+        when(restaurantServiceClient.getRestaurantOwnerEmail("1")).thenReturn(Mono.just("owner@example.com"));
+
+        assertTrue(restaurantSecurity.isOwner("1"));
+        assertTrue(restaurantSecurity.isOwner("1"));
+
+        verify(restaurantServiceClient, times(1)).getRestaurantOwnerEmail("1");
+    }
+
+    @Test
+    void isOwner_OtherOwnersRestaurant_IsDenied() {
+        when(restaurantServiceClient.getRestaurantOwnerEmail("2")).thenReturn(Mono.just("rival@example.com"));
+
+        assertFalse(restaurantSecurity.isOwner("2"));
+    }
+
+    @Test
+    void isOwner_UnknownRestaurant_IsDenied() {
+        when(restaurantServiceClient.getRestaurantOwnerEmail("3")).thenReturn(Mono.empty());
+
+        assertFalse(restaurantSecurity.isOwner("3"));
+        assertFalse(restaurantSecurity.isOwner(null));
+    }
+}
@@ -0,0 +1,72 @@
+package com.moadams.orderservice.service;
+
+import com.moadams.orderservice.dto.OrderStatusSnapshot;
+import com.moadams.orderservice.dto.OrderStatusTransitionRequest;
+import com.moadams.orderservice.dto.OrderStatusTransitionResult;
+import com.moadams.orderservice.dto.OrderStatusTransitionResult.Outcome;
+import com.moadams.orderservice.model.enums.OrderStatus;
+import com.moadams.orderservice.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class OrderStatusBatchUpdaterTest {
+
+    private static final LocalDateTime PLACED_AT = LocalDateTime.of(2025, 3, 1, 12, 0);
+
+    private final OrderRepository orderRepository = mock(OrderRepository.class);
+    private JdbcTemplate jdbc;
+    private OrderStatusBatchUpdater updater;
+
+    @BeforeEach
+    void setUp() {
+        jdbc = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1"));
+        jdbc.execute("CREATE TABLE orders (id VARCHAR(64) PRIMARY KEY, status VARCHAR(32) NOT NULL, "
+                + "last_updated TIMESTAMP, version BIGINT)");
+        updater = new OrderStatusBatchUpdater(orderRepository, jdbc, mock(ApplicationEventPublisher.class));
+    }
+
+    @Test
+    void apply_ReturnsResultsInRequestOrder() {
+        insertOrder("pending", OrderStatus.PENDING);
+        insertOrder("delivered", OrderStatus.DELIVERED);
+        when(orderRepository.findStatusSnapshots(anyList())).thenReturn(List.of(
+                snapshot("pending", OrderStatus.PENDING),
+                snapshot("delivered", OrderStatus.DELIVERED)));
+
+        List<OrderStatusTransitionResult> results = updater.apply(Arrays.asList(
+                new OrderStatusTransitionRequest(null, OrderStatus.CONFIRMED),
+                new OrderStatusTransitionRequest("pending", OrderStatus.CONFIRMED),
+                new OrderStatusTransitionRequest("pending", OrderStatus.CANCELLED),
+                new OrderStatusTransitionRequest("missing", OrderStatus.CONFIRMED),
+                null,
+                new OrderStatusTransitionRequest("delivered", OrderStatus.CANCELLED)));
+
+        assertEquals(List.of(Outcome.INVALID, Outcome.UPDATED, Outcome.DUPLICATE, Outcome.NOT_FOUND,
+                Outcome.INVALID, Outcome.ILLEGAL_TRANSITION), results.stream().map(OrderStatusTransitionResult::outcome).toList());
+        assertEquals(Arrays.asList(null, "pending", "pending", "missing", null, "delivered"),
+                results.stream().map(OrderStatusTransitionResult::orderId).toList());
+        assertEquals("CONFIRMED", jdbc.queryForObject("SELECT status FROM orders WHERE id = 'pending'", String.class));
+    }
+
+    private void insertOrder(String id, OrderStatus status) {
+        jdbc.update("INSERT INTO orders (id, status, last_updated, version) VALUES (?, ?, ?, 0)", id, status.name(), PLACED_AT);
+    }
+
+    private static OrderStatusSnapshot snapshot(String id, OrderStatus status) {
+        return new OrderStatusSnapshot(id, "customer@example.com", "1", status, new BigDecimal("12.50"), PLACED_AT, 0L);
+    }
+}
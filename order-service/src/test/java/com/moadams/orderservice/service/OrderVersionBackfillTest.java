@@ -0,0 +1,55 @@
+package com.moadams.orderservice.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class OrderVersionBackfillTest {
+
+    private JdbcTemplate jdbc;
+    private OrderVersionBackfill backfill;
+
+    @BeforeEach
+    void setUp() {
+        jdbc = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1"));
+        jdbc.execute("CREATE TABLE orders (id VARCHAR(64) PRIMARY KEY, status VARCHAR(32) NOT NULL, version BIGINT)");
+        backfill = new OrderVersionBackfill(jdbc, mock(EntityManagerFactory.class));
+    }
+
+    @Test
+    void apply_LegacyRowWithoutVersion_GetsVersionZero() {
+        jdbc.update("INSERT INTO orders (id, status, version) VALUES ('legacy', 'PENDING', NULL)");
+        jdbc.update("INSERT INTO orders (id, status, version) VALUES ('current', 'PENDING', 3)");
+
+        backfill.apply();
+
+        assertEquals(0L, jdbc.queryForObject("SELECT version FROM orders WHERE id = 'legacy'", Long.class));
+        assertEquals(3L, jdbc.queryForObject("SELECT version FROM orders WHERE id = 'current'", Long.class));
+    }
+
+    @Test
+    void apply_RowInsertedWithoutVersionAfterwards_DefaultsToZero() {
+        backfill.apply();
+
+        jdbc.update("INSERT INTO orders (id, status) VALUES ('old-replica', 'PENDING')");
+
+        assertEquals(0L, jdbc.queryForObject("SELECT version FROM orders WHERE id = 'old-replica'", Long.class));
+    }
+
+    @Test
+    void apply_RunTwice_IsHarmless() {
+        jdbc.update("INSERT INTO orders (id, status, version) VALUES ('legacy', 'PENDING', NULL)");
+
+        backfill.apply();
+        backfill.apply();
+
+        assertEquals(0L, jdbc.queryForObject("SELECT version FROM orders WHERE id = 'legacy'", Long.class));
+    }
+}
@@ -0,0 +1,61 @@
+package com.moadams.orderservice.service.admission;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlidingWindowCounterTest {
+
+    private static final long WINDOW = 60_000;
+    private static final long START = 1_000_000;
+
+    @Test
+    void tryAcquire_AdmitsUpToLimitWithinWindow() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(WINDOW, START);
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(counter.tryAcquire(START + i, 5));
+        }
+        assertFalse(counter.tryAcquire(START + 10, 5));
+    }
+
+    @Test
+    void tryAcquire_WeightsPreviousWindowByRemainingOverlap() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(WINDOW, START);
+        for (int i = 0; i < 10; i++) {
+            assertTrue(counter.tryAcquire(START, 10));
+        }
+
+        // Halfway into the next window the previous 10 orders still count as 5.
+        long halfway = START + WINDOW + WINDOW / 2;
+        for (int i = 0; i < 4; i++) {
+            assertTrue(counter.tryAcquire(halfway, 10));
+        }
+        assertTrue(counter.tryAcquire(halfway, 10));
+        assertFalse(counter.tryAcquire(halfway, 10));
+    }
+
+    @Test
+    void tryAcquire_ForgetsCountsAfterTwoIdleWindows() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(WINDOW, START);
+        for (int i = 0; i < 3; i++) {
+            counter.tryAcquire(START, 3);
+        }
+
+        assertTrue(counter.tryAcquire(START + 2 * WINDOW + 1, 3));
+    }
+
+    @Test
+    void millisUntilAvailable_PointsAtWhenPreviousWindowHasDecayedEnough() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(WINDOW, START);
+        for (int i = 0; i < 10; i++) {
+            counter.tryAcquire(START, 10);
+        }
+
+        long now = START + WINDOW;
+        assertFalse(counter.tryAcquire(now, 10));
+        long wait = counter.millisUntilAvailable(now, 10);
+        assertEquals(WINDOW / 10, wait);
+        assertTrue(counter.tryAcquire(now + wait, 10));
+    }
+}
@@ -0,0 +1,123 @@
+package com.moadams.orderservice.service.analytics;
+
+import com.moadams.orderservice.model.enums.OrderStatus;
+import com.moadams.orderservice.service.analytics.OrderSegment.DailyKey;
+import com.moadams.orderservice.service.analytics.OrderSegment.ItemTotals;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderSegmentTest {
+
+    private static final LocalDate DAY_ONE = LocalDate.of(2025, 3, 1);
+    private static final LocalDate DAY_TWO = DAY_ONE.plusDays(1);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void scanDailyRevenue_AggregatesDeliveredOrdersPerRestaurantAndDay() throws IOException {
+        OrderSegment segment = writeSampleSegment();
+
+        Map<DailyKey, long[]> totals = new HashMap<>();
+        segment.scanDailyRevenue(second(DAY_ONE), second(DAY_TWO.plusDays(1)), null, totals);
+
+        assertEquals(3, totals.size());
+        assertArrayEquals(new long[]{2, 3_500}, totals.get(new DailyKey("r1", DAY_ONE.toEpochDay())));
+        assertArrayEquals(new long[]{1, 999}, totals.get(new DailyKey("r2", DAY_ONE.toEpochDay())));
+        assertArrayEquals(new long[]{1, 1_200}, totals.get(new DailyKey("r1", DAY_TWO.toEpochDay())));
+    }
+
+    @Test
+    void scanDailyRevenue_FiltersByRestaurantAndDateRange() throws IOException {
+        OrderSegment segment = writeSampleSegment();
+
+        Map<DailyKey, long[]> totals = new HashMap<>();
+        segment.scanDailyRevenue(second(DAY_TWO), second(DAY_TWO.plusDays(1)), "r1", totals);
+
+        assertEquals(1, totals.size());
+        assertArrayEquals(new long[]{1, 1_200}, totals.get(new DailyKey("r1", DAY_TWO.toEpochDay())));
+    }
+
+    @Test
+    void scanDailyRevenue_UnknownRestaurantReturnsNothing() throws IOException {
+        OrderSegment segment = writeSampleSegment();
+
+        Map<DailyKey, long[]> totals = new HashMap<>();
+        segment.scanDailyRevenue(second(DAY_ONE), second(DAY_TWO.plusDays(1)), "missing", totals);
+
+        assertTrue(totals.isEmpty());
+    }
+
+    @Test
+    void scanItemPopularity_SumsQuantityAndRevenueOfDeliveredOrders() throws IOException {
+        OrderSegment segment = writeSampleSegment();
+
+        Map<String, ItemTotals> totals = new HashMap<>();
+        segment.scanItemPopularity(second(DAY_ONE), second(DAY_TWO.plusDays(1)), "r1", totals);
+
+        assertEquals(2, totals.size());
+        ItemTotals burger = totals.get("burger");
+        assertEquals("Burger", burger.name());
+        assertEquals(4, burger.quantity());
+        assertEquals(4_000, burger.cents());
+        assertEquals(3, totals.get("fries").quantity());
+        assertEquals(900, totals.get("fries").cents());
+    }
+
+    @Test
+    void open_ReadsCountsWrittenByWriter() throws IOException {
+        OrderSegment segment = writeSampleSegment();
+
+        assertEquals(5, segment.orderCount());
+        assertEquals(7, segment.itemCount());
+    }
+
+    @Test
+    void statusCode_IsStableAndUnique() {
+        assertEquals(5, OrderSegmentWriter.statusCode(OrderStatus.DELIVERED));
+        assertEquals(6, OrderSegmentWriter.statusCode(OrderStatus.CANCELLED));
+        assertEquals(OrderStatus.values().length, Arrays.stream(OrderStatus.values())
+                .mapToInt(OrderSegmentWriter::statusCode)
+                .distinct()
+                .count());
+    }
+
+    private OrderSegment writeSampleSegment() throws IOException {
+        OrderSegmentWriter writer = new OrderSegmentWriter(8);
+
+        writer.addOrder("r1", DAY_ONE.atTime(12, 0), 2_000, OrderStatus.DELIVERED);
+        writer.addItem("burger", "Burger", 2, 1_000);
+
+        writer.addOrder("r2", DAY_ONE.atTime(12, 30), 999, OrderStatus.DELIVERED);
+        writer.addItem("salad", "Salad", 1, 999);
+
+        writer.addOrder("r1", DAY_ONE.atTime(11, 0), 1_500, OrderStatus.DELIVERED);
+        writer.addItem("burger", "Burger", 1, 1_000);
+        writer.addItem("fries", "Fries", 2, 250);
+
+        writer.addOrder("r1", DAY_ONE.atTime(18, 0), 5_000, OrderStatus.CANCELLED);
+        writer.addItem("burger", "Burger", 5, 1_000);
+
+        writer.addOrder("r1", DAY_TWO.atTime(9, 15), 1_200, OrderStatus.DELIVERED);
+        writer.addItem("burger", "Burger", 1, 1_000);
+        writer.addItem("fries", "Fries", 1, 400);
+
+        Path file = tempDir.resolve("orders-0000000000.seg");
+        writer.writeTo(file);
+        return OrderSegment.open(file);
+    }
+
+    private static long second(LocalDate date) {
+        return date.atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,84 @@
+package com.moadams.orderservice.service.expiry;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HierarchicalTimingWheelTest {
+
+    private static final long START = 1_700_000_000_000L;
+
+    @Test
+    void advanceTo_ExpiresEntryAtItsDeadline() {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(1_000, START);
+        wheel.schedule("order-1", START + 5_000);
+
+        assertTrue(wheel.advanceTo(START + 4_999).isEmpty());
+        assertEquals(List.of("order-1"), wheel.advanceTo(START + 5_000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void advanceTo_ExpiresPastDeadlineOnNextTick() {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(1_000, START);
+        wheel.schedule("overdue", START - 60_000);
+
+        assertEquals(List.of("overdue"), wheel.advanceTo(START + 1_000));
+    }
+
+    @Test
+    void cancel_RemovesScheduledEntry() {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(1_000, START);
+        wheel.schedule("order-1", START + 3_000);
+
+        assertTrue(wheel.cancel("order-1"));
+        assertFalse(wheel.cancel("order-1"));
+        assertTrue(wheel.advanceTo(START + 10_000).isEmpty());
+    }
+
+    @Test
+    void schedule_ReplacesEarlierDeadlineForSameKey() {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(1_000, START);
+        wheel.schedule("order-1", START + 2_000);
+        wheel.schedule("order-1", START + 90_000);
+
+        assertTrue(wheel.advanceTo(START + 89_000).isEmpty());
+        assertEquals(List.of("order-1"), wheel.advanceTo(START + 90_000));
+    }
+
+    @Test
+    void advanceTo_CascadesLongDeadlinesThroughEveryLevel() {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(1, START);
+        Random random = new Random(42);
+        Map<String, Long> deadlines = new HashMap<>();
+        for (int i = 0; i < 20_000; i++) {
+            long deadline = START + switch (i % 4) {
+                case 0 -> random.nextInt(64);
+                case 1 -> random.nextInt(4_096);
+                case 2 -> random.nextInt(262_144);
+                default -> random.nextInt(20_000_000);
+            };
+            deadlines.put("order-" + i, deadline);
+            wheel.schedule("order-" + i, deadline);
+        }
+
+        List<String> fired = new ArrayList<>();
+        long now = START;
+        while (wheel.size() > 0) {
+            now += 1 + random.nextInt(100);
+            for (String key : wheel.advanceTo(now)) {
+                long deadline = deadlines.get(key);
+                assertTrue(deadline <= now, key + " fired before its deadline");
+                assertTrue(deadline > now - 101, key + " fired later than the advance that covered it");
+                fired.add(key);
+            }
+        }
+        assertEquals(deadlines.size(), fired.size());
+    }
+}
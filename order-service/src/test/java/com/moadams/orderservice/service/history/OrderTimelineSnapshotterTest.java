@@ -0,0 +1,188 @@
+package com.moadams.orderservice.service.history;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.moadams.orderservice.dto.OrderTimelineEntry;
+import com.moadams.orderservice.model.enums.OrderStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderTimelineSnapshotterTest {
+
+    private static final LocalDateTime PLACED_AT = LocalDateTime.of(2025, 3, 1, 12, 0);
+
+    private final OrderTimelineCodec codec = new OrderTimelineCodec(JsonMapper.builder().findAndAddModules().build());
+
+    private DataSource dataSource;
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        NamedParameterJdbcTemplate jdbc = new NamedParameterJdbcTemplate(dataSource);
+        jdbc.getJdbcTemplate().execute("CREATE TABLE orders (id VARCHAR(64) PRIMARY KEY, status_timeline VARCHAR(4000))");
+        jdbc.getJdbcTemplate().execute("CREATE TABLE orders_archive (id VARCHAR(64) PRIMARY KEY, status_timeline VARCHAR(4000))");
+        jdbc.getJdbcTemplate().execute("""
+                CREATE TABLE order_events (id VARCHAR(64) PRIMARY KEY, order_id VARCHAR(64) NOT NULL,
+                                           previous_status VARCHAR(32), new_status VARCHAR(32) NOT NULL,
+                                           occurred_at TIMESTAMP NOT NULL)
+                """);
+    }
+
+    @Test
+    void snapshot_FoldsSettledEventsIntoLiveAndArchivedOrders() {
+        NamedParameterJdbcTemplate jdbc = new NamedParameterJdbcTemplate(dataSource);
+        insertOrder(jdbc, "orders", "live");
+        insertOrder(jdbc, "orders_archive", "archived");
+        insertEvent(jdbc, "e1", "live", null, OrderStatus.PENDING, PLACED_AT);
+        insertEvent(jdbc, "e2", "live", OrderStatus.PENDING, OrderStatus.CONFIRMED, PLACED_AT.plusMinutes(1));
+        insertEvent(jdbc, "e3", "archived", null, OrderStatus.PENDING, PLACED_AT);
+
+        snapshotter(jdbc).snapshot();
+
+        assertEquals(List.of(OrderStatus.PENDING, OrderStatus.CONFIRMED), statuses(jdbc, "orders", "live"));
+        assertEquals(List.of(OrderStatus.PENDING), statuses(jdbc, "orders_archive", "archived"));
+        assertEquals(0, eventCount(jdbc));
+    }
+
+    @Test
+    void snapshot_OrderArchivedBeforeLiveUpdate_FoldsIntoArchive() {
+        NamedParameterJdbcTemplate jdbc = new ArchivingBeforeLiveUpdate(dataSource, "raced");
+        insertOrder(jdbc, "orders", "raced");
+        insertEvent(jdbc, "e1", "raced", null, OrderStatus.PENDING, PLACED_AT);
+        insertEvent(jdbc, "e2", "raced", OrderStatus.PENDING, OrderStatus.CANCELLED, PLACED_AT.plusMinutes(1));
+
+        snapshotter(jdbc).snapshot();
+
+        assertEquals(List.of(OrderStatus.PENDING, OrderStatus.CANCELLED), statuses(jdbc, "orders_archive", "raced"));
+        assertEquals(0, eventCount(jdbc));
+    }
+
+    @Test
+    void snapshot_OrderGoneBeforeUpdate_KeepsEvents() {
+        NamedParameterJdbcTemplate jdbc = new DeletingBeforeLiveUpdate(dataSource, "gone");
+        insertOrder(jdbc, "orders", "gone");
+        insertEvent(jdbc, "e1", "gone", null, OrderStatus.PENDING, PLACED_AT);
+
+        snapshotter(jdbc).snapshot();
+
+        assertEquals(1, eventCount(jdbc));
+    }
+
+    @Test
+    void snapshot_OrphanedEvents_AreDeletedAndLaterOrdersStillFolded() {
+        NamedParameterJdbcTemplate jdbc = new NamedParameterJdbcTemplate(dataSource);
+        insertOrder(jdbc, "orders", "b-live");
+        insertEvent(jdbc, "e1", "a-orphan", null, OrderStatus.PENDING, PLACED_AT);
+        insertEvent(jdbc, "e2", "b-live", null, OrderStatus.PENDING, PLACED_AT);
+
+        snapshotter(jdbc, 1).snapshot();
+
+        assertEquals(List.of(OrderStatus.PENDING), statuses(jdbc, "orders", "b-live"));
+        assertEquals(0, eventCount(jdbc));
+    }
+
+    @Test
+    void snapshot_UnfoldableOrder_DoesNotEndTheRun() {
+        NamedParameterJdbcTemplate jdbc = new DeletingBeforeLiveUpdate(dataSource, "a-gone");
+        insertOrder(jdbc, "orders", "a-gone");
+        insertOrder(jdbc, "orders", "b-live");
+        insertEvent(jdbc, "e1", "a-gone", null, OrderStatus.PENDING, PLACED_AT);
+        insertEvent(jdbc, "e2", "b-live", null, OrderStatus.PENDING, PLACED_AT);
+
+        snapshotter(jdbc, 1).snapshot();
+
+        assertEquals(List.of(OrderStatus.PENDING), statuses(jdbc, "orders", "b-live"));
+        assertEquals(1, eventCount(jdbc));
+    }
+
+    private OrderTimelineSnapshotter snapshotter(NamedParameterJdbcTemplate jdbc) {
+        return snapshotter(jdbc, 500);
+    }
+
+    private OrderTimelineSnapshotter snapshotter(NamedParameterJdbcTemplate jdbc, int chunkSize) {
+        return new OrderTimelineSnapshotter(jdbc, transactionTemplate, codec, 60, chunkSize);
+    }
+
+    private static void insertOrder(NamedParameterJdbcTemplate jdbc, String table, String id) {
+        jdbc.update("INSERT INTO " + table + " (id) VALUES (:id)", new MapSqlParameterSource("id", id));
+    }
+
+    private static void insertEvent(NamedParameterJdbcTemplate jdbc, String id, String orderId,
+                                    OrderStatus previous, OrderStatus next, LocalDateTime occurredAt) {
+        jdbc.update("""
+                INSERT INTO order_events (id, order_id, previous_status, new_status, occurred_at)
+                VALUES (:id, :orderId, :previous, :next, :occurredAt)
+                """, new MapSqlParameterSource()
+                .addValue("id", id)
+                .addValue("orderId", orderId)
+                .addValue("previous", previous != null ? previous.name() : null)
+                .addValue("next", next.name())
+                .addValue("occurredAt", Timestamp.valueOf(occurredAt)));
+    }
+
+    private List<OrderStatus> statuses(NamedParameterJdbcTemplate jdbc, String table, String id) {
+        String timeline = jdbc.queryForObject("SELECT status_timeline FROM " + table + " WHERE id = :id",
+                new MapSqlParameterSource("id", id), String.class);
+        return codec.read(timeline).stream().map(OrderTimelineEntry::status).toList();
+    }
+
+    private static int eventCount(NamedParameterJdbcTemplate jdbc) {
+        return jdbc.getJdbcTemplate().queryForObject("SELECT COUNT(*) FROM order_events", Integer.class);
+    }
+
+    /**
+     * Plays the archiver moving the order between the snapshotter's select and its update.
+     */
+    private static class ArchivingBeforeLiveUpdate extends NamedParameterJdbcTemplate {
+
+        private final String orderId;
+
+        ArchivingBeforeLiveUpdate(DataSource dataSource, String orderId) {
+            super(dataSource);
+            this.orderId = orderId;
+        }
+
+        @Override
+        public int[] batchUpdate(String sql, SqlParameterSource[] batchArgs) {
+            if (sql.startsWith("UPDATE orders ")) {
+                MapSqlParameterSource id = new MapSqlParameterSource("id", orderId);
+                update("INSERT INTO orders_archive (id, status_timeline) SELECT id, status_timeline FROM orders WHERE id = :id", id);
+                update("DELETE FROM orders WHERE id = :id", id);
+            }
+            return super.batchUpdate(sql, batchArgs);
+        }
+    }
+
+    private static class DeletingBeforeLiveUpdate extends NamedParameterJdbcTemplate {
+
+        private final String orderId;
+
+        DeletingBeforeLiveUpdate(DataSource dataSource, String orderId) {
+            super(dataSource);
+            this.orderId = orderId;
+        }
+
+        @Override
+        public int[] batchUpdate(String sql, SqlParameterSource[] batchArgs) {
+            if (sql.startsWith("UPDATE orders ")) {
+                update("DELETE FROM orders WHERE id = :id", new MapSqlParameterSource("id", orderId));
+            }
+            return super.batchUpdate(sql, batchArgs);
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.moadams.orderservice.service.intake;
+
+import com.moadams.orderservice.exception.OrderIntakeUnavailableException;
+import com.moadams.orderservice.model.Order;
+import com.moadams.orderservice.model.OrderItem;
+import com.moadams.orderservice.model.enums.OrderStatus;
+import com.moadams.orderservice.service.history.OrderEventLog;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderIntakeBufferTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private CountingTransactionTemplate transactionTemplate;
+    private OrderIntakeBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new CountingTransactionTemplate(new DataSourceTransactionManager(dataSource));
+        jdbcTemplate.execute("""
+                CREATE TABLE orders (id VARCHAR(64) PRIMARY KEY, user_email VARCHAR(255) NOT NULL,
+                                     restaurant_id VARCHAR(64) NOT NULL, restaurant_name VARCHAR(255) NOT NULL,
+                                     total_amount DECIMAL(10, 2) NOT NULL, status VARCHAR(32) NOT NULL,
+                                     delivery_address VARCHAR(255) NOT NULL, order_date TIMESTAMP NOT NULL,
+                                     last_updated TIMESTAMP NOT NULL, version BIGINT)
+                """);
+        jdbcTemplate.execute("""
+                CREATE TABLE order_items (id VARCHAR(64) PRIMARY KEY, order_id VARCHAR(64) NOT NULL,
+                                          menu_item_id VARCHAR(64) NOT NULL, menu_item_name VARCHAR(255) NOT NULL,
+                                          quantity INT NOT NULL, price DECIMAL(10, 2) NOT NULL)
+                """);
+        jdbcTemplate.execute("""
+                CREATE TABLE order_events (id VARCHAR(64) PRIMARY KEY, order_id VARCHAR(64) NOT NULL,
+                                           previous_status VARCHAR(32), new_status VARCHAR(32) NOT NULL,
+                                           occurred_at TIMESTAMP NOT NULL)
+                """);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        transactionTemplate.release();
+        if (buffer != null) {
+            buffer.stop();
+        }
+    }
+
+    @Test
+    void submit_FullBatch_CommitsInOneTransaction() {
+        buffer = start(3, 10_000, 5_000, 10_000);
+
+        List<CompletableFuture<Order>> futures = List.of(
+                buffer.submit(order("a@example.com")),
+                buffer.submit(order("b@example.com")),
+                buffer.submit(order("c@example.com")));
+        futures.forEach(CompletableFuture::join);
+
+        assertEquals(1, transactionTemplate.transactions.get());
+        assertEquals(3, count("orders"));
+        assertEquals(3, count("order_items"));
+        assertEquals(3, count("order_events"));
+    }
+
+    @Test
+    void submit_BadOrderInGroup_RetriesOrdersOneByOne() {
+        buffer = start(3, 10_000, 5_000, 10_000);
+
+        CompletableFuture<Order> first = buffer.submit(order("a@example.com"));
+        CompletableFuture<Order> bad = buffer.submit(order(null));
+        CompletableFuture<Order> last = buffer.submit(order("c@example.com"));
+
+        assertNotNull(first.join().getId());
+        assertNotNull(last.join().getId());
+        CompletionException failure = assertThrows(CompletionException.class, bad::join);
+        assertInstanceOf(DataAccessException.class, failure.getCause());
+        assertEquals(4, transactionTemplate.transactions.get());
+        assertEquals(2, count("orders"));
+        assertEquals(2, count("order_events"));
+    }
+
+    @Test
+    void stop_FailsQueuedOrdersAndRejectsNewOnes() throws InterruptedException {
+        buffer = start(1, 1, 5_000, 100);
+        transactionTemplate.block();
+
+        CompletableFuture<Order> inFlight = buffer.submit(order("a@example.com"));
+        assertTrue(transactionTemplate.started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Order> queued = buffer.submit(order("b@example.com"));
+
+        buffer.stop();
+
+        CompletionException failure = assertThrows(CompletionException.class, queued::join);
+        assertInstanceOf(OrderIntakeUnavailableException.class, failure.getCause());
+        CompletionException rejected = assertThrows(CompletionException.class,
+                () -> buffer.submit(order("c@example.com")).join());
+        assertInstanceOf(OrderIntakeUnavailableException.class, rejected.getCause());
+
+        transactionTemplate.release();
+        assertNotNull(inFlight.join().getId());
+        assertEquals(1, count("orders"));
+    }
+
+    @Test
+    void submit_NotTakenInTime_TimesOutAndIsSkipped() throws InterruptedException {
+        buffer = start(1, 1, 100, 10_000);
+        transactionTemplate.block();
+
+        CompletableFuture<Order> inFlight = buffer.submit(order("a@example.com"));
+        assertTrue(transactionTemplate.started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Order> waiting = buffer.submit(order("b@example.com"));
+
+        CompletionException failure = assertThrows(CompletionException.class, waiting::join);
+        assertInstanceOf(TimeoutException.class, failure.getCause());
+
+        transactionTemplate.release();
+        assertNotNull(inFlight.join().getId());
+        buffer.stop();
+        assertEquals(1, count("orders"));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders WHERE user_email = 'b@example.com'", Integer.class));
+    }
+
+    @Test
+    void submit_TimeoutDuringFlush_WaitsForCommit() throws InterruptedException {
+        buffer = start(1, 1, 100, 10_000);
+        transactionTemplate.block();
+
+        CompletableFuture<Order> inFlight = buffer.submit(order("a@example.com"));
+        assertTrue(transactionTemplate.started.await(5, TimeUnit.SECONDS));
+        Thread.sleep(300);
+
+        assertFalse(inFlight.isDone());
+        transactionTemplate.release();
+        Order saved = inFlight.join();
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders WHERE id = ?", Integer.class, saved.getId()));
+    }
+
+    private OrderIntakeBuffer start(int maxBatch, long maxDelayMillis, long commitTimeoutMillis, long shutdownTimeoutMillis) {
+        OrderIntakeBuffer intakeBuffer = new OrderIntakeBuffer(jdbcTemplate, transactionTemplate, new OrderEventLog(jdbcTemplate),
+                true, maxBatch, maxDelayMillis, commitTimeoutMillis, shutdownTimeoutMillis);
+        intakeBuffer.start();
+        return intakeBuffer;
+    }
+
+    private static Order order(String userEmail) {
+        LocalDateTime now = LocalDateTime.now();
+        Order order = Order.builder()
+                .userEmail(userEmail)
+                .restaurantId("1")
+                .restaurantName("Test Kitchen")
+                .deliveryAddress("1 Test Street")
+                .status(OrderStatus.PENDING)
+                .totalAmount(new BigDecimal("12.50"))
+                .orderDate(now)
+                .lastUpdated(now)
+                .orderItems(new ArrayList<>())
+                .build();
+        order.addOrderItem(OrderItem.builder()
+                .menuItemId("10")
+                .menuItemName("Jollof Rice")
+                .quantity(1)
+                .price(new BigDecimal("12.50"))
+                .build());
+        return order;
+    }
+
+    private int count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+    }
+
+    /**
+     * Counts transactions and can hold the flusher inside one until released.
+     */
+    private static class CountingTransactionTemplate extends TransactionTemplate {
+
+        private final AtomicInteger transactions = new AtomicInteger();
+        private final CountDownLatch started = new CountDownLatch(1);
+        private volatile CountDownLatch gate = new CountDownLatch(0);
+
+        CountingTransactionTemplate(DataSourceTransactionManager transactionManager) {
+            super(transactionManager);
+        }
+
+        void block() {
+            gate = new CountDownLatch(1);
+        }
+
+        void release() {
+            gate.countDown();
+        }
+
+        @Override
+        public <T> T execute(TransactionCallback<T> action) throws TransactionException {
+            transactions.incrementAndGet();
+            started.countDown();
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return super.execute(action);
+        }
+    }
+}
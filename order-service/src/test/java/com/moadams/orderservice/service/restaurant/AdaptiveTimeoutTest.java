@@ -0,0 +1,57 @@
+package com.moadams.orderservice.service.restaurant;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveTimeoutTest {
+
+    @Test
+    void recommend_UsesFallbackUntilEnoughSamples() {
+        AdaptiveTimeout timeout = new AdaptiveTimeout(100, 0.99, 1.5, 100, 5000);
+        for (int i = 0; i < 9; i++) {
+            timeout.record(50);
+        }
+
+        assertEquals(2000, timeout.recommend(10, 2000));
+        assertEquals(5000, timeout.recommend(10, 9000));
+    }
+
+    @Test
+    void recommend_ScalesPercentileByHeadroom() {
+        AdaptiveTimeout timeout = new AdaptiveTimeout(100, 0.99, 1.5, 100, 5000);
+        for (int i = 1; i <= 100; i++) {
+            timeout.record(i * 10L);
+        }
+
+        // p99 of 10..1000 is 990; with 1.5x headroom the limit becomes 1485.
+        assertEquals(1485, timeout.recommend(10, 2000));
+    }
+
+    @Test
+    void recommend_ClampsToConfiguredBounds() {
+        AdaptiveTimeout fast = new AdaptiveTimeout(10, 0.99, 1.5, 200, 3000);
+        AdaptiveTimeout slow = new AdaptiveTimeout(10, 0.99, 1.5, 200, 3000);
+        for (int i = 0; i < 10; i++) {
+            fast.record(5);
+            slow.record(10_000);
+        }
+
+        assertEquals(200, fast.recommend(1, 2000));
+        assertEquals(3000, slow.recommend(1, 2000));
+    }
+
+    @Test
+    void record_KeepsOnlyTheMostRecentWindow() {
+        AdaptiveTimeout timeout = new AdaptiveTimeout(4, 1.0, 1.0, 1, 10_000);
+        for (int i = 0; i < 4; i++) {
+            timeout.record(2000);
+        }
+        for (int i = 0; i < 4; i++) {
+            timeout.record(100);
+        }
+
+        assertEquals(4, timeout.sampleCount());
+        assertEquals(100, timeout.recommend(1, 5000));
+    }
+}
@@ -0,0 +1,137 @@
+package com.moadams.restaurantservice.config;
+
+import com.moadams.events.MenuItemAvailabilityChangedEvent;
+import com.moadams.events.OrderPlacedEvent;
+import com.moadams.events.codec.OrderPlacedEventDeserializer;
+import com.moadams.restaurantservice.dto.KitchenQueueResponse;
+import com.moadams.restaurantservice.listener.MenuSearchChangeListener;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.boot.ssl.SslBundles;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.util.backoff.ExponentialBackOff;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Reads OrderPlacedEvents in the shared binary format (and legacy JSON records),
+ * regardless of the value deserializer configured in spring.kafka.consumer.*; they are
+ * delivered in batches, one per poll, so the kitchen queues take them in with little overhead.
+ * An order a full kitchen queue refused is retried with a growing back-off, up to
+ * {@code restaurant.kitchen.retry-max-interval-ms}, for as long as it takes: its partition
+ * stalls until the kitchen has room, and its offset is never committed before the order is queued.
+ * Cache invalidations are broadcast: each replica joins its own consumer group and starts
+ * from the latest offset, since the caches they clear are in-memory and start empty.
+ * Availability changes are broadcast the same way; they keep the in-memory menu availability of
+ * every replica in step with writes made through the others, and so are kitchen queue statuses,
+ * which let every replica report the queues of kitchens owned by the others. The search index reads
+ * the availability topic a second time, from its own consumer group, positioned by
+ * {@link MenuSearchChangeListener} so that a restart catches up from the offsets saved with the
+ * index snapshot.
+ */
+@Configuration
+public class KafkaConsumerConfig {
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, OrderPlacedEvent> orderPlacedContainerFactory(
+            KafkaProperties kafkaProperties, ObjectProvider<SslBundles> sslBundles,
+            @Value("${restaurant.kitchen.retry-max-interval-ms:10000}") long retryMaxIntervalMillis) {
+        DefaultKafkaConsumerFactory<String, OrderPlacedEvent> consumerFactory = new DefaultKafkaConsumerFactory<>(
+                kafkaProperties.buildConsumerProperties(sslBundles.getIfAvailable()),
+                new StringDeserializer(),
+                new ErrorHandlingDeserializer<>(new OrderPlacedEventDeserializer()));
+
+        ConcurrentKafkaListenerContainerFactory<String, OrderPlacedEvent> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory);
+        factory.setBatchListener(true);
+        ExponentialBackOff backOff = new ExponentialBackOff(500, 2.0);
+        backOff.setMaxInterval(retryMaxIntervalMillis);
+        factory.setCommonErrorHandler(new DefaultErrorHandler(backOff));
+        return factory;
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, String> ownershipInvalidationContainerFactory(
+            KafkaProperties kafkaProperties, ObjectProvider<SslBundles> sslBundles) {
+        Map<String, Object> props = kafkaProperties.buildConsumerProperties(sslBundles.getIfAvailable());
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, "restaurant-service-ownership-" + UUID.randomUUID());
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, true);
+
+        DefaultKafkaConsumerFactory<String, String> consumerFactory = new DefaultKafkaConsumerFactory<>(
+                props,
+                new StringDeserializer(),
+                new StringDeserializer());
+
+        ConcurrentKafkaListenerContainerFactory<String, String> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory);
+        return factory;
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, MenuItemAvailabilityChangedEvent> menuAvailabilityContainerFactory(
+            KafkaProperties kafkaProperties, ObjectProvider<SslBundles> sslBundles) {
+        Map<String, Object> props = kafkaProperties.buildConsumerProperties(sslBundles.getIfAvailable());
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, "restaurant-service-availability-" + UUID.randomUUID());
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, true);
+
+        DefaultKafkaConsumerFactory<String, MenuItemAvailabilityChangedEvent> consumerFactory = new DefaultKafkaConsumerFactory<>(
+                props,
+                new StringDeserializer(),
+                new ErrorHandlingDeserializer<>(new JsonDeserializer<>(MenuItemAvailabilityChangedEvent.class, false)));
+
+        ConcurrentKafkaListenerContainerFactory<String, MenuItemAvailabilityChangedEvent> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory);
+        return factory;
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, byte[]> menuSearchContainerFactory(
+            KafkaProperties kafkaProperties, ObjectProvider<SslBundles> sslBundles,
+            MenuSearchChangeListener menuSearchChangeListener) {
+        Map<String, Object> props = kafkaProperties.buildConsumerProperties(sslBundles.getIfAvailable());
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, "restaurant-service-search-" + UUID.randomUUID());
+        // Partitions are positioned explicitly on assignment; this only applies if a saved offset is gone.
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+
+        DefaultKafkaConsumerFactory<String, byte[]> consumerFactory = new DefaultKafkaConsumerFactory<>(
+                props,
+                new StringDeserializer(),
+                new ByteArrayDeserializer());
+
+        ConcurrentKafkaListenerContainerFactory<String, byte[]> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory);
+        factory.getContainerProperties().setConsumerRebalanceListener(menuSearchChangeListener);
+        return factory;
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, KitchenQueueResponse> kitchenQueueStatusContainerFactory(
+            KafkaProperties kafkaProperties, ObjectProvider<SslBundles> sslBundles) {
+        Map<String, Object> props = kafkaProperties.buildConsumerProperties(sslBundles.getIfAvailable());
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, "restaurant-service-kitchen-" + UUID.randomUUID());
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, true);
+
+        DefaultKafkaConsumerFactory<String, KitchenQueueResponse> consumerFactory = new DefaultKafkaConsumerFactory<>(
+                props,
+                new StringDeserializer(),
+                new ErrorHandlingDeserializer<>(new JsonDeserializer<>(KitchenQueueResponse.class, false)));
+
+        ConcurrentKafkaListenerContainerFactory<String, KitchenQueueResponse> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory);
+        return factory;
+    }
+}
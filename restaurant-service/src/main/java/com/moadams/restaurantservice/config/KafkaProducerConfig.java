@@ -0,0 +1,97 @@
+package com.moadams.restaurantservice.config;
+
+import com.moadams.events.MenuItemAvailabilityChangedEvent;
+import com.moadams.restaurantservice.dto.KitchenQueueResponse;
+import com.moadams.restaurantservice.service.kitchen.KitchenQueueService;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.config.TopicConfig;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.boot.ssl.SslBundles;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.util.Map;
+
+/**
+ * Producer for cache invalidations broadcast to the other restaurant-service replicas.
+ * Keys and values are plain restaurant IDs, whatever serializers spring.kafka.producer.* names.
+ * Menu item availability changes go out as JSON, keyed by menu item ID, on a compacted topic
+ * declared here so that it keeps the latest availability of every item.
+ * Kitchen queue statuses go out as JSON, keyed by restaurant ID, on a topic that keeps them only
+ * briefly, since they are superseded every few seconds.
+ */
+@Configuration
+public class KafkaProducerConfig {
+
+    @Bean
+    public ProducerFactory<String, String> ownershipInvalidationProducerFactory(
+            KafkaProperties kafkaProperties, ObjectProvider<SslBundles> sslBundles) {
+        Map<String, Object> props = kafkaProperties.buildProducerProperties(sslBundles.getIfAvailable());
+        props.putIfAbsent(ProducerConfig.ACKS_CONFIG, "all");
+        props.putIfAbsent(ProducerConfig.LINGER_MS_CONFIG, 0);
+        return new DefaultKafkaProducerFactory<>(props, new StringSerializer(), new StringSerializer());
+    }
+
+    @Bean
+    public KafkaTemplate<String, String> ownershipInvalidationKafkaTemplate(
+            ProducerFactory<String, String> ownershipInvalidationProducerFactory) {
+        return new KafkaTemplate<>(ownershipInvalidationProducerFactory);
+    }
+
+    @Bean
+    public NewTopic menuItemAvailabilityTopic() {
+        return TopicBuilder.name(MenuItemAvailabilityChangedEvent.TOPIC)
+                .partitions(3)
+                .compact()
+                .build();
+    }
+
+    @Bean
+    public ProducerFactory<String, MenuItemAvailabilityChangedEvent> menuAvailabilityProducerFactory(
+            KafkaProperties kafkaProperties, ObjectProvider<SslBundles> sslBundles) {
+        Map<String, Object> props = kafkaProperties.buildProducerProperties(sslBundles.getIfAvailable());
+        props.putIfAbsent(ProducerConfig.ACKS_CONFIG, "all");
+        props.putIfAbsent(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        JsonSerializer<MenuItemAvailabilityChangedEvent> valueSerializer = new JsonSerializer<>();
+        valueSerializer.setAddTypeInfo(false);
+        return new DefaultKafkaProducerFactory<>(props, new StringSerializer(), valueSerializer);
+    }
+
+    @Bean
+    public KafkaTemplate<String, MenuItemAvailabilityChangedEvent> menuAvailabilityKafkaTemplate(
+            ProducerFactory<String, MenuItemAvailabilityChangedEvent> menuAvailabilityProducerFactory) {
+        return new KafkaTemplate<>(menuAvailabilityProducerFactory);
+    }
+
+    @Bean
+    public NewTopic kitchenQueueStatusTopic() {
+        return TopicBuilder.name(KitchenQueueService.STATUS_TOPIC)
+                .partitions(3)
+                .config(TopicConfig.RETENTION_MS_CONFIG, "3600000")
+                .build();
+    }
+
+    @Bean
+    public ProducerFactory<String, KitchenQueueResponse> kitchenQueueStatusProducerFactory(
+            KafkaProperties kafkaProperties, ObjectProvider<SslBundles> sslBundles) {
+        Map<String, Object> props = kafkaProperties.buildProducerProperties(sslBundles.getIfAvailable());
+        props.putIfAbsent(ProducerConfig.LINGER_MS_CONFIG, 0);
+        JsonSerializer<KitchenQueueResponse> valueSerializer = new JsonSerializer<>();
+        valueSerializer.setAddTypeInfo(false);
+        return new DefaultKafkaProducerFactory<>(props, new StringSerializer(), valueSerializer);
+    }
+
+    @Bean
+    public KafkaTemplate<String, KitchenQueueResponse> kitchenQueueStatusKafkaTemplate(
+            ProducerFactory<String, KitchenQueueResponse> kitchenQueueStatusProducerFactory) {
+        return new KafkaTemplate<>(kitchenQueueStatusProducerFactory);
+    }
+}
@@ -0,0 +1,22 @@
+package com.moadams.restaurantservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.task.ThreadPoolTaskSchedulerBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * Scheduler for the {@code @Scheduled} jobs. Boot's default has a single thread, on which the
+ * geo index rebuild and the search snapshot would hold up the search sync, the availability flush
+ * and the kitchen status broadcast; with a thread per job none of them waits for another.
+ */
+@Configuration
+public class SchedulingConfig {
+
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler(ThreadPoolTaskSchedulerBuilder builder,
+                                                 @Value("${spring.task.scheduling.pool.size:5}") int poolSize) {
+        return builder.poolSize(poolSize).build();
+    }
+}
@@ -2,22 +2,40 @@ package com.moadams.restaurantservice.controller;
 
 import com.moadams.restaurantservice.dto.*;
 import com.moadams.restaurantservice.service.RestaurantService;
+import com.moadams.restaurantservice.service.availability.MenuAvailabilityService;
+import com.moadams.restaurantservice.service.cache.CachedMenu;
+import com.moadams.restaurantservice.service.importing.MenuImportFormat;
+import com.moadams.restaurantservice.service.importing.MenuImportService;
+import com.moadams.restaurantservice.service.kitchen.KitchenQueueService;
 import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/restaurants")
 public class RestaurantController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final RestaurantService restaurantService;
+    private final MenuImportService menuImportService;
+    private final MenuAvailabilityService menuAvailabilityService;
+    private final KitchenQueueService kitchenQueueService;
 
-    public RestaurantController(RestaurantService restaurantService) {
+    public RestaurantController(RestaurantService restaurantService, MenuImportService menuImportService,
+                                MenuAvailabilityService menuAvailabilityService, KitchenQueueService kitchenQueueService) {
         this.restaurantService = restaurantService;
+        this.menuImportService = menuImportService;
+        this.menuAvailabilityService = menuAvailabilityService;
+        this.kitchenQueueService = kitchenQueueService;
     }
 
     /**
@@ -43,23 +61,32 @@ public class RestaurantController {
     }
 
     /**
-     * Retrieves all restaurants.
+     * Retrieves one page of the restaurant directory, ordered by name.
      * Accessible by: Any authenticated user (e.g., ROLE_USER, ROLE_RESTAURANT_OWNER, ROLE_ADMIN)
-     * Response: CustomApiResponse<List<RestaurantResponse>>
+     * Query params: prefix (optional, case-insensitive name prefix), cursor (optional, from X-Next-Cursor),
+     *               limit (optional, default 50, at most 200)
+     * Response: CustomApiResponse<List<RestaurantResponse>>; X-Next-Cursor header when more pages follow
      */
     @GetMapping
     @PreAuthorize("hasAnyRole('CUSTOMER', 'RESTAURANT_OWNER', 'ADMIN')")
-    public ResponseEntity<CustomApiResponse<List<RestaurantResponse>>> getAllRestaurants() {
+    public ResponseEntity<CustomApiResponse<List<RestaurantResponse>>> getAllRestaurants(
+            @RequestParam(required = false) String prefix,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
 
-        List<RestaurantResponse> restaurants = restaurantService.getAllRestaurants();
+        RestaurantDirectoryPage page = restaurantService.getRestaurantDirectory(prefix, cursor, limit);
 
         CustomApiResponse<List<RestaurantResponse>> response = new CustomApiResponse<>(
                 true,
-                "All restaurants retrieved successfully.",
+                "Restaurants retrieved successfully.",
                 HttpStatus.OK.value(),
-                restaurants
+                page.restaurants()
         );
-        return new ResponseEntity<>(response, HttpStatus.OK);
+        HttpHeaders headers = new HttpHeaders();
+        if (page.nextCursor() != null) {
+            headers.set(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return new ResponseEntity<>(response, headers, HttpStatus.OK);
     }
 
     /**
@@ -82,6 +109,58 @@ public class RestaurantController {
     }
 
 
+    /**
+     * Finds restaurants near a location, nearest first, from the in-memory geo index.
+     * Accessible by: Any authenticated user
+     * Query params: latitude, longitude, radiusMeters (optional, at most 50 km; without it the nearest
+     *               restaurants within 50 km are returned), limit (optional, default 20, at most 100)
+     * Response: CustomApiResponse<List<NearbyRestaurantResponse>>
+     */
+    @GetMapping("/nearby")
+    @PreAuthorize("hasAnyRole('CUSTOMER', 'RESTAURANT_OWNER', 'ADMIN')")
+    public ResponseEntity<CustomApiResponse<List<NearbyRestaurantResponse>>> getNearbyRestaurants(
+            @RequestParam double latitude,
+            @RequestParam double longitude,
+            @RequestParam(required = false) Double radiusMeters,
+            @RequestParam(defaultValue = "20") int limit) {
+
+        List<NearbyRestaurantResponse> restaurants =
+                restaurantService.findNearbyRestaurants(latitude, longitude, radiusMeters, limit);
+
+        CustomApiResponse<List<NearbyRestaurantResponse>> response = new CustomApiResponse<>(
+                true,
+                "Nearby restaurants retrieved successfully.",
+                HttpStatus.OK.value(),
+                restaurants
+        );
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    /**
+     * Searches menu items of all restaurants by name and description, most relevant first.
+     * Accessible by: Any authenticated user
+     * Query params: q (search terms; the start of a word matches too), offset (optional, default 0),
+     *               limit (optional, default 20, at most 50)
+     * Response: CustomApiResponse<MenuSearchPage>; nextOffset is null on the last page
+     */
+    @GetMapping("/menu-items/search")
+    @PreAuthorize("hasAnyRole('CUSTOMER', 'RESTAURANT_OWNER', 'ADMIN')")
+    public ResponseEntity<CustomApiResponse<MenuSearchPage>> searchMenuItems(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(defaultValue = "20") int limit) {
+
+        MenuSearchPage page = restaurantService.searchMenuItems(q, offset, limit);
+
+        CustomApiResponse<MenuSearchPage> response = new CustomApiResponse<>(
+                true,
+                "Menu items found.",
+                HttpStatus.OK.value(),
+                page
+        );
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
     /**
      * Retrieves a restaurant by its ID.
      * Accessible by: Any authenticated user
@@ -172,26 +251,61 @@ public class RestaurantController {
     }
 
     /**
-     * Retrieves all menu items for a specific restaurant.
-     * Accessible by: Any authenticated user
+     * Bulk-creates menu items for a specific restaurant from a streamed upload.
+     * Accessible by: ROLE_RESTAURANT_OWNER (must own the restaurant)
      * Path variable: restaurantId
-     * Response: CustomApiResponse<List<MenuItemResponse>>
+     * Request body: application/x-ndjson (one MenuItemRequest object per line) or text/csv (header row naming
+     *               name, price and optionally description and available); available defaults to true
+     * Response: CustomApiResponse<MenuImportReport> with the line and reasons of every rejected row
      */
-    @GetMapping("/{restaurantId}/menu-items")
-    public ResponseEntity<CustomApiResponse<List<MenuItemResponse>>> getAllMenuItemsByRestaurant(
-            @PathVariable Long restaurantId) {
+    @PostMapping(value = "/{restaurantId}/menu-items/import",
+            consumes = {MediaType.APPLICATION_NDJSON_VALUE, MenuImportFormat.CSV_VALUE})
+    @PreAuthorize("hasAnyRole('ADMIN') or @restaurantSecurity.isOwner(#restaurantId)")
+    public ResponseEntity<CustomApiResponse<MenuImportReport>> importMenuItems(
+            @PathVariable Long restaurantId,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) {
 
-        List<MenuItemResponse> menuItems = restaurantService.getAllMenuItemsByRestaurant(restaurantId);
+        MenuImportReport report = menuImportService.importMenuItems(
+                restaurantId, MenuImportFormat.of(contentType), body);
 
-        CustomApiResponse<List<MenuItemResponse>> response = new CustomApiResponse<>(
+        CustomApiResponse<MenuImportReport> response = new CustomApiResponse<>(
                 true,
-                "Menu items retrieved successfully for restaurant.",
+                String.format("Imported %d of %d menu items.", report.imported(), report.rows()),
                 HttpStatus.OK.value(),
-                menuItems
+                report
         );
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
 
+    /**
+     * Retrieves all menu items for a specific restaurant.
+     * Accessible by: Any authenticated user
+     * Path variable: restaurantId
+     * Header (optional): If-None-Match with a previously returned ETag; answered with 304 when the menu is unchanged
+     * Response: CustomApiResponse<List<MenuItemResponse>>, written from the pre-serialized menu cache
+     */
+    @GetMapping("/{restaurantId}/menu-items")
+    public ResponseEntity<byte[]> getAllMenuItemsByRestaurant(
+            @PathVariable Long restaurantId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        CachedMenu menu = restaurantService.getCachedMenu(restaurantId);
+        CacheControl cacheControl = CacheControl.noCache().cachePrivate();
+
+        if (menu.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(menu.etag())
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(menu.etag())
+                .cacheControl(cacheControl)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(menu.body());
+    }
+
     /**
      * Retrieves a specific menu item by its ID for a specific restaurant.
      * Accessible by: Any authenticated user
@@ -222,7 +336,7 @@ public class RestaurantController {
      * Response: CustomApiResponse<MenuItemResponse>
      */
     @PutMapping("/{restaurantId}/menu-items/{menuItemId}")
-    @PreAuthorize("hasAnyRole('ADMIN') or @restaurantSecurity.isOwner(#restaurantId)")
+    @PreAuthorize("hasAnyRole('ADMIN') or @restaurantSecurity.isMenuItemOwner(#restaurantId, #menuItemId)")
     public ResponseEntity<CustomApiResponse<MenuItemResponse>> updateMenuItem(
             @PathVariable Long restaurantId,
             @PathVariable Long menuItemId,
@@ -239,6 +353,53 @@ public class RestaurantController {
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
 
+    /**
+     * Retrieves the depth and wait times of a restaurant's kitchen queue.
+     * Accessible by: ROLE_RESTAURANT_OWNER (must own the restaurant)
+     * Path variable: restaurantId
+     * Response: CustomApiResponse<KitchenQueueResponse>, as last reported by the instance preparing its orders
+     */
+    @GetMapping("/{restaurantId}/kitchen/queue")
+    @PreAuthorize("hasAnyRole('ADMIN') or @restaurantSecurity.isOwner(#restaurantId)")
+    public ResponseEntity<CustomApiResponse<KitchenQueueResponse>> getKitchenQueue(@PathVariable Long restaurantId) {
+        KitchenQueueResponse kitchenQueue = kitchenQueueService.status(restaurantId);
+
+        CustomApiResponse<KitchenQueueResponse> response = new CustomApiResponse<>(
+                true,
+                "Kitchen queue retrieved successfully.",
+                HttpStatus.OK.value(),
+                kitchenQueue
+        );
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    /**
+     * Marks a menu item sold out or available again, leaving the rest of the item as it is.
+     * Accessible by: ROLE_RESTAURANT_OWNER (must own the restaurant)
+     * Path variables: restaurantId, menuItemId
+     * Request body: MenuItemAvailabilityRequest DTO
+     * Response: CustomApiResponse<MenuItemAvailabilityResponse>; the change reaches menu responses and
+     *           other services within restaurant.menu.availability.flush-ms
+     */
+    @PatchMapping("/{restaurantId}/menu-items/{menuItemId}/availability")
+    @PreAuthorize("hasAnyRole('ADMIN') or @restaurantSecurity.isOwner(#restaurantId)")
+    public ResponseEntity<CustomApiResponse<MenuItemAvailabilityResponse>> updateMenuItemAvailability(
+            @PathVariable Long restaurantId,
+            @PathVariable Long menuItemId,
+            @Valid @RequestBody MenuItemAvailabilityRequest availabilityRequest) {
+
+        MenuItemAvailabilityResponse availability = menuAvailabilityService.setAvailability(
+                restaurantId, menuItemId, availabilityRequest.available());
+
+        CustomApiResponse<MenuItemAvailabilityResponse> response = new CustomApiResponse<>(
+                true,
+                availability.available() ? "Menu item is available." : "Menu item is sold out.",
+                HttpStatus.OK.value(),
+                availability
+        );
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
     /**
      * Deletes a menu item for a specific restaurant.
      * Accessible by: ROLE_RESTAURANT_OWNER (must own the restaurant)
@@ -246,7 +407,7 @@ public class RestaurantController {
      * Response: CustomApiResponse<Void>
      */
     @DeleteMapping("/{restaurantId}/menu-items/{menuItemId}")
-    @PreAuthorize("hasAnyRole('ADMIN') or @restaurantSecurity.isOwner(#restaurantId)")
+    @PreAuthorize("hasAnyRole('ADMIN') or @restaurantSecurity.isMenuItemOwner(#restaurantId, #menuItemId)")
     public ResponseEntity<CustomApiResponse<Void>> deleteMenuItem(
             @PathVariable Long restaurantId,
             @PathVariable Long menuItemId) {
@@ -0,0 +1,16 @@
+package com.moadams.restaurantservice.dto;
+
+/**
+ * A restaurant's kitchen queue: orders waiting and in preparation, the most it prepares at once,
+ * how long the longest-waiting order has waited, the recent average wait before preparation
+ * starts, and the estimated wait of an order placed now. Times are in seconds.
+ */
+public record KitchenQueueResponse(
+        Long restaurantId,
+        int queued,
+        int preparing,
+        int concurrencyLimit,
+        long longestWaitSeconds,
+        long averageWaitSeconds,
+        long estimatedWaitSeconds
+) {}
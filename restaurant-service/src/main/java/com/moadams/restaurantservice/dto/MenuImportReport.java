@@ -0,0 +1,14 @@
+package com.moadams.restaurantservice.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a menu import. {@code errors} lists the first rejected rows; {@code failed} counts all of them.
+ */
+public record MenuImportReport(
+        int rows,
+        int imported,
+        int failed,
+        List<MenuImportRowError> errors
+) {
+}
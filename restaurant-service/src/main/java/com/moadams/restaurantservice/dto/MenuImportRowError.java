@@ -0,0 +1,12 @@
+package com.moadams.restaurantservice.dto;
+
+import java.util.List;
+
+/**
+ * Why one row of a menu import was not imported; {@code line} is where the row starts in the upload.
+ */
+public record MenuImportRowError(
+        long line,
+        List<String> messages
+) {
+}
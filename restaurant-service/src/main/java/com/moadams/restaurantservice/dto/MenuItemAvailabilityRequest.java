@@ -0,0 +1,8 @@
+package com.moadams.restaurantservice.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+public record MenuItemAvailabilityRequest(
+        @NotNull(message = "Availability status is required")
+        Boolean available
+) {}
@@ -0,0 +1,7 @@
+package com.moadams.restaurantservice.dto;
+
+public record MenuItemAvailabilityResponse(
+        Long id,
+        Long restaurantId,
+        Boolean available
+) {}
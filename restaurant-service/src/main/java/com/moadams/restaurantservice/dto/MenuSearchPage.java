@@ -0,0 +1,13 @@
+package com.moadams.restaurantservice.dto;
+
+import java.util.List;
+
+/**
+ * One page of menu search results, most relevant first; {@code nextOffset} is null on the last page.
+ */
+public record MenuSearchPage(
+        List<MenuItemSearchResult> results,
+        int totalMatches,
+        Integer nextOffset
+) {
+}
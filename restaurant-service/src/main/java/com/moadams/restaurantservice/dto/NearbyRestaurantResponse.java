@@ -0,0 +1,7 @@
+package com.moadams.restaurantservice.dto;
+
+public record NearbyRestaurantResponse(
+        RestaurantResponse restaurant,
+        double distanceMeters
+) {
+}
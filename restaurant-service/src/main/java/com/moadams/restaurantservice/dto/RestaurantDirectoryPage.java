@@ -0,0 +1,12 @@
+package com.moadams.restaurantservice.dto;
+
+import java.util.List;
+
+/**
+ * One page of the restaurant directory; {@code nextCursor} is null on the last page.
+ */
+public record RestaurantDirectoryPage(
+        List<RestaurantResponse> restaurants,
+        String nextCursor
+) {
+}
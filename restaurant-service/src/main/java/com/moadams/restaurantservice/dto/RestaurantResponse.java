@@ -5,7 +5,9 @@ public record RestaurantResponse(
         String name,
         String address,
         String phone,
-        String ownerEmail
+        String ownerEmail,
+        Double latitude,
+        Double longitude
 ) {
 
 }
\ No newline at end of file
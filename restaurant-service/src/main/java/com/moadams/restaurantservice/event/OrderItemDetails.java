@@ -1,9 +0,0 @@
-package com.moadams.restaurantservice.event;
-
-import java.math.BigDecimal;
-
-public record OrderItemDetails(String menuItemId,
-                               String menuItemName,
-                               Integer quantity,
-                               BigDecimal price) {
-}
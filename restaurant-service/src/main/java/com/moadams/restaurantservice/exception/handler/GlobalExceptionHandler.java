@@ -1,6 +1,7 @@
 package com.moadams.restaurantservice.exception.handler;
 
 import com.moadams.restaurantservice.dto.CustomApiResponse;
+import com.moadams.restaurantservice.exception.InvalidRequestException;
 import com.moadams.restaurantservice.exception.ResourceNotFoundException;
 import com.moadams.restaurantservice.exception.UnauthorizedAccessException;
 import lombok.extern.slf4j.Slf4j;
@@ -53,6 +54,23 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(response, HttpStatus.FORBIDDEN);
     }
 
+    /**
+     * Handles InvalidRequestException.
+     * Returns HTTP 400 Bad Request.
+     */
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<CustomApiResponse<Void>> handleInvalidRequestException(
+            InvalidRequestException ex, WebRequest request) {
+        log.warn("InvalidRequestException caught: {}", ex.getMessage());
+        CustomApiResponse<Void> response = new CustomApiResponse<>(
+                false,
+                ex.getMessage(),
+                HttpStatus.BAD_REQUEST.value(),
+                null
+        );
+        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    }
+
     /**
      * Handles MethodArgumentNotValidException (validation errors from @Valid).
      * Returns HTTP 400 Bad Request with details of validation errors.
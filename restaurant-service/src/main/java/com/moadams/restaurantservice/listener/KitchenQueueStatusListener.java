@@ -0,0 +1,34 @@
+package com.moadams.restaurantservice.listener;
+
+import com.moadams.restaurantservice.dto.KitchenQueueResponse;
+import com.moadams.restaurantservice.service.kitchen.KitchenQueueService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Component;
+
+@Component
+public class KitchenQueueStatusListener {
+
+    private static final Logger log = LoggerFactory.getLogger(KitchenQueueStatusListener.class);
+
+    private final KitchenQueueService kitchenQueueService;
+
+    public KitchenQueueStatusListener(KitchenQueueService kitchenQueueService) {
+        this.kitchenQueueService = kitchenQueueService;
+    }
+
+    @KafkaListener(topics = KitchenQueueService.STATUS_TOPIC,
+            containerFactory = "kitchenQueueStatusContainerFactory")
+    public void listenKitchenQueueStatus(@Header(KafkaHeaders.RECEIVED_KEY) String restaurantId,
+                                         @Payload(required = false) KitchenQueueResponse status) {
+        if (status == null || status.restaurantId() == null) {
+            log.warn("Ignoring malformed kitchen status for restaurant '{}'", restaurantId);
+            return;
+        }
+        kitchenQueueService.onStatus(status);
+    }
+}
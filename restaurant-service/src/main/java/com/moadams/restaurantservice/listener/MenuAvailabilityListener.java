@@ -0,0 +1,38 @@
+package com.moadams.restaurantservice.listener;
+
+import com.moadams.events.MenuItemAvailabilityChangedEvent;
+import com.moadams.restaurantservice.service.availability.MenuAvailabilityService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Component;
+
+@Component
+public class MenuAvailabilityListener {
+
+    private static final Logger log = LoggerFactory.getLogger(MenuAvailabilityListener.class);
+
+    private final MenuAvailabilityService menuAvailabilityService;
+
+    public MenuAvailabilityListener(MenuAvailabilityService menuAvailabilityService) {
+        this.menuAvailabilityService = menuAvailabilityService;
+    }
+
+    @KafkaListener(topics = MenuItemAvailabilityChangedEvent.TOPIC,
+            containerFactory = "menuAvailabilityContainerFactory")
+    public void listenAvailabilityChanged(@Header(KafkaHeaders.RECEIVED_KEY) String menuItemId,
+                                          @Payload(required = false) MenuItemAvailabilityChangedEvent event) {
+        try {
+            if (event == null) {
+                menuAvailabilityService.onRemoved(Long.valueOf(menuItemId.trim()));
+            } else {
+                menuAvailabilityService.onChanged(event);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Ignoring malformed availability change for menu item '{}'", menuItemId);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.moadams.restaurantservice.listener;
+
+import com.moadams.events.MenuItemAvailabilityChangedEvent;
+import com.moadams.restaurantservice.service.search.MenuSearchIndex;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+
+/**
+ * Feeds the search index from the compacted availability topic, which carries every menu item
+ * write made through any replica, keyed by menu item id. Only the key is read: the index reloads
+ * the item from the database. On assignment each partition is positioned where the index needs
+ * it, see {@link MenuSearchIndex#resumeOffset}, and the position is resolved right away so the
+ * index knows exactly which writes it will still see.
+ */
+@Component
+public class MenuSearchChangeListener implements ConsumerAwareRebalanceListener {
+
+    private static final Logger log = LoggerFactory.getLogger(MenuSearchChangeListener.class);
+
+    private final MenuSearchIndex menuSearchIndex;
+
+    public MenuSearchChangeListener(MenuSearchIndex menuSearchIndex) {
+        this.menuSearchIndex = menuSearchIndex;
+    }
+
+    @KafkaListener(topics = MenuItemAvailabilityChangedEvent.TOPIC,
+            containerFactory = "menuSearchContainerFactory")
+    public void listenMenuItemChanged(ConsumerRecord<String, byte[]> record) {
+        Long menuItemId = null;
+        try {
+            menuItemId = Long.valueOf(record.key().trim());
+        } catch (RuntimeException e) {
+            log.warn("Ignoring menu item change with malformed key '{}'", record.key());
+        }
+        menuSearchIndex.changed(record.partition(), record.offset(), menuItemId);
+    }
+
+    @Override
+    public void onPartitionsAssigned(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        Map<Integer, Long> positions = new HashMap<>();
+        for (TopicPartition partition : partitions) {
+            OptionalLong offset = menuSearchIndex.resumeOffset(partition.partition());
+            if (offset.isPresent()) {
+                consumer.seek(partition, offset.getAsLong());
+            } else {
+                consumer.seekToEnd(List.of(partition));
+            }
+            positions.put(partition.partition(), consumer.position(partition));
+        }
+        menuSearchIndex.positioned(positions);
+    }
+}
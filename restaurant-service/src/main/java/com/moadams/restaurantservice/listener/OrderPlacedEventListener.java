@@ -1,27 +1,45 @@
 package com.moadams.restaurantservice.listener;
 
-import com.moadams.restaurantservice.event.OrderItemDetails;
-import com.moadams.restaurantservice.event.OrderPlacedEvent;
+import com.moadams.events.OrderPlacedEvent;
+import com.moadams.restaurantservice.service.kitchen.KitchenQueueFullException;
+import com.moadams.restaurantservice.service.kitchen.KitchenQueueService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Component
 public class OrderPlacedEventListener {
 
     private static final Logger log = LoggerFactory.getLogger(OrderPlacedEventListener.class);
 
-    @KafkaListener(topics = "order-events-topic", groupId = "${spring.kafka.consumer.group-id}")
-    public void listenOrderPlacedEvent(OrderPlacedEvent event) {
-        log.info("Restaurant Service received OrderPlacedEvent for Order ID: {}", event.orderId());
-        log.info("Order placed for Restaurant: {} ({})", event.restaurantName(), event.restaurantId());
-        log.info("Delivery Address: {}", event.deliveryAddress());
+    private final KitchenQueueService kitchenQueueService;
+
+    public OrderPlacedEventListener(KitchenQueueService kitchenQueueService) {
+        this.kitchenQueueService = kitchenQueueService;
+    }
 
-        log.info("--- Starting preparation for Order #{} ---", event.orderId());
-        for (OrderItemDetails item : event.orderItems()) {
-            log.info("  - Preparing: {} (x{})", item.menuItemName(), item.quantity());
+    @KafkaListener(topics = "order-events-topic", groupId = "${spring.kafka.consumer.group-id}",
+            containerFactory = "orderPlacedContainerFactory")
+    public void listenOrderPlacedEvents(List<OrderPlacedEvent> events) {
+        for (int i = 0; i < events.size(); i++) {
+            OrderPlacedEvent event = events.get(i);
+            if (event == null) {
+                continue;
+            }
+            try {
+                kitchenQueueService.enqueue(event);
+            } catch (KitchenQueueFullException e) {
+                // The records before this one are committed; this one and the rest are delivered again.
+                log.warn(e.getMessage());
+                throw new BatchListenerFailedException(e.getMessage(), e, i);
+            } catch (RuntimeException e) {
+                log.warn("Could not queue order {} for restaurant '{}' in the kitchen: {}",
+                        event.orderId(), event.restaurantId(), e.getMessage());
+            }
         }
-        log.info("--- Order preparation started for Order #{} ---", event.orderId());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,29 @@
+package com.moadams.restaurantservice.listener;
+
+import com.moadams.restaurantservice.service.cache.OwnershipCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+@Component
+public class OwnershipInvalidationListener {
+
+    private static final Logger log = LoggerFactory.getLogger(OwnershipInvalidationListener.class);
+
+    private final OwnershipCache ownershipCache;
+
+    public OwnershipInvalidationListener(OwnershipCache ownershipCache) {
+        this.ownershipCache = ownershipCache;
+    }
+
+    @KafkaListener(topics = OwnershipCache.INVALIDATION_TOPIC,
+            containerFactory = "ownershipInvalidationContainerFactory")
+    public void listenOwnershipInvalidation(String restaurantId) {
+        try {
+            ownershipCache.evict(Long.valueOf(restaurantId.trim()));
+        } catch (RuntimeException e) {
+            log.warn("Ignoring malformed ownership invalidation '{}'", restaurantId);
+        }
+    }
+}
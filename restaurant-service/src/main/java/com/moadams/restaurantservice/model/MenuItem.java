@@ -14,8 +14,16 @@ import java.math.BigDecimal;
 @Table(name = "menu_items")
 public class MenuItem {
 
+    public static final String ID_SEQUENCE = "menu_items_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    /**
+     * Taken from a pooled sequence, 50 ids per round trip, so inserts can be batched; see
+     * {@link com.moadams.restaurantservice.service.MenuItemIdSequence}.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "menu_items_seq")
+    @SequenceGenerator(name = "menu_items_seq", sequenceName = MenuItem.ID_SEQUENCE, allocationSize = MenuItem.ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false)
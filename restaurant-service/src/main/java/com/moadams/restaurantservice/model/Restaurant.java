@@ -6,13 +6,18 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 import lombok.*;
 
+import java.util.Locale;
+
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 @Entity
-@Table(name = "restaurants")
+@Table(name = "restaurants", indexes = {
+        @Index(name = "idx_restaurants_name_key_id", columnList = "name_key, id"),
+        @Index(name = "idx_restaurants_owner_email", columnList = "owner_email")
+})
 public class Restaurant {
 
     @Id
@@ -37,4 +42,26 @@ public class Restaurant {
     @Email(message = "Must be a valid email address")
     private String ownerEmail;
 
+    @Column
+    private Double latitude;
+
+    @Column
+    private Double longitude;
+
+    /**
+     * Lower-cased name, maintained on every write; the directory filters and pages on it, in code
+     * point order (see {@link com.moadams.restaurantservice.service.NameKeyCollation}).
+     */
+    @Column(name = "name_key")
+    private String nameKey;
+
+    @PrePersist
+    @PreUpdate
+    void updateNameKey() {
+        nameKey = nameKeyOf(name);
+    }
+
+    public static String nameKeyOf(String name) {
+        return name == null ? null : name.toLowerCase(Locale.ROOT);
+    }
 }
\ No newline at end of file
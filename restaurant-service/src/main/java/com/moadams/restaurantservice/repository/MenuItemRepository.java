@@ -1,13 +1,61 @@
 package com.moadams.restaurantservice.repository;
 
+import com.moadams.restaurantservice.dto.MenuItemAvailabilityResponse;
+import com.moadams.restaurantservice.dto.MenuItemResponse;
 import com.moadams.restaurantservice.model.MenuItem;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface MenuItemRepository extends JpaRepository<MenuItem, Long> {
 
     List<MenuItem> findByRestaurantId(Long restaurantId);
-}
\ No newline at end of file
+
+    /**
+     * Loads a menu item only if it belongs to the restaurant, with the restaurant (and so its
+     * owner email) fetched in the same statement.
+     */
+    @Query("select m from MenuItem m join fetch m.restaurant r where m.id = :menuItemId and r.id = :restaurantId")
+    Optional<MenuItem> findByRestaurantIdAndIdWithRestaurant(@Param("restaurantId") Long restaurantId,
+                                                            @Param("menuItemId") Long menuItemId);
+
+    /**
+     * Every menu item, for rebuilding the search index; consume inside a transaction.
+     */
+    @Query("select new com.moadams.restaurantservice.dto.MenuItemResponse(m.id, m.name, m.description, m.price, m.available, m.restaurant.id) " +
+            "from MenuItem m")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<MenuItemResponse> streamAllForSearch();
+
+    /**
+     * The given menu items, for updating the search index; ids that no longer exist are left out.
+     */
+    @Query("select new com.moadams.restaurantservice.dto.MenuItemResponse(m.id, m.name, m.description, m.price, m.available, m.restaurant.id) " +
+            "from MenuItem m where m.id in :ids")
+    List<MenuItemResponse> findAllForSearchByIds(@Param("ids") Collection<Long> ids);
+
+    @Query("select new com.moadams.restaurantservice.dto.MenuItemAvailabilityResponse(m.id, m.restaurant.id, m.available) " +
+            "from MenuItem m where m.restaurant.id = :restaurantId")
+    List<MenuItemAvailabilityResponse> findAvailabilityByRestaurantId(@Param("restaurantId") Long restaurantId);
+
+    @Query("select m.id from MenuItem m where m.restaurant.id = :restaurantId")
+    List<Long> findIdsByRestaurantId(@Param("restaurantId") Long restaurantId);
+
+    /**
+     * Sets the availability of the given menu items in one statement, without loading them.
+     */
+    @Modifying
+    @Query("update MenuItem m set m.available = :available where m.id in :ids")
+    int updateAvailability(@Param("ids") Collection<Long> ids, @Param("available") boolean available);
+}
@@ -1,13 +1,71 @@
 package com.moadams.restaurantservice.repository;
 
+import com.moadams.restaurantservice.dto.RestaurantResponse;
 import com.moadams.restaurantservice.model.Restaurant;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface RestaurantRepository extends JpaRepository<Restaurant, Long> {
 
-    Optional<Restaurant> findByOwnerEmail(String ownerEmail);
-}
\ No newline at end of file
+    /**
+     * All restaurants of an owner, projected straight into responses. The stream holds an open
+     * cursor, so consume it inside a transaction and close it.
+     */
+    @Query("select new com.moadams.restaurantservice.dto.RestaurantResponse(r.id, r.name, r.address, r.phone, r.ownerEmail, r.latitude, r.longitude) " +
+            "from Restaurant r where r.ownerEmail = :ownerEmail order by r.id")
+    Stream<RestaurantResponse> findByOwnerEmail(@Param("ownerEmail") String ownerEmail);
+
+    @Query("select r.ownerEmail from Restaurant r where r.id = :id")
+    Optional<String> findOwnerEmailById(@Param("id") Long id);
+
+    /**
+     * One directory page: restaurants strictly after the (afterKey, afterId) keyset position, in
+     * (name key, id) order. The row-value comparison, backed by a redundant bound on the name key,
+     * lets the page start with a seek on idx_restaurants_name_key_id.
+     */
+    @Query("select new com.moadams.restaurantservice.dto.RestaurantResponse(r.id, r.name, r.address, r.phone, r.ownerEmail, r.latitude, r.longitude) " +
+            "from Restaurant r " +
+            "where (r.nameKey, r.id) > (:afterKey, :afterId) and r.nameKey >= :afterKey " +
+            "order by r.nameKey asc, r.id asc")
+    List<RestaurantResponse> findDirectoryPage(@Param("afterKey") String afterKey,
+                                               @Param("afterId") Long afterId,
+                                               Limit limit);
+
+    /**
+     * Like {@link #findDirectoryPage}, limited to name keys in [fromKey, toKey). A name prefix is
+     * passed as that range, so the index scan is bounded on both ends however rare the prefix; the
+     * range holds exactly the keys starting with the prefix because name_key sorts in code point
+     * order, see {@link com.moadams.restaurantservice.service.NameKeyCollation}.
+     */
+    @Query("select new com.moadams.restaurantservice.dto.RestaurantResponse(r.id, r.name, r.address, r.phone, r.ownerEmail, r.latitude, r.longitude) " +
+            "from Restaurant r " +
+            "where r.nameKey >= :fromKey and r.nameKey < :toKey " +
+            "and (r.nameKey, r.id) > (:afterKey, :afterId) and r.nameKey >= :afterKey " +
+            "order by r.nameKey asc, r.id asc")
+    List<RestaurantResponse> findDirectoryPageInRange(@Param("fromKey") String fromKey,
+                                                      @Param("toKey") String toKey,
+                                                      @Param("afterKey") String afterKey,
+                                                      @Param("afterId") Long afterId,
+                                                      Limit limit);
+
+    List<Restaurant> findTop500ByNameKeyIsNull();
+
+    /**
+     * Every restaurant with coordinates, for rebuilding the geo index; consume inside a transaction.
+     */
+    @Query("select new com.moadams.restaurantservice.dto.RestaurantResponse(r.id, r.name, r.address, r.phone, r.ownerEmail, r.latitude, r.longitude) " +
+            "from Restaurant r where r.latitude is not null and r.longitude is not null")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<RestaurantResponse> streamLocated();
+}
@@ -1,7 +1,11 @@
 package com.moadams.restaurantservice.security;
 
+import com.moadams.restaurantservice.model.MenuItem;
 import com.moadams.restaurantservice.model.Restaurant;
+import com.moadams.restaurantservice.repository.MenuItemRepository;
 import com.moadams.restaurantservice.repository.RestaurantRepository;
+import com.moadams.restaurantservice.service.cache.OwnershipCache;
+import com.moadams.restaurantservice.service.cache.RequestLookups;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
@@ -12,13 +16,19 @@ import java.util.Optional;
 public class RestaurantSecurity {
 
     private final RestaurantRepository restaurantRepository;
+    private final MenuItemRepository menuItemRepository;
+    private final OwnershipCache ownershipCache;
 
-    public RestaurantSecurity(RestaurantRepository restaurantRepository) {
+    public RestaurantSecurity(RestaurantRepository restaurantRepository, MenuItemRepository menuItemRepository,
+                              OwnershipCache ownershipCache) {
         this.restaurantRepository = restaurantRepository;
+        this.menuItemRepository = menuItemRepository;
+        this.ownershipCache = ownershipCache;
     }
 
     /**
      * Checks if the currently authenticated user is the owner of the given restaurant.
+     * The owner comes from {@link OwnershipCache}; only a cache miss queries the owner email.
      * @param restaurantId The ID of the restaurant to check ownership for.
      * @return true if the current user is the owner, false otherwise.
      */
@@ -29,11 +39,40 @@ public class RestaurantSecurity {
         }
 
         String currentUserEmail = authentication.getName();
+        Long id = Long.valueOf(restaurantId);
 
-        Optional<Restaurant> restaurantOptional = restaurantRepository.findById(Long.valueOf(restaurantId));
+        Optional<String> ownerEmail = ownershipCache.ownerOf(id, () -> restaurantRepository.findOwnerEmailById(id));
 
-        return restaurantOptional.map(restaurant ->
-                        restaurant.getOwnerEmail() != null && restaurant.getOwnerEmail().equals(currentUserEmail))
+        return ownerEmail.map(email -> email.equals(currentUserEmail))
                 .orElse(false);
     }
-}
\ No newline at end of file
+
+    /**
+     * Checks if the currently authenticated user owns the restaurant the given menu item belongs to.
+     * The menu item and its restaurant are loaded in one query and reused by the service method;
+     * if the item is not part of the restaurant this falls back to {@link #isOwner(String)}, so the
+     * service can still report the missing item to the owner.
+     * @param restaurantId The ID of the restaurant in the request path.
+     * @param menuItemId The ID of the menu item in the request path.
+     * @return true if the current user is the owner, false otherwise.
+     */
+    public boolean isMenuItemOwner(String restaurantId, String menuItemId) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            return false;
+        }
+
+        Long restaurant = Long.valueOf(restaurantId);
+        Long item = Long.valueOf(menuItemId);
+
+        Optional<MenuItem> menuItemOptional = RequestLookups.menuItem(restaurant, item,
+                () -> menuItemRepository.findByRestaurantIdAndIdWithRestaurant(restaurant, item));
+
+        return menuItemOptional.map(menuItem -> isOwnedBy(menuItem.getRestaurant(), authentication.getName()))
+                .orElseGet(() -> isOwner(restaurantId));
+    }
+
+    private static boolean isOwnedBy(Restaurant restaurant, String email) {
+        return restaurant.getOwnerEmail() != null && restaurant.getOwnerEmail().equals(email);
+    }
+}
@@ -0,0 +1,65 @@
+package com.moadams.restaurantservice.service;
+
+import com.moadams.restaurantservice.model.MenuItem;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Menu item ids used to come from an identity column and now come from {@link MenuItem#ID_SEQUENCE},
+ * which schema generation creates like any other Hibernate-managed sequence. Before the application
+ * takes traffic this makes sure the next block Hibernate allocates starts past every id already in
+ * the table, so it cannot collide with old rows. The sequence is only moved when it is behind the
+ * table, so this is safe with other instances already running. On databases without sequences,
+ * where Hibernate keeps the value in a table of the same name, that table is moved instead.
+ * <p>
+ * Uses the dialect's own next-value query and standard {@code alter sequence ... restart with};
+ * any failure stops startup rather than leaving inserts to fail on duplicate ids.
+ */
+@Component
+public class MenuItemIdSequence {
+
+    private static final Logger log = LoggerFactory.getLogger(MenuItemIdSequence.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Dialect dialect;
+
+    /**
+     * Takes the entity manager factory so that schema generation has run first, and for its dialect.
+     */
+    public MenuItemIdSequence(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+    }
+
+    @PostConstruct
+    public void align() {
+        Long maxId = jdbcTemplate.queryForObject("select max(id) from menu_items", Long.class);
+        if (maxId == null) {
+            return;
+        }
+        // Hibernate's pooled optimizer hands out the block (value - allocation size, value].
+        long restartWith = maxId + MenuItem.ID_ALLOCATION_SIZE;
+
+        if (!dialect.getSequenceSupport().supportsSequences()) {
+            int moved = jdbcTemplate.update("update " + MenuItem.ID_SEQUENCE + " set next_val = ? where next_val < ?",
+                    restartWith, restartWith);
+            if (moved > 0) {
+                log.info("Moved {} past the existing menu item ids, to {}", MenuItem.ID_SEQUENCE, restartWith);
+            }
+            return;
+        }
+
+        Long next = jdbcTemplate.queryForObject(
+                dialect.getSequenceSupport().getSequenceNextValString(MenuItem.ID_SEQUENCE), Long.class);
+        if (next != null && next - MenuItem.ID_ALLOCATION_SIZE < maxId) {
+            jdbcTemplate.execute("alter sequence " + MenuItem.ID_SEQUENCE + " restart with " + restartWith);
+            log.info("Moved {} past the existing menu item ids, to {}", MenuItem.ID_SEQUENCE, restartWith);
+        }
+    }
+}
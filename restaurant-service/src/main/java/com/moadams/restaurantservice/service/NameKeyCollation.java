@@ -0,0 +1,53 @@
+package com.moadams.restaurantservice.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * The directory matches a name prefix as the key range [prefix, upper bound) and pages with
+ * (name_key, id) keysets, which only holds if name_key sorts code point by code point. On
+ * PostgreSQL, where the database collation is usually linguistic, this switches the column to
+ * the "C" collation before the application takes traffic; its indexes are rebuilt with it. Other
+ * databases, such as H2, already compare strings that way. A failure stops startup rather than
+ * leaving prefix searches silently incomplete.
+ */
+@Component
+public class NameKeyCollation {
+
+    private static final Logger log = LoggerFactory.getLogger(NameKeyCollation.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Takes the entity manager factory only so that schema generation has run first.
+     */
+    public NameKeyCollation(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void apply() {
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(database)) {
+            return;
+        }
+        List<String> collations = jdbcTemplate.queryForList(
+                "select collation_name from information_schema.columns " +
+                        "where table_schema = current_schema() and table_name = 'restaurants' and column_name = 'name_key'",
+                String.class);
+        if (collations.isEmpty() || "C".equals(collations.get(0))) {
+            return;
+        }
+        jdbcTemplate.execute("alter table restaurants alter column name_key type varchar(255) collate \"C\"");
+        log.info("Switched restaurants.name_key from collation {} to \"C\"",
+                collations.get(0) != null ? collations.get(0) : "(database default)");
+    }
+}
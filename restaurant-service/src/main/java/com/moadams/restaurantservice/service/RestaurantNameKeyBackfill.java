@@ -0,0 +1,53 @@
+package com.moadams.restaurantservice.service;
+
+import com.moadams.restaurantservice.model.Restaurant;
+import com.moadams.restaurantservice.repository.RestaurantRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Fills in the name key of restaurants stored before the directory paged on it; such rows are
+ * invisible to the directory until then. Runs once at startup in small transactions and is a
+ * no-op once every row has a key.
+ */
+@Component
+public class RestaurantNameKeyBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(RestaurantNameKeyBackfill.class);
+    private static final int BATCH_SIZE = 500;
+
+    private final RestaurantRepository restaurantRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public RestaurantNameKeyBackfill(RestaurantRepository restaurantRepository, TransactionTemplate transactionTemplate) {
+        this.restaurantRepository = restaurantRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        try {
+            int total = 0;
+            int updated;
+            do {
+                updated = transactionTemplate.execute(status -> {
+                    List<Restaurant> restaurants = restaurantRepository.findTop500ByNameKeyIsNull();
+                    restaurants.forEach(restaurant -> restaurant.setNameKey(Restaurant.nameKeyOf(restaurant.getName())));
+                    return restaurants.size();
+                });
+                total += updated;
+            } while (updated == BATCH_SIZE);
+            if (total > 0) {
+                log.info("Backfilled directory name keys for {} restaurants", total);
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to backfill restaurant name keys", e);
+        }
+    }
+}
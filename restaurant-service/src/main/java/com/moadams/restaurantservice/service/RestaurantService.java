@@ -1,11 +1,28 @@
 package com.moadams.restaurantservice.service;
 
+import com.moadams.restaurantservice.dto.CustomApiResponse;
+import com.moadams.restaurantservice.dto.MenuItemSearchResult;
+import com.moadams.restaurantservice.dto.MenuSearchPage;
+import com.moadams.restaurantservice.dto.NearbyRestaurantResponse;
+import com.moadams.restaurantservice.dto.RestaurantDirectoryPage;
 import com.moadams.restaurantservice.dto.RestaurantRequest;
 import com.moadams.restaurantservice.dto.RestaurantResponse;
+import com.moadams.restaurantservice.exception.InvalidRequestException;
 import com.moadams.restaurantservice.exception.ResourceNotFoundException;
 import com.moadams.restaurantservice.exception.UnauthorizedAccessException;
 import com.moadams.restaurantservice.model.Restaurant;
 import com.moadams.restaurantservice.repository.RestaurantRepository;
+import com.moadams.restaurantservice.service.availability.MenuAvailabilityService;
+import com.moadams.restaurantservice.service.cache.CachedMenu;
+import com.moadams.restaurantservice.service.cache.MenuCache;
+import com.moadams.restaurantservice.service.cache.OwnershipCache;
+import com.moadams.restaurantservice.service.cache.RequestLookups;
+import com.moadams.restaurantservice.service.geo.GeoGrid;
+import com.moadams.restaurantservice.service.geo.RestaurantGeoIndex;
+import com.moadams.restaurantservice.service.search.MenuSearchIndex;
+import com.moadams.restaurantservice.service.search.MenuTextIndex;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -15,18 +32,40 @@ import com.moadams.restaurantservice.dto.MenuItemResponse;
 import com.moadams.restaurantservice.model.MenuItem;
 import com.moadams.restaurantservice.repository.MenuItemRepository;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class RestaurantService {
 
+    public static final int MAX_DIRECTORY_PAGE_SIZE = 200;
+    public static final int MAX_NEARBY_RESULTS = 100;
+    public static final double MAX_NEARBY_RADIUS_METERS = 50_000;
+    public static final int MAX_SEARCH_PAGE_SIZE = 50;
+    public static final int MAX_SEARCH_RESULTS = 1_000;
+
     private final RestaurantRepository restaurantRepository;
     private final MenuItemRepository menuItemRepository;
-
-    public RestaurantService(RestaurantRepository restaurantRepository, MenuItemRepository menuItemRepository) {
+    private final MenuCache menuCache;
+    private final OwnershipCache ownershipCache;
+    private final RestaurantGeoIndex geoIndex;
+    private final MenuSearchIndex menuSearchIndex;
+    private final MenuAvailabilityService menuAvailabilityService;
+
+    public RestaurantService(RestaurantRepository restaurantRepository, MenuItemRepository menuItemRepository,
+                             MenuCache menuCache, OwnershipCache ownershipCache, RestaurantGeoIndex geoIndex,
+                             MenuSearchIndex menuSearchIndex, MenuAvailabilityService menuAvailabilityService) {
         this.restaurantRepository = restaurantRepository;
         this.menuItemRepository = menuItemRepository;
+        this.menuCache = menuCache;
+        this.ownershipCache = ownershipCache;
+        this.geoIndex = geoIndex;
+        this.menuSearchIndex = menuSearchIndex;
+        this.menuAvailabilityService = menuAvailabilityService;
     }
 
     private String getCurrentUserEmail() {
@@ -44,67 +83,208 @@ public class RestaurantService {
         }
     }
 
+    private Restaurant findRestaurant(Long restaurantId) {
+        return RequestLookups.restaurant(restaurantId, () -> restaurantRepository.findById(restaurantId))
+                .orElseThrow(() -> new ResourceNotFoundException("Restaurant", "id", restaurantId));
+    }
+
+    /**
+     * Menu item and its restaurant in one query, shared with the ownership check of the same request.
+     */
+    private Optional<MenuItem> findMenuItem(Long restaurantId, Long menuItemId) {
+        return RequestLookups.menuItem(restaurantId, menuItemId,
+                () -> menuItemRepository.findByRestaurantIdAndIdWithRestaurant(restaurantId, menuItemId));
+    }
+
+    /**
+     * Resolves a menu item the current user is about to modify. Only when the single lookup finds
+     * nothing are further queries made, to report which part of the path was wrong.
+     */
+    private MenuItem findOwnedMenuItem(Long restaurantId, Long menuItemId) {
+        Optional<MenuItem> menuItem = findMenuItem(restaurantId, menuItemId);
+        if (menuItem.isPresent()) {
+            checkRestaurantOwnership(menuItem.get().getRestaurant());
+            return menuItem.get();
+        }
+
+        checkRestaurantOwnership(findRestaurant(restaurantId));
+        if (!menuItemRepository.existsById(menuItemId)) {
+            throw new ResourceNotFoundException("MenuItem", "id", menuItemId);
+        }
+        throw new UnauthorizedAccessException(
+                String.format("Menu item with id '%s' does not belong to restaurant with id '%s'", menuItemId, restaurantId));
+    }
+
+
+    private static void checkCoordinates(RestaurantRequest request) {
+        if ((request.latitude() == null) != (request.longitude() == null)) {
+            throw new InvalidRequestException("Latitude and longitude must be provided together.");
+        }
+    }
 
     @Transactional
     public RestaurantResponse createRestaurant(RestaurantRequest request) {
         String ownerEmail = getCurrentUserEmail();
+        checkCoordinates(request);
 
         Restaurant restaurant = Restaurant.builder()
                 .name(request.name())
                 .address(request.address())
                 .phone(request.phone())
+                .latitude(request.latitude())
+                .longitude(request.longitude())
                 .ownerEmail(ownerEmail)
                 .build();
 
         Restaurant savedRestaurant = restaurantRepository.save(restaurant);
-        return mapToRestaurantResponse(savedRestaurant);
+        RestaurantResponse response = mapToRestaurantResponse(savedRestaurant);
+        geoIndex.upsert(response);
+        return response;
     }
 
-    @Transactional(readOnly = true)
-    public List<RestaurantResponse> getAllRestaurants() {
-        return restaurantRepository.findAll().stream()
-                .map(this::mapToRestaurantResponse)
+    /**
+     * Restaurants around a point, nearest first, answered from the in-memory geo index. With a
+     * radius, returns up to {@code limit} restaurants inside it; without one, the {@code limit}
+     * nearest restaurants within {@link #MAX_NEARBY_RADIUS_METERS}.
+     */
+    public List<NearbyRestaurantResponse> findNearbyRestaurants(double latitude, double longitude,
+                                                                Double radiusMeters, int limit) {
+        if (!(latitude >= -90 && latitude <= 90 && longitude >= -180 && longitude <= 180)) {
+            throw new InvalidRequestException("Latitude must be between -90 and 90 and longitude between -180 and 180.");
+        }
+        if (radiusMeters != null && !(radiusMeters > 0 && radiusMeters <= MAX_NEARBY_RADIUS_METERS)) {
+            throw new InvalidRequestException(
+                    String.format("radiusMeters must be greater than 0 and at most %.0f.", MAX_NEARBY_RADIUS_METERS));
+        }
+        int count = Math.clamp(limit, 1, MAX_NEARBY_RESULTS);
+
+        List<GeoGrid.Hit<RestaurantResponse>> hits = radiusMeters == null
+                ? geoIndex.nearest(latitude, longitude, count, MAX_NEARBY_RADIUS_METERS)
+                : geoIndex.withinRadius(latitude, longitude, radiusMeters, count);
+        return hits.stream()
+                .map(hit -> new NearbyRestaurantResponse(hit.value(), hit.distanceMeters()))
                 .collect(Collectors.toList());
     }
 
+    /**
+     * One page of the restaurant directory, ordered by name, optionally limited to names starting
+     * with {@code prefix} (case-insensitive). Rows are projected straight into responses and paged
+     * by keyset, so each page costs one index range scan however deep the client has paged.
+     * Pass the returned {@code nextCursor} back to continue.
+     */
+    @Transactional(readOnly = true)
+    public RestaurantDirectoryPage getRestaurantDirectory(String prefix, String cursor, int limit) {
+        int pageSize = Math.clamp(limit, 1, MAX_DIRECTORY_PAGE_SIZE);
+        DirectoryCursor after = cursor == null || cursor.isBlank() ? DirectoryCursor.START : DirectoryCursor.decode(cursor);
+
+        List<RestaurantResponse> restaurants;
+        String fromKey = prefix == null || prefix.isBlank() ? "" : Restaurant.nameKeyOf(prefix.strip());
+        String toKey = upperBound(fromKey);
+        if (toKey != null) {
+            restaurants = restaurantRepository.findDirectoryPageInRange(
+                    fromKey, toKey, after.nameKey(), after.id(), Limit.of(pageSize));
+        } else {
+            // No prefix, or every key from fromKey on shares it: start from whichever position is further.
+            DirectoryCursor from = after.nameKey().compareTo(fromKey) >= 0 ? after : new DirectoryCursor(fromKey, 0L);
+            restaurants = restaurantRepository.findDirectoryPage(from.nameKey(), from.id(), Limit.of(pageSize));
+        }
+
+        String nextCursor = null;
+        if (restaurants.size() == pageSize) {
+            RestaurantResponse last = restaurants.get(restaurants.size() - 1);
+            nextCursor = new DirectoryCursor(Restaurant.nameKeyOf(last.name()), last.id()).encode();
+        }
+        return new RestaurantDirectoryPage(restaurants, nextCursor);
+    }
+
+    /**
+     * Keyset position in the directory, sent to clients as opaque base64url of "id:nameKey".
+     */
+    private record DirectoryCursor(String nameKey, long id) {
+
+        static final DirectoryCursor START = new DirectoryCursor("", 0L);
+
+        String encode() {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString((id + ":" + nameKey).getBytes(StandardCharsets.UTF_8));
+        }
+
+        static DirectoryCursor decode(String cursor) {
+            try {
+                String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = decoded.indexOf(':');
+                return new DirectoryCursor(decoded.substring(separator + 1), Long.parseLong(decoded.substring(0, separator)));
+            } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+                throw new InvalidRequestException("Invalid directory cursor.");
+            }
+        }
+    }
+
+    /**
+     * The smallest key greater than every key starting with {@code prefix}, or null when there is
+     * none: no prefix at all, or one made only of the highest code point.
+     */
+    private static String upperBound(String prefix) {
+        int end = prefix.length();
+        while (end > 0) {
+            int last = prefix.codePointBefore(end);
+            int start = end - Character.charCount(last);
+            if (last < Character.MAX_CODE_POINT) {
+                int next = last + 1 == Character.MIN_SURROGATE ? Character.MAX_SURROGATE + 1 : last + 1;
+                return prefix.substring(0, start) + Character.toString(next);
+            }
+            end = start;
+        }
+        return null;
+    }
+
     @Transactional(readOnly = true)
     public RestaurantResponse getRestaurantById(Long id) {
-        Restaurant restaurant = restaurantRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Restaurant", "id", id));
+        Restaurant restaurant = findRestaurant(id);
         return mapToRestaurantResponse(restaurant);
     }
 
     @Transactional(readOnly = true)
     public List<RestaurantResponse> getMyRestaurants() {
         String ownerEmail = getCurrentUserEmail();
-        return restaurantRepository.findByOwnerEmail(ownerEmail).stream()
-                .map(this::mapToRestaurantResponse)
-                .collect(Collectors.toList());
+        try (Stream<RestaurantResponse> restaurants = restaurantRepository.findByOwnerEmail(ownerEmail)) {
+            return restaurants.collect(Collectors.toList());
+        }
     }
 
     @Transactional
     public RestaurantResponse updateRestaurant(Long id, RestaurantRequest request) {
-        Restaurant existingRestaurant = restaurantRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Restaurant", "id", id));
+        Restaurant existingRestaurant = findRestaurant(id);
 
         checkRestaurantOwnership(existingRestaurant);
+        checkCoordinates(request);
 
         existingRestaurant.setName(request.name());
         existingRestaurant.setAddress(request.address());
         existingRestaurant.setPhone(request.phone());
+        existingRestaurant.setLatitude(request.latitude());
+        existingRestaurant.setLongitude(request.longitude());
 
         Restaurant updatedRestaurant = restaurantRepository.save(existingRestaurant);
-        return mapToRestaurantResponse(updatedRestaurant);
+        ownershipCache.invalidate(id);
+        RestaurantResponse response = mapToRestaurantResponse(updatedRestaurant);
+        geoIndex.upsert(response);
+        return response;
     }
 
     @Transactional
     public void deleteRestaurant(Long id) {
-        Restaurant restaurant = restaurantRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Restaurant", "id", id));
+        Restaurant restaurant = findRestaurant(id);
 
         checkRestaurantOwnership(restaurant);
+        List<Long> menuItemIds = menuItemRepository.findIdsByRestaurantId(id);
 
         restaurantRepository.delete(restaurant);
+        menuCache.invalidate(id);
+        ownershipCache.invalidate(id);
+        geoIndex.remove(id);
+        menuSearchIndex.removeRestaurant(id);
+        menuAvailabilityService.menuItemsDeleted(id, menuItemIds);
     }
 
     private RestaurantResponse mapToRestaurantResponse(Restaurant restaurant) {
@@ -113,14 +293,15 @@ public class RestaurantService {
                 restaurant.getName(),
                 restaurant.getAddress(),
                 restaurant.getPhone(),
-                restaurant.getOwnerEmail()
+                restaurant.getOwnerEmail(),
+                restaurant.getLatitude(),
+                restaurant.getLongitude()
         );
     }
 
     @Transactional
     public MenuItemResponse createMenuItem(Long restaurantId, MenuItemRequest request) {
-        Restaurant restaurant = restaurantRepository.findById(restaurantId)
-                .orElseThrow(() -> new ResourceNotFoundException("Restaurant", "id", restaurantId));
+        Restaurant restaurant = findRestaurant(restaurantId);
 
         checkRestaurantOwnership(restaurant);
 
@@ -133,49 +314,78 @@ public class RestaurantService {
                 .build();
 
         MenuItem savedMenuItem = menuItemRepository.save(menuItem);
-        return mapToMenuItemResponse(savedMenuItem);
+        menuCache.invalidate(restaurantId);
+        MenuItemResponse response = mapToMenuItemResponse(savedMenuItem);
+        menuSearchIndex.upsert(response);
+        menuAvailabilityService.menuItemSaved(response);
+        return response;
     }
 
     @Transactional(readOnly = true)
     public List<MenuItemResponse> getAllMenuItemsByRestaurant(Long restaurantId) {
-        Restaurant restaurant = restaurantRepository.findById(restaurantId)
-                .orElseThrow(() -> new ResourceNotFoundException("Restaurant", "id", restaurantId));
+        Restaurant restaurant = findRestaurant(restaurantId);
 
         return menuItemRepository.findByRestaurantId(restaurant.getId()).stream()
                 .map(this::mapToMenuItemResponse)
                 .collect(Collectors.toList());
     }
 
-    @Transactional(readOnly = true)
-    public MenuItemResponse getMenuItemById(Long restaurantId, Long menuItemId) {
-        Restaurant restaurant = restaurantRepository.findById(restaurantId)
-                .orElseThrow(() -> new ResourceNotFoundException("Restaurant", "id", restaurantId));
+    /**
+     * The restaurant's menu as a ready-to-send JSON response with its ETag. Served from
+     * {@link MenuCache}; only a miss loads and serializes the menu, so no transaction is opened here.
+     */
+    public CachedMenu getCachedMenu(Long restaurantId) {
+        return menuCache.get(restaurantId, () -> new CustomApiResponse<>(
+                true,
+                "Menu items retrieved successfully for restaurant.",
+                HttpStatus.OK.value(),
+                getAllMenuItemsByRestaurant(restaurantId)
+        ));
+    }
+
+    /**
+     * Menu items of all restaurants matching {@code query} by name or description, most relevant
+     * first, answered from the in-memory search index. Paged by offset, up to
+     * {@link #MAX_SEARCH_RESULTS} results deep.
+     */
+    public MenuSearchPage searchMenuItems(String query, int offset, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new InvalidRequestException("Search query is required.");
+        }
+        if (offset < 0 || offset >= MAX_SEARCH_RESULTS) {
+            throw new InvalidRequestException(
+                    String.format("offset must be between 0 and %d.", MAX_SEARCH_RESULTS - 1));
+        }
+        int pageSize = Math.clamp(limit, 1, Math.min(MAX_SEARCH_PAGE_SIZE, MAX_SEARCH_RESULTS - offset));
+
+        MenuTextIndex.Result result = menuSearchIndex.search(query, offset, pageSize);
+        List<MenuItemSearchResult> results = result.hits().stream()
+                .map(hit -> new MenuItemSearchResult(hit.item(), hit.score()))
+                .collect(Collectors.toList());
 
-        MenuItem menuItem = menuItemRepository.findById(menuItemId)
-                .orElseThrow(() -> new ResourceNotFoundException("MenuItem", "id", menuItemId));
+        int next = offset + pageSize;
+        Integer nextOffset = next < result.totalMatches() && next < MAX_SEARCH_RESULTS ? next : null;
+        return new MenuSearchPage(results, result.totalMatches(), nextOffset);
+    }
 
-        if (!menuItem.getRestaurant().getId().equals(restaurantId)) {
-            throw new ResourceNotFoundException(
-                    String.format("Menu item with id '%s' not found for restaurant with id '%s'", menuItemId, restaurantId));
+    @Transactional(readOnly = true)
+    public MenuItemResponse getMenuItemById(Long restaurantId, Long menuItemId) {
+        Optional<MenuItem> menuItem = findMenuItem(restaurantId, menuItemId);
+        if (menuItem.isPresent()) {
+            return mapToMenuItemResponse(menuItem.get());
         }
 
-        return mapToMenuItemResponse(menuItem);
+        findRestaurant(restaurantId);
+        if (!menuItemRepository.existsById(menuItemId)) {
+            throw new ResourceNotFoundException("MenuItem", "id", menuItemId);
+        }
+        throw new ResourceNotFoundException(
+                String.format("Menu item with id '%s' not found for restaurant with id '%s'", menuItemId, restaurantId));
     }
 
     @Transactional
     public MenuItemResponse updateMenuItem(Long restaurantId, Long menuItemId, MenuItemRequest request) {
-        Restaurant restaurant = restaurantRepository.findById(restaurantId)
-                .orElseThrow(() -> new ResourceNotFoundException("Restaurant", "id", restaurantId));
-
-        checkRestaurantOwnership(restaurant);
-
-        MenuItem existingMenuItem = menuItemRepository.findById(menuItemId)
-                .orElseThrow(() -> new ResourceNotFoundException("MenuItem", "id", menuItemId));
-
-        if (!existingMenuItem.getRestaurant().getId().equals(restaurantId)) {
-            throw new UnauthorizedAccessException(
-                    String.format("Menu item with id '%s' does not belong to restaurant with id '%s'", menuItemId, restaurantId));
-        }
+        MenuItem existingMenuItem = findOwnedMenuItem(restaurantId, menuItemId);
 
         existingMenuItem.setName(request.name());
         existingMenuItem.setDescription(request.description());
@@ -183,25 +393,21 @@ public class RestaurantService {
         existingMenuItem.setAvailable(request.available());
 
         MenuItem updatedMenuItem = menuItemRepository.save(existingMenuItem);
-        return mapToMenuItemResponse(updatedMenuItem);
+        menuCache.invalidate(restaurantId);
+        MenuItemResponse response = mapToMenuItemResponse(updatedMenuItem);
+        menuSearchIndex.upsert(response);
+        menuAvailabilityService.menuItemSaved(response);
+        return response;
     }
 
     @Transactional
     public void deleteMenuItem(Long restaurantId, Long menuItemId) {
-        Restaurant restaurant = restaurantRepository.findById(restaurantId)
-                .orElseThrow(() -> new ResourceNotFoundException("Restaurant", "id", restaurantId));
-
-        checkRestaurantOwnership(restaurant);
-
-        MenuItem menuItem = menuItemRepository.findById(menuItemId)
-                .orElseThrow(() -> new ResourceNotFoundException("MenuItem", "id", menuItemId));
-
-        if (!menuItem.getRestaurant().getId().equals(restaurantId)) {
-            throw new UnauthorizedAccessException(
-                    String.format("Menu item with id '%s' does not belong to restaurant with id '%s'", menuItemId, restaurantId));
-        }
+        MenuItem menuItem = findOwnedMenuItem(restaurantId, menuItemId);
 
         menuItemRepository.delete(menuItem);
+        menuCache.invalidate(restaurantId);
+        menuSearchIndex.remove(menuItemId);
+        menuAvailabilityService.menuItemsDeleted(restaurantId, List.of(menuItemId));
     }
 
     private MenuItemResponse mapToMenuItemResponse(MenuItem menuItem) {
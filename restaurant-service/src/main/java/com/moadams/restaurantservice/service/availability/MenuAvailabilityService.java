@@ -0,0 +1,264 @@
+package com.moadams.restaurantservice.service.availability;
+
+import com.moadams.events.MenuItemAvailabilityChangedEvent;
+import com.moadams.restaurantservice.dto.MenuItemAvailabilityResponse;
+import com.moadams.restaurantservice.dto.MenuItemResponse;
+import com.moadams.restaurantservice.exception.ResourceNotFoundException;
+import com.moadams.restaurantservice.exception.UnauthorizedAccessException;
+import com.moadams.restaurantservice.repository.MenuItemRepository;
+import com.moadams.restaurantservice.repository.RestaurantRepository;
+import com.moadams.restaurantservice.service.cache.MenuCache;
+import com.moadams.restaurantservice.service.cache.OwnershipCache;
+import com.moadams.restaurantservice.service.search.MenuSearchIndex;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Marks menu items sold out or available again without rewriting the rest of the item.
+ * <p>
+ * Each restaurant's availability is held in memory as a {@link RestaurantAvailability}, loaded on
+ * its first toggle. A toggle only updates that bitset and records the change, even one the bitset
+ * already agrees with, since a missed broadcast may have left the bitset stale; every
+ * {@code flush-ms} the recorded changes are written with one update statement per value, and once
+ * that commits each is published on {@link MenuItemAvailabilityChangedEvent#TOPIC}. Repeated
+ * toggles of an item between flushes cost one write and one event. Until its flush, a toggle is not
+ * yet visible in the menu responses.
+ * <p>
+ * Every replica, this one included, applies the published changes to the restaurants it holds.
+ * Menu items created, edited, imported or deleted through the regular menu endpoints are published
+ * as well, and drop the restaurant's bitset so that its next toggle reloads it.
+ */
+@Service
+public class MenuAvailabilityService {
+
+    private static final int UPDATE_CHUNK_SIZE = 1_000;
+
+    private static final Logger log = LoggerFactory.getLogger(MenuAvailabilityService.class);
+
+    private record Change(Long restaurantId, boolean available) {
+    }
+
+    private final RestaurantRepository restaurantRepository;
+    private final MenuItemRepository menuItemRepository;
+    private final OwnershipCache ownershipCache;
+    private final MenuCache menuCache;
+    private final MenuSearchIndex menuSearchIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final KafkaTemplate<String, MenuItemAvailabilityChangedEvent> kafkaTemplate;
+    private final ConcurrentMap<Long, RestaurantAvailability> restaurants = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, Change> pending = new ConcurrentHashMap<>();
+
+    public MenuAvailabilityService(RestaurantRepository restaurantRepository,
+                                   MenuItemRepository menuItemRepository,
+                                   OwnershipCache ownershipCache,
+                                   MenuCache menuCache,
+                                   MenuSearchIndex menuSearchIndex,
+                                   TransactionTemplate transactionTemplate,
+                                   @Qualifier("menuAvailabilityKafkaTemplate")
+                                   KafkaTemplate<String, MenuItemAvailabilityChangedEvent> kafkaTemplate,
+                                   MeterRegistry meterRegistry) {
+        this.restaurantRepository = restaurantRepository;
+        this.menuItemRepository = menuItemRepository;
+        this.ownershipCache = ownershipCache;
+        this.menuCache = menuCache;
+        this.menuSearchIndex = menuSearchIndex;
+        this.transactionTemplate = transactionTemplate;
+        this.kafkaTemplate = kafkaTemplate;
+        Gauge.builder("restaurant.menu.availability.pending", pending, ConcurrentMap::size)
+                .description("Availability changes waiting to be written")
+                .register(meterRegistry);
+    }
+
+    public MenuItemAvailabilityResponse setAvailability(Long restaurantId, Long menuItemId, boolean available) {
+        checkRestaurantOwnership(restaurantId);
+
+        RestaurantAvailability updated = null;
+        while (updated == null) {
+            // Loaded outside compute so the map never holds a bin lock across a query.
+            if (!restaurants.containsKey(restaurantId)) {
+                restaurants.putIfAbsent(restaurantId, load(restaurantId));
+            }
+            updated = restaurants.computeIfPresent(restaurantId, (id, availability) -> {
+                if (!availability.contains(menuItemId)) {
+                    return availability;
+                }
+                // Recorded even when the bitset already agrees: it may be stale, and rewriting costs nothing.
+                pending.put(menuItemId, new Change(id, available));
+                return availability.with(menuItemId, available);
+            });
+        }
+        if (!updated.contains(menuItemId)) {
+            throw new ResourceNotFoundException("MenuItem", "id", menuItemId);
+        }
+        return new MenuItemAvailabilityResponse(menuItemId, restaurantId, available);
+    }
+
+    /**
+     * Writes and publishes the changes recorded since the last flush. A change that fails to be
+     * written stays recorded and is retried by the next flush.
+     */
+    @Scheduled(fixedDelayString = "${restaurant.menu.availability.flush-ms:500}")
+    @PreDestroy
+    public synchronized void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Map<Long, Change> batch = new HashMap<>(pending);
+        List<Long> nowAvailable = new ArrayList<>();
+        List<Long> nowSoldOut = new ArrayList<>();
+        Set<Long> restaurantIds = new HashSet<>();
+        batch.forEach((menuItemId, change) -> {
+            (change.available() ? nowAvailable : nowSoldOut).add(menuItemId);
+            restaurantIds.add(change.restaurantId());
+        });
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                update(nowAvailable, true);
+                update(nowSoldOut, false);
+                restaurantIds.forEach(menuCache::invalidate);
+                batch.forEach((menuItemId, change) -> menuSearchIndex.setAvailable(menuItemId, change.available()));
+            });
+        } catch (RuntimeException e) {
+            log.error("Failed to write {} menu availability changes; retrying on the next flush", batch.size(), e);
+            return;
+        }
+
+        batch.forEach((menuItemId, change) -> {
+            pending.remove(menuItemId, change);
+            publish(menuItemId, new MenuItemAvailabilityChangedEvent(
+                    change.restaurantId().toString(), menuItemId.toString(), change.available()));
+        });
+        log.debug("Wrote {} menu availability changes for {} restaurants", batch.size(), restaurantIds.size());
+    }
+
+    /**
+     * Applies a change published by any replica, this one included. A change still waiting to be
+     * written here is newer, so it wins.
+     */
+    public void onChanged(MenuItemAvailabilityChangedEvent event) {
+        Long restaurantId = Long.valueOf(event.restaurantId());
+        Long menuItemId = Long.valueOf(event.menuItemId());
+        if (!pending.containsKey(menuItemId)) {
+            restaurants.computeIfPresent(restaurantId, (id, availability) -> availability.contains(menuItemId)
+                    ? availability.with(menuItemId, event.available())
+                    : null);
+        }
+        menuCache.invalidate(restaurantId);
+    }
+
+    /**
+     * A menu item was deleted through some replica.
+     */
+    public void onRemoved(Long menuItemId) {
+        pending.remove(menuItemId);
+        restaurants.values().removeIf(availability -> availability.contains(menuItemId));
+    }
+
+    /**
+     * Publishes the availability of a menu item created or edited in the surrounding transaction,
+     * once it commits; an availability toggle still waiting for its flush is superseded.
+     */
+    public void menuItemSaved(MenuItemResponse menuItem) {
+        afterCommit(() -> {
+            pending.remove(menuItem.id());
+            restaurants.remove(menuItem.restaurantId());
+            publish(menuItem.id(), new MenuItemAvailabilityChangedEvent(
+                    menuItem.restaurantId().toString(), menuItem.id().toString(), menuItem.available()));
+        });
+    }
+
+    /**
+     * Publishes the removal of menu items deleted in the surrounding transaction, once it commits.
+     */
+    public void menuItemsDeleted(Long restaurantId, Collection<Long> menuItemIds) {
+        afterCommit(() -> {
+            restaurants.remove(restaurantId);
+            menuItemIds.forEach(menuItemId -> {
+                pending.remove(menuItemId);
+                publish(menuItemId, null);
+            });
+        });
+    }
+
+    private RestaurantAvailability load(Long restaurantId) {
+        Map<Long, Boolean> availableById = new HashMap<>();
+        menuItemRepository.findAvailabilityByRestaurantId(restaurantId)
+                .forEach(item -> availableById.put(item.id(), Boolean.TRUE.equals(item.available())));
+        pending.forEach((menuItemId, change) -> {
+            if (change.restaurantId().equals(restaurantId) && availableById.containsKey(menuItemId)) {
+                availableById.put(menuItemId, change.available());
+            }
+        });
+        return RestaurantAvailability.of(availableById);
+    }
+
+    private void update(List<Long> menuItemIds, boolean available) {
+        for (int from = 0; from < menuItemIds.size(); from += UPDATE_CHUNK_SIZE) {
+            menuItemRepository.updateAvailability(
+                    menuItemIds.subList(from, Math.min(from + UPDATE_CHUNK_SIZE, menuItemIds.size())), available);
+        }
+    }
+
+    private void checkRestaurantOwnership(Long restaurantId) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            throw new UnauthorizedAccessException("User is not authenticated.");
+        }
+        String ownerEmail = ownershipCache.ownerOf(restaurantId, () -> restaurantRepository.findOwnerEmailById(restaurantId))
+                .orElseThrow(() -> new ResourceNotFoundException("Restaurant", "id", restaurantId));
+        boolean admin = authentication.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+        if (!admin && !ownerEmail.equals(authentication.getPrincipal())) {
+            throw new UnauthorizedAccessException("You are not authorized to manage this restaurant.");
+        }
+    }
+
+    private void publish(Long menuItemId, MenuItemAvailabilityChangedEvent event) {
+        try {
+            kafkaTemplate.send(MenuItemAvailabilityChangedEvent.TOPIC, menuItemId.toString(), event)
+                    .whenComplete((result, error) -> {
+                        if (error != null) {
+                            log.error("Failed to publish availability of menu item {}", menuItemId, error);
+                        }
+                    });
+        } catch (RuntimeException e) {
+            log.error("Failed to publish availability of menu item {}", menuItemId, e);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.moadams.restaurantservice.service.availability;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Availability of one restaurant's menu items as a bitset. The item ids are kept sorted and an
+ * item's bit is at its position among them; a set bit means sold out. Instances are immutable:
+ * {@link #with} copies the bits, a word or two for a typical menu, so readers never lock.
+ */
+public final class RestaurantAvailability {
+
+    private final long[] itemIds;
+    private final long[] soldOut;
+
+    private RestaurantAvailability(long[] itemIds, long[] soldOut) {
+        this.itemIds = itemIds;
+        this.soldOut = soldOut;
+    }
+
+    public static RestaurantAvailability of(Map<Long, Boolean> availableById) {
+        long[] itemIds = availableById.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+        long[] soldOut = new long[words(itemIds.length)];
+        for (int slot = 0; slot < itemIds.length; slot++) {
+            if (!availableById.get(itemIds[slot])) {
+                soldOut[slot >>> 6] |= 1L << slot;
+            }
+        }
+        return new RestaurantAvailability(itemIds, soldOut);
+    }
+
+    public boolean contains(long itemId) {
+        return Arrays.binarySearch(itemIds, itemId) >= 0;
+    }
+
+    /**
+     * Whether the item is available; items not on this menu are not.
+     */
+    public boolean isAvailable(long itemId) {
+        int slot = Arrays.binarySearch(itemIds, itemId);
+        return slot >= 0 && (soldOut[slot >>> 6] & 1L << slot) == 0;
+    }
+
+    /**
+     * This menu with the item's availability changed, or this same instance if the item is not on
+     * the menu or already has that availability.
+     */
+    public RestaurantAvailability with(long itemId, boolean available) {
+        int slot = Arrays.binarySearch(itemIds, itemId);
+        if (slot < 0 || isAvailable(itemId) == available) {
+            return this;
+        }
+        long[] bits = soldOut.clone();
+        bits[slot >>> 6] ^= 1L << slot;
+        return new RestaurantAvailability(itemIds, bits);
+    }
+
+    private static int words(int bits) {
+        return (bits + 63) >>> 6;
+    }
+}
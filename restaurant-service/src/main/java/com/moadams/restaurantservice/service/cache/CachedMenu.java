@@ -0,0 +1,30 @@
+package com.moadams.restaurantservice.service.cache;
+
+/**
+ * A restaurant's menu response, already serialized to JSON, with the strong ETag of those bytes.
+ */
+public record CachedMenu(byte[] body, String etag, long expiresAt) {
+
+    boolean isExpired(long now) {
+        return now - expiresAt >= 0;
+    }
+
+    /**
+     * True when an If-None-Match header lists this entry's ETag (weak or strong) or is "*".
+     */
+    public boolean matches(String ifNoneMatch) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,135 @@
+package com.moadams.restaurantservice.service.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Per-restaurant cache of the serialized menu response. A hit costs neither a query nor JSON
+ * serialization, and the ETag lets the controller answer If-None-Match without touching the body.
+ * <p>
+ * Every invalidation bumps the restaurant's version; a load only stores its result if the version
+ * it started under is still current, so a read that raced a menu change cannot cache stale data.
+ * Writers invalidate inside their transaction and again once it completes, which covers reads
+ * that started before the commit became visible. Entries also expire after {@code ttl-seconds},
+ * bounding how long a change made through another instance goes unnoticed here.
+ * The ETag is a digest of the body, so it is the same on every instance and across restarts.
+ */
+@Component
+public class MenuCache {
+
+    private final ObjectMapper objectMapper;
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final ConcurrentMap<Long, CachedMenu> entries = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, Long> versions = new ConcurrentHashMap<>();
+    private final AtomicLong versionSequence = new AtomicLong();
+    private final Counter hits;
+    private final Counter misses;
+
+    public MenuCache(ObjectMapper objectMapper,
+                     MeterRegistry meterRegistry,
+                     @Value("${restaurant.menu.cache.max-entries:5000}") int maxEntries,
+                     @Value("${restaurant.menu.cache.ttl-seconds:300}") long ttlSeconds) {
+        this.objectMapper = objectMapper;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = Duration.ofSeconds(ttlSeconds).toNanos();
+        this.hits = Counter.builder("restaurant.menu.cache").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("restaurant.menu.cache").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("restaurant.menu.cache.size", entries, ConcurrentMap::size)
+                .description("Restaurants with a cached menu response")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached menu for the restaurant, or serializes whatever {@code loader} returns
+     * and caches that. Exceptions from the loader propagate and nothing is cached.
+     */
+    public CachedMenu get(Long restaurantId, Supplier<?> loader) {
+        CachedMenu cached = entries.get(restaurantId);
+        if (cached != null && !cached.isExpired(System.nanoTime())) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+
+        Long version = versions.get(restaurantId);
+        byte[] body = serialize(restaurantId, loader.get());
+        CachedMenu menu = new CachedMenu(body, etag(body), System.nanoTime() + ttlNanos);
+
+        versions.compute(restaurantId, (id, current) -> {
+            if (Objects.equals(current, version)) {
+                entries.put(id, menu);
+            }
+            return current;
+        });
+        trim();
+        return menu;
+    }
+
+    /**
+     * Drops the restaurant's cached menu now and, when called inside a transaction, again after
+     * it completes.
+     */
+    public void invalidate(Long restaurantId) {
+        evict(restaurantId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(restaurantId);
+                }
+            });
+        }
+    }
+
+    private void evict(Long restaurantId) {
+        versions.compute(restaurantId, (id, current) -> {
+            entries.remove(id);
+            return versionSequence.incrementAndGet();
+        });
+    }
+
+    private void trim() {
+        Iterator<Long> ids = entries.keySet().iterator();
+        while (entries.size() > maxEntries && ids.hasNext()) {
+            ids.next();
+            ids.remove();
+        }
+    }
+
+    private byte[] serialize(Long restaurantId, Object response) {
+        try {
+            return objectMapper.writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize menu for restaurant " + restaurantId, e);
+        }
+    }
+
+    private static String etag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 16)) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.moadams.restaurantservice.service.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * restaurantId → ownerEmail, so owner-protected endpoints authorize with a map lookup instead of
+ * a query. Entries are loaded lazily, expire after {@code ttl-seconds} and are capped at
+ * {@code max-entries}; unknown restaurants are not cached.
+ * <p>
+ * {@link #invalidate} evicts locally and, once the surrounding transaction commits, publishes the
+ * restaurant ID on {@link #INVALIDATION_TOPIC}; every replica evicts on receipt. As in
+ * {@link MenuCache}, each eviction bumps a version so a load that raced it is not stored.
+ */
+@Component
+public class OwnershipCache {
+
+    public static final String INVALIDATION_TOPIC = "restaurant-ownership-invalidations";
+
+    private static final Logger log = LoggerFactory.getLogger(OwnershipCache.class);
+
+    private record Entry(String ownerEmail, long expiresAt) {
+    }
+
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final ConcurrentMap<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, Long> versions = new ConcurrentHashMap<>();
+    private final AtomicLong versionSequence = new AtomicLong();
+    private final Counter hits;
+    private final Counter misses;
+
+    public OwnershipCache(@Qualifier("ownershipInvalidationKafkaTemplate") KafkaTemplate<String, String> kafkaTemplate,
+                          MeterRegistry meterRegistry,
+                          @Value("${restaurant.ownership.cache.max-entries:10000}") int maxEntries,
+                          @Value("${restaurant.ownership.cache.ttl-seconds:600}") long ttlSeconds) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = Duration.ofSeconds(ttlSeconds).toNanos();
+        this.hits = Counter.builder("restaurant.ownership.cache").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("restaurant.ownership.cache").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("restaurant.ownership.cache.size", entries, ConcurrentMap::size)
+                .description("Restaurants with a cached owner")
+                .register(meterRegistry);
+    }
+
+    /**
+     * The restaurant's owner email, from the cache or else from {@code loader}.
+     */
+    public Optional<String> ownerOf(Long restaurantId, Supplier<Optional<String>> loader) {
+        Entry entry = entries.get(restaurantId);
+        if (entry != null && System.nanoTime() - entry.expiresAt() < 0) {
+            hits.increment();
+            return Optional.of(entry.ownerEmail());
+        }
+        misses.increment();
+
+        Long version = versions.get(restaurantId);
+        Optional<String> owner = loader.get();
+        owner.ifPresent(email -> {
+            Entry loaded = new Entry(email, System.nanoTime() + ttlNanos);
+            versions.compute(restaurantId, (id, current) -> {
+                if (Objects.equals(current, version)) {
+                    entries.put(id, loaded);
+                }
+                return current;
+            });
+            trim();
+        });
+        return owner;
+    }
+
+    /**
+     * Evicts the restaurant here and tells the other replicas to do the same. Inside a transaction
+     * the broadcast, and a second local eviction, wait for the commit.
+     */
+    public void invalidate(Long restaurantId) {
+        evict(restaurantId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(restaurantId);
+                    broadcast(restaurantId);
+                }
+            });
+        } else {
+            broadcast(restaurantId);
+        }
+    }
+
+    /**
+     * Local eviction only; called for invalidations received from any replica, this one included.
+     */
+    public void evict(Long restaurantId) {
+        versions.compute(restaurantId, (id, current) -> {
+            entries.remove(id);
+            return versionSequence.incrementAndGet();
+        });
+    }
+
+    private void broadcast(Long restaurantId) {
+        String key = restaurantId.toString();
+        try {
+            kafkaTemplate.send(INVALIDATION_TOPIC, key, key).whenComplete((result, error) -> {
+                if (error != null) {
+                    log.error("Failed to broadcast ownership invalidation for restaurant {}; other replicas keep it until TTL",
+                            restaurantId, error);
+                }
+            });
+        } catch (RuntimeException e) {
+            log.error("Failed to broadcast ownership invalidation for restaurant {}; other replicas keep it until TTL",
+                    restaurantId, e);
+        }
+    }
+
+    private void trim() {
+        Iterator<Long> ids = entries.keySet().iterator();
+        while (entries.size() > maxEntries && ids.hasNext()) {
+            ids.next();
+            ids.remove();
+        }
+    }
+}
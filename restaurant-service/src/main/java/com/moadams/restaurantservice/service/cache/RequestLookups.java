@@ -0,0 +1,44 @@
+package com.moadams.restaurantservice.service.cache;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Memoizes entity lookups for the duration of the current HTTP request, so the ownership check in
+ * {@code @PreAuthorize} and the service method behind it share one query. Outside a request
+ * (listeners, plain unit tests) every call goes straight to the loader.
+ */
+public final class RequestLookups {
+
+    private static final String PREFIX = RequestLookups.class.getName() + ".";
+
+    private RequestLookups() {
+    }
+
+    public static <T> Optional<T> restaurant(Long restaurantId, Supplier<Optional<T>> loader) {
+        return memoize("restaurant:" + restaurantId, loader);
+    }
+
+    public static <T> Optional<T> menuItem(Long restaurantId, Long menuItemId, Supplier<Optional<T>> loader) {
+        return memoize("menuItem:" + restaurantId + ":" + menuItemId, loader);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Optional<T> memoize(String key, Supplier<Optional<T>> loader) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return loader.get();
+        }
+        String name = PREFIX + key;
+        Optional<T> cached = (Optional<T>) attributes.getAttribute(name, RequestAttributes.SCOPE_REQUEST);
+        if (cached != null) {
+            return cached;
+        }
+        Optional<T> loaded = loader.get();
+        attributes.setAttribute(name, loaded, RequestAttributes.SCOPE_REQUEST);
+        return loaded;
+    }
+}
@@ -0,0 +1,253 @@
+package com.moadams.restaurantservice.service.geo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-memory spatial index over points with a payload, bucketed into a uniform latitude/longitude
+ * grid. A radius query only visits the cells overlapping the circle's bounding box, and a
+ * k-nearest query runs radius queries with a doubling radius until k points are inside, which is
+ * exact: nothing outside the circle can be nearer than what is inside it.
+ * <p>
+ * Each cell keeps its points in parallel arrays that are replaced, never mutated, so queries run
+ * lock-free against whatever cells they see; writes are serialized. Longitudes wrap at the
+ * antimeridian. Distances are great-circle (haversine) distances in meters.
+ */
+public class GeoGrid<T> {
+
+    static final double EARTH_RADIUS_METERS = 6_371_008.8;
+    private static final double METERS_PER_DEGREE = Math.PI * EARTH_RADIUS_METERS / 180;
+
+    public record Hit<T>(long id, T value, double distanceMeters) {
+    }
+
+    private record Cell(long[] ids, double[] lats, double[] lngs, double[] cosLats, Object[] values) {
+
+        static final Cell EMPTY = new Cell(new long[0], new double[0], new double[0], new double[0], new Object[0]);
+
+        int indexOf(long id) {
+            for (int i = 0; i < ids.length; i++) {
+                if (ids[i] == id) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        Cell with(long id, double lat, double lng, Object value) {
+            int n = ids.length;
+            long[] newIds = Arrays.copyOf(ids, n + 1);
+            double[] newLats = Arrays.copyOf(lats, n + 1);
+            double[] newLngs = Arrays.copyOf(lngs, n + 1);
+            double[] newCosLats = Arrays.copyOf(cosLats, n + 1);
+            Object[] newValues = Arrays.copyOf(values, n + 1);
+            newIds[n] = id;
+            newLats[n] = lat;
+            newLngs[n] = lng;
+            newCosLats[n] = Math.cos(Math.toRadians(lat));
+            newValues[n] = value;
+            return new Cell(newIds, newLats, newLngs, newCosLats, newValues);
+        }
+
+        Cell without(int index) {
+            int n = ids.length - 1;
+            long[] newIds = new long[n];
+            double[] newLats = new double[n];
+            double[] newLngs = new double[n];
+            double[] newCosLats = new double[n];
+            Object[] newValues = new Object[n];
+            System.arraycopy(ids, 0, newIds, 0, index);
+            System.arraycopy(ids, index + 1, newIds, index, n - index);
+            System.arraycopy(lats, 0, newLats, 0, index);
+            System.arraycopy(lats, index + 1, newLats, index, n - index);
+            System.arraycopy(lngs, 0, newLngs, 0, index);
+            System.arraycopy(lngs, index + 1, newLngs, index, n - index);
+            System.arraycopy(cosLats, 0, newCosLats, 0, index);
+            System.arraycopy(cosLats, index + 1, newCosLats, index, n - index);
+            System.arraycopy(values, 0, newValues, 0, index);
+            System.arraycopy(values, index + 1, newValues, index, n - index);
+            return new Cell(newIds, newLats, newLngs, newCosLats, newValues);
+        }
+    }
+
+    private final double cellDegrees;
+    private final int rows;
+    private final int columns;
+    private final ConcurrentMap<Long, Cell> cells = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, Long> cellOfId = new ConcurrentHashMap<>();
+
+    public GeoGrid(double cellDegrees) {
+        if (!(cellDegrees > 0 && cellDegrees <= 90)) {
+            throw new IllegalArgumentException("cellDegrees must be in (0, 90]: " + cellDegrees);
+        }
+        this.cellDegrees = cellDegrees;
+        this.rows = (int) Math.ceil(180 / cellDegrees);
+        this.columns = (int) Math.ceil(360 / cellDegrees);
+    }
+
+    /**
+     * Adds the point, replacing any earlier position and payload stored under the same id.
+     */
+    public synchronized void put(long id, double lat, double lng, T value) {
+        remove(id);
+        long key = cellKey(row(lat), column(lng));
+        cells.put(key, cells.getOrDefault(key, Cell.EMPTY).with(id, lat, lng, value));
+        cellOfId.put(id, key);
+    }
+
+    public synchronized boolean remove(long id) {
+        Long key = cellOfId.remove(id);
+        if (key == null) {
+            return false;
+        }
+        Cell cell = cells.get(key);
+        int index = cell.indexOf(id);
+        if (cell.ids().length == 1) {
+            cells.remove(key);
+        } else {
+            cells.put(key, cell.without(index));
+        }
+        return true;
+    }
+
+    public int size() {
+        return cellOfId.size();
+    }
+
+    /**
+     * Points within {@code radiusMeters}, nearest first, at most {@code limit} of them.
+     */
+    public List<Hit<T>> withinRadius(double lat, double lng, double radiusMeters, int limit) {
+        if (limit <= 0 || radiusMeters < 0) {
+            return List.of();
+        }
+        PriorityQueue<Hit<T>> nearest = new PriorityQueue<>(
+                Comparator.comparingDouble((Hit<T> hit) -> hit.distanceMeters()).reversed());
+
+        double radiusDegrees = radiusMeters / METERS_PER_DEGREE;
+        Query query = new Query(lat, lng, radiusMeters, radiusDegrees, limit, nearest);
+        int firstRow = row(Math.max(-90, lat - radiusDegrees));
+        int lastRow = row(Math.min(90, lat + radiusDegrees));
+        double widestLat = Math.min(90, Math.abs(lat) + radiusDegrees);
+        double cos = Math.cos(Math.toRadians(widestLat));
+        int centerColumn = column(lng);
+        int columnSpan = cos < 1e-12 ? columns : (int) Math.ceil(radiusDegrees / (cellDegrees * cos));
+        boolean allColumns = 2L * columnSpan + 1 >= columns;
+
+        for (int row = firstRow; row <= lastRow; row++) {
+            if (allColumns) {
+                for (int column = 0; column < columns; column++) {
+                    collect(cells.get(cellKey(row, column)), query);
+                }
+            } else {
+                for (int offset = -columnSpan; offset <= columnSpan; offset++) {
+                    int column = Math.floorMod(centerColumn + offset, columns);
+                    collect(cells.get(cellKey(row, column)), query);
+                }
+            }
+        }
+
+        List<Hit<T>> hits = new ArrayList<>(nearest);
+        hits.sort(Comparator.comparingDouble(Hit::distanceMeters));
+        return hits;
+    }
+
+    /**
+     * The {@code k} points nearest to the given position, nearest first, ignoring anything
+     * farther than {@code maxDistanceMeters}.
+     */
+    public List<Hit<T>> nearest(double lat, double lng, int k, double maxDistanceMeters) {
+        if (k <= 0) {
+            return List.of();
+        }
+        double radius = Math.min(cellDegrees * METERS_PER_DEGREE, maxDistanceMeters);
+        while (true) {
+            List<Hit<T>> hits = withinRadius(lat, lng, radius, k);
+            if (hits.size() >= k || radius >= maxDistanceMeters) {
+                return hits;
+            }
+            radius = Math.min(radius * 2, maxDistanceMeters);
+        }
+    }
+
+    /**
+     * Per-query constants. Points are compared in haversine "a" space, sin²(Δφ/2) + cosφ₁cosφ₂sin²(Δλ/2),
+     * which grows with distance, so the trigonometry to turn it into meters only runs for hits.
+     */
+    private final class Query {
+        final double lat;
+        final double lng;
+        final double radiusDegrees;
+        final double cosLat;
+        final double maxA;
+        final int limit;
+        final PriorityQueue<Hit<T>> nearest;
+
+        Query(double lat, double lng, double radiusMeters, double radiusDegrees, int limit, PriorityQueue<Hit<T>> nearest) {
+            this.lat = lat;
+            this.lng = lng;
+            this.radiusDegrees = radiusDegrees;
+            this.cosLat = Math.cos(Math.toRadians(lat));
+            double halfAngle = Math.min(Math.PI, radiusMeters / EARTH_RADIUS_METERS) / 2;
+            this.maxA = Math.sin(halfAngle) * Math.sin(halfAngle);
+            this.limit = limit;
+            this.nearest = nearest;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void collect(Cell cell, Query query) {
+        if (cell == null) {
+            return;
+        }
+        long[] ids = cell.ids();
+        double[] lats = cell.lats();
+        double[] lngs = cell.lngs();
+        double[] cosLats = cell.cosLats();
+        PriorityQueue<Hit<T>> nearest = query.nearest;
+        for (int i = 0; i < ids.length; i++) {
+            if (Math.abs(lats[i] - query.lat) > query.radiusDegrees) {
+                continue;
+            }
+            double a = haversineA(query.lat, query.lng, query.cosLat, lats[i], lngs[i], cosLats[i]);
+            if (a > query.maxA) {
+                continue;
+            }
+            double distance = 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1, Math.sqrt(a)));
+            if (nearest.size() < query.limit) {
+                nearest.add(new Hit<>(ids[i], (T) cell.values()[i], distance));
+            } else if (distance < nearest.peek().distanceMeters()) {
+                nearest.poll();
+                nearest.add(new Hit<>(ids[i], (T) cell.values()[i], distance));
+            }
+        }
+    }
+
+    private static double haversineA(double lat1, double lng1, double cosLat1, double lat2, double lng2, double cosLat2) {
+        double sinHalfDeltaPhi = Math.sin(Math.toRadians(lat2 - lat1) / 2);
+        double sinHalfDeltaLambda = Math.sin(Math.toRadians(lng2 - lng1) / 2);
+        return sinHalfDeltaPhi * sinHalfDeltaPhi + cosLat1 * cosLat2 * sinHalfDeltaLambda * sinHalfDeltaLambda;
+    }
+
+    static double distanceMeters(double lat1, double lng1, double lat2, double lng2) {
+        double a = haversineA(lat1, lng1, Math.cos(Math.toRadians(lat1)), lat2, lng2, Math.cos(Math.toRadians(lat2)));
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private int row(double lat) {
+        return Math.clamp((long) Math.floor((lat + 90) / cellDegrees), 0, rows - 1);
+    }
+
+    private int column(double lng) {
+        return Math.floorMod((long) Math.floor((lng + 180) / cellDegrees), columns);
+    }
+
+    private long cellKey(int row, int column) {
+        return (long) row * columns + column;
+    }
+}
@@ -0,0 +1,137 @@
+package com.moadams.restaurantservice.service.geo;
+
+import com.moadams.restaurantservice.dto.RestaurantResponse;
+import com.moadams.restaurantservice.repository.RestaurantRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Restaurants with coordinates, held in a {@link GeoGrid} so nearby searches never touch the
+ * database. The grid is loaded at startup and rebuilt every {@code refresh-ms}, which picks up
+ * writes made through other replicas; writes through this replica are applied as soon as their
+ * transaction commits. Writes that land while a rebuild is loading are replayed onto the new grid
+ * before it is swapped in.
+ */
+@Component
+public class RestaurantGeoIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(RestaurantGeoIndex.class);
+
+    private final RestaurantRepository restaurantRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final double cellDegrees;
+    private final Object rebuildLock = new Object();
+
+    private volatile GeoGrid<RestaurantResponse> grid;
+    private List<Consumer<GeoGrid<RestaurantResponse>>> writesDuringRebuild;
+
+    public RestaurantGeoIndex(RestaurantRepository restaurantRepository,
+                              TransactionTemplate transactionTemplate,
+                              MeterRegistry meterRegistry,
+                              @Value("${restaurant.geo.index.cell-degrees:0.01}") double cellDegrees) {
+        this.restaurantRepository = restaurantRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.cellDegrees = cellDegrees;
+        this.grid = new GeoGrid<>(cellDegrees);
+        Gauge.builder("restaurant.geo.index.size", this, index -> index.grid.size())
+                .description("Restaurants in the nearby-search index")
+                .register(meterRegistry);
+    }
+
+    public List<GeoGrid.Hit<RestaurantResponse>> withinRadius(double lat, double lng, double radiusMeters, int limit) {
+        return grid.withinRadius(lat, lng, radiusMeters, limit);
+    }
+
+    public List<GeoGrid.Hit<RestaurantResponse>> nearest(double lat, double lng, int k, double maxDistanceMeters) {
+        return grid.nearest(lat, lng, k, maxDistanceMeters);
+    }
+
+    /**
+     * Indexes the restaurant once the surrounding transaction commits, or drops it if it has no
+     * coordinates (any more).
+     */
+    public void upsert(RestaurantResponse restaurant) {
+        if (restaurant.latitude() == null || restaurant.longitude() == null) {
+            remove(restaurant.id());
+            return;
+        }
+        afterCommit(grid -> grid.put(restaurant.id(), restaurant.latitude(), restaurant.longitude(), restaurant));
+    }
+
+    public void remove(Long restaurantId) {
+        afterCommit(grid -> grid.remove(restaurantId));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${restaurant.geo.index.refresh-ms:60000}",
+            initialDelayString = "${restaurant.geo.index.refresh-ms:60000}")
+    public void refresh() {
+        rebuild();
+    }
+
+    private void rebuild() {
+        synchronized (rebuildLock) {
+            synchronized (this) {
+                writesDuringRebuild = new ArrayList<>();
+            }
+            try {
+                GeoGrid<RestaurantResponse> fresh = new GeoGrid<>(cellDegrees);
+                transactionTemplate.executeWithoutResult(status -> {
+                    try (Stream<RestaurantResponse> restaurants = restaurantRepository.streamLocated()) {
+                        restaurants.forEach(r -> fresh.put(r.id(), r.latitude(), r.longitude(), r));
+                    }
+                });
+                synchronized (this) {
+                    writesDuringRebuild.forEach(write -> write.accept(fresh));
+                    grid = fresh;
+                }
+                log.debug("Rebuilt geo index with {} restaurants", fresh.size());
+            } catch (RuntimeException e) {
+                log.error("Failed to rebuild geo index; keeping the previous one", e);
+            } finally {
+                synchronized (this) {
+                    writesDuringRebuild = null;
+                }
+            }
+        }
+    }
+
+    private void afterCommit(Consumer<GeoGrid<RestaurantResponse>> write) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(write);
+                }
+            });
+        } else {
+            apply(write);
+        }
+    }
+
+    private synchronized void apply(Consumer<GeoGrid<RestaurantResponse>> write) {
+        write.accept(grid);
+        if (writesDuringRebuild != null) {
+            writesDuringRebuild.add(write);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.moadams.restaurantservice.service.importing;
+
+import com.moadams.restaurantservice.exception.InvalidRequestException;
+import org.springframework.http.MediaType;
+
+/**
+ * Body formats accepted by the menu import: one JSON object per line, or CSV with a header row.
+ */
+public enum MenuImportFormat {
+    NDJSON(MediaType.APPLICATION_NDJSON),
+    CSV(MediaType.parseMediaType("text/csv"));
+
+    public static final String CSV_VALUE = "text/csv";
+
+    private final MediaType mediaType;
+
+    MenuImportFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public static MenuImportFormat of(String contentType) {
+        if (contentType != null) {
+            MediaType requested = MediaType.parseMediaType(contentType);
+            for (MenuImportFormat format : values()) {
+                if (format.mediaType.isCompatibleWith(requested) && !requested.isWildcardSubtype()) {
+                    return format;
+                }
+            }
+        }
+        throw new InvalidRequestException("Menu imports must be sent as application/x-ndjson or text/csv.");
+    }
+}
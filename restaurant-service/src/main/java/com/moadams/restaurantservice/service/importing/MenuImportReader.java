@@ -0,0 +1,233 @@
+package com.moadams.restaurantservice.service.importing;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moadams.restaurantservice.dto.MenuItemRequest;
+import com.moadams.restaurantservice.exception.InvalidRequestException;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads a menu import body one row at a time, so an upload is never held in memory as a whole.
+ * A row that cannot be turned into a {@link MenuItemRequest} comes back with an error instead;
+ * blank lines are skipped. A missing {@code available} value means the item is available.
+ * <p>
+ * CSV needs a header row naming at least the {@code name} and {@code price} columns, and may add
+ * {@code description} and {@code available}, in any order; other columns are ignored. Fields may be
+ * quoted, with {@code ""} for a quote, and quoted fields may span lines.
+ */
+class MenuImportReader implements Closeable {
+
+    record Row(long line, MenuItemRequest request, String error) {
+    }
+
+    private static final List<String> CSV_REQUIRED_COLUMNS = List.of("name", "price");
+
+    private final BufferedReader reader;
+    private final MenuImportFormat format;
+    private final ObjectMapper objectMapper;
+    private final Map<String, Integer> csvColumns = new HashMap<>();
+    private long line;
+    private boolean exhausted;
+
+    private MenuImportReader(InputStream body, MenuImportFormat format, ObjectMapper objectMapper) {
+        this.reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Opens the body; for CSV this reads and checks the header row, failing with
+     * {@link InvalidRequestException} before any row is read if it is missing or incomplete.
+     */
+    static MenuImportReader open(InputStream body, MenuImportFormat format, ObjectMapper objectMapper) throws IOException {
+        MenuImportReader importReader = new MenuImportReader(body, format, objectMapper);
+        importReader.skipByteOrderMark();
+        if (format == MenuImportFormat.CSV) {
+            importReader.readCsvHeader();
+        }
+        return importReader;
+    }
+
+    /**
+     * The next row, or null once the body is exhausted.
+     */
+    Row next() throws IOException {
+        if (exhausted) {
+            return null;
+        }
+        return format == MenuImportFormat.CSV ? nextCsvRow() : nextJsonRow();
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void skipByteOrderMark() throws IOException {
+        reader.mark(1);
+        if (reader.read() != '\uFEFF') {
+            reader.reset();
+        }
+    }
+
+    private Row nextJsonRow() throws IOException {
+        String text;
+        do {
+            text = reader.readLine();
+            if (text == null) {
+                exhausted = true;
+                return null;
+            }
+            line++;
+        } while (text.isBlank());
+
+        try {
+            MenuItemRequest request = objectMapper.readValue(text, MenuItemRequest.class);
+            if (request == null) {
+                return new Row(line, null, "Expected a JSON object.");
+            }
+            return new Row(line, withDefaults(request), null);
+        } catch (JsonProcessingException e) {
+            return new Row(line, null, "Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private void readCsvHeader() throws IOException {
+        List<String> header = readCsvRecord();
+        if (header == null) {
+            throw new InvalidRequestException("The CSV import is empty; it needs a header row.");
+        }
+        for (int i = 0; i < header.size(); i++) {
+            csvColumns.putIfAbsent(header.get(i).strip().toLowerCase(Locale.ROOT), i);
+        }
+        List<String> missing = CSV_REQUIRED_COLUMNS.stream().filter(column -> !csvColumns.containsKey(column)).toList();
+        if (!missing.isEmpty()) {
+            throw new InvalidRequestException("The CSV header is missing the column(s): " + String.join(", ", missing) + ".");
+        }
+    }
+
+    private Row nextCsvRow() throws IOException {
+        List<String> fields;
+        long start;
+        do {
+            start = line + 1;
+            try {
+                fields = readCsvRecord();
+            } catch (UnterminatedQuoteException e) {
+                exhausted = true;
+                return new Row(start, null, "Unterminated quoted field; the rest of the file was not read.");
+            }
+            if (fields == null) {
+                exhausted = true;
+                return null;
+            }
+        } while (fields.size() == 1 && fields.get(0).isBlank());
+
+        String price = field(fields, "price");
+        BigDecimal parsedPrice = null;
+        if (price != null) {
+            try {
+                parsedPrice = new BigDecimal(price);
+            } catch (NumberFormatException e) {
+                return new Row(start, null, "Price '" + price + "' is not a number.");
+            }
+        }
+        String available = field(fields, "available");
+        if (available != null && !available.equalsIgnoreCase("true") && !available.equalsIgnoreCase("false")) {
+            return new Row(start, null, "Available must be true or false, not '" + available + "'.");
+        }
+        MenuItemRequest request = new MenuItemRequest(
+                field(fields, "name"),
+                field(fields, "description"),
+                parsedPrice,
+                available == null ? null : Boolean.valueOf(available));
+        return new Row(start, withDefaults(request), null);
+    }
+
+    /**
+     * The stripped value of a column, or null if the row has no such column or it is blank.
+     */
+    private String field(List<String> fields, String column) {
+        Integer index = csvColumns.get(column);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).strip();
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * One CSV record, or null at the end of the body. Counts the lines it consumes.
+     */
+    private List<String> readCsvRecord() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean inQuotes = false;
+        boolean read = false;
+        int c;
+        while ((c = reader.read()) != -1) {
+            read = true;
+            if (inQuotes) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        inQuotes = false;
+                        if (next != -1) {
+                            reader.reset();
+                        }
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                inQuotes = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                line++;
+                fields.add(field.toString());
+                return fields;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+        }
+        if (inQuotes) {
+            throw new UnterminatedQuoteException();
+        }
+        if (!read) {
+            return null;
+        }
+        line++;
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static MenuItemRequest withDefaults(MenuItemRequest request) {
+        if (request.available() != null) {
+            return request;
+        }
+        return new MenuItemRequest(request.name(), request.description(), request.price(), true);
+    }
+
+    private static final class UnterminatedQuoteException extends IOException {
+    }
+}
@@ -0,0 +1,199 @@
+package com.moadams.restaurantservice.service.importing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moadams.restaurantservice.dto.MenuImportReport;
+import com.moadams.restaurantservice.dto.MenuImportRowError;
+import com.moadams.restaurantservice.dto.MenuItemRequest;
+import com.moadams.restaurantservice.dto.MenuItemResponse;
+import com.moadams.restaurantservice.exception.InvalidRequestException;
+import com.moadams.restaurantservice.exception.ResourceNotFoundException;
+import com.moadams.restaurantservice.exception.UnauthorizedAccessException;
+import com.moadams.restaurantservice.model.MenuItem;
+import com.moadams.restaurantservice.model.Restaurant;
+import com.moadams.restaurantservice.repository.MenuItemRepository;
+import com.moadams.restaurantservice.repository.RestaurantRepository;
+import com.moadams.restaurantservice.service.availability.MenuAvailabilityService;
+import com.moadams.restaurantservice.service.cache.MenuCache;
+import com.moadams.restaurantservice.service.cache.OwnershipCache;
+import com.moadams.restaurantservice.service.search.MenuSearchIndex;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bulk-creates menu items from a streamed NDJSON or CSV upload. Ownership is checked once for the
+ * whole upload. Rows are parsed and validated as they arrive and inserted in chunks of
+ * {@link #CHUNK_SIZE}, each chunk in its own transaction as one JDBC batch; menu item ids come from
+ * a pooled sequence, so Hibernate does not need a round trip per row to learn the key. Rows that
+ * fail to parse or validate, or whose chunk fails to save, are listed in the report; the other
+ * rows are imported.
+ */
+@Service
+public class MenuImportService {
+
+    public static final int CHUNK_SIZE = 500;
+    public static final int MAX_IMPORT_ROWS = 10_000;
+    public static final int MAX_REPORTED_ERRORS = 500;
+
+    private static final Logger log = LoggerFactory.getLogger(MenuImportService.class);
+
+    private final RestaurantRepository restaurantRepository;
+    private final MenuItemRepository menuItemRepository;
+    private final OwnershipCache ownershipCache;
+    private final MenuCache menuCache;
+    private final MenuSearchIndex menuSearchIndex;
+    private final MenuAvailabilityService menuAvailabilityService;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+
+    public MenuImportService(RestaurantRepository restaurantRepository, MenuItemRepository menuItemRepository,
+                             OwnershipCache ownershipCache, MenuCache menuCache, MenuSearchIndex menuSearchIndex,
+                             MenuAvailabilityService menuAvailabilityService, TransactionTemplate transactionTemplate, EntityManager entityManager,
+                             Validator validator, ObjectMapper objectMapper) {
+        this.restaurantRepository = restaurantRepository;
+        this.menuItemRepository = menuItemRepository;
+        this.ownershipCache = ownershipCache;
+        this.menuCache = menuCache;
+        this.menuSearchIndex = menuSearchIndex;
+        this.menuAvailabilityService = menuAvailabilityService;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+    }
+
+    public MenuImportReport importMenuItems(Long restaurantId, MenuImportFormat format, InputStream body) {
+        checkRestaurantOwnership(restaurantId);
+
+        Report report = new Report();
+        List<MenuImportReader.Row> chunk = new ArrayList<>(CHUNK_SIZE);
+        try (MenuImportReader reader = MenuImportReader.open(body, format, objectMapper)) {
+            MenuImportReader.Row row;
+            while ((row = reader.next()) != null) {
+                if (report.rows == MAX_IMPORT_ROWS) {
+                    report.note(row.line(), String.format(
+                            "Imports are limited to %d rows; this row and any after it were not read.", MAX_IMPORT_ROWS));
+                    break;
+                }
+                report.rows++;
+                List<String> problems = row.error() != null ? List.of(row.error()) : validate(row.request());
+                if (!problems.isEmpty()) {
+                    report.reject(row.line(), problems);
+                    continue;
+                }
+                chunk.add(row);
+                if (chunk.size() == CHUNK_SIZE) {
+                    insert(restaurantId, chunk, report);
+                    chunk.clear();
+                }
+            }
+            insert(restaurantId, chunk, report);
+        } catch (IOException e) {
+            log.warn("Menu import for restaurant {} stopped after {} rows: {}", restaurantId, report.rows, e.getMessage());
+            throw new InvalidRequestException(String.format(
+                    "Could not read the import body; %d rows were imported before it failed.", report.imported));
+        }
+
+        log.info("Imported {} of {} menu items for restaurant {}", report.imported, report.rows, restaurantId);
+        return new MenuImportReport(report.rows, report.imported, report.failed, report.errors);
+    }
+
+    private void checkRestaurantOwnership(Long restaurantId) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            throw new UnauthorizedAccessException("User is not authenticated.");
+        }
+        String ownerEmail = ownershipCache.ownerOf(restaurantId, () -> restaurantRepository.findOwnerEmailById(restaurantId))
+                .orElseThrow(() -> new ResourceNotFoundException("Restaurant", "id", restaurantId));
+        boolean admin = authentication.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+        if (!admin && !ownerEmail.equals(authentication.getPrincipal())) {
+            throw new UnauthorizedAccessException("You are not authorized to manage this restaurant.");
+        }
+    }
+
+    private List<String> validate(MenuItemRequest request) {
+        return validator.validate(request).stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .toList();
+    }
+
+    private void insert(Long restaurantId, List<MenuImportReader.Row> chunk, Report report) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                entityManager.unwrap(Session.class).setJdbcBatchSize(CHUNK_SIZE);
+                Restaurant restaurant = restaurantRepository.getReferenceById(restaurantId);
+
+                List<MenuItem> menuItems = chunk.stream()
+                        .map(row -> MenuItem.builder()
+                                .name(row.request().name())
+                                .description(row.request().description())
+                                .price(row.request().price())
+                                .available(row.request().available())
+                                .restaurant(restaurant)
+                                .build())
+                        .toList();
+                menuItemRepository.saveAll(menuItems);
+                menuItemRepository.flush();
+
+                menuCache.invalidate(restaurantId);
+                menuItems.forEach(menuItem -> {
+                    MenuItemResponse response = new MenuItemResponse(
+                            menuItem.getId(),
+                            menuItem.getName(),
+                            menuItem.getDescription(),
+                            menuItem.getPrice(),
+                            menuItem.getAvailable(),
+                            restaurantId);
+                    menuSearchIndex.upsert(response);
+                    menuAvailabilityService.menuItemSaved(response);
+                });
+            });
+            report.imported += chunk.size();
+        } catch (RuntimeException e) {
+            log.warn("Failed to save a chunk of {} imported menu items for restaurant {}: {}",
+                    chunk.size(), restaurantId, NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+            chunk.forEach(row -> report.reject(row.line(),
+                    List.of("Could not be saved; the database rejected the batch of rows it was part of.")));
+        }
+    }
+
+    private static final class Report {
+        int rows;
+        int imported;
+        int failed;
+        final List<MenuImportRowError> errors = new ArrayList<>();
+
+        void reject(long line, List<String> messages) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new MenuImportRowError(line, messages));
+            }
+        }
+
+        void note(long line, String message) {
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new MenuImportRowError(line, List.of(message)));
+            }
+        }
+    }
+}
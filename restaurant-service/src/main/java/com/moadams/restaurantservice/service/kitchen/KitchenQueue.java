@@ -0,0 +1,77 @@
+package com.moadams.restaurantservice.service.kitchen;
+
+import java.util.PriorityQueue;
+
+/**
+ * One restaurant's kitchen: a priority queue of waiting tickets and a count of tickets in
+ * preparation, which {@link #start} keeps at or below the restaurant's concurrency limit.
+ * All methods are synchronized on the queue. Offering and starting a ticket are O(log n); only
+ * {@link #snapshot}, which is read on demand, scans the waiting tickets.
+ */
+class KitchenQueue {
+
+    private static final double WAIT_SMOOTHING = 0.2;
+
+    record Snapshot(int queued, int preparing, int concurrencyLimit, long longestWaitMillis,
+                    long averageWaitMillis, long estimatedWaitMillis) {
+    }
+
+    private final int concurrencyLimit;
+    private final int maxQueued;
+    private final PriorityQueue<KitchenTicket> waiting = new PriorityQueue<>(KitchenTicket.PRIORITY);
+    private int preparing;
+    private long queuedPrepMillis;
+    private double averageWaitMillis = -1;
+
+    KitchenQueue(int concurrencyLimit, int maxQueued) {
+        this.concurrencyLimit = Math.max(1, concurrencyLimit);
+        this.maxQueued = maxQueued;
+    }
+
+    /**
+     * Queues the ticket, or returns false if the queue is full.
+     */
+    synchronized boolean offer(KitchenTicket ticket) {
+        if (waiting.size() >= maxQueued) {
+            return false;
+        }
+        waiting.add(ticket);
+        queuedPrepMillis += ticket.prepMillis();
+        return true;
+    }
+
+    /**
+     * Takes the next ticket into preparation if a slot is free, or returns null.
+     */
+    synchronized KitchenTicket start(long now) {
+        if (preparing >= concurrencyLimit || waiting.isEmpty()) {
+            return null;
+        }
+        KitchenTicket ticket = waiting.poll();
+        preparing++;
+        queuedPrepMillis -= ticket.prepMillis();
+        long wait = Math.max(0, now - ticket.receivedAt());
+        averageWaitMillis = averageWaitMillis < 0 ? wait : averageWaitMillis + WAIT_SMOOTHING * (wait - averageWaitMillis);
+        return ticket;
+    }
+
+    synchronized void finish() {
+        preparing--;
+    }
+
+    synchronized int queued() {
+        return waiting.size();
+    }
+
+    /**
+     * Queue depth and wait times. The estimated wait of a new order spreads the prep time of the
+     * orders already waiting over the kitchen's concurrency; time left on orders in preparation is
+     * not counted.
+     */
+    synchronized Snapshot snapshot(long now) {
+        long oldestReceivedAt = waiting.stream().mapToLong(KitchenTicket::receivedAt).min().orElse(now);
+        long longestWait = Math.max(0, now - oldestReceivedAt);
+        return new Snapshot(waiting.size(), preparing, concurrencyLimit, longestWait,
+                Math.round(Math.max(0, averageWaitMillis)), queuedPrepMillis / concurrencyLimit);
+    }
+}
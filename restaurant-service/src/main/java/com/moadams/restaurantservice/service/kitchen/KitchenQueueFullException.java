@@ -0,0 +1,12 @@
+package com.moadams.restaurantservice.service.kitchen;
+
+/**
+ * A restaurant's kitchen queue has no room for another order. The order has not been taken, so
+ * the listener has to leave its record uncommitted and offer it again later.
+ */
+public class KitchenQueueFullException extends RuntimeException {
+
+    public KitchenQueueFullException(Long restaurantId, String orderId) {
+        super(String.format("Kitchen queue of restaurant %d is full; order %s was not queued", restaurantId, orderId));
+    }
+}
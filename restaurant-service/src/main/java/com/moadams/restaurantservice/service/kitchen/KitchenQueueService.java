@@ -0,0 +1,265 @@
+package com.moadams.restaurantservice.service.kitchen;
+
+import com.moadams.events.OrderItemDetails;
+import com.moadams.events.OrderPlacedEvent;
+import com.moadams.restaurantservice.dto.KitchenQueueResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-restaurant kitchen queues fed by OrderPlacedEvents. Each order becomes a {@link KitchenTicket}
+ * with a prep estimate of {@code base-prep-seconds} plus {@code prep-seconds-per-item} for every
+ * item ordered, capped at {@code max-prep-seconds}, and waits in its restaurant's
+ * {@link KitchenQueue}. A restaurant prepares at most {@code max-concurrent-orders} orders at once;
+ * individual restaurants can be given their own limit through {@code restaurant-concurrency}.
+ * <p>
+ * Enqueueing is in memory only, so the Kafka listener never waits on the database. Starting and
+ * finishing preparation runs on a pool of {@code workers} threads; no thread is held while an
+ * order is being prepared, its completion is scheduled for when the prep estimate runs out.
+ * A restaurant holds at most {@code max-queued-orders} waiting tickets; an order beyond that is
+ * refused with a {@link KitchenQueueFullException}, counted as rejected, and the listener leaves
+ * its record to be delivered again once the kitchen has caught up.
+ * <p>
+ * Tickets live only in memory, and an order's offset is committed once its ticket is queued. The
+ * tickets still waiting or in preparation are therefore not handed over when the replica stops or
+ * its partitions move to another replica in a rebalance: the new owner resumes after them and its
+ * kitchens start empty, so their queue depth and wait times leave those orders out. The orders
+ * themselves are unaffected, since order status is kept by order-service, not here.
+ * <p>
+ * Order events are keyed by restaurant, so each kitchen lives on the one replica that consumes its
+ * restaurant's partition and its concurrency limit holds across the cluster. Every
+ * {@code status-broadcast-ms} that replica publishes the status of its busy kitchens, and once more
+ * when a kitchen falls idle, on {@link #STATUS_TOPIC}; every replica keeps the latest status it has
+ * received, so {@link #status} answers the same wherever the request lands. A received status is
+ * trusted for three broadcast intervals, after which its owner is taken to be gone.
+ */
+@Service
+public class KitchenQueueService {
+
+    public static final String STATUS_TOPIC = "restaurant-kitchen-queue-status";
+
+    private static final Logger log = LoggerFactory.getLogger(KitchenQueueService.class);
+
+    private record ReceivedStatus(KitchenQueueResponse status, long receivedAt) {
+    }
+
+    private final int defaultConcurrency;
+    private final Map<String, Integer> restaurantConcurrency;
+    private final int maxQueued;
+    private final long basePrepMillis;
+    private final long prepMillisPerItem;
+    private final long maxPrepMillis;
+    private final long statusMaxAgeMillis;
+    private final KafkaTemplate<String, KitchenQueueResponse> statusKafkaTemplate;
+    private final ConcurrentMap<Long, KitchenQueue> queues = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, ReceivedStatus> received = new ConcurrentHashMap<>();
+    private final Set<Long> announcedBusy = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService workers;
+    private final Timer waitTimer;
+    private final Counter completed;
+    private final Counter rejected;
+
+    public KitchenQueueService(
+            MeterRegistry meterRegistry,
+            @Qualifier("kitchenQueueStatusKafkaTemplate")
+            KafkaTemplate<String, KitchenQueueResponse> statusKafkaTemplate,
+            @Value("${restaurant.kitchen.workers:4}") int workers,
+            @Value("${restaurant.kitchen.max-concurrent-orders:3}") int defaultConcurrency,
+            @Value("#{${restaurant.kitchen.restaurant-concurrency:{:}}}") Map<String, Integer> restaurantConcurrency,
+            @Value("${restaurant.kitchen.max-queued-orders:5000}") int maxQueued,
+            @Value("${restaurant.kitchen.base-prep-seconds:300}") long basePrepSeconds,
+            @Value("${restaurant.kitchen.prep-seconds-per-item:60}") long prepSecondsPerItem,
+            @Value("${restaurant.kitchen.max-prep-seconds:3600}") long maxPrepSeconds,
+            @Value("${restaurant.kitchen.status-broadcast-ms:2000}") long statusBroadcastMillis) {
+        this.statusKafkaTemplate = statusKafkaTemplate;
+        this.statusMaxAgeMillis = 3 * statusBroadcastMillis;
+        this.defaultConcurrency = defaultConcurrency;
+        this.restaurantConcurrency = Map.copyOf(restaurantConcurrency);
+        this.maxQueued = maxQueued;
+        this.basePrepMillis = TimeUnit.SECONDS.toMillis(basePrepSeconds);
+        this.prepMillisPerItem = TimeUnit.SECONDS.toMillis(prepSecondsPerItem);
+        this.maxPrepMillis = TimeUnit.SECONDS.toMillis(maxPrepSeconds);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = Executors.newScheduledThreadPool(Math.max(1, workers), runnable -> {
+            Thread thread = new Thread(runnable, "kitchen-worker-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.waitTimer = Timer.builder("restaurant.kitchen.wait")
+                .description("Time orders wait in a kitchen queue before preparation starts")
+                .register(meterRegistry);
+        this.completed = Counter.builder("restaurant.kitchen.orders").tag("result", "completed").register(meterRegistry);
+        this.rejected = Counter.builder("restaurant.kitchen.orders").tag("result", "rejected").register(meterRegistry);
+        Gauge.builder("restaurant.kitchen.queued", queues,
+                        all -> all.values().stream().mapToInt(KitchenQueue::queued).sum())
+                .description("Orders waiting in kitchen queues")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues the order in its restaurant's kitchen and starts it straight away if a slot is free.
+     *
+     * @throws KitchenQueueFullException if the kitchen already has {@code max-queued-orders} waiting
+     */
+    public void enqueue(OrderPlacedEvent event) {
+        Long restaurantId = Long.valueOf(event.restaurantId());
+        long now = System.currentTimeMillis();
+        long placedAt = event.orderDate() != null
+                ? event.orderDate().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : now;
+        List<OrderItemDetails> items = event.orderItems() != null ? event.orderItems() : List.of();
+        KitchenTicket ticket = new KitchenTicket(event.orderId(), placedAt, now, prepMillis(items), items);
+
+        KitchenQueue queue = queues.computeIfAbsent(restaurantId, id ->
+                new KitchenQueue(concurrencyOf(id), maxQueued));
+        if (!queue.offer(ticket)) {
+            rejected.increment();
+            throw new KitchenQueueFullException(restaurantId, event.orderId());
+        }
+        dispatch(restaurantId, queue);
+    }
+
+    /**
+     * Depth and wait times of the restaurant's kitchen queue: this replica's own if it is busy,
+     * otherwise the latest status broadcast by the replica that owns the kitchen.
+     */
+    public KitchenQueueResponse status(Long restaurantId) {
+        KitchenQueueResponse local = localStatus(restaurantId);
+        if (isBusy(local)) {
+            return local;
+        }
+        ReceivedStatus remote = received.get(restaurantId);
+        if (remote != null && System.currentTimeMillis() - remote.receivedAt() <= statusMaxAgeMillis) {
+            return remote.status();
+        }
+        return local;
+    }
+
+    /**
+     * Records a kitchen status broadcast by a replica, this one included.
+     */
+    public void onStatus(KitchenQueueResponse status) {
+        received.put(status.restaurantId(), new ReceivedStatus(status, System.currentTimeMillis()));
+    }
+
+    /**
+     * Publishes the status of every busy kitchen on this replica, and of every kitchen that has
+     * fallen idle since the last broadcast.
+     */
+    @Scheduled(fixedDelayString = "${restaurant.kitchen.status-broadcast-ms:2000}")
+    public void broadcastStatus() {
+        for (Long restaurantId : queues.keySet()) {
+            KitchenQueueResponse status = localStatus(restaurantId);
+            if (isBusy(status)) {
+                announcedBusy.add(restaurantId);
+                announce(status);
+            } else if (announcedBusy.contains(restaurantId) && announce(status)) {
+                announcedBusy.remove(restaurantId);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    private KitchenQueueResponse localStatus(Long restaurantId) {
+        KitchenQueue queue = queues.get(restaurantId);
+        if (queue == null) {
+            return new KitchenQueueResponse(restaurantId, 0, 0, concurrencyOf(restaurantId), 0, 0, 0);
+        }
+        KitchenQueue.Snapshot snapshot = queue.snapshot(System.currentTimeMillis());
+        return new KitchenQueueResponse(
+                restaurantId,
+                snapshot.queued(),
+                snapshot.preparing(),
+                snapshot.concurrencyLimit(),
+                TimeUnit.MILLISECONDS.toSeconds(snapshot.longestWaitMillis()),
+                TimeUnit.MILLISECONDS.toSeconds(snapshot.averageWaitMillis()),
+                TimeUnit.MILLISECONDS.toSeconds(snapshot.estimatedWaitMillis()));
+    }
+
+    private static boolean isBusy(KitchenQueueResponse status) {
+        return status.queued() > 0 || status.preparing() > 0;
+    }
+
+    private boolean announce(KitchenQueueResponse status) {
+        try {
+            statusKafkaTemplate.send(STATUS_TOPIC, status.restaurantId().toString(), status);
+            return true;
+        } catch (RuntimeException e) {
+            log.debug("Could not broadcast the kitchen status of restaurant {}: {}", status.restaurantId(), e.getMessage());
+            return false;
+        }
+    }
+
+    private int concurrencyOf(Long restaurantId) {
+        return restaurantConcurrency.getOrDefault(restaurantId.toString(), defaultConcurrency);
+    }
+
+    private long prepMillis(List<OrderItemDetails> items) {
+        long quantity = items.stream()
+                .mapToLong(item -> item.quantity() != null ? Math.max(0, item.quantity()) : 1)
+                .sum();
+        return Math.min(maxPrepMillis, basePrepMillis + quantity * prepMillisPerItem);
+    }
+
+    private void dispatch(Long restaurantId, KitchenQueue queue) {
+        KitchenTicket ticket;
+        while ((ticket = queue.start(System.currentTimeMillis())) != null) {
+            KitchenTicket started = ticket;
+            try {
+                workers.execute(() -> prepare(restaurantId, queue, started));
+            } catch (RejectedExecutionException e) {
+                queue.finish();
+                return;
+            }
+        }
+    }
+
+    private void prepare(Long restaurantId, KitchenQueue queue, KitchenTicket ticket) {
+        waitTimer.record(Duration.ofMillis(Math.max(0, System.currentTimeMillis() - ticket.receivedAt())));
+        if (log.isDebugEnabled()) {
+            log.debug("Preparing order {} for restaurant {}: {} item(s), about {} s",
+                    ticket.orderId(), restaurantId, ticket.items().size(), TimeUnit.MILLISECONDS.toSeconds(ticket.prepMillis()));
+        }
+        try {
+            workers.schedule(() -> finish(restaurantId, queue, ticket), ticket.prepMillis(), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            queue.finish();
+        }
+    }
+
+    private void finish(Long restaurantId, KitchenQueue queue, KitchenTicket ticket) {
+        queue.finish();
+        completed.increment();
+        log.debug("Order {} for restaurant {} is ready", ticket.orderId(), restaurantId);
+        dispatch(restaurantId, queue);
+    }
+}
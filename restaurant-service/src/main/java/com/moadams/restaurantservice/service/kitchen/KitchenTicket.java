@@ -0,0 +1,28 @@
+package com.moadams.restaurantservice.service.kitchen;
+
+import com.moadams.events.OrderItemDetails;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * An order waiting for, or being prepared in, a restaurant's kitchen. Times are epoch millis:
+ * {@code placedAt} is when the order was placed and {@code receivedAt} when it reached the queue.
+ */
+public record KitchenTicket(
+        String orderId,
+        long placedAt,
+        long receivedAt,
+        long prepMillis,
+        List<OrderItemDetails> items
+) {
+
+    /**
+     * Earliest possible ready time first, that is order time plus prep estimate: quick orders can
+     * go ahead of a slow one placed a little earlier, but never of one placed long before them.
+     */
+    static final Comparator<KitchenTicket> PRIORITY = Comparator
+            .comparingLong((KitchenTicket ticket) -> ticket.placedAt() + ticket.prepMillis())
+            .thenComparingLong(KitchenTicket::placedAt)
+            .thenComparing(KitchenTicket::orderId);
+}
@@ -0,0 +1,381 @@
+package com.moadams.restaurantservice.service.search;
+
+import com.moadams.events.MenuItemAvailabilityChangedEvent;
+import com.moadams.restaurantservice.dto.MenuItemResponse;
+import com.moadams.restaurantservice.repository.MenuItemRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Full-text search over all menu items, held in a {@link MenuTextIndex}.
+ * <p>
+ * Every menu item write, through any replica, is published keyed by menu item id on the compacted
+ * {@link MenuItemAvailabilityChangedEvent#TOPIC}; the search change listener feeds those keys
+ * in here, and every {@code sync-ms} the changed items are reloaded from the database in one query
+ * and put into or removed from the index. Writes through this replica are also applied as soon as
+ * their transaction commits, so they are searchable before their broadcast comes back.
+ * <p>
+ * The snapshot file, rewritten every {@code snapshot-ms} and on shutdown, stores the index along
+ * with the topic offsets it reflects. At startup the index is read from it, which is much faster
+ * than re-reading and re-tokenizing every menu item, and the listener resumes from those offsets,
+ * so only the items written since are reloaded. The index is only rebuilt from the database when
+ * there is no usable snapshot: none, unreadable, or older than {@code max-catch-up-age-ms}, beyond
+ * which the topic may have dropped the tombstones of deleted items. Writes that land while a rebuild
+ * is loading are replayed onto it.
+ */
+@Component
+public class MenuSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(MenuSearchIndex.class);
+
+    private static final int SNAPSHOT_MAGIC = 0x4D534331; // "MSC1"
+    private static final int RELOAD_CHUNK_SIZE = 1_000;
+
+    private final MenuItemRepository menuItemRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Path snapshotPath;
+    private final long maxCatchUpAgeMillis;
+    private final Object rebuildLock = new Object();
+
+    private volatile MenuTextIndex index = new MenuTextIndex();
+    private List<Consumer<MenuTextIndex>> writesDuringRebuild;
+
+    /**
+     * Offsets saved with the snapshot that was loaded, or null if the index has to be rebuilt.
+     */
+    private Map<Integer, Long> snapshotOffsets;
+    /**
+     * Next offset per partition after the last change handed in, or the position on assignment.
+     */
+    private final Map<Integer, Long> consumedOffsets = new HashMap<>();
+    /**
+     * Offsets whose changes are all reflected in the index, saved with the next snapshot.
+     */
+    private Map<Integer, Long> appliedOffsets = Map.of();
+    private Set<Long> changedIds = new HashSet<>();
+    private boolean positioned;
+    private boolean rebuildOncePositioned;
+
+    public MenuSearchIndex(MenuItemRepository menuItemRepository,
+                           TransactionTemplate transactionTemplate,
+                           MeterRegistry meterRegistry,
+                           @Value("${restaurant.search.index.snapshot-path:data/menu-search.idx}") String snapshotPath,
+                           @Value("${restaurant.search.index.max-catch-up-age-ms:43200000}") long maxCatchUpAgeMillis) {
+        this.menuItemRepository = menuItemRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.snapshotPath = snapshotPath.isBlank() ? null : Path.of(snapshotPath);
+        this.maxCatchUpAgeMillis = maxCatchUpAgeMillis;
+        Gauge.builder("restaurant.search.index.size", this, search -> search.index.size())
+                .description("Menu items in the full-text search index")
+                .register(meterRegistry);
+    }
+
+    public MenuTextIndex.Result search(String query, int offset, int limit) {
+        return index.search(query, offset, limit);
+    }
+
+    /**
+     * Indexes the menu item once the surrounding transaction commits.
+     */
+    public void upsert(MenuItemResponse menuItem) {
+        afterCommit(index -> index.put(menuItem));
+    }
+
+    public void remove(Long menuItemId) {
+        afterCommit(index -> index.remove(menuItemId));
+    }
+
+    public void setAvailable(Long menuItemId, boolean available) {
+        afterCommit(index -> index.setAvailable(menuItemId, available));
+    }
+
+    public void removeRestaurant(Long restaurantId) {
+        afterCommit(index -> index.removeRestaurant(restaurantId));
+    }
+
+    /**
+     * Reads the snapshot before the Kafka listeners start, so their partitions can be positioned
+     * at the offsets saved with it.
+     */
+    @PostConstruct
+    public void readSnapshot() {
+        if (snapshotPath == null || !Files.isRegularFile(snapshotPath)) {
+            return;
+        }
+        long started = System.nanoTime();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotPath)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                throw new IOException("Not a menu search snapshot");
+            }
+            long savedAt = in.readLong();
+            Map<Integer, Long> offsets = new HashMap<>();
+            for (int partitions = in.readInt(); partitions > 0; partitions--) {
+                offsets.put(in.readInt(), in.readLong());
+            }
+            MenuTextIndex loaded = MenuTextIndex.readFrom(in);
+            long age = System.currentTimeMillis() - savedAt;
+            synchronized (this) {
+                index = loaded;
+                if (age <= maxCatchUpAgeMillis) {
+                    snapshotOffsets = offsets;
+                    appliedOffsets = offsets;
+                }
+            }
+            log.info("Loaded {} menu items into the search index from {} in {} ms",
+                    loaded.size(), snapshotPath, (System.nanoTime() - started) / 1_000_000);
+            if (age > maxCatchUpAgeMillis) {
+                log.info("Menu search snapshot is {} minutes old, too old to catch up from; rebuilding", age / 60_000);
+            }
+        } catch (IOException e) {
+            log.warn("Could not read menu search snapshot {}; rebuilding from the database", snapshotPath, e);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        boolean serving;
+        synchronized (this) {
+            if (snapshotOffsets != null) {
+                return;
+            }
+            serving = index.size() > 0;
+        }
+        if (serving) {
+            rebuildInBackground();
+        } else {
+            rebuild();
+        }
+    }
+
+    /**
+     * Where the listener should start reading a partition: where it already got to, or the offset
+     * saved with the snapshot, or its beginning if the snapshot predates the partition. Empty means
+     * its end, when the index is being rebuilt from the database anyway.
+     */
+    public synchronized OptionalLong resumeOffset(int partition) {
+        Long consumed = consumedOffsets.get(partition);
+        if (consumed != null) {
+            return OptionalLong.of(consumed);
+        }
+        if (snapshotOffsets != null) {
+            return OptionalLong.of(snapshotOffsets.getOrDefault(partition, 0L));
+        }
+        return OptionalLong.empty();
+    }
+
+    /**
+     * Called by the listener once its partitions are positioned. A rebuild that read the database
+     * before this could have missed writes published in between, so it is run again.
+     */
+    public void positioned(Map<Integer, Long> positions) {
+        boolean rebuild;
+        synchronized (this) {
+            positions.forEach(consumedOffsets::putIfAbsent);
+            positioned = true;
+            rebuild = rebuildOncePositioned;
+            rebuildOncePositioned = false;
+        }
+        if (rebuild) {
+            rebuildInBackground();
+        }
+    }
+
+    /**
+     * A menu item was written through some replica; {@code menuItemId} is null for a record that
+     * could not be read, which only moves the offset along.
+     */
+    public synchronized void changed(int partition, long offset, Long menuItemId) {
+        if (menuItemId != null) {
+            changedIds.add(menuItemId);
+        }
+        consumedOffsets.put(partition, offset + 1);
+    }
+
+    /**
+     * Reloads the menu items changed since the last run and puts them into the index, or removes
+     * them if they are gone. On failure they stay marked and are retried on the next run.
+     */
+    @Scheduled(fixedDelayString = "${restaurant.search.index.sync-ms:1000}")
+    public void syncChanges() {
+        synchronized (rebuildLock) {
+            Set<Long> ids;
+            Map<Integer, Long> offsets;
+            synchronized (this) {
+                ids = changedIds;
+                changedIds = new HashSet<>();
+                offsets = Map.copyOf(consumedOffsets);
+            }
+            if (ids.isEmpty()) {
+                markApplied(offsets);
+                return;
+            }
+            try {
+                List<Long> idList = new ArrayList<>(ids);
+                Map<Long, MenuItemResponse> found = new HashMap<>();
+                for (int from = 0; from < idList.size(); from += RELOAD_CHUNK_SIZE) {
+                    menuItemRepository.findAllForSearchByIds(idList.subList(from, Math.min(from + RELOAD_CHUNK_SIZE, idList.size())))
+                            .forEach(item -> found.put(item.id(), item));
+                }
+                apply(index -> ids.forEach(id -> {
+                    MenuItemResponse item = found.get(id);
+                    if (item != null) {
+                        index.put(item);
+                    } else {
+                        index.remove(id);
+                    }
+                }));
+                markApplied(offsets);
+                log.debug("Applied {} menu item changes to the search index", ids.size());
+            } catch (RuntimeException e) {
+                log.error("Failed to apply {} menu item changes to the search index; retrying", ids.size(), e);
+                synchronized (this) {
+                    changedIds.addAll(ids);
+                }
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${restaurant.search.index.snapshot-ms:300000}",
+            initialDelayString = "${restaurant.search.index.snapshot-ms:300000}")
+    @PreDestroy
+    public void saveSnapshot() {
+        if (snapshotPath == null) {
+            return;
+        }
+        Map<Integer, Long> offsets;
+        synchronized (this) {
+            offsets = appliedOffsets;
+        }
+        try {
+            Path parent = snapshotPath.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temporary = Files.createTempFile(parent, snapshotPath.getFileName().toString(), ".tmp");
+            try {
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                    out.writeInt(SNAPSHOT_MAGIC);
+                    out.writeLong(System.currentTimeMillis());
+                    out.writeInt(offsets.size());
+                    for (Map.Entry<Integer, Long> offset : offsets.entrySet()) {
+                        out.writeInt(offset.getKey());
+                        out.writeLong(offset.getValue());
+                    }
+                    // Changes applied while this is written may be in it too; replaying them is harmless.
+                    index.writeTo(out);
+                }
+                Files.move(temporary, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+        } catch (IOException e) {
+            log.warn("Could not write menu search snapshot {}", snapshotPath, e);
+        }
+    }
+
+    private void rebuild() {
+        synchronized (rebuildLock) {
+            Map<Integer, Long> offsets;
+            boolean wasPositioned;
+            synchronized (this) {
+                writesDuringRebuild = new ArrayList<>();
+                offsets = Map.copyOf(consumedOffsets);
+                wasPositioned = positioned;
+            }
+            try {
+                List<MenuItemResponse> menuItems = transactionTemplate.execute(status -> {
+                    try (Stream<MenuItemResponse> items = menuItemRepository.streamAllForSearch()) {
+                        return items.collect(Collectors.toList());
+                    }
+                });
+                MenuTextIndex fresh = MenuTextIndex.of(menuItems);
+                boolean rebuildAgain = false;
+                synchronized (this) {
+                    writesDuringRebuild.forEach(write -> write.accept(fresh));
+                    index = fresh;
+                    appliedOffsets = offsets;
+                    if (!wasPositioned) {
+                        rebuildAgain = positioned;
+                        rebuildOncePositioned = !positioned;
+                    }
+                }
+                log.info("Rebuilt menu search index with {} items", fresh.size());
+                if (rebuildAgain) {
+                    rebuildInBackground();
+                }
+            } catch (RuntimeException e) {
+                log.error("Failed to rebuild menu search index; keeping the previous one", e);
+                return;
+            } finally {
+                synchronized (this) {
+                    writesDuringRebuild = null;
+                }
+            }
+            saveSnapshot();
+        }
+    }
+
+    /**
+     * Partitions not assigned yet keep the offsets they had.
+     */
+    private synchronized void markApplied(Map<Integer, Long> offsets) {
+        Map<Integer, Long> applied = new HashMap<>(appliedOffsets);
+        applied.putAll(offsets);
+        appliedOffsets = applied;
+    }
+
+    private void rebuildInBackground() {
+        Thread rebuild = new Thread(this::rebuild, "menu-search-rebuild");
+        rebuild.setDaemon(true);
+        rebuild.start();
+    }
+
+    private void afterCommit(Consumer<MenuTextIndex> write) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(write);
+                }
+            });
+        } else {
+            apply(write);
+        }
+    }
+
+    private synchronized void apply(Consumer<MenuTextIndex> write) {
+        write.accept(index);
+        if (writesDuringRebuild != null) {
+            writesDuringRebuild.add(write);
+        }
+    }
+}
@@ -0,0 +1,609 @@
+package com.moadams.restaurantservice.service.search;
+
+import com.moadams.restaurantservice.dto.MenuItemResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+/**
+ * Inverted index over menu item names and descriptions, ranked with BM25. Name terms count
+ * {@link #NAME_WEIGHT} times as much as description terms. Every query term of two or more
+ * characters also matches the indexed terms it is a prefix of ("ram" finds "ramen"), at
+ * {@link #PREFIX_WEIGHT} of the score of an exact match; a document scores the best of its
+ * matches per query term, summed over the query terms.
+ * <p>
+ * Postings are id-sorted arrays that are replaced, never mutated, so searches run lock-free while
+ * writes are serialized. A search walks the matching postings side by side, one document at a time,
+ * keeping only the best {@code offset + limit} in a heap. {@link #writeTo} stores the whole index,
+ * postings included, in a compact binary form (varints, delta-encoded ids, front-coded terms,
+ * CRC-checked) that {@link #readFrom} loads without re-tokenizing anything.
+ */
+public class MenuTextIndex {
+
+    static final double K1 = 1.2;
+    static final double B = 0.75;
+    static final int NAME_WEIGHT = 3;
+    static final double PREFIX_WEIGHT = 0.6;
+    static final int MAX_PREFIX_EXPANSIONS = 64;
+    static final int MAX_QUERY_TERMS = 16;
+
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MAGIC = 0x4D535831; // "MSX1"
+    private static final int FORMAT_VERSION = 1;
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "the", "of", "with", "in", "on", "or", "for", "to");
+
+    public record Hit(MenuItemResponse item, double score) {
+    }
+
+    public record Result(List<Hit> hits, int totalMatches) {
+    }
+
+    private record Document(MenuItemResponse item, int length) {
+    }
+
+    private record Scored(long id, double score) {
+
+        static final Comparator<Scored> WORST_FIRST = Comparator.comparingDouble(Scored::score)
+                .thenComparing(Comparator.comparingLong(Scored::id).reversed());
+    }
+
+    /**
+     * The documents containing a term, by ascending id, with the term's weighted frequency and the
+     * document's length alongside so scoring never has to look the document up.
+     */
+    private record Postings(long[] ids, int[] frequencies, int[] lengths) {
+
+        static final Postings EMPTY = new Postings(new long[0], new int[0], new int[0]);
+
+        int indexOf(long id) {
+            return Arrays.binarySearch(ids, id);
+        }
+
+        Postings with(long id, int frequency, int length) {
+            int insertAt = -indexOf(id) - 1;
+            int n = ids.length;
+            long[] newIds = new long[n + 1];
+            int[] newFrequencies = new int[n + 1];
+            int[] newLengths = new int[n + 1];
+            System.arraycopy(ids, 0, newIds, 0, insertAt);
+            System.arraycopy(ids, insertAt, newIds, insertAt + 1, n - insertAt);
+            System.arraycopy(frequencies, 0, newFrequencies, 0, insertAt);
+            System.arraycopy(frequencies, insertAt, newFrequencies, insertAt + 1, n - insertAt);
+            System.arraycopy(lengths, 0, newLengths, 0, insertAt);
+            System.arraycopy(lengths, insertAt, newLengths, insertAt + 1, n - insertAt);
+            newIds[insertAt] = id;
+            newFrequencies[insertAt] = frequency;
+            newLengths[insertAt] = length;
+            return new Postings(newIds, newFrequencies, newLengths);
+        }
+
+        Postings without(int index) {
+            int n = ids.length - 1;
+            long[] newIds = new long[n];
+            int[] newFrequencies = new int[n];
+            int[] newLengths = new int[n];
+            System.arraycopy(ids, 0, newIds, 0, index);
+            System.arraycopy(ids, index + 1, newIds, index, n - index);
+            System.arraycopy(frequencies, 0, newFrequencies, 0, index);
+            System.arraycopy(frequencies, index + 1, newFrequencies, index, n - index);
+            System.arraycopy(lengths, 0, newLengths, 0, index);
+            System.arraycopy(lengths, index + 1, newLengths, index, n - index);
+            return new Postings(newIds, newFrequencies, newLengths);
+        }
+    }
+
+    private final ConcurrentNavigableMap<String, Postings> terms;
+    private final ConcurrentMap<Long, Document> documents;
+    private volatile long totalLength;
+
+    public MenuTextIndex() {
+        this(new ConcurrentSkipListMap<>(), new ConcurrentHashMap<>(), 0);
+    }
+
+    private MenuTextIndex(ConcurrentNavigableMap<String, Postings> terms, ConcurrentMap<Long, Document> documents,
+                          long totalLength) {
+        this.terms = terms;
+        this.documents = documents;
+        this.totalLength = totalLength;
+    }
+
+    /**
+     * Builds an index in one pass, without the per-write copying of {@link #put}; for full loads.
+     */
+    public static MenuTextIndex of(Iterable<MenuItemResponse> items) {
+        TreeMap<Long, MenuItemResponse> byId = new TreeMap<>();
+        items.forEach(item -> byId.put(item.id(), item));
+
+        Map<String, PostingsBuilder> postings = new HashMap<>();
+        ConcurrentMap<Long, Document> documents = new ConcurrentHashMap<>(byId.size() * 4 / 3 + 1);
+        long totalLength = 0;
+        for (MenuItemResponse item : byId.values()) {
+            Map<String, Integer> frequencies = termFrequencies(item);
+            int length = lengthOf(frequencies);
+            frequencies.forEach((term, frequency) ->
+                    postings.computeIfAbsent(term, t -> new PostingsBuilder()).add(item.id(), frequency, length));
+            documents.put(item.id(), new Document(item, length));
+            totalLength += length;
+        }
+
+        ConcurrentNavigableMap<String, Postings> terms = new ConcurrentSkipListMap<>();
+        postings.forEach((term, builder) -> terms.put(term, builder.build()));
+        return new MenuTextIndex(terms, documents, totalLength);
+    }
+
+    /**
+     * Indexes the item, replacing whatever was indexed under its id before.
+     */
+    public synchronized void put(MenuItemResponse item) {
+        remove(item.id());
+        Map<String, Integer> frequencies = termFrequencies(item);
+        int length = lengthOf(frequencies);
+        frequencies.forEach((term, frequency) ->
+                terms.put(term, terms.getOrDefault(term, Postings.EMPTY).with(item.id(), frequency, length)));
+        documents.put(item.id(), new Document(item, length));
+        totalLength += length;
+    }
+
+    public synchronized boolean remove(long id) {
+        Document document = documents.remove(id);
+        if (document == null) {
+            return false;
+        }
+        for (String term : termFrequencies(document.item()).keySet()) {
+            Postings postings = terms.get(term);
+            if (postings.ids().length == 1) {
+                terms.remove(term);
+            } else {
+                terms.put(term, postings.without(postings.indexOf(id)));
+            }
+        }
+        totalLength -= document.length();
+        return true;
+    }
+
+    /**
+     * Drops every item of the restaurant; returns how many there were.
+     */
+    public synchronized int removeRestaurant(long restaurantId) {
+        List<Long> ids = documents.values().stream()
+                .map(Document::item)
+                .filter(item -> item.restaurantId() != null && item.restaurantId() == restaurantId)
+                .map(MenuItemResponse::id)
+                .toList();
+        ids.forEach(this::remove);
+        return ids.size();
+    }
+
+    /**
+     * Changes the availability shown for an indexed item; its terms are unaffected, so nothing is
+     * re-tokenized. Returns whether the item is indexed.
+     */
+    public synchronized boolean setAvailable(long id, boolean available) {
+        Document document = documents.get(id);
+        if (document == null) {
+            return false;
+        }
+        MenuItemResponse item = document.item();
+        documents.put(id, new Document(new MenuItemResponse(item.id(), item.name(), item.description(),
+                item.price(), available, item.restaurantId()), document.length()));
+        return true;
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    int termCount() {
+        return terms.size();
+    }
+
+    /**
+     * Items matching any term of {@code query}, best first (ties by id), skipping {@code offset}
+     * and returning at most {@code limit}, with the total number of matching items.
+     */
+    public Result search(String query, int offset, int limit) {
+        List<String> queryTerms = tokenize(query).stream().distinct().limit(MAX_QUERY_TERMS).toList();
+        int documentCount = documents.size();
+        if (queryTerms.isEmpty() || limit <= 0 || offset < 0 || documentCount == 0) {
+            return new Result(List.of(), 0);
+        }
+        double averageLength = Math.max(1, (double) totalLength / documentCount);
+
+        PriorityQueue<Cursor> cursors = new PriorityQueue<>(Comparator.comparingLong(Cursor::id));
+        for (int t = 0; t < queryTerms.size(); t++) {
+            String queryTerm = queryTerms.get(t);
+            for (Map.Entry<String, Postings> entry : matchingTerms(queryTerm).entrySet()) {
+                Postings postings = entry.getValue();
+                double idf = Math.log(1 + (documentCount - postings.ids().length + 0.5) / (postings.ids().length + 0.5));
+                double weight = entry.getKey().equals(queryTerm) ? idf : PREFIX_WEIGHT * idf;
+                cursors.add(new Cursor(postings, weight, t));
+            }
+        }
+
+        int wanted = (int) Math.min((long) offset + limit, Integer.MAX_VALUE);
+        PriorityQueue<Scored> top = new PriorityQueue<>(Math.min(wanted, 1024), Scored.WORST_FIRST);
+        double[] best = new double[queryTerms.size()];
+        int matches = 0;
+        while (!cursors.isEmpty()) {
+            long id = cursors.peek().id();
+            Arrays.fill(best, 0);
+            do {
+                Cursor cursor = cursors.poll();
+                best[cursor.queryTerm] = Math.max(best[cursor.queryTerm], cursor.score(averageLength));
+                if (cursor.advance()) {
+                    cursors.add(cursor);
+                }
+            } while (!cursors.isEmpty() && cursors.peek().id() == id);
+
+            double score = 0;
+            for (double termScore : best) {
+                score += termScore;
+            }
+            matches++;
+            if (top.size() < wanted) {
+                top.add(new Scored(id, score));
+            } else if (score > top.peek().score()) {
+                top.poll();
+                top.add(new Scored(id, score));
+            }
+        }
+
+        List<Scored> ranked = new ArrayList<>(top);
+        ranked.sort(Scored.WORST_FIRST.reversed());
+        List<Hit> hits = new ArrayList<>(Math.max(0, ranked.size() - offset));
+        for (int i = offset; i < ranked.size(); i++) {
+            Document document = documents.get(ranked.get(i).id());
+            if (document != null) {
+                hits.add(new Hit(document.item(), ranked.get(i).score()));
+            }
+        }
+        return new Result(hits, matches);
+    }
+
+    /**
+     * Position in one term's postings during a search.
+     */
+    private static final class Cursor {
+        private final long[] ids;
+        private final int[] frequencies;
+        private final int[] lengths;
+        private final double weight;
+        private final int queryTerm;
+        private int position;
+
+        Cursor(Postings postings, double weight, int queryTerm) {
+            this.ids = postings.ids();
+            this.frequencies = postings.frequencies();
+            this.lengths = postings.lengths();
+            this.weight = weight;
+            this.queryTerm = queryTerm;
+        }
+
+        long id() {
+            return ids[position];
+        }
+
+        double score(double averageLength) {
+            double tf = frequencies[position];
+            double norm = K1 * (1 - B + B * lengths[position] / averageLength);
+            return weight * tf * (K1 + 1) / (tf + norm);
+        }
+
+        boolean advance() {
+            return ++position < ids.length;
+        }
+    }
+
+    private Map<String, Postings> matchingTerms(String queryTerm) {
+        if (queryTerm.length() < MIN_PREFIX_LENGTH) {
+            Postings exact = terms.get(queryTerm);
+            return exact == null ? Map.of() : Map.of(queryTerm, exact);
+        }
+        Map<String, Postings> matches = new LinkedHashMap<>();
+        for (Map.Entry<String, Postings> entry : terms.subMap(queryTerm, queryTerm + Character.MAX_VALUE).entrySet()) {
+            if (matches.size() == MAX_PREFIX_EXPANSIONS) {
+                break;
+            }
+            if (entry.getValue().ids().length > 0) {
+                matches.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Lower-cased, accent-stripped runs of letters and digits, without a few English stop words.
+     */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return List.of();
+        }
+        String normalized = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean wordChar = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                String token = normalized.substring(start, i);
+                if (!STOP_WORDS.contains(token)) {
+                    tokens.add(token);
+                }
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static Map<String, Integer> termFrequencies(MenuItemResponse item) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String token : tokenize(item.name())) {
+            frequencies.merge(token, NAME_WEIGHT, Integer::sum);
+        }
+        for (String token : tokenize(item.description())) {
+            frequencies.merge(token, 1, Integer::sum);
+        }
+        return frequencies;
+    }
+
+    private static int lengthOf(Map<String, Integer> frequencies) {
+        int length = 0;
+        for (int frequency : frequencies.values()) {
+            length += frequency;
+        }
+        return length;
+    }
+
+    /**
+     * Writes a consistent snapshot of the index; the stream is flushed but not closed.
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        byte[] snapshot;
+        synchronized (this) {
+            snapshot = encode();
+        }
+        CRC32 crc = new CRC32();
+        crc.update(snapshot);
+        DataOutputStream data = new DataOutputStream(out);
+        data.write(snapshot);
+        data.writeLong(crc.getValue());
+        data.flush();
+    }
+
+    private byte[] encode() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(Math.max(1024, documents.size() * 128));
+        DataOutputStream data = new DataOutputStream(bytes);
+        data.writeInt(MAGIC);
+        data.writeByte(FORMAT_VERSION);
+
+        long[] ids = documents.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+        writeVarLong(data, ids.length);
+        long previousId = 0;
+        for (long id : ids) {
+            Document document = documents.get(id);
+            MenuItemResponse item = document.item();
+            writeVarLong(data, id - previousId);
+            writeVarLong(data, item.restaurantId());
+            writeString(data, item.name());
+            writeString(data, item.description());
+            writeString(data, item.price() == null ? null : item.price().toPlainString());
+            data.writeByte(item.available() == null ? 2 : item.available() ? 1 : 0);
+            writeVarLong(data, document.length());
+            previousId = id;
+        }
+
+        writeVarLong(data, terms.size());
+        String previousTerm = "";
+        for (Map.Entry<String, Postings> entry : terms.entrySet()) {
+            String term = entry.getKey();
+            int shared = sharedPrefixLength(previousTerm, term);
+            writeVarLong(data, shared);
+            writeString(data, term.substring(shared));
+            long[] postingIds = entry.getValue().ids();
+            int[] frequencies = entry.getValue().frequencies();
+            writeVarLong(data, postingIds.length);
+            long previousPostingId = 0;
+            for (int i = 0; i < postingIds.length; i++) {
+                writeVarLong(data, postingIds[i] - previousPostingId);
+                writeVarLong(data, frequencies[i]);
+                previousPostingId = postingIds[i];
+            }
+            previousTerm = term;
+        }
+        data.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Loads an index written by {@link #writeTo}, reading the stream to its end; fails with an
+     * {@link IOException} on any other format version or if the snapshot is truncated or corrupt.
+     */
+    public static MenuTextIndex readFrom(InputStream in) throws IOException {
+        byte[] snapshot = in.readAllBytes();
+        if (snapshot.length < Long.BYTES) {
+            throw new IOException("Menu search index snapshot is truncated");
+        }
+        int contentLength = snapshot.length - Long.BYTES;
+        CRC32 crc = new CRC32();
+        crc.update(snapshot, 0, contentLength);
+        if (ByteBuffer.wrap(snapshot, contentLength, Long.BYTES).getLong() != crc.getValue()) {
+            throw new IOException("Menu search index snapshot failed its checksum");
+        }
+        try {
+            return decode(ByteBuffer.wrap(snapshot, 0, contentLength));
+        } catch (BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IOException("Corrupt menu search index snapshot", e);
+        }
+    }
+
+    private static MenuTextIndex decode(ByteBuffer data) throws IOException {
+        if (data.getInt() != MAGIC) {
+            throw new IOException("Not a menu search index snapshot");
+        }
+        int version = Byte.toUnsignedInt(data.get());
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported menu search index format version " + version);
+        }
+
+        int documentCount = readCount(data);
+        ConcurrentMap<Long, Document> documents = new ConcurrentHashMap<>(documentCount * 4 / 3 + 1);
+        long totalLength = 0;
+        long id = 0;
+        for (int i = 0; i < documentCount; i++) {
+            id += readVarLong(data);
+            long restaurantId = readVarLong(data);
+            String name = readString(data);
+            String description = readString(data);
+            String price = readString(data);
+            int available = Byte.toUnsignedInt(data.get());
+            int length = readCount(data);
+            MenuItemResponse item = new MenuItemResponse(id, name, description,
+                    price == null ? null : new BigDecimal(price),
+                    available == 2 ? null : available == 1,
+                    restaurantId);
+            documents.put(id, new Document(item, length));
+            totalLength += length;
+        }
+
+        int termCount = readCount(data);
+        ConcurrentNavigableMap<String, Postings> terms = new ConcurrentSkipListMap<>();
+        String term = "";
+        for (int i = 0; i < termCount; i++) {
+            int shared = readCount(data);
+            if (shared > term.length()) {
+                throw new IOException("Corrupt menu search index snapshot");
+            }
+            term = term.substring(0, shared) + readString(data);
+            int postingCount = readCount(data);
+            long[] ids = new long[postingCount];
+            int[] frequencies = new int[postingCount];
+            int[] lengths = new int[postingCount];
+            long postingId = 0;
+            for (int j = 0; j < postingCount; j++) {
+                postingId += readVarLong(data);
+                Document document = documents.get(postingId);
+                if (document == null) {
+                    throw new IOException("Corrupt menu search index snapshot");
+                }
+                ids[j] = postingId;
+                frequencies[j] = readCount(data);
+                lengths[j] = document.length();
+            }
+            terms.put(term, new Postings(ids, frequencies, lengths));
+        }
+        return new MenuTextIndex(terms, documents, totalLength);
+    }
+
+    private static final class PostingsBuilder {
+        private long[] ids = new long[4];
+        private int[] frequencies = new int[4];
+        private int[] lengths = new int[4];
+        private int size;
+
+        void add(long id, int frequency, int length) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+                lengths = Arrays.copyOf(lengths, size * 2);
+            }
+            ids[size] = id;
+            frequencies[size] = frequency;
+            lengths[size] = length;
+            size++;
+        }
+
+        Postings build() {
+            return new Postings(Arrays.copyOf(ids, size), Arrays.copyOf(frequencies, size), Arrays.copyOf(lengths, size));
+        }
+    }
+
+    private static int sharedPrefixLength(String a, String b) {
+        int max = Math.min(a.length(), b.length());
+        int i = 0;
+        while (i < max && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Varint byte length plus one (zero for null), then the UTF-8 bytes.
+     */
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            writeVarLong(out, 0);
+            return;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(out, utf8.length + 1L);
+        out.write(utf8);
+    }
+
+    private static String readString(ByteBuffer in) throws IOException {
+        int length = readCount(in);
+        if (length == 0) {
+            return null;
+        }
+        String value = new String(in.array(), in.arrayOffset() + in.position(), length - 1, StandardCharsets.UTF_8);
+        in.position(in.position() + length - 1);
+        return value;
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(ByteBuffer in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Corrupt menu search index snapshot");
+    }
+
+    private static int readCount(ByteBuffer in) throws IOException {
+        long value = readVarLong(in);
+        if (value < 0 || value > Integer.MAX_VALUE) {
+            throw new IOException("Corrupt menu search index snapshot");
+        }
+        return (int) value;
+    }
+}
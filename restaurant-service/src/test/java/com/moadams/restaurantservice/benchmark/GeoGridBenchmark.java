@@ -0,0 +1,93 @@
+package com.moadams.restaurantservice.benchmark;
+
+import com.moadams.restaurantservice.service.geo.GeoGrid;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Nearby-search latency of {@link GeoGrid} with 100k+ restaurants spread over a metro area
+ * about 110 km across, the density the default 0.01° cells are sized for.
+ * Run {@link #main}, or:
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.moadams.restaurantservice.benchmark.GeoGridBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GeoGridBenchmark {
+
+    private static final double CENTER_LAT = 5.6;
+    private static final double CENTER_LNG = -0.2;
+    private static final double SPREAD_DEGREES = 1.0;
+
+    @Param({"100000", "250000"})
+    private int restaurants;
+
+    @Param({"0.01"})
+    private double cellDegrees;
+
+    private GeoGrid<String> grid;
+    private double[][] queries;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(46);
+        grid = new GeoGrid<>(cellDegrees);
+        for (int i = 0; i < restaurants; i++) {
+            grid.put(i, around(random, CENTER_LAT), around(random, CENTER_LNG), "restaurant-" + i);
+        }
+        queries = new double[4096][];
+        for (int i = 0; i < queries.length; i++) {
+            queries[i] = new double[]{around(random, CENTER_LAT), around(random, CENTER_LNG)};
+        }
+    }
+
+    @Benchmark
+    public List<GeoGrid.Hit<String>> withinTwoKilometers() {
+        double[] query = nextQuery();
+        return grid.withinRadius(query[0], query[1], 2_000, 20);
+    }
+
+    @Benchmark
+    public List<GeoGrid.Hit<String>> nearestTen() {
+        double[] query = nextQuery();
+        return grid.nearest(query[0], query[1], 10, 50_000);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(GeoGridBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+
+    private double[] nextQuery() {
+        double[] query = queries[next];
+        next = (next + 1) & (queries.length - 1);
+        return query;
+    }
+
+    private static double around(SplittableRandom random, double center) {
+        return center + (random.nextDouble() - 0.5) * SPREAD_DEGREES;
+    }
+}
@@ -30,5 +30,6 @@ public abstract class BaseIntegrationTest {
         registry.add("spring.kafka.bootstrap-servers", kafka::getBootstrapServers);
         registry.add("spring.kafka.consumer.bootstrap-servers", kafka::getBootstrapServers);
         registry.add("spring.kafka.producer.bootstrap-servers", kafka::getBootstrapServers);
+        registry.add("restaurant.search.index.snapshot-path", () -> "");
     }
 }
\ No newline at end of file
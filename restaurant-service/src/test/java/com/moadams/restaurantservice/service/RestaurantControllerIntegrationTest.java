@@ -55,7 +55,9 @@ public class RestaurantControllerIntegrationTest extends BaseIntegrationTest {
         RestaurantRequest request = new RestaurantRequest(
                 "Test Restaurant",
                 "123 Test Street",
-                "+1234567890"
+                "+1234567890",
+                null,
+                null
         );
 
         HttpHeaders headers = createAuthHeaders("owner@test.com", "ROLE_RESTAURANT_OWNER");
@@ -84,7 +86,9 @@ public class RestaurantControllerIntegrationTest extends BaseIntegrationTest {
         RestaurantRequest request = new RestaurantRequest(
                 "",
                 "123 Test Street",
-                "invalid-phone"
+                "invalid-phone",
+                null,
+                null
         );
 
         HttpHeaders headers = createAuthHeaders("owner@test.com", "ROLE_RESTAURANT_OWNER");
@@ -106,7 +110,9 @@ public class RestaurantControllerIntegrationTest extends BaseIntegrationTest {
         RestaurantRequest request = new RestaurantRequest(
                 "Test Restaurant",
                 "123 Test Street",
-                "+1234567890"
+                "+1234567890",
+                null,
+                null
         );
 
         HttpEntity<RestaurantRequest> entity = new HttpEntity<>(request);
@@ -126,7 +132,9 @@ public class RestaurantControllerIntegrationTest extends BaseIntegrationTest {
         RestaurantRequest request = new RestaurantRequest(
                 "Test Restaurant",
                 "123 Test Street",
-                "+1234567890"
+                "+1234567890",
+                null,
+                null
         );
 
         HttpHeaders headers = createAuthHeaders("customer@test.com", "ROLE_CUSTOMER");
@@ -273,7 +281,9 @@ public class RestaurantControllerIntegrationTest extends BaseIntegrationTest {
         RestaurantRequest updateRequest = new RestaurantRequest(
                 "Updated Name",
                 "Updated Address",
-                "+0987654321"
+                "+0987654321",
+                null,
+                null
         );
 
         HttpHeaders headers = createAuthHeaders("owner@test.com", "ROLE_RESTAURANT_OWNER");
@@ -310,7 +320,9 @@ public class RestaurantControllerIntegrationTest extends BaseIntegrationTest {
         RestaurantRequest updateRequest = new RestaurantRequest(
                 "Updated Name",
                 "Updated Address",
-                "+0987654321"
+                "+0987654321",
+                null,
+                null
         );
 
         HttpHeaders headers = createAuthHeaders("different@test.com", "ROLE_RESTAURANT_OWNER");
@@ -396,7 +408,9 @@ public class RestaurantControllerIntegrationTest extends BaseIntegrationTest {
         RestaurantRequest updateRequest = new RestaurantRequest(
                 "Admin Updated",
                 "Admin Updated Address",
-                "+0987654321"
+                "+0987654321",
+                null,
+                null
         );
 
         HttpHeaders headers = createAuthHeaders("admin@test.com", "ROLE_ADMIN");
@@ -0,0 +1,76 @@
+package com.moadams.restaurantservice.service;
+
+import com.moadams.restaurantservice.dto.RestaurantDirectoryPage;
+import com.moadams.restaurantservice.dto.RestaurantResponse;
+import com.moadams.restaurantservice.model.Restaurant;
+import com.moadams.restaurantservice.repository.MenuItemRepository;
+import com.moadams.restaurantservice.repository.RestaurantRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Prefix filtering and paging of the directory against PostgreSQL, whose default collation is
+ * linguistic and orders keys such as "pi{" and "pizza" differently from code point order.
+ */
+public class RestaurantDirectoryIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private RestaurantService restaurantService;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @BeforeEach
+    void setUp() {
+        menuItemRepository.deleteAll();
+        restaurantRepository.deleteAll();
+        for (String name : List.of("Pizza Palace", "Pizzeria Uno", "Pi Bar", "Pier 39", "Pi-Shop", "Plaza Grill",
+                "Pita House", "pi{curly}", "Ramen Bar")) {
+            restaurantRepository.save(Restaurant.builder()
+                    .name(name)
+                    .address("1 Test Street")
+                    .phone("+1234567890")
+                    .ownerEmail("owner@example.com")
+                    .build());
+        }
+    }
+
+    @Test
+    void getRestaurantDirectory_Prefix_ReturnsExactlyMatchingNames() {
+        assertThat(names(restaurantService.getRestaurantDirectory("piz", null, 50)))
+                .containsExactly("Pizza Palace", "Pizzeria Uno");
+        assertThat(names(restaurantService.getRestaurantDirectory("PI ", null, 50)))
+                .containsExactlyInAnyOrder("Pi Bar", "Pi-Shop", "Pier 39", "Pita House", "pi{curly}",
+                        "Pizza Palace", "Pizzeria Uno");
+        assertThat(names(restaurantService.getRestaurantDirectory("pi{", null, 50)))
+                .containsExactly("pi{curly}");
+    }
+
+    @Test
+    void getRestaurantDirectory_PagedPrefix_VisitsEveryMatchOnce() {
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            RestaurantDirectoryPage page = restaurantService.getRestaurantDirectory("pi", cursor, 2);
+            seen.addAll(names(page));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertThat(seen).containsExactlyInAnyOrder("Pi Bar", "Pi-Shop", "Pier 39", "Pita House", "pi{curly}",
+                "Pizza Palace", "Pizzeria Uno");
+        assertThat(seen).isSortedAccordingTo((a, b) -> Restaurant.nameKeyOf(a).compareTo(Restaurant.nameKeyOf(b)));
+    }
+
+    private static List<String> names(RestaurantDirectoryPage page) {
+        return page.restaurants().stream().map(RestaurantResponse::name).toList();
+    }
+}
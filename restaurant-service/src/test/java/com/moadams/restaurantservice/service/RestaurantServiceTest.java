@@ -2,14 +2,26 @@ package com.moadams.restaurantservice.service;
 
 import com.moadams.restaurantservice.dto.MenuItemRequest;
 import com.moadams.restaurantservice.dto.MenuItemResponse;
+import com.moadams.restaurantservice.dto.MenuItemSearchResult;
+import com.moadams.restaurantservice.dto.MenuSearchPage;
+import com.moadams.restaurantservice.dto.NearbyRestaurantResponse;
+import com.moadams.restaurantservice.dto.RestaurantDirectoryPage;
 import com.moadams.restaurantservice.dto.RestaurantRequest;
 import com.moadams.restaurantservice.dto.RestaurantResponse;
+import com.moadams.restaurantservice.exception.InvalidRequestException;
 import com.moadams.restaurantservice.exception.ResourceNotFoundException;
 import com.moadams.restaurantservice.exception.UnauthorizedAccessException;
 import com.moadams.restaurantservice.model.MenuItem;
 import com.moadams.restaurantservice.model.Restaurant;
 import com.moadams.restaurantservice.repository.MenuItemRepository;
 import com.moadams.restaurantservice.repository.RestaurantRepository;
+import com.moadams.restaurantservice.service.availability.MenuAvailabilityService;
+import com.moadams.restaurantservice.service.cache.MenuCache;
+import com.moadams.restaurantservice.service.cache.OwnershipCache;
+import com.moadams.restaurantservice.service.geo.GeoGrid;
+import com.moadams.restaurantservice.service.geo.RestaurantGeoIndex;
+import com.moadams.restaurantservice.service.search.MenuSearchIndex;
+import com.moadams.restaurantservice.service.search.MenuTextIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -17,6 +29,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -29,6 +42,7 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -40,6 +54,21 @@ class RestaurantServiceTest {
     @Mock
     private MenuItemRepository menuItemRepository;
 
+    @Mock
+    private MenuCache menuCache;
+
+    @Mock
+    private OwnershipCache ownershipCache;
+
+    @Mock
+    private RestaurantGeoIndex geoIndex;
+
+    @Mock
+    private MenuSearchIndex menuSearchIndex;
+
+    @Mock
+    private MenuAvailabilityService menuAvailabilityService;
+
     @Mock
     private SecurityContext securityContext;
 
@@ -69,7 +98,7 @@ class RestaurantServiceTest {
 
     @Test
     void createRestaurant_Success() {
-        RestaurantRequest restaurantRequest = new RestaurantRequest("Pizza Palace", "Ahodwo Las Vegas", "0544999990");
+        RestaurantRequest restaurantRequest = new RestaurantRequest("Pizza Palace", "Ahodwo Las Vegas", "0544999990", null, null);
         Restaurant savedRestaurant = createTestRestaurant(1L, TEST_USER_EMAIL);
 
         try (MockedStatic<SecurityContextHolder> mockedStatic = mockStatic(SecurityContextHolder.class)) {
@@ -86,12 +115,13 @@ class RestaurantServiceTest {
             assertEquals("0544999990", restaurantResponse.phone());
             assertEquals(TEST_USER_EMAIL, restaurantResponse.ownerEmail());
             verify(restaurantRepository).save(any(Restaurant.class));
+            verify(geoIndex).upsert(restaurantResponse);
         }
     }
 
     @Test
     void createRestaurant_UnauthenticatedUser_ThrowsException() {
-        RestaurantRequest restaurantRequest = new RestaurantRequest("Pizza Palace", "Ahodwo Las Vegas", "0544999990");
+        RestaurantRequest restaurantRequest = new RestaurantRequest("Pizza Palace", "Ahodwo Las Vegas", "0544999990", null, null);
 
         try (MockedStatic<SecurityContextHolder> mockedStatic = mockStatic(SecurityContextHolder.class)) {
             mockedStatic.when(SecurityContextHolder::getContext).thenReturn(securityContext);
@@ -104,17 +134,89 @@ class RestaurantServiceTest {
     }
 
     @Test
-    void getAllRestaurants_Success() {
-        List<Restaurant> restaurants = Arrays.asList(
-                createTestRestaurant(1L, TEST_USER_EMAIL),
-                createTestRestaurant(2L, OTHER_USER_EMAIL)
+    void getRestaurantDirectory_FirstPage_ReturnsCursorWhenPageIsFull() {
+        List<RestaurantResponse> page = Arrays.asList(
+                new RestaurantResponse(1L, "Pizza Palace", "Ahodwo Las Vegas", "0544999990", TEST_USER_EMAIL, null, null),
+                new RestaurantResponse(2L, "Pizzaman Chickenman", "Amakom", "0200001982", OTHER_USER_EMAIL, null, null)
         );
-        when(restaurantRepository.findAll()).thenReturn(restaurants);
-        List<RestaurantResponse> restaurantResponses = restaurantService.getAllRestaurants();
+        when(restaurantRepository.findDirectoryPageInRange("piz", "pi{", "", 0L, Limit.of(2))).thenReturn(page);
+
+        RestaurantDirectoryPage directory = restaurantService.getRestaurantDirectory(" Piz", null, 2);
+
+        assertEquals(2, directory.restaurants().size());
+        assertNotNull(directory.nextCursor());
+
+        when(restaurantRepository.findDirectoryPageInRange("piz", "pi{", "pizzaman chickenman", 2L, Limit.of(2))).thenReturn(List.of());
+
+        RestaurantDirectoryPage next = restaurantService.getRestaurantDirectory("Piz", directory.nextCursor(), 2);
+
+        assertTrue(next.restaurants().isEmpty());
+        assertNull(next.nextCursor());
+    }
+
+    @Test
+    void getRestaurantDirectory_ClampsLimitAndTakesPrefixLiterally() {
+        when(restaurantRepository.findDirectoryPageInRange(anyString(), anyString(), anyString(), anyLong(), any(Limit.class))).thenReturn(List.of());
+
+        restaurantService.getRestaurantDirectory("50%_off!", null, 10_000);
 
-        assertNotNull(restaurantResponses);
-        assertEquals(2, restaurantResponses.size());
-        verify(restaurantRepository).findAll();
+        verify(restaurantRepository).findDirectoryPageInRange("50%_off!", "50%_off\"", "", 0L, Limit.of(RestaurantService.MAX_DIRECTORY_PAGE_SIZE));
+        verify(restaurantRepository, never()).findAll();
+    }
+
+    @Test
+    void getRestaurantDirectory_NoPrefix_PagesWholeDirectory() {
+        when(restaurantRepository.findDirectoryPage(anyString(), anyLong(), any(Limit.class))).thenReturn(List.of());
+
+        restaurantService.getRestaurantDirectory(" ", null, 50);
+
+        verify(restaurantRepository).findDirectoryPage("", 0L, Limit.of(50));
+        verify(restaurantRepository, never()).findDirectoryPageInRange(anyString(), anyString(), anyString(), anyLong(), any(Limit.class));
+    }
+
+    @Test
+    void getRestaurantDirectory_InvalidCursor_ThrowsException() {
+        assertThrows(InvalidRequestException.class, () ->
+                restaurantService.getRestaurantDirectory(null, "!!!", 50));
+        verifyNoInteractions(restaurantRepository);
+    }
+
+    @Test
+    void createRestaurant_WithOnlyLatitude_ThrowsException() {
+        RestaurantRequest restaurantRequest = new RestaurantRequest("Pizza Palace", "Ahodwo Las Vegas", "0544999990", 6.69, null);
+
+        try (MockedStatic<SecurityContextHolder> mockedStatic = mockStatic(SecurityContextHolder.class)) {
+            mockedStatic.when(SecurityContextHolder::getContext).thenReturn(securityContext);
+            setupAuthenticatedUser(TEST_USER_EMAIL);
+
+            assertThrows(InvalidRequestException.class, () ->
+                    restaurantService.createRestaurant(restaurantRequest));
+            verify(restaurantRepository, never()).save(any(Restaurant.class));
+        }
+    }
+
+    @Test
+    void findNearbyRestaurants_UsesRadiusOrNearestQuery() {
+        RestaurantResponse restaurant = new RestaurantResponse(1L, "Pizza Palace", "Ahodwo Las Vegas", "0544999990",
+                TEST_USER_EMAIL, 6.69, -1.62);
+        when(geoIndex.withinRadius(6.7, -1.6, 5_000, 20)).thenReturn(List.of(new GeoGrid.Hit<>(1L, restaurant, 2_600)));
+        when(geoIndex.nearest(6.7, -1.6, RestaurantService.MAX_NEARBY_RESULTS, RestaurantService.MAX_NEARBY_RADIUS_METERS))
+                .thenReturn(List.of());
+
+        List<NearbyRestaurantResponse> withinRadius = restaurantService.findNearbyRestaurants(6.7, -1.6, 5_000.0, 20);
+        List<NearbyRestaurantResponse> nearest = restaurantService.findNearbyRestaurants(6.7, -1.6, null, 1_000);
+
+        assertEquals(List.of(new NearbyRestaurantResponse(restaurant, 2_600)), withinRadius);
+        assertTrue(nearest.isEmpty());
+        verifyNoInteractions(restaurantRepository);
+    }
+
+    @Test
+    void findNearbyRestaurants_InvalidArguments_ThrowsException() {
+        assertThrows(InvalidRequestException.class, () -> restaurantService.findNearbyRestaurants(91, 0, null, 10));
+        assertThrows(InvalidRequestException.class, () -> restaurantService.findNearbyRestaurants(0, Double.NaN, null, 10));
+        assertThrows(InvalidRequestException.class, () -> restaurantService.findNearbyRestaurants(0, 0, 100_000.0, 10));
+        verifyNoInteractions(geoIndex);
     }
 
     @Test
@@ -144,7 +246,7 @@ class RestaurantServiceTest {
 
     @Test
     void updateRestaurant_Success() {
-        RestaurantRequest request = new RestaurantRequest("Pizzaman Chickenman", "Amakom", "0200001982");
+        RestaurantRequest request = new RestaurantRequest("Pizzaman Chickenman", "Amakom", "0200001982", null, null);
         Restaurant existingRestaurant = createTestRestaurant(1L, TEST_USER_EMAIL);
         Restaurant updatedRestaurant = createTestRestaurant(1L, TEST_USER_EMAIL);
         updatedRestaurant.setName("Pizzaman Chickenman");
@@ -164,12 +266,13 @@ class RestaurantServiceTest {
             assertEquals("Amakom", response.address());
             assertEquals("0200001982", response.phone());
             verify(restaurantRepository).save(any(Restaurant.class));
+            verify(ownershipCache).invalidate(1L);
         }
     }
 
     @Test
     void updateRestaurant_UnauthorizedUser_ThrowsException() {
-        RestaurantRequest request = new RestaurantRequest("Pizzaman Chickenman", "Amakom", "0200001982");
+        RestaurantRequest request = new RestaurantRequest("Pizzaman Chickenman", "Amakom", "0200001982", null, null);
         Restaurant existingRestaurant = createTestRestaurant(1L, OTHER_USER_EMAIL);
 
         try (MockedStatic<SecurityContextHolder> mockedStatic = mockStatic(SecurityContextHolder.class)) {
@@ -192,10 +295,15 @@ class RestaurantServiceTest {
             mockedStatic.when(SecurityContextHolder::getContext).thenReturn(securityContext);
             setupAuthenticatedUser(TEST_USER_EMAIL);
             when(restaurantRepository.findById(1L)).thenReturn(Optional.of(restaurant));
+            when(menuItemRepository.findIdsByRestaurantId(1L)).thenReturn(List.of(5L, 6L));
 
             restaurantService.deleteRestaurant(1L);
 
             verify(restaurantRepository).delete(restaurant);
+            verify(ownershipCache).invalidate(1L);
+            verify(geoIndex).remove(1L);
+            verify(menuSearchIndex).removeRestaurant(1L);
+            verify(menuAvailabilityService).menuItemsDeleted(1L, List.of(5L, 6L));
         }
     }
 
@@ -211,6 +319,7 @@ class RestaurantServiceTest {
             assertThrows(UnauthorizedAccessException.class, () ->
                     restaurantService.deleteRestaurant(1L));
             verify(restaurantRepository, never()).delete(any(Restaurant.class));
+            verify(ownershipCache, never()).invalidate(anyLong());
         }
     }
 
@@ -239,6 +348,9 @@ class RestaurantServiceTest {
             assertTrue(response.available());
             assertEquals(1L, response.restaurantId());
             verify(menuItemRepository).save(any(MenuItem.class));
+            verify(menuCache).invalidate(1L);
+            verify(menuSearchIndex).upsert(response);
+            verify(menuAvailabilityService).menuItemSaved(response);
         }
     }
 
@@ -282,30 +394,56 @@ class RestaurantServiceTest {
         Restaurant restaurant = createTestRestaurant(1L, TEST_USER_EMAIL);
         MenuItem menuItem = createTestMenuItem(1L, restaurant);
 
-        when(restaurantRepository.findById(1L)).thenReturn(Optional.of(restaurant));
-        when(menuItemRepository.findById(1L)).thenReturn(Optional.of(menuItem));
+        when(menuItemRepository.findByRestaurantIdAndIdWithRestaurant(1L, 1L)).thenReturn(Optional.of(menuItem));
 
         MenuItemResponse response = restaurantService.getMenuItemById(1L, 1L);
 
         assertNotNull(response);
         assertEquals(1L, response.id());
         assertEquals("Chrisbreezy Pizza", response.name());
-        verify(menuItemRepository).findById(1L);
+        verify(menuItemRepository).findByRestaurantIdAndIdWithRestaurant(1L, 1L);
+        verifyNoInteractions(restaurantRepository);
     }
 
     @Test
     void getMenuItemById_MenuItemNotInRestaurant_ThrowsException() {
         Restaurant restaurant1 = createTestRestaurant(1L, TEST_USER_EMAIL);
-        Restaurant restaurant2 = createTestRestaurant(2L, OTHER_USER_EMAIL);
-        MenuItem menuItem = createTestMenuItem(1L, restaurant2);
 
+        when(menuItemRepository.findByRestaurantIdAndIdWithRestaurant(1L, 1L)).thenReturn(Optional.empty());
         when(restaurantRepository.findById(1L)).thenReturn(Optional.of(restaurant1));
-        when(menuItemRepository.findById(1L)).thenReturn(Optional.of(menuItem));
+        when(menuItemRepository.existsById(1L)).thenReturn(true);
 
         assertThrows(ResourceNotFoundException.class, () ->
                 restaurantService.getMenuItemById(1L, 1L));
     }
 
+    @Test
+    void searchMenuItems_ReturnsRankedPageWithNextOffset() {
+        MenuItemResponse ramen = new MenuItemResponse(7L, "Spicy Ramen", "Chili oil", BigDecimal.valueOf(12.5), true, 2L);
+        when(menuSearchIndex.search("spicy ramen", 0, RestaurantService.MAX_SEARCH_PAGE_SIZE))
+                .thenReturn(new MenuTextIndex.Result(List.of(new MenuTextIndex.Hit(ramen, 4.2)), 120));
+        when(menuSearchIndex.search("spicy ramen", 980, 20))
+                .thenReturn(new MenuTextIndex.Result(List.of(), 1_500));
+
+        MenuSearchPage first = restaurantService.searchMenuItems("spicy ramen", 0, 500);
+        MenuSearchPage deepest = restaurantService.searchMenuItems("spicy ramen", 980, 50);
+
+        assertEquals(List.of(new MenuItemSearchResult(ramen, 4.2)), first.results());
+        assertEquals(120, first.totalMatches());
+        assertEquals(RestaurantService.MAX_SEARCH_PAGE_SIZE, first.nextOffset());
+        assertNull(deepest.nextOffset());
+        verifyNoInteractions(menuItemRepository);
+    }
+
+    @Test
+    void searchMenuItems_InvalidArguments_ThrowsException() {
+        assertThrows(InvalidRequestException.class, () -> restaurantService.searchMenuItems(" ", 0, 10));
+        assertThrows(InvalidRequestException.class, () -> restaurantService.searchMenuItems("rice", -1, 10));
+        assertThrows(InvalidRequestException.class,
+                () -> restaurantService.searchMenuItems("rice", RestaurantService.MAX_SEARCH_RESULTS, 10));
+        verifyNoInteractions(menuSearchIndex);
+    }
+
     @Test
     void updateMenuItem_Success() {
         MenuItemRequest request = new MenuItemRequest("Updated Pizza", "Updated description",
@@ -321,8 +459,7 @@ class RestaurantServiceTest {
         try (MockedStatic<SecurityContextHolder> mockedStatic = mockStatic(SecurityContextHolder.class)) {
             mockedStatic.when(SecurityContextHolder::getContext).thenReturn(securityContext);
             setupAuthenticatedUser(TEST_USER_EMAIL);
-            when(restaurantRepository.findById(1L)).thenReturn(Optional.of(restaurant));
-            when(menuItemRepository.findById(1L)).thenReturn(Optional.of(existingMenuItem));
+            when(menuItemRepository.findByRestaurantIdAndIdWithRestaurant(1L, 1L)).thenReturn(Optional.of(existingMenuItem));
             when(menuItemRepository.save(any(MenuItem.class))).thenReturn(updatedMenuItem);
 
             MenuItemResponse response = restaurantService.updateMenuItem(1L, 1L, request);
@@ -333,6 +470,10 @@ class RestaurantServiceTest {
             assertEquals(BigDecimal.valueOf(18.99), response.price());
             assertFalse(response.available());
             verify(menuItemRepository).save(any(MenuItem.class));
+            verify(menuCache).invalidate(1L);
+            verify(menuSearchIndex).upsert(response);
+            verify(menuAvailabilityService).menuItemSaved(response);
+            verifyNoInteractions(restaurantRepository);
         }
     }
 
@@ -341,14 +482,13 @@ class RestaurantServiceTest {
         MenuItemRequest request = new MenuItemRequest("Updated Pizza", "Updated description",
                 BigDecimal.valueOf(18.99), false);
         Restaurant restaurant1 = createTestRestaurant(1L, TEST_USER_EMAIL);
-        Restaurant restaurant2 = createTestRestaurant(2L, OTHER_USER_EMAIL);
-        MenuItem menuItem = createTestMenuItem(1L, restaurant2);
 
         try (MockedStatic<SecurityContextHolder> mockedStatic = mockStatic(SecurityContextHolder.class)) {
             mockedStatic.when(SecurityContextHolder::getContext).thenReturn(securityContext);
             setupAuthenticatedUser(TEST_USER_EMAIL);
+            when(menuItemRepository.findByRestaurantIdAndIdWithRestaurant(1L, 1L)).thenReturn(Optional.empty());
             when(restaurantRepository.findById(1L)).thenReturn(Optional.of(restaurant1));
-            when(menuItemRepository.findById(1L)).thenReturn(Optional.of(menuItem));
+            when(menuItemRepository.existsById(1L)).thenReturn(true);
 
             assertThrows(UnauthorizedAccessException.class, () ->
                     restaurantService.updateMenuItem(1L, 1L, request));
@@ -356,6 +496,25 @@ class RestaurantServiceTest {
         }
     }
 
+    @Test
+    void updateMenuItem_MenuItemMissing_ThrowsNotFound() {
+        MenuItemRequest request = new MenuItemRequest("Updated Pizza", "Updated description",
+                BigDecimal.valueOf(18.99), false);
+        Restaurant restaurant = createTestRestaurant(1L, TEST_USER_EMAIL);
+
+        try (MockedStatic<SecurityContextHolder> mockedStatic = mockStatic(SecurityContextHolder.class)) {
+            mockedStatic.when(SecurityContextHolder::getContext).thenReturn(securityContext);
+            setupAuthenticatedUser(TEST_USER_EMAIL);
+            when(menuItemRepository.findByRestaurantIdAndIdWithRestaurant(1L, 99L)).thenReturn(Optional.empty());
+            when(restaurantRepository.findById(1L)).thenReturn(Optional.of(restaurant));
+            when(menuItemRepository.existsById(99L)).thenReturn(false);
+
+            assertThrows(ResourceNotFoundException.class, () ->
+                    restaurantService.updateMenuItem(1L, 99L, request));
+            verify(menuItemRepository, never()).save(any(MenuItem.class));
+        }
+    }
+
     @Test
     void deleteMenuItem_Success() {
         Restaurant restaurant = createTestRestaurant(1L, TEST_USER_EMAIL);
@@ -364,12 +523,14 @@ class RestaurantServiceTest {
         try (MockedStatic<SecurityContextHolder> mockedStatic = mockStatic(SecurityContextHolder.class)) {
             mockedStatic.when(SecurityContextHolder::getContext).thenReturn(securityContext);
             setupAuthenticatedUser(TEST_USER_EMAIL);
-            when(restaurantRepository.findById(1L)).thenReturn(Optional.of(restaurant));
-            when(menuItemRepository.findById(1L)).thenReturn(Optional.of(menuItem));
+            when(menuItemRepository.findByRestaurantIdAndIdWithRestaurant(1L, 1L)).thenReturn(Optional.of(menuItem));
 
             restaurantService.deleteMenuItem(1L, 1L);
 
             verify(menuItemRepository).delete(menuItem);
+            verify(menuCache).invalidate(1L);
+            verify(menuSearchIndex).remove(1L);
+            verify(menuAvailabilityService).menuItemsDeleted(1L, List.of(1L));
         }
     }
 
@@ -385,6 +546,7 @@ class RestaurantServiceTest {
             assertThrows(UnauthorizedAccessException.class, () ->
                     restaurantService.deleteMenuItem(1L, 1L));
             verify(menuItemRepository, never()).delete(any(MenuItem.class));
+            verify(menuCache, never()).invalidate(anyLong());
         }
     }
 
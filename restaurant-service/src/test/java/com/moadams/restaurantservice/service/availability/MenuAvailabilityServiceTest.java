@@ -0,0 +1,191 @@
+package com.moadams.restaurantservice.service.availability;
+
+import com.moadams.events.MenuItemAvailabilityChangedEvent;
+import com.moadams.restaurantservice.dto.MenuItemAvailabilityResponse;
+import com.moadams.restaurantservice.exception.ResourceNotFoundException;
+import com.moadams.restaurantservice.exception.UnauthorizedAccessException;
+import com.moadams.restaurantservice.repository.MenuItemRepository;
+import com.moadams.restaurantservice.repository.RestaurantRepository;
+import com.moadams.restaurantservice.service.cache.MenuCache;
+import com.moadams.restaurantservice.service.cache.OwnershipCache;
+import com.moadams.restaurantservice.service.search.MenuSearchIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MenuAvailabilityServiceTest {
+
+    private static final String OWNER_EMAIL = "owner@example.com";
+
+    @Mock
+    private RestaurantRepository restaurantRepository;
+
+    @Mock
+    private MenuItemRepository menuItemRepository;
+
+    @Mock
+    private OwnershipCache ownershipCache;
+
+    @Mock
+    private MenuCache menuCache;
+
+    @Mock
+    private MenuSearchIndex menuSearchIndex;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private KafkaTemplate<String, MenuItemAvailabilityChangedEvent> kafkaTemplate;
+
+    private MenuAvailabilityService menuAvailabilityService;
+
+    @BeforeEach
+    void setUp() {
+        menuAvailabilityService = new MenuAvailabilityService(restaurantRepository, menuItemRepository, ownershipCache,
+                menuCache, menuSearchIndex, transactionTemplate, kafkaTemplate, new SimpleMeterRegistry());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(OWNER_EMAIL, null, List.of()));
+        when(ownershipCache.ownerOf(eq(1L), any())).thenReturn(Optional.of(OWNER_EMAIL));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void setAvailability_CoalescesTogglesUntilFlush() {
+        loadMenu();
+        runTransactionCallbacks();
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(new CompletableFuture<>());
+
+        MenuItemAvailabilityResponse response = menuAvailabilityService.setAvailability(1L, 10L, false);
+        menuAvailabilityService.setAvailability(1L, 10L, true);
+        menuAvailabilityService.setAvailability(1L, 10L, false);
+        menuAvailabilityService.flush();
+        menuAvailabilityService.flush();
+
+        assertEquals(new MenuItemAvailabilityResponse(10L, 1L, false), response);
+        verify(menuItemRepository, times(1)).findAvailabilityByRestaurantId(1L);
+        verify(menuItemRepository).updateAvailability(List.of(10L), false);
+        verify(menuItemRepository, times(1)).updateAvailability(any(), anyBoolean());
+        verify(menuCache).invalidate(1L);
+        verify(menuSearchIndex).setAvailable(10L, false);
+        verify(kafkaTemplate).send(MenuItemAvailabilityChangedEvent.TOPIC, "10",
+                new MenuItemAvailabilityChangedEvent("1", "10", false));
+        verifyNoMoreInteractions(kafkaTemplate);
+    }
+
+    @Test
+    void setAvailability_BitsetAlreadyAgrees_StillWritesAndPublishes() {
+        loadMenu();
+        runTransactionCallbacks();
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(new CompletableFuture<>());
+
+        MenuItemAvailabilityResponse response = menuAvailabilityService.setAvailability(1L, 20L, false);
+        menuAvailabilityService.flush();
+
+        assertEquals(new MenuItemAvailabilityResponse(20L, 1L, false), response);
+        verify(menuItemRepository).updateAvailability(List.of(20L), false);
+        verify(kafkaTemplate).send(MenuItemAvailabilityChangedEvent.TOPIC, "20",
+                new MenuItemAvailabilityChangedEvent("1", "20", false));
+    }
+
+    @Test
+    void flush_FailedWrite_KeepsChangesForNextFlush() {
+        loadMenu();
+        runTransactionCallbacks();
+        when(menuItemRepository.updateAvailability(List.of(20L), true))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(1);
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(new CompletableFuture<>());
+
+        menuAvailabilityService.setAvailability(1L, 20L, true);
+        menuAvailabilityService.flush();
+        verifyNoInteractions(kafkaTemplate);
+
+        menuAvailabilityService.flush();
+        verify(kafkaTemplate).send(MenuItemAvailabilityChangedEvent.TOPIC, "20",
+                new MenuItemAvailabilityChangedEvent("1", "20", true));
+    }
+
+    @Test
+    void setAvailability_ItemNotOnMenu_ThrowsException() {
+        loadMenu();
+
+        assertThrows(ResourceNotFoundException.class, () -> menuAvailabilityService.setAvailability(1L, 99L, false));
+        menuAvailabilityService.flush();
+        verifyNoInteractions(transactionTemplate, kafkaTemplate);
+    }
+
+    @Test
+    void setAvailability_NotOwner_ThrowsException() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("other@example.com", null, List.of()));
+
+        assertThrows(UnauthorizedAccessException.class, () -> menuAvailabilityService.setAvailability(1L, 10L, false));
+        verifyNoInteractions(menuItemRepository);
+    }
+
+    @Test
+    void setAvailability_Admin_IsAllowed() {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "admin@example.com", null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+        loadMenu();
+
+        assertEquals(new MenuItemAvailabilityResponse(10L, 1L, false),
+                menuAvailabilityService.setAvailability(1L, 10L, false));
+    }
+
+    @Test
+    void onChanged_LocalChangeWaitingForFlush_Wins() {
+        loadMenu();
+        runTransactionCallbacks();
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(new CompletableFuture<>());
+
+        menuAvailabilityService.setAvailability(1L, 10L, false);
+        menuAvailabilityService.onChanged(new MenuItemAvailabilityChangedEvent("1", "10", true));
+        menuAvailabilityService.setAvailability(1L, 10L, true);
+        menuAvailabilityService.flush();
+
+        verify(menuItemRepository).updateAvailability(List.of(10L), true);
+    }
+
+    private void loadMenu() {
+        when(menuItemRepository.findAvailabilityByRestaurantId(1L)).thenReturn(List.of(
+                new MenuItemAvailabilityResponse(10L, 1L, true),
+                new MenuItemAvailabilityResponse(20L, 1L, false)));
+    }
+
+    private void runTransactionCallbacks() {
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+}
@@ -0,0 +1,47 @@
+package com.moadams.restaurantservice.service.availability;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RestaurantAvailabilityTest {
+
+    @Test
+    void of_MapsEachItemToItsOwnBit() {
+        Map<Long, Boolean> availableById = new HashMap<>();
+        for (long id = 1; id <= 130; id++) {
+            availableById.put(id * 7, id % 3 != 0);
+        }
+
+        RestaurantAvailability availability = RestaurantAvailability.of(availableById);
+
+        availableById.forEach((id, available) -> assertEquals(available, availability.isAvailable(id), "item " + id));
+        assertTrue(availability.contains(7L));
+        assertFalse(availability.contains(8L));
+        assertFalse(availability.isAvailable(8L));
+    }
+
+    @Test
+    void with_ReturnsChangedCopyAndLeavesOriginal() {
+        RestaurantAvailability original = RestaurantAvailability.of(Map.of(10L, true, 20L, true, 30L, false));
+
+        RestaurantAvailability soldOut = original.with(20L, false);
+
+        assertFalse(soldOut.isAvailable(20L));
+        assertTrue(soldOut.isAvailable(10L));
+        assertFalse(soldOut.isAvailable(30L));
+        assertTrue(original.isAvailable(20L));
+        assertTrue(soldOut.with(20L, true).isAvailable(20L));
+    }
+
+    @Test
+    void with_UnchangedOrUnknownItem_ReturnsSameInstance() {
+        RestaurantAvailability availability = RestaurantAvailability.of(Map.of(10L, true));
+
+        assertSame(availability, availability.with(10L, true));
+        assertSame(availability, availability.with(99L, false));
+    }
+}
@@ -0,0 +1,91 @@
+package com.moadams.restaurantservice.service.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MenuCacheTest {
+
+    private final MenuCache menuCache = new MenuCache(new ObjectMapper(), new SimpleMeterRegistry(), 2, 300);
+
+    @Test
+    void get_LoadsOnceAndServesRepeatsFromCache() {
+        AtomicInteger loads = new AtomicInteger();
+
+        CachedMenu first = menuCache.get(1L, () -> {
+            loads.incrementAndGet();
+            return List.of("Jollof", "Waakye");
+        });
+        CachedMenu second = menuCache.get(1L, () -> {
+            loads.incrementAndGet();
+            return List.of("never loaded");
+        });
+
+        assertEquals(1, loads.get());
+        assertSame(first, second);
+        assertEquals("[\"Jollof\",\"Waakye\"]", new String(second.body()));
+    }
+
+    @Test
+    void invalidate_ForcesReloadAndChangesEtag() {
+        CachedMenu before = menuCache.get(1L, () -> List.of("Jollof"));
+
+        menuCache.invalidate(1L);
+        CachedMenu after = menuCache.get(1L, () -> List.of("Jollof", "Kelewele"));
+
+        assertNotEquals(before.etag(), after.etag());
+        assertEquals("[\"Jollof\",\"Kelewele\"]", new String(after.body()));
+    }
+
+    @Test
+    void get_DoesNotCacheALoadThatRacedAnInvalidation() {
+        AtomicInteger loads = new AtomicInteger();
+
+        menuCache.get(1L, () -> {
+            loads.incrementAndGet();
+            menuCache.invalidate(1L);
+            return List.of("stale");
+        });
+        CachedMenu reloaded = menuCache.get(1L, () -> {
+            loads.incrementAndGet();
+            return List.of("fresh");
+        });
+
+        assertEquals(2, loads.get());
+        assertEquals("[\"fresh\"]", new String(reloaded.body()));
+    }
+
+    @Test
+    void get_DoesNotCacheFailedLoads() {
+        assertThrows(IllegalArgumentException.class, () -> menuCache.get(1L, () -> {
+            throw new IllegalArgumentException("restaurant missing");
+        }));
+
+        assertEquals("[]", new String(menuCache.get(1L, List::of).body()));
+    }
+
+    @Test
+    void etag_IsStableForIdenticalContent() {
+        CachedMenu one = menuCache.get(1L, () -> List.of("Jollof"));
+        CachedMenu other = new MenuCache(new ObjectMapper(), new SimpleMeterRegistry(), 2, 300)
+                .get(1L, () -> List.of("Jollof"));
+
+        assertEquals(one.etag(), other.etag());
+    }
+
+    @Test
+    void matches_HandlesListsWeakTagsAndWildcard() {
+        CachedMenu menu = menuCache.get(1L, () -> List.of("Jollof"));
+
+        assertTrue(menu.matches(menu.etag()));
+        assertTrue(menu.matches("\"other\", W/" + menu.etag()));
+        assertTrue(menu.matches("*"));
+        assertFalse(menu.matches("\"other\""));
+        assertFalse(menu.matches(null));
+    }
+}
@@ -0,0 +1,96 @@
+package com.moadams.restaurantservice.service.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class OwnershipCacheTest {
+
+    @SuppressWarnings("unchecked")
+    private final KafkaTemplate<String, String> kafkaTemplate = mock(KafkaTemplate.class);
+
+    private OwnershipCache ownershipCache;
+
+    @BeforeEach
+    void setUp() {
+        ownershipCache = new OwnershipCache(kafkaTemplate, new SimpleMeterRegistry(), 100, 600);
+    }
+
+    @Test
+    void ownerOf_LoadsOnceThenServesFromCache() {
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            Optional<String> owner = ownershipCache.ownerOf(1L, () -> {
+                loads.incrementAndGet();
+                return Optional.of("owner@test.com");
+            });
+            assertEquals(Optional.of("owner@test.com"), owner);
+        }
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void ownerOf_DoesNotCacheUnknownRestaurants() {
+        AtomicInteger loads = new AtomicInteger();
+
+        ownershipCache.ownerOf(1L, () -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        });
+        ownershipCache.ownerOf(1L, () -> {
+            loads.incrementAndGet();
+            return Optional.of("owner@test.com");
+        });
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void invalidate_EvictsAndBroadcasts() {
+        when(kafkaTemplate.send(anyString(), anyString(), anyString())).thenReturn(new CompletableFuture<>());
+        ownershipCache.ownerOf(1L, () -> Optional.of("old@test.com"));
+
+        ownershipCache.invalidate(1L);
+
+        assertEquals(Optional.of("new@test.com"), ownershipCache.ownerOf(1L, () -> Optional.of("new@test.com")));
+        verify(kafkaTemplate).send(OwnershipCache.INVALIDATION_TOPIC, "1", "1");
+    }
+
+    @Test
+    void evict_IsLocalOnly() {
+        ownershipCache.ownerOf(1L, () -> Optional.of("old@test.com"));
+
+        ownershipCache.evict(1L);
+
+        assertEquals(Optional.of("new@test.com"), ownershipCache.ownerOf(1L, () -> Optional.of("new@test.com")));
+        verifyNoInteractions(kafkaTemplate);
+    }
+
+    @Test
+    void ownerOf_DoesNotCacheALoadThatRacedAnEviction() {
+        ownershipCache.ownerOf(1L, () -> {
+            ownershipCache.evict(1L);
+            return Optional.of("stale@test.com");
+        });
+
+        assertEquals(Optional.of("fresh@test.com"), ownershipCache.ownerOf(1L, () -> Optional.of("fresh@test.com")));
+    }
+
+    @Test
+    void invalidate_SurvivesBroadcastFailure() {
+        when(kafkaTemplate.send(anyString(), anyString(), anyString())).thenThrow(new IllegalStateException("broker down"));
+
+        assertDoesNotThrow(() -> ownershipCache.invalidate(1L));
+    }
+}
@@ -0,0 +1,118 @@
+package com.moadams.restaurantservice.service.geo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeoGridTest {
+
+    @Test
+    void withinRadius_MatchesBruteForce() {
+        Random random = new Random(46);
+        double[][] points = randomPoints(random, 5_000, 5.6, -0.2, 0.5);
+        GeoGrid<String> grid = gridOf(points, 0.02);
+
+        for (int q = 0; q < 200; q++) {
+            double lat = 5.6 + (random.nextDouble() - 0.5);
+            double lng = -0.2 + (random.nextDouble() - 0.5);
+            double radius = 100 + random.nextDouble() * 20_000;
+
+            List<Long> expected = bruteForce(points, lat, lng, radius, 25);
+            List<Long> actual = grid.withinRadius(lat, lng, radius, 25).stream().map(GeoGrid.Hit::id).toList();
+
+            assertEquals(expected, actual, "query " + q);
+        }
+    }
+
+    @Test
+    void nearest_MatchesBruteForce() {
+        Random random = new Random(7);
+        double[][] points = randomPoints(random, 2_000, 51.5, -0.1, 2);
+        GeoGrid<String> grid = gridOf(points, 0.05);
+
+        for (int q = 0; q < 100; q++) {
+            double lat = 51.5 + (random.nextDouble() - 0.5) * 4;
+            double lng = -0.1 + (random.nextDouble() - 0.5) * 4;
+
+            List<Long> expected = bruteForce(points, lat, lng, Double.MAX_VALUE, 10);
+            List<Long> actual = grid.nearest(lat, lng, 10, 2_000_000).stream().map(GeoGrid.Hit::id).toList();
+
+            assertEquals(expected, actual, "query " + q);
+        }
+    }
+
+    @Test
+    void withinRadius_WrapsAroundTheAntimeridian() {
+        GeoGrid<String> grid = new GeoGrid<>(0.1);
+        grid.put(1, -17.7, 179.99, "east");
+        grid.put(2, -17.7, -179.99, "west");
+
+        List<GeoGrid.Hit<String>> hits = grid.withinRadius(-17.7, 179.995, 5_000, 10);
+
+        assertEquals(2, hits.size());
+    }
+
+    @Test
+    void withinRadius_CoversThePole() {
+        GeoGrid<String> grid = new GeoGrid<>(1);
+        grid.put(1, 89.9, 0, "a");
+        grid.put(2, 89.9, 180, "b");
+
+        assertEquals(2, grid.withinRadius(90, 0, 50_000, 10).size());
+    }
+
+    @Test
+    void put_ReplacesAndRemoveDeletes() {
+        GeoGrid<String> grid = new GeoGrid<>(0.02);
+        grid.put(1, 5.60, -0.20, "old");
+        grid.put(1, 6.69, -1.62, "moved");
+
+        assertTrue(grid.withinRadius(5.60, -0.20, 1_000, 10).isEmpty());
+        assertEquals("moved", grid.withinRadius(6.69, -1.62, 1_000, 10).get(0).value());
+        assertEquals(1, grid.size());
+
+        assertTrue(grid.remove(1));
+        assertFalse(grid.remove(1));
+        assertEquals(0, grid.size());
+        assertTrue(grid.nearest(6.69, -1.62, 5, 100_000).isEmpty());
+    }
+
+    @Test
+    void distanceMeters_IsGreatCircleDistance() {
+        // Accra to Kumasi, roughly 200 km.
+        double distance = GeoGrid.distanceMeters(5.6037, -0.1870, 6.6885, -1.6244);
+
+        assertEquals(199_500, distance, 2_000);
+    }
+
+    private static double[][] randomPoints(Random random, int count, double lat, double lng, double spreadDegrees) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new double[]{
+                        lat + (random.nextDouble() - 0.5) * spreadDegrees,
+                        lng + (random.nextDouble() - 0.5) * spreadDegrees})
+                .toArray(double[][]::new);
+    }
+
+    private static GeoGrid<String> gridOf(double[][] points, double cellDegrees) {
+        GeoGrid<String> grid = new GeoGrid<>(cellDegrees);
+        for (int i = 0; i < points.length; i++) {
+            grid.put(i, points[i][0], points[i][1], "r" + i);
+        }
+        return grid;
+    }
+
+    private static List<Long> bruteForce(double[][] points, double lat, double lng, double radius, int limit) {
+        return IntStream.range(0, points.length)
+                .filter(i -> GeoGrid.distanceMeters(lat, lng, points[i][0], points[i][1]) <= radius)
+                .boxed()
+                .sorted(Comparator.comparingDouble(i -> GeoGrid.distanceMeters(lat, lng, points[i][0], points[i][1])))
+                .limit(limit)
+                .map(Integer::longValue)
+                .toList();
+    }
+}
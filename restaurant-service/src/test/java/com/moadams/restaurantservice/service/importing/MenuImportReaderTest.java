@@ -0,0 +1,86 @@
+package com.moadams.restaurantservice.service.importing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moadams.restaurantservice.dto.MenuItemRequest;
+import com.moadams.restaurantservice.exception.InvalidRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MenuImportReaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void csv_ReadsQuotedFieldsAndReportsBadRows() throws IOException {
+        String csv = "\uFEFFPrice,Name,Description,Available,Notes\n"
+                + "12.50,\"Jollof, Special\",\"Rice with \"\"shito\"\"\nand chicken\",true,x\n"
+                + "\n"
+                + "abc,Kelewele,,false\n"
+                + "9,Waakye,,maybe\n"
+                + "4.00,Fried Yam\r\n";
+
+        List<MenuImportReader.Row> rows = readAll(csv, MenuImportFormat.CSV);
+
+        assertEquals(4, rows.size());
+        assertEquals(new MenuImportReader.Row(2, new MenuItemRequest("Jollof, Special",
+                "Rice with \"shito\"\nand chicken", new BigDecimal("12.50"), true), null), rows.get(0));
+        assertEquals(5, rows.get(1).line());
+        assertEquals("Price 'abc' is not a number.", rows.get(1).error());
+        assertEquals(6, rows.get(2).line());
+        assertNotNull(rows.get(2).error());
+        assertEquals(new MenuItemRequest("Fried Yam", null, new BigDecimal("4.00"), true), rows.get(3).request());
+        assertEquals(7, rows.get(3).line());
+    }
+
+    @Test
+    void csv_WithoutRequiredColumns_ThrowsException() {
+        assertThrows(InvalidRequestException.class, () -> readAll("name,description\nRice,Plain\n", MenuImportFormat.CSV));
+        assertThrows(InvalidRequestException.class, () -> readAll("", MenuImportFormat.CSV));
+    }
+
+    @Test
+    void csv_UnterminatedQuote_EndsWithError() throws IOException {
+        List<MenuImportReader.Row> rows = readAll("name,price\nRice,5\n\"Beans,6\nStew,7\n", MenuImportFormat.CSV);
+
+        assertEquals(2, rows.size());
+        assertEquals(3, rows.get(1).line());
+        assertNotNull(rows.get(1).error());
+    }
+
+    @Test
+    void ndjson_ParsesEachLineAndReportsMalformedOnes() throws IOException {
+        String ndjson = "{\"name\":\"Spicy Ramen\",\"price\":14.5}\n"
+                + "\n"
+                + "{\"name\":\"Shoyu Ramen\",\"price\":\n"
+                + "{\"name\":\"Gyoza\",\"description\":\"Pan fried\",\"price\":6,\"available\":false}\n";
+
+        List<MenuImportReader.Row> rows = readAll(ndjson, MenuImportFormat.NDJSON);
+
+        assertEquals(3, rows.size());
+        assertEquals(new MenuItemRequest("Spicy Ramen", null, new BigDecimal("14.5"), true), rows.get(0).request());
+        assertEquals(3, rows.get(1).line());
+        assertTrue(rows.get(1).error().startsWith("Malformed JSON"));
+        assertEquals(new MenuItemRequest("Gyoza", "Pan fried", new BigDecimal("6"), false), rows.get(2).request());
+        assertEquals(4, rows.get(2).line());
+    }
+
+    private List<MenuImportReader.Row> readAll(String body, MenuImportFormat format) throws IOException {
+        List<MenuImportReader.Row> rows = new ArrayList<>();
+        try (MenuImportReader reader = MenuImportReader.open(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), format, objectMapper)) {
+            MenuImportReader.Row row;
+            while ((row = reader.next()) != null) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+}
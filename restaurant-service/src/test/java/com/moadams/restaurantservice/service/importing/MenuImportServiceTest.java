@@ -0,0 +1,174 @@
+package com.moadams.restaurantservice.service.importing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moadams.restaurantservice.dto.MenuImportReport;
+import com.moadams.restaurantservice.dto.MenuImportRowError;
+import com.moadams.restaurantservice.dto.MenuItemResponse;
+import com.moadams.restaurantservice.exception.UnauthorizedAccessException;
+import com.moadams.restaurantservice.model.MenuItem;
+import com.moadams.restaurantservice.model.Restaurant;
+import com.moadams.restaurantservice.repository.MenuItemRepository;
+import com.moadams.restaurantservice.repository.RestaurantRepository;
+import com.moadams.restaurantservice.service.availability.MenuAvailabilityService;
+import com.moadams.restaurantservice.service.cache.MenuCache;
+import com.moadams.restaurantservice.service.cache.OwnershipCache;
+import com.moadams.restaurantservice.service.search.MenuSearchIndex;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MenuImportServiceTest {
+
+    private static final String OWNER_EMAIL = "owner@example.com";
+
+    @Mock
+    private RestaurantRepository restaurantRepository;
+
+    @Mock
+    private MenuItemRepository menuItemRepository;
+
+    @Mock
+    private OwnershipCache ownershipCache;
+
+    @Mock
+    private MenuCache menuCache;
+
+    @Mock
+    private MenuSearchIndex menuSearchIndex;
+
+    @Mock
+    private MenuAvailabilityService menuAvailabilityService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private Session session;
+
+    private MenuImportService menuImportService;
+
+    @BeforeEach
+    void setUp() {
+        menuImportService = new MenuImportService(restaurantRepository, menuItemRepository, ownershipCache, menuCache,
+                menuSearchIndex, menuAvailabilityService, transactionTemplate, entityManager,
+                Validation.buildDefaultValidatorFactory().getValidator(), new ObjectMapper());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(OWNER_EMAIL, null, List.of()));
+        when(ownershipCache.ownerOf(eq(1L), any())).thenReturn(Optional.of(OWNER_EMAIL));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void importMenuItems_InsertsValidRowsInChunksAndReportsInvalidOnes() {
+        runTransactionCallbacks();
+        when(entityManager.unwrap(Session.class)).thenReturn(session);
+        when(restaurantRepository.getReferenceById(1L)).thenReturn(Restaurant.builder().id(1L).build());
+        when(menuItemRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<MenuItem> menuItems = invocation.getArgument(0);
+            menuItems.forEach(menuItem -> menuItem.setId(1_000L + menuItem.getName().hashCode()));
+            return menuItems;
+        });
+
+        StringBuilder csv = new StringBuilder("name,price\n");
+        for (int i = 0; i < MenuImportService.CHUNK_SIZE + 1; i++) {
+            csv.append("Dish ").append(i).append(",9.99\n");
+        }
+        csv.append(",5\n").append("Free Lunch,0\n");
+
+        MenuImportReport report = menuImportService.importMenuItems(1L, MenuImportFormat.CSV, body(csv.toString()));
+
+        assertEquals(MenuImportService.CHUNK_SIZE + 3, report.rows());
+        assertEquals(MenuImportService.CHUNK_SIZE + 1, report.imported());
+        assertEquals(2, report.failed());
+        assertEquals(List.of(MenuImportService.CHUNK_SIZE + 3L, MenuImportService.CHUNK_SIZE + 4L),
+                report.errors().stream().map(MenuImportRowError::line).toList());
+        assertEquals(List.of("Item name is required"), report.errors().get(0).messages());
+        verify(menuItemRepository, times(2)).saveAll(anyList());
+        verify(session, times(2)).setJdbcBatchSize(MenuImportService.CHUNK_SIZE);
+        verify(menuCache, times(2)).invalidate(1L);
+        verify(menuSearchIndex, times(MenuImportService.CHUNK_SIZE + 1)).upsert(any(MenuItemResponse.class));
+        verify(menuAvailabilityService, times(MenuImportService.CHUNK_SIZE + 1)).menuItemSaved(any(MenuItemResponse.class));
+    }
+
+    @Test
+    void importMenuItems_FailedChunk_ReportsEachOfItsRows() {
+        runTransactionCallbacks();
+        when(entityManager.unwrap(Session.class)).thenReturn(session);
+        when(menuItemRepository.saveAll(anyList())).thenThrow(new DataIntegrityViolationException("duplicate"));
+
+        MenuImportReport report = menuImportService.importMenuItems(1L, MenuImportFormat.NDJSON,
+                body("{\"name\":\"Rice\",\"price\":5}\n{\"name\":\"Beans\",\"price\":6}\n"));
+
+        assertEquals(2, report.rows());
+        assertEquals(0, report.imported());
+        assertEquals(2, report.failed());
+        assertEquals(2, report.errors().size());
+        verifyNoInteractions(menuSearchIndex, menuAvailabilityService);
+    }
+
+    @Test
+    void importMenuItems_NotOwner_ThrowsBeforeReading() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("other@example.com", null, List.of()));
+        InputStream body = mock(InputStream.class);
+
+        assertThrows(UnauthorizedAccessException.class,
+                () -> menuImportService.importMenuItems(1L, MenuImportFormat.CSV, body));
+        verifyNoInteractions(body, transactionTemplate, menuItemRepository);
+    }
+
+    @Test
+    void importMenuItems_Admin_IsAllowed() {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "admin@example.com", null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+
+        MenuImportReport report = menuImportService.importMenuItems(1L, MenuImportFormat.CSV, body("name,price\n"));
+
+        assertEquals(0, report.rows());
+        assertEquals(0, report.failed());
+    }
+
+    private void runTransactionCallbacks() {
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    private static InputStream body(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
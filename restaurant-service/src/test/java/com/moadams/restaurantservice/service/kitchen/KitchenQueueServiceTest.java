@@ -0,0 +1,152 @@
+package com.moadams.restaurantservice.service.kitchen;
+
+import com.moadams.events.OrderItemDetails;
+import com.moadams.events.OrderPlacedEvent;
+import com.moadams.restaurantservice.dto.KitchenQueueResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class KitchenQueueServiceTest {
+
+    @Mock
+    private KafkaTemplate<String, KitchenQueueResponse> statusKafkaTemplate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private KitchenQueueService kitchenQueueService;
+
+    @AfterEach
+    void tearDown() {
+        if (kitchenQueueService != null) {
+            kitchenQueueService.shutdown();
+        }
+    }
+
+    @Test
+    void enqueue_PreparesAndCompletesOrder() throws InterruptedException {
+        kitchenQueueService = service(3, Map.of(), 10, 0);
+
+        kitchenQueueService.enqueue(order("order-1", "1"));
+
+        awaitCount("completed", 1);
+        KitchenQueueResponse status = kitchenQueueService.status(1L);
+        assertEquals(0, status.queued());
+        assertEquals(0, status.preparing());
+    }
+
+    @Test
+    void enqueue_PreparesNoMoreThanConcurrencyLimit() {
+        kitchenQueueService = service(2, Map.of("2", 1), 10, 3600);
+
+        for (int i = 0; i < 5; i++) {
+            kitchenQueueService.enqueue(order("order-" + i, "1"));
+            kitchenQueueService.enqueue(order("other-" + i, "2"));
+        }
+
+        KitchenQueueResponse defaultLimit = kitchenQueueService.status(1L);
+        assertEquals(2, defaultLimit.preparing());
+        assertEquals(3, defaultLimit.queued());
+        assertEquals(2, defaultLimit.concurrencyLimit());
+        KitchenQueueResponse ownLimit = kitchenQueueService.status(2L);
+        assertEquals(1, ownLimit.preparing());
+        assertEquals(4, ownLimit.queued());
+        assertEquals(1, ownLimit.concurrencyLimit());
+    }
+
+    @Test
+    void enqueue_FullQueue_RejectsOrderSoItIsRetried() {
+        kitchenQueueService = service(1, Map.of(), 2, 3600);
+
+        for (int i = 0; i < 3; i++) {
+            kitchenQueueService.enqueue(order("order-" + i, "1"));
+        }
+
+        assertThrows(KitchenQueueFullException.class, () -> kitchenQueueService.enqueue(order("order-3", "1")));
+        KitchenQueueResponse status = kitchenQueueService.status(1L);
+        assertEquals(1, status.preparing());
+        assertEquals(2, status.queued());
+        assertEquals(1.0, count("rejected"));
+        assertEquals(0.0, count("completed"));
+    }
+
+    @Test
+    void status_NoLocalOrders_ReportsBroadcastStatus() {
+        kitchenQueueService = service(3, Map.of(), 10, 3600);
+        KitchenQueueResponse remote = new KitchenQueueResponse(7L, 4, 3, 3, 120, 60, 400);
+
+        kitchenQueueService.onStatus(remote);
+
+        assertEquals(remote, kitchenQueueService.status(7L));
+    }
+
+    @Test
+    void status_BusyLocally_ReportsOwnQueue() {
+        kitchenQueueService = service(3, Map.of(), 10, 3600);
+        kitchenQueueService.onStatus(new KitchenQueueResponse(1L, 0, 0, 3, 0, 0, 0));
+
+        kitchenQueueService.enqueue(order("order-1", "1"));
+
+        assertEquals(1, kitchenQueueService.status(1L).preparing());
+    }
+
+    @Test
+    void broadcastStatus_AnnouncesBusyKitchensAndOnceWhenIdle() throws InterruptedException {
+        kitchenQueueService = service(3, Map.of(), 10, 1);
+        kitchenQueueService.broadcastStatus();
+        verifyNoInteractions(statusKafkaTemplate);
+
+        kitchenQueueService.enqueue(order("order-1", "1"));
+        kitchenQueueService.broadcastStatus();
+        awaitCount("completed", 1);
+        kitchenQueueService.broadcastStatus();
+        kitchenQueueService.broadcastStatus();
+
+        ArgumentCaptor<KitchenQueueResponse> sent = ArgumentCaptor.forClass(KitchenQueueResponse.class);
+        verify(statusKafkaTemplate, times(2)).send(eq(KitchenQueueService.STATUS_TOPIC), eq("1"), sent.capture());
+        assertEquals(1, sent.getAllValues().get(0).preparing());
+        assertEquals(0, sent.getAllValues().get(1).preparing());
+        verify(statusKafkaTemplate, times(2)).send(anyString(), anyString(), any());
+    }
+
+    private KitchenQueueService service(int concurrency, Map<String, Integer> restaurantConcurrency,
+                                        int maxQueued, long prepSeconds) {
+        return new KitchenQueueService(meterRegistry, statusKafkaTemplate, 2, concurrency, restaurantConcurrency,
+                maxQueued, prepSeconds, 0, prepSeconds, 2000);
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("restaurant.kitchen.orders").tag("result", result).counter().count();
+    }
+
+    private void awaitCount(String result, double expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (count(result) < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, count(result));
+    }
+
+    private static OrderPlacedEvent order(String orderId, String restaurantId) {
+        return new OrderPlacedEvent(orderId, "customer@example.com", restaurantId, "Restaurant " + restaurantId,
+                new BigDecimal("12.50"), "1 Main Street", LocalDateTime.now(),
+                List.of(new OrderItemDetails("10", "Pizza", 1, new BigDecimal("12.50"))));
+    }
+}
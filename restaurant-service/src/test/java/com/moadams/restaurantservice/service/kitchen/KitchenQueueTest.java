@@ -0,0 +1,72 @@
+package com.moadams.restaurantservice.service.kitchen;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KitchenQueueTest {
+
+    @Test
+    void start_TakesEarliestReadyTimeFirst() {
+        KitchenQueue queue = new KitchenQueue(1, 10);
+        queue.offer(ticket("slow", 0, 0, 20_000));
+        queue.offer(ticket("quick", 5_000, 5_000, 5_000));
+        queue.offer(ticket("later", 30_000, 30_000, 1_000));
+
+        assertEquals("quick", queue.start(30_000).orderId());
+        queue.finish();
+        assertEquals("slow", queue.start(30_000).orderId());
+        queue.finish();
+        assertEquals("later", queue.start(30_000).orderId());
+    }
+
+    @Test
+    void start_RespectsConcurrencyLimit() {
+        KitchenQueue queue = new KitchenQueue(2, 10);
+        for (int i = 0; i < 3; i++) {
+            queue.offer(ticket("order-" + i, i, i, 1_000));
+        }
+
+        assertNotNull(queue.start(10));
+        assertNotNull(queue.start(10));
+        assertNull(queue.start(10));
+
+        queue.finish();
+        assertEquals("order-2", queue.start(10).orderId());
+        assertNull(queue.start(10));
+    }
+
+    @Test
+    void offer_FullQueue_ReturnsFalse() {
+        KitchenQueue queue = new KitchenQueue(1, 2);
+
+        assertTrue(queue.offer(ticket("a", 0, 0, 1_000)));
+        assertTrue(queue.offer(ticket("b", 0, 0, 1_000)));
+        assertFalse(queue.offer(ticket("c", 0, 0, 1_000)));
+    }
+
+    @Test
+    void snapshot_ReportsDepthAndWaits() {
+        KitchenQueue queue = new KitchenQueue(2, 10);
+        queue.offer(ticket("a", 0, 1_000, 60_000));
+        queue.offer(ticket("b", 0, 2_000, 60_000));
+        queue.offer(ticket("c", 0, 3_000, 60_000));
+        queue.offer(ticket("d", 0, 4_000, 60_000));
+        queue.start(5_000);
+
+        KitchenQueue.Snapshot snapshot = queue.snapshot(10_000);
+
+        assertEquals(3, snapshot.queued());
+        assertEquals(1, snapshot.preparing());
+        assertEquals(2, snapshot.concurrencyLimit());
+        assertEquals(8_000, snapshot.longestWaitMillis());
+        assertEquals(4_000, snapshot.averageWaitMillis());
+        assertEquals(90_000, snapshot.estimatedWaitMillis());
+    }
+
+    private static KitchenTicket ticket(String orderId, long placedAt, long receivedAt, long prepMillis) {
+        return new KitchenTicket(orderId, placedAt, receivedAt, prepMillis, List.of());
+    }
+}
@@ -0,0 +1,97 @@
+package com.moadams.restaurantservice.service.search;
+
+import com.moadams.restaurantservice.dto.MenuItemResponse;
+import com.moadams.restaurantservice.repository.MenuItemRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MenuSearchIndexTest {
+
+    private final MenuItemRepository menuItemRepository = mock(MenuItemRepository.class);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void syncChanges_ReloadsChangedItemsAndRemovesDeletedOnes() {
+        MenuSearchIndex search = searchIndex(tempDir.resolve("menu-search.idx"), 60_000);
+        search.upsert(item(1L, "Spicy Ramen"));
+        search.upsert(item(2L, "Shoyu Ramen"));
+        search.positioned(Map.of(0, 10L));
+        when(menuItemRepository.findAllForSearchByIds(anyCollection())).thenReturn(List.of(item(1L, "Spicy Udon")));
+
+        search.changed(0, 10, 1L);
+        search.changed(0, 11, 2L);
+        search.syncChanges();
+
+        assertEquals(List.of(1L), ids(search, "udon"));
+        assertEquals(0, search.search("ramen", 0, 10).totalMatches());
+    }
+
+    @Test
+    void readSnapshot_ResumesFromTheOffsetsSavedWithIt() {
+        Path snapshot = tempDir.resolve("menu-search.idx");
+        MenuSearchIndex saved = searchIndex(snapshot, 60_000);
+        saved.upsert(item(1L, "Spicy Ramen"));
+        saved.positioned(Map.of(0, 10L));
+        saved.changed(0, 41, null);
+        saved.syncChanges();
+        saved.saveSnapshot();
+
+        MenuSearchIndex restarted = searchIndex(snapshot, 60_000);
+        restarted.readSnapshot();
+
+        assertEquals(List.of(1L), ids(restarted, "ramen"));
+        assertEquals(OptionalLong.of(42), restarted.resumeOffset(0));
+        assertEquals(OptionalLong.of(0), restarted.resumeOffset(1));
+    }
+
+    @Test
+    void readSnapshot_TooOldToCatchUpFrom_StartsFromTheEnd() {
+        Path snapshot = tempDir.resolve("menu-search.idx");
+        MenuSearchIndex saved = searchIndex(snapshot, 60_000);
+        saved.upsert(item(1L, "Spicy Ramen"));
+        saved.positioned(Map.of(0, 10L));
+        saved.saveSnapshot();
+
+        MenuSearchIndex restarted = searchIndex(snapshot, -1);
+        restarted.readSnapshot();
+
+        assertEquals(List.of(1L), ids(restarted, "ramen"));
+        assertEquals(OptionalLong.empty(), restarted.resumeOffset(0));
+    }
+
+    @Test
+    void resumeOffset_WithoutSnapshot_StartsFromTheEnd() {
+        MenuSearchIndex search = searchIndex(tempDir.resolve("missing.idx"), 60_000);
+        search.readSnapshot();
+
+        assertEquals(OptionalLong.empty(), search.resumeOffset(0));
+    }
+
+    private MenuSearchIndex searchIndex(Path snapshot, long maxCatchUpAgeMillis) {
+        return new MenuSearchIndex(menuItemRepository, mock(TransactionTemplate.class), new SimpleMeterRegistry(),
+                snapshot.toString(), maxCatchUpAgeMillis);
+    }
+
+    private static MenuItemResponse item(Long id, String name) {
+        return new MenuItemResponse(id, name, null, new BigDecimal("9.50"), true, 10L);
+    }
+
+    private static List<Long> ids(MenuSearchIndex search, String query) {
+        return search.search(query, 0, 10).hits().stream().map(hit -> hit.item().id()).toList();
+    }
+}
@@ -0,0 +1,131 @@
+package com.moadams.restaurantservice.service.search;
+
+import com.moadams.restaurantservice.dto.MenuItemResponse;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MenuTextIndexTest {
+
+    private static final List<MenuItemResponse> MENU = List.of(
+            item(1L, 10L, "Spicy Ramen", "Tonkotsu broth with chili oil and noodles"),
+            item(2L, 10L, "Shoyu Ramen", "Soy broth, noodles and a soft egg"),
+            item(3L, 11L, "Jollof Rice", "Spicy tomato rice with grilled chicken"),
+            item(4L, 11L, "Kelewele", "Spicy fried plantain"),
+            item(5L, 12L, "Crème Brûlée", null));
+
+    @Test
+    void search_RanksByRelevance() {
+        MenuTextIndex index = MenuTextIndex.of(MENU);
+
+        List<Long> ids = ids(index.search("spicy ramen", 0, 10));
+
+        assertEquals(1L, ids.get(0));
+        assertEquals(List.of(1L, 2L, 3L, 4L), ids.stream().sorted().toList());
+    }
+
+    @Test
+    void search_MatchesPrefixesAndIgnoresCaseAndAccents() {
+        MenuTextIndex index = MenuTextIndex.of(MENU);
+
+        assertEquals(List.of(1L, 2L), ids(index.search("RAM", 0, 10)));
+        assertEquals(List.of(5L), ids(index.search("creme brulee", 0, 10)));
+        assertEquals(0, index.search("the and", 0, 10).totalMatches());
+    }
+
+    @Test
+    void search_PrefersExactTermOverPrefixMatch() {
+        MenuTextIndex index = MenuTextIndex.of(List.of(
+                item(1L, 1L, "Rice bowl", null),
+                item(2L, 1L, "Ricotta bowl", null)));
+
+        assertEquals(List.of(1L, 2L), ids(index.search("ric", 0, 10)).stream().sorted().toList());
+        assertEquals(1L, ids(index.search("rice", 0, 10)).get(0));
+    }
+
+    @Test
+    void search_Paginates() {
+        List<MenuItemResponse> items = new ArrayList<>();
+        for (long id = 1; id <= 25; id++) {
+            items.add(item(id, 1L, "Chicken " + id, "Grilled chicken"));
+        }
+        MenuTextIndex index = MenuTextIndex.of(items);
+
+        MenuTextIndex.Result first = index.search("chicken", 0, 10);
+        MenuTextIndex.Result last = index.search("chicken", 20, 10);
+
+        assertEquals(25, first.totalMatches());
+        assertEquals(10, first.hits().size());
+        assertEquals(5, last.hits().size());
+        List<Long> all = ids(index.search("chicken", 0, 25));
+        assertEquals(all.subList(20, 25), ids(last));
+    }
+
+    @Test
+    void put_MatchesBulkBuildAndRemoveUndoesIt() {
+        MenuTextIndex incremental = new MenuTextIndex();
+        MENU.forEach(incremental::put);
+        MenuTextIndex bulk = MenuTextIndex.of(MENU);
+
+        assertEquals(scores(bulk.search("spicy rice noodles", 0, 10)), scores(incremental.search("spicy rice noodles", 0, 10)));
+
+        incremental.put(item(1L, 10L, "Miso Ramen", "Miso broth"));
+        assertTrue(ids(incremental.search("spicy", 0, 10)).stream().noneMatch(id -> id == 1L));
+        assertEquals(List.of(1L), ids(incremental.search("miso", 0, 10)));
+
+        assertEquals(2, incremental.removeRestaurant(10L));
+        assertTrue(incremental.remove(3L));
+        assertFalse(incremental.remove(3L));
+        assertEquals(2, incremental.size());
+        assertEquals(List.of(4L), ids(incremental.search("spicy ramen rice", 0, 10)));
+    }
+
+    @Test
+    void writeTo_RoundTripsThroughReadFrom() throws IOException {
+        MenuTextIndex index = MenuTextIndex.of(MENU);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        index.writeTo(out);
+
+        MenuTextIndex restored = MenuTextIndex.readFrom(new ByteArrayInputStream(out.toByteArray()));
+
+        assertEquals(index.size(), restored.size());
+        assertEquals(index.termCount(), restored.termCount());
+        assertEquals(index.search("spicy ramen", 0, 10), restored.search("spicy ramen", 0, 10));
+        assertEquals(MENU.get(4), restored.search("brulee", 0, 1).hits().get(0).item());
+    }
+
+    @Test
+    void readFrom_RejectsCorruptSnapshot() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        MenuTextIndex.of(MENU).writeTo(out);
+        byte[] bytes = out.toByteArray();
+        bytes[bytes.length / 2] ^= 0x40;
+
+        assertThrows(IOException.class, () -> MenuTextIndex.readFrom(new ByteArrayInputStream(bytes)));
+        assertThrows(IOException.class, () -> MenuTextIndex.readFrom(new ByteArrayInputStream(new byte[]{1, 2, 3})));
+    }
+
+    @Test
+    void tokenize_SplitsOnNonAlphanumericsAndDropsStopWords() {
+        assertEquals(List.of("mac", "cheese", "2", "pcs"), MenuTextIndex.tokenize("Mac & Cheese (2 pcs.) with the"));
+    }
+
+    private static MenuItemResponse item(Long id, Long restaurantId, String name, String description) {
+        return new MenuItemResponse(id, name, description, new BigDecimal("12.50"), true, restaurantId);
+    }
+
+    private static List<Long> ids(MenuTextIndex.Result result) {
+        return result.hits().stream().map(hit -> hit.item().id()).toList();
+    }
+
+    private static List<Double> scores(MenuTextIndex.Result result) {
+        return result.hits().stream().map(MenuTextIndex.Hit::score).toList();
+    }
+}